@@ -3,8 +3,11 @@ package com.bers.api.controllers;
 import com.bers.api.dtos.AssignmentDtos.AssignmentCreateRequest;
 import com.bers.api.dtos.AssignmentDtos.AssignmentResponse;
 import com.bers.api.dtos.AssignmentDtos.AssignmentUpdateRequest;
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
+import com.bers.domain.entities.enums.TripStatus;
 import com.bers.security.config.CustomUserDetails;
 import com.bers.services.service.AssignmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,6 +31,7 @@ import java.util.List;
 public class AssignmentController {
 
     private final AssignmentService assignmentService;
+    private final ObjectMapper objectMapper;
 
     // ==================== CRUD BÁSICO ====================
 
@@ -56,11 +61,26 @@ public class AssignmentController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<AssignmentResponse>> getAllAssignments() {
+    public ResponseEntity<CursorPageResponse<AssignmentResponse>> getAllAssignments(
+            @RequestParam(required = false) Long driverId,
+            @RequestParam(required = false) Long dispatcherId,
+            @RequestParam(required = false) TripStatus tripStatus,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.debug("Retrieving all assignments");
+        CursorPageResponse<AssignmentResponse> response =
+                assignmentService.getAllAssignments(driverId, dispatcherId, tripStatus, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 
-        List<AssignmentResponse> assignments = assignmentService.getAllAssignments();
-        return ResponseEntity.ok(assignments);
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllAssignments(
+            @RequestParam(required = false) Long driverId,
+            @RequestParam(required = false) Long dispatcherId,
+            @RequestParam(required = false) TripStatus tripStatus) {
+        log.debug("Streaming all assignments");
+        return JsonArrayStream.<AssignmentResponse>of(objectMapper,
+                sink -> assignmentService.streamAllAssignments(driverId, dispatcherId, tripStatus, sink));
     }
 
     @GetMapping("/{id}")
@@ -3,7 +3,9 @@ package com.bers.api.controllers;
 import com.bers.api.dtos.BaggageDtos.BaggageCreateRequest;
 import com.bers.api.dtos.BaggageDtos.BaggageResponse;
 import com.bers.api.dtos.BaggageDtos.BaggageUpdateRequest;
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.services.service.BaggageService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -23,6 +26,7 @@ import java.util.List;
 public class BaggageController {
 
     private final BaggageService baggageService;
+    private final ObjectMapper objectMapper;
 
     // ==================== CRUD BÁSICO ====================
 
@@ -35,11 +39,23 @@ public class BaggageController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<BaggageResponse>> getAllBaggage() {
+    public ResponseEntity<CursorPageResponse<BaggageResponse>> getAllBaggage(
+            @RequestParam(required = false) Long ticketId,
+            @RequestParam(required = false) Long tripId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.debug("Retrieving all baggage");
+        CursorPageResponse<BaggageResponse> response = baggageService.getAllBaggage(ticketId, tripId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 
-        List<BaggageResponse> baggage = baggageService.getAllBaggage();
-        return ResponseEntity.ok(baggage);
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllBaggage(
+            @RequestParam(required = false) Long ticketId,
+            @RequestParam(required = false) Long tripId) {
+        log.debug("Streaming all baggage");
+        return JsonArrayStream.<BaggageResponse>of(objectMapper,
+                sink -> baggageService.streamAllBaggage(ticketId, tripId, sink));
     }
 
     @GetMapping("/{id}")
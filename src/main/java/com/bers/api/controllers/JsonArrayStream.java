@@ -0,0 +1,40 @@
+package com.bers.api.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Arreglo JSON escrito elemento por elemento mientras el servicio recorre el listado por bloques, para
+ * exportaciones completas: la memoria no depende del número de filas. Corre en un hilo async de MVC, fuera
+ * de la petición, con el tiempo máximo de {@code spring.mvc.async.request-timeout}.
+ */
+final class JsonArrayStream {
+
+    private JsonArrayStream() {
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.writeStartArray();
+                producer.accept(item -> {
+                    try {
+                        generator.writeObject(item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
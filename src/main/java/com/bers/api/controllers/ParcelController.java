@@ -1,5 +1,6 @@
 package com.bers.api.controllers;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.ParcelDtos.ParcelCreateRequest;
 import com.bers.api.dtos.ParcelDtos.ParcelResponse;
 import com.bers.api.dtos.ParcelDtos.ParcelUpdateRequest;
@@ -7,6 +8,7 @@ import com.bers.domain.entities.enums.ParcelStatus;
 import com.bers.security.config.CustomUserDetails;
 import com.bers.services.service.FileStorageService;
 import com.bers.services.service.ParcelService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +19,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -28,6 +31,7 @@ public class ParcelController {
 
     private final ParcelService parcelService;
     private final FileStorageService fileStorageService;
+    private final ObjectMapper objectMapper;
 
 
     @PostMapping("/create")
@@ -41,11 +45,24 @@ public class ParcelController {
 
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('CLERK', 'DRIVER', 'ADMIN')")
-    public ResponseEntity<List<ParcelResponse>> getAllParcels() {
+    public ResponseEntity<CursorPageResponse<ParcelResponse>> getAllParcels(
+            @RequestParam(required = false) Long tripId,
+            @RequestParam(required = false) ParcelStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.debug("Retrieving all parcels");
+        CursorPageResponse<ParcelResponse> response = parcelService.getAllParcels(tripId, status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 
-        List<ParcelResponse> parcels = parcelService.getAllParcels();
-        return ResponseEntity.ok(parcels);
+    @GetMapping("/all/stream")
+    @PreAuthorize("hasAnyRole('CLERK', 'DRIVER', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllParcels(
+            @RequestParam(required = false) Long tripId,
+            @RequestParam(required = false) ParcelStatus status) {
+        log.debug("Streaming all parcels");
+        return JsonArrayStream.<ParcelResponse>of(objectMapper,
+                sink -> parcelService.streamAllParcels(tripId, status, sink));
     }
 
     @GetMapping("/{id}")
@@ -1,5 +1,6 @@
 package com.bers.api.controllers;
 
+import com.bers.api.dtos.RouteDtos.PlaceSuggestionResponse;
 import com.bers.api.dtos.RouteDtos.RouteCreateRequest;
 import com.bers.api.dtos.RouteDtos.RouteResponse;
 import com.bers.api.dtos.RouteDtos.RouteUpdateRequest;
@@ -47,6 +48,16 @@ public class RouteController {
         return ResponseEntity.ok(destinations);
     }
 
+    // Sugerencias de orígenes, destinos y paradas mientras el usuario escribe
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<PlaceSuggestionResponse>> autocompletePlaces(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(routeService.autocompletePlaces(q, type, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RouteResponse> getRouteById(@PathVariable Long id) {
         log.debug("Retrieving route: {}", id);
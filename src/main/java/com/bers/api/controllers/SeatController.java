@@ -1,17 +1,23 @@
 package com.bers.api.controllers;
 
-import com.bers.api.dtos.SeatDtos;
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.SeatDtos.*;
+import com.bers.api.dtos.SeatDtos;
 import com.bers.domain.entities.enums.SeatType;
+import com.bers.services.event.SeatMapStreamBroadcaster;
 import com.bers.services.service.SeatService;
 import com.bers.services.service.TripService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,6 +30,8 @@ public class SeatController {
 
     private final SeatService seatService;
     private final TripService tripService;
+    private final SeatMapStreamBroadcaster seatMapStreamBroadcaster;
+    private final ObjectMapper objectMapper;
 
     // ==================== CRUD BASICO ====================
 
@@ -36,11 +44,22 @@ public class SeatController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<SeatResponse>> getAllSeats() {
+    public ResponseEntity<CursorPageResponse<SeatResponse>> getAllSeats(
+            @RequestParam(required = false) Long busId,
+            @RequestParam(required = false) SeatType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.debug("Retrieving all seats");
+        CursorPageResponse<SeatResponse> response = seatService.getAllSeats(busId, type, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 
-        List<SeatResponse> seats = seatService.getAllSeats();
-        return ResponseEntity.ok(seats);
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllSeats(
+            @RequestParam(required = false) Long busId,
+            @RequestParam(required = false) SeatType type) {
+        log.debug("Streaming all seats");
+        return JsonArrayStream.<SeatResponse>of(objectMapper, sink -> seatService.streamAllSeats(busId, type, sink));
     }
 
     @PostMapping("/batch-create")
@@ -115,6 +134,13 @@ public class SeatController {
         return ResponseEntity.ok(seats);
     }
 
+    @GetMapping(value = "/{tripId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("permitAll()")
+    public SseEmitter streamSeatMap(@PathVariable Long tripId) {
+        log.debug("Opening seat map stream for trip: {}", tripId);
+        return seatMapStreamBroadcaster.subscribe(tripId);
+    }
+
     @GetMapping("/bus/{busId}/number/{number}")
     public ResponseEntity<SeatResponse> getSeatByBusAndNumber(
             @PathVariable Long busId,
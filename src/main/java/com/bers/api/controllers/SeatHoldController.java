@@ -1,10 +1,13 @@
 package com.bers.api.controllers;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldCreateRequest;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldResponse;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldUpdateRequest;
+import com.bers.domain.entities.enums.HoldStatus;
 import com.bers.security.config.CustomUserDetails;
 import com.bers.services.service.SeatHoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,6 +27,7 @@ import java.util.List;
 public class SeatHoldController {
 
     private final SeatHoldService seatHoldService;
+    private final ObjectMapper objectMapper;
 
     // ==================== ENDPOINTS AUTENTICADOS ====================
 
@@ -67,11 +72,27 @@ public class SeatHoldController {
 
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('CLERK', 'ADMIN')")
-    public ResponseEntity<List<SeatHoldResponse>> getAllSeatHolds() {
+    public ResponseEntity<CursorPageResponse<SeatHoldResponse>> getAllSeatHolds(
+            @RequestParam(required = false) Long tripId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) HoldStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.debug("Retrieving all seat holds");
+        CursorPageResponse<SeatHoldResponse> response =
+                seatHoldService.getAllSeatHolds(tripId, userId, status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 
-        List<SeatHoldResponse> holds = seatHoldService.getAllSeatHolds();
-        return ResponseEntity.ok(holds);
+    @GetMapping("/all/stream")
+    @PreAuthorize("hasAnyRole('CLERK', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllSeatHolds(
+            @RequestParam(required = false) Long tripId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) HoldStatus status) {
+        log.debug("Streaming all seat holds");
+        return JsonArrayStream.<SeatHoldResponse>of(objectMapper,
+                sink -> seatHoldService.streamAllSeatHolds(tripId, userId, status, sink));
     }
 
     @GetMapping("/{id}")
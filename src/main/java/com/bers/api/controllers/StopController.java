@@ -1,5 +1,6 @@
 package com.bers.api.controllers;
 
+import com.bers.api.dtos.StopDtos.NearbyStopResponse;
 import com.bers.api.dtos.StopDtos.StopCreateRequest;
 import com.bers.api.dtos.StopDtos.StopResponse;
 import com.bers.api.dtos.StopDtos.StopUpdateRequest;
@@ -56,6 +57,18 @@ public class StopController {
         return ResponseEntity.ok(stops);
     }
 
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyStopResponse>> getNearbyStops(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Double radiusKm
+    ) {
+        log.debug("Searching stops near {}, {}", lat, lng);
+
+        return ResponseEntity.ok(stopService.findNearbyStops(lat, lng, limit, radiusKm));
+    }
+
     // Listar posibles destinos (paradas con order mayor a fromStopId) xd
     @GetMapping("/available-destinations/{fromStopId}")
     public ResponseEntity<List<StopResponse>> getAvailableDestinations(@PathVariable Long fromStopId) {
@@ -1,5 +1,6 @@
 package com.bers.api.controllers;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.TicketDtos.TicketCreateRequest;
 import com.bers.api.dtos.TicketDtos.TicketPaymentConfirmRequest;
 import com.bers.api.dtos.TicketDtos.TicketResponse;
@@ -7,6 +8,7 @@ import com.bers.api.dtos.TicketDtos.TicketUpdateRequest;
 import com.bers.domain.entities.enums.TicketStatus;
 import com.bers.security.config.CustomUserDetails;
 import com.bers.services.service.TicketService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -25,6 +28,7 @@ import java.util.List;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final ObjectMapper objectMapper;
 
     // Utilidades passenger/clerk
 
@@ -76,11 +80,27 @@ public class TicketController {
 
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('CLERK', 'ADMIN')")
-    public ResponseEntity<List<TicketResponse>> getAllTickets() {
+    public ResponseEntity<CursorPageResponse<TicketResponse>> getAllTickets(
+            @RequestParam(required = false) Long tripId,
+            @RequestParam(required = false) Long passengerId,
+            @RequestParam(required = false) TicketStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.debug("Retrieving all tickets");
+        CursorPageResponse<TicketResponse> response =
+                ticketService.getAllTickets(tripId, passengerId, status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 
-        List<TicketResponse> tickets = ticketService.getAllTickets();
-        return ResponseEntity.ok(tickets);
+    @GetMapping("/all/stream")
+    @PreAuthorize("hasAnyRole('CLERK', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllTickets(
+            @RequestParam(required = false) Long tripId,
+            @RequestParam(required = false) Long passengerId,
+            @RequestParam(required = false) TicketStatus status) {
+        log.debug("Streaming all tickets");
+        return JsonArrayStream.<TicketResponse>of(objectMapper,
+                sink -> ticketService.streamAllTickets(tripId, passengerId, status, sink));
     }
 
     @GetMapping("/{id}")
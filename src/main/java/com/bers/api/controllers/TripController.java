@@ -2,16 +2,27 @@ package com.bers.api.controllers;
 
 import com.bers.api.dtos.AssignmentDtos.AssignmentCreateRequest;
 import com.bers.api.dtos.AssignmentDtos.AssignmentResponse;
+import com.bers.api.dtos.ConnectionDtos.ConnectionSearchResponse;
+import com.bers.api.dtos.GroupBookingDtos.GroupHoldRequest;
+import com.bers.api.dtos.GroupBookingDtos.GroupHoldResponse;
+import com.bers.api.dtos.GroupBookingDtos.GroupTicketRequest;
+import com.bers.api.dtos.GroupBookingDtos.GroupTicketResponse;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldCreateRequest;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldResponse;
 import com.bers.api.dtos.TicketDtos.TicketCreateRequest;
 import com.bers.api.dtos.TicketDtos.TicketResponse;
+import com.bers.api.dtos.TripDtos.FareCalendarResponse;
 import com.bers.api.dtos.TripDtos.TripCreateRequest;
+import com.bers.api.dtos.TripDtos.TripPageResponse;
 import com.bers.api.dtos.TripDtos.TripResponse;
+import com.bers.api.dtos.TripDtos.TripStopSearchResponse;
 import com.bers.api.dtos.TripDtos.TripUpdateRequest;
 import com.bers.domain.entities.enums.TripStatus;
 import com.bers.security.config.CustomUserDetails;
 import com.bers.services.service.AssignmentService;
+import com.bers.services.service.ConnectionSearchService;
+import com.bers.services.service.FareCalendarService;
+import com.bers.services.service.GroupBookingService;
 import com.bers.services.service.SeatHoldService;
 import com.bers.services.service.TicketService;
 import com.bers.services.service.TripService;
@@ -40,6 +51,9 @@ public class TripController {
     private final AssignmentService assignmentService;
     private final SeatHoldService seatHoldService;
     private final TicketService ticketService;
+    private final GroupBookingService groupBookingService;
+    private final ConnectionSearchService connectionSearchService;
+    private final FareCalendarService fareCalendarService;
 
 
     @PostMapping("create")
@@ -62,6 +76,38 @@ public class TripController {
         return ResponseEntity.ok(trips);
     }
 
+    @GetMapping("/filter/stops")
+    public ResponseEntity<List<TripStopSearchResponse>> filterTripsByStops(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(tripService.filterTripsByStops(from, to, date));
+    }
+
+    @GetMapping("/connections")
+    public ResponseEntity<ConnectionSearchResponse> findConnections(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Integer maxTransfers,
+            @RequestParam(required = false) Integer minTransferMinutes
+    ) {
+        return ResponseEntity.ok(connectionSearchService.findConnections(
+                origin, destination, date, maxTransfers, minTransferMinutes));
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<FareCalendarResponse> getFareCalendar(
+            @RequestParam Long routeId,
+            @RequestParam(required = false) Long fromStopId,
+            @RequestParam(required = false) Long toStopId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(fareCalendarService.getFareCalendar(routeId, fromStopId, toStopId, startDate, endDate));
+    }
+
     @PutMapping("/update/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'DISPATCHER')")
     public ResponseEntity<TripResponse> updateTrip(
@@ -89,20 +135,24 @@ public class TripController {
 
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('ADMIN', 'DISPATCHER')")
-    public ResponseEntity<List<TripResponse>> getAllTrips() {
+    public ResponseEntity<TripPageResponse> getAllTrips(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.debug("Getting all trips");
-        List<TripResponse> response = tripService.getAllTrips();
+        TripPageResponse response = tripService.getAllTrips(cursor, size);
         return ResponseEntity.ok(response);
     }
 
 
     @GetMapping("/search")
-    public ResponseEntity<List<TripResponse>> searchTrips(
+    public ResponseEntity<TripPageResponse> searchTrips(
             @RequestParam(required = false) Long routeId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestParam(required = false) TripStatus status) {
+            @RequestParam(required = false) TripStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.debug("Searching trips - routeId: {}, date: {}, status {}", routeId, date, status);
-        List<TripResponse> response = tripService.searchTrips(routeId, date, status);
+        TripPageResponse response = tripService.searchTrips(routeId, date, status, cursor, size);
         return ResponseEntity.ok(response);
     }
 
@@ -231,6 +281,42 @@ public class TripController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/{id}/group-holds")
+    @PreAuthorize("hasAnyRole('PASSENGER', 'CLERK', 'ADMIN')")
+    public ResponseEntity<GroupHoldResponse> holdGroupSeats(
+            @PathVariable Long id,
+            @Valid @RequestBody GroupHoldRequest request,
+            Authentication authentication) {
+
+        if (!id.equals(request.tripId())) {
+            throw new IllegalArgumentException("Trip ID mismatch between path and request body");
+        }
+
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        Long userId = userDetails.getId();
+
+        log.info("User {} holding {} seats for trip {}", userId, request.seatNumbers().size(), id);
+
+        GroupHoldResponse response = groupBookingService.createGroupHold(request, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/{id}/group-tickets")
+    @PreAuthorize("hasAnyRole('PASSENGER', 'CLERK', 'ADMIN')")
+    public ResponseEntity<GroupTicketResponse> purchaseGroupTickets(
+            @PathVariable Long id,
+            @Valid @RequestBody GroupTicketRequest request) {
+
+        if (!id.equals(request.tripId())) {
+            throw new IllegalArgumentException("Trip ID mismatch between path and request body");
+        }
+
+        log.info("Purchasing {} tickets for trip {}", request.seatNumbers().size(), id);
+
+        GroupTicketResponse response = groupBookingService.createGroupTickets(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @PostMapping("/{id}/assign")
     @PreAuthorize("hasRole('DISPATCHER')")
     public ResponseEntity<AssignmentResponse> assignTripResources(
@@ -250,9 +336,11 @@ public class TripController {
     }
 
     @GetMapping("/today")
-    public ResponseEntity<List<TripResponse>> getTodayTrips() {
+    public ResponseEntity<TripPageResponse> getTodayTrips(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.debug("Getting today's trips");
-        List<TripResponse> response = tripService.getTripsByDate(LocalDate.now());
+        TripPageResponse response = tripService.getTripsByDate(LocalDate.now(), cursor, size);
         return ResponseEntity.ok(response);
     }
 
@@ -1,5 +1,6 @@
 package com.bers.api.controllers;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.UserDtos.*;
 import com.bers.domain.entities.enums.UserRole;
 import com.bers.domain.entities.enums.UserStatus;
@@ -8,6 +9,7 @@ import com.bers.security.config.AuthDtos.MessageResponse;
 import com.bers.security.config.AuthService;
 import com.bers.security.config.CustomUserDetails;
 import com.bers.services.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +20,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -30,6 +33,7 @@ public class UserController {
 
     private final UserService userService;
     private final AuthService authService;
+    private final ObjectMapper objectMapper;
 
     // Obtener datos del usuario logueado
     @GetMapping("/me")
@@ -122,12 +126,25 @@ public class UserController {
 
     @GetMapping("/all-users")
     @PreAuthorize("hasAnyRole('ADMIN', 'DISPATCHER')")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        log.debug("Getting all users");
-        List<UserResponse> response = userService.getAll();
+    public ResponseEntity<CursorPageResponse<UserResponse>> getAllUsers(
+            @RequestParam(required = false) UserRole role,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Retrieving all users");
+        CursorPageResponse<UserResponse> response = userService.getAll(role, status, cursor, size);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/all-users/stream")
+    @PreAuthorize("hasAnyRole('ADMIN', 'DISPATCHER')")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(
+            @RequestParam(required = false) UserRole role,
+            @RequestParam(required = false) UserStatus status) {
+        log.debug("Streaming all users");
+        return JsonArrayStream.<UserResponse>of(objectMapper, sink -> userService.streamAll(role, status, sink));
+    }
+
     // Obtener usuarios por rol - SOLO ADMIN y DISPATCHER
 
     @GetMapping("/role/{role}")
@@ -0,0 +1,50 @@
+package com.bers.api.dtos;
+
+import jakarta.annotation.Nullable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ConnectionDtos {
+
+    public record ConnectionLegResponse(
+            Long tripId,
+            Long routeId,
+            String routeName,
+            Long fromStopId,
+            String fromStopName,
+            Integer fromStopOrder,
+            LocalDateTime departureAt,
+            Long toStopId,
+            String toStopName,
+            Integer toStopOrder,
+            LocalDateTime arrivalAt,
+            BigDecimal fare,
+            @Nullable
+            Integer availableSeats
+    ) implements Serializable {
+    }
+
+    public record ItineraryResponse(
+            LocalDateTime departureAt,
+            LocalDateTime arrivalAt,
+            int transfers,
+            BigDecimal totalFare,
+            List<ConnectionLegResponse> legs
+    ) implements Serializable {
+    }
+
+    public record ConnectionSearchResponse(
+            String origin,
+            String destination,
+            LocalDate date,
+            @Nullable
+            ItineraryResponse earliestArrival,
+            @Nullable
+            ItineraryResponse cheapest
+    ) implements Serializable {
+    }
+}
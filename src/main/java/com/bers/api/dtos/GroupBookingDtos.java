@@ -0,0 +1,62 @@
+package com.bers.api.dtos;
+
+import com.bers.api.dtos.SeatHoldDtos.SeatHoldResponse;
+import com.bers.api.dtos.TicketDtos.TicketResponse;
+import com.bers.domain.entities.enums.PaymentMethod;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+public class GroupBookingDtos {
+
+    public record GroupHoldRequest(
+            @NotNull(message = "tripId is required")
+            Long tripId,
+            @NotNull(message = "fromStopId is required")
+            Long fromStopId,
+            @NotNull(message = "toStopId is required")
+            Long toStopId,
+            @NotEmpty(message = "seatNumbers is required")
+            @Size(max = 40, message = "a group can hold at most 40 seats")
+            List<@NotBlank @Size(max = 10) String> seatNumbers
+    ) implements Serializable {
+    }
+
+    public record GroupTicketRequest(
+            @NotNull(message = "tripId is required")
+            Long tripId,
+            @NotNull(message = "passengerId is required")
+            Long passengerId,
+            @NotNull(message = "fromStopId is required")
+            Long fromStopId,
+            @NotNull(message = "toStopId is required")
+            Long toStopId,
+            @NotEmpty(message = "seatNumbers is required")
+            @Size(max = 40, message = "a group can book at most 40 seats")
+            List<@NotBlank @Size(max = 10) String> seatNumbers,
+            @Nullable
+            PaymentMethod paymentMethod  // Opcional: los tickets quedan PENDING_PAYMENT y el pago se confirma en cada uno
+    ) implements Serializable {
+    }
+
+    public record GroupHoldResponse(
+            Long tripId,
+            Integer seatCount,
+            List<SeatHoldResponse> holds
+    ) implements Serializable {
+    }
+
+    public record GroupTicketResponse(
+            Long tripId,
+            Integer seatCount,
+            BigDecimal totalPrice,
+            List<TicketResponse> tickets
+    ) implements Serializable {
+    }
+}
@@ -0,0 +1,16 @@
+package com.bers.api.dtos;
+
+import jakarta.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class PageDtos {
+
+    public record CursorPageResponse<T>(
+            List<T> items,
+            @Nullable
+            String nextCursor  // null en la última página
+    ) implements Serializable {
+    }
+}
@@ -45,6 +45,13 @@ public class RouteDtos {
     ) implements Serializable {
     }
 
+    public record PlaceSuggestionResponse(
+            String name,
+            String type,
+            int usage
+    ) implements Serializable {
+    }
+
     public record StopSummary(
             Long id,
             String name,
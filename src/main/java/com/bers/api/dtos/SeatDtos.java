@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class SeatDtos {
@@ -71,5 +72,17 @@ public class SeatDtos {
     ) {
     }
 
+    public record SeatMapDeltaResponse(
+            Long tripId,
+            String seatNumber,
+            Integer fromStopOrder,
+            Integer toStopOrder,
+            String state,       // AVAILABLE, HELD u OCCUPIED para ese tramo
+            String reason,
+            long sequence,
+            LocalDateTime occurredAt
+    ) implements Serializable {
+    }
+
 
 }
\ No newline at end of file
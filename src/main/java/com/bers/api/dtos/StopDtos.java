@@ -4,6 +4,7 @@ import jakarta.validation.constraints.*;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.List;
 
 public class StopDtos {
     public record StopCreateRequest(
@@ -39,4 +40,22 @@ public class StopDtos {
             String routeCode
     ) implements Serializable {
     }
+
+    public record NearbyStopRouteResponse(
+            Long routeId,
+            String routeCode,
+            String routeName,
+            Long stopId,
+            Integer stopOrder
+    ) implements Serializable {
+    }
+
+    public record NearbyStopResponse(
+            String name,
+            BigDecimal lat,
+            BigDecimal lng,
+            Integer distanceMeters,
+            List<NearbyStopRouteResponse> routes
+    ) implements Serializable {
+    }
 }
@@ -1,12 +1,15 @@
 package com.bers.api.dtos;
 
 import com.bers.domain.entities.enums.TripStatus;
+import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotNull;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class TripDtos {
     public record TripCreateRequest(
@@ -50,7 +53,52 @@ public class TripDtos {
             String destination,
             Long busId,
             String busPlate,
-            Integer capacity
+            Integer capacity,
+            @Nullable
+            Integer availableSeats  // Solo en resultados de búsqueda
+    ) implements Serializable {
+        public TripResponse withAvailableSeats(Integer seats) {
+            return new TripResponse(id, date, departureAt, arrivalEta, status, routeId, routeName,
+                    origin, destination, busId, busPlate, capacity, seats);
+        }
+    }
+
+    public record TripPageResponse(
+            List<TripResponse> items,
+            @Nullable
+            String nextCursor  // null en la última página
+    ) implements Serializable {
+    }
+
+    public record TripStopSearchResponse(
+            TripResponse trip,
+            Long fromStopId,
+            String fromStopName,
+            Integer fromStopOrder,
+            Long toStopId,
+            String toStopName,
+            Integer toStopOrder,
+            @Nullable
+            Integer availableSeats  // Libres en el tramo pedido
+    ) implements Serializable {
+    }
+
+    public record FareCalendarDayResponse(
+            LocalDate date,
+            int trips,
+            @Nullable
+            BigDecimal minFare,  // Menor tarifa entre los viajes con cupo
+            int availableSeats
+    ) implements Serializable {
+    }
+
+    public record FareCalendarResponse(
+            Long routeId,
+            Long fromStopId,
+            Long toStopId,
+            LocalDate startDate,
+            LocalDate endDate,
+            List<FareCalendarDayResponse> days
     ) implements Serializable {
     }
 }
@@ -3,11 +3,15 @@ package com.bers.domain.entities;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.Builder.Default;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "routes")
 @Getter
 @Setter
@@ -40,6 +44,7 @@ public class Route {
     private Integer durationMin;
 
     @Default
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "route", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("order ASC")
     private List<Stop> stops = new ArrayList<>();
@@ -0,0 +1,33 @@
+package com.bers.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_locks")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SchedulerLock {
+
+    // Nombre del job; una fila por job
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false)
+    private String lockedBy;
+
+    // Última ejecución terminada sin error, para detectar ejecuciones perdidas
+    private LocalDateTime lastSuccessAt;
+}
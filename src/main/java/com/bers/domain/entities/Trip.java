@@ -9,7 +9,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "trips")
+@Table(name = "trips", indexes = {
+        // Orden de la paginación por cursor
+        @Index(name = "idx_trips_departure_id", columnList = "departure_at, id"),
+        @Index(name = "idx_trips_date_departure_id", columnList = "date, departure_at, id"),
+        // Transiciones programadas por estado y hora de salida
+        @Index(name = "idx_trips_status_departure", columnList = "status, departure_at")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -1,6 +1,9 @@
 package com.bers.domain.repositories;
 
 import com.bers.domain.entities.Assignment;
+import com.bers.domain.entities.enums.TripStatus;
+import com.bers.domain.repositories.projections.AssignmentListProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,4 +40,48 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
 
     boolean existsByTripId(Long tripId);
 
+    String ASSIGNMENT_LIST_SELECT = """
+            SELECT new com.bers.domain.repositories.projections.AssignmentListProjection(
+                a.id, a.checklistOk, a.assignedAt, t.id, t.status, t.date, t.departureAt,
+                r.origin, r.destination, d.id, d.username, ds.id, ds.username)
+            FROM Assignment a
+            LEFT JOIN a.trip t
+            LEFT JOIN t.route r
+            LEFT JOIN a.driver d
+            LEFT JOIN a.dispatcher ds
+            """;
+
+    String ASSIGNMENT_LIST_FILTER = """
+            WHERE (:driverId IS NULL OR d.id = :driverId)
+              AND (:dispatcherId IS NULL OR ds.id = :dispatcherId)
+              AND (:tripStatus IS NULL OR t.status = :tripStatus)
+            """;
+
+    @Query(ASSIGNMENT_LIST_SELECT + ASSIGNMENT_LIST_FILTER + "AND a.id < :afterId ORDER BY a.id DESC")
+    List<AssignmentListProjection> findPageForList(
+            @Param("driverId") Long driverId,
+            @Param("dispatcherId") Long dispatcherId,
+            @Param("tripStatus") TripStatus tripStatus,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
+
+    @Query(ASSIGNMENT_LIST_SELECT + "WHERE d.id = :driverId")
+    List<AssignmentListProjection> findForListByDriverId(@Param("driverId") Long driverId);
+
+    @Query(ASSIGNMENT_LIST_SELECT + "WHERE ds.id = :dispatcherId")
+    List<AssignmentListProjection> findForListByDispatcherId(@Param("dispatcherId") Long dispatcherId);
+
+    @Query(ASSIGNMENT_LIST_SELECT + "WHERE d.id = :driverId " +
+            "AND t.date = CURRENT_DATE AND t.status IN ('SCHEDULED', 'BOARDING')")
+    List<AssignmentListProjection> findActiveForListByDriver(@Param("driverId") Long driverId);
+
+    @Query(ASSIGNMENT_LIST_SELECT + "WHERE t.departureAt BETWEEN :start AND :end")
+    List<AssignmentListProjection> findForListByDepartureDateRange(@Param("start") LocalDateTime start,
+                                                                   @Param("end") LocalDateTime end);
+
+    @Query(ASSIGNMENT_LIST_SELECT + "WHERE d.id = :driverId AND a.assignedAt BETWEEN :start AND :end")
+    List<AssignmentListProjection> findForListByDriverIdAndAssignedAtBetween(@Param("driverId") Long driverId,
+                                                                             @Param("start") LocalDateTime start,
+                                                                             @Param("end") LocalDateTime end);
 }
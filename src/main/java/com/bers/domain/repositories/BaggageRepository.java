@@ -1,6 +1,8 @@
 package com.bers.domain.repositories;
 
 import com.bers.domain.entities.Baggage;
+import com.bers.domain.repositories.projections.BaggageListProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -24,4 +26,33 @@ public interface BaggageRepository extends JpaRepository<Baggage, Long> {
     BigDecimal getTotalWeightByTrip(@Param("tripId") Long tripId);
 
     boolean existsByTagCode(String tagCode);
+
+    String BAGGAGE_LIST_SELECT = """
+            SELECT new com.bers.domain.repositories.projections.BaggageListProjection(
+                b.id, b.weightKg, b.fee, b.tagCode, t.id, p.username, r.origin, r.destination, tr.date)
+            FROM Baggage b
+            LEFT JOIN b.ticket t
+            LEFT JOIN t.passenger p
+            LEFT JOIN t.trip tr
+            LEFT JOIN tr.route r
+            """;
+
+    String BAGGAGE_LIST_FILTER = """
+            WHERE (:ticketId IS NULL OR t.id = :ticketId)
+              AND (:tripId IS NULL OR tr.id = :tripId)
+            """;
+
+    @Query(BAGGAGE_LIST_SELECT + BAGGAGE_LIST_FILTER + "AND b.id < :afterId ORDER BY b.id DESC")
+    List<BaggageListProjection> findPageForList(
+            @Param("ticketId") Long ticketId,
+            @Param("tripId") Long tripId,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
+
+    @Query(BAGGAGE_LIST_SELECT + "WHERE t.id = :ticketId")
+    List<BaggageListProjection> findForListByTicketId(@Param("ticketId") Long ticketId);
+
+    @Query(BAGGAGE_LIST_SELECT + "WHERE tr.id = :tripId")
+    List<BaggageListProjection> findForListByTripId(@Param("tripId") Long tripId);
 }
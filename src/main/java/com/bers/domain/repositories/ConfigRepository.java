@@ -1,7 +1,9 @@
 package com.bers.domain.repositories;
 
 import com.bers.domain.entities.Config;
+import com.bers.domain.repositories.projections.ConfigVersionProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,4 +16,11 @@ public interface ConfigRepository extends JpaRepository<Config, Long> {
     boolean existsByKey(String key);
 
     void deleteByKey(String key);
+
+    @Query("""
+            SELECT new com.bers.domain.repositories.projections.ConfigVersionProjection(
+                COUNT(c), MAX(c.id), MAX(c.updatedAt))
+            FROM Config c
+            """)
+    ConfigVersionProjection findVersion();
 }
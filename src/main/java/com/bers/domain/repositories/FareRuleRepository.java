@@ -1,8 +1,12 @@
 package com.bers.domain.repositories;
 
 import com.bers.domain.entities.FareRule;
+import com.bers.domain.repositories.projections.FareMatrixEntryProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +16,7 @@ import java.util.Optional;
 @Repository
 public interface FareRuleRepository extends JpaRepository<FareRule, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<FareRule> findByRouteId(Long routeId);
 
     Optional<FareRule> findByRouteIdAndFromStopIdAndToStopId(
@@ -24,6 +29,11 @@ public interface FareRuleRepository extends JpaRepository<FareRule, Long> {
             @Param("fromStopId") Long fromStopId,
             @Param("toStopId") Long toStopId);
 
+    @Query("SELECT new com.bers.domain.repositories.projections.FareMatrixEntryProjection(" +
+            "fr.fromStop.id, fr.toStop.id, fr.basePrice, fr.dynamicPricing) " +
+            "FROM FareRule fr WHERE fr.route.id = :routeId")
+    List<FareMatrixEntryProjection> findMatrixEntriesByRouteId(@Param("routeId") Long routeId);
+
     @Query("SELECT fr FROM FareRule fr WHERE fr.route.id = :routeId " +
             "AND fr.dynamicPricing = 'ON'")
     List<FareRule> findDynamicPricingRules(@Param("routeId") Long routeId);
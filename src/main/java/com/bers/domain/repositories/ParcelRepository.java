@@ -2,6 +2,8 @@ package com.bers.domain.repositories;
 
 import com.bers.domain.entities.Parcel;
 import com.bers.domain.entities.enums.ParcelStatus;
+import com.bers.domain.repositories.projections.ParcelListProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -34,4 +36,28 @@ public interface ParcelRepository extends JpaRepository<Parcel, Long> {
     long countInTransitParcelsByTrip(@Param("tripId") Long tripId);
 
     boolean existsByCode(String code);
+
+    String PARCEL_LIST_SELECT = """
+            SELECT new com.bers.domain.repositories.projections.ParcelListProjection(
+                pc.id, pc.code, pc.senderName, pc.senderPhone, pc.receiverName, pc.receiverPhone,
+                pc.price, pc.status, pc.proofPhotoUrl, pc.deliveryOtp, pc.createdAt, pc.deliveredAt,
+                fs.id, ts.id, tr.id)
+            FROM Parcel pc
+            LEFT JOIN pc.fromStop fs
+            LEFT JOIN pc.toStop ts
+            LEFT JOIN pc.trip tr
+            """;
+
+    String PARCEL_LIST_FILTER = """
+            WHERE (:tripId IS NULL OR tr.id = :tripId)
+              AND (:status IS NULL OR pc.status = :status)
+            """;
+
+    @Query(PARCEL_LIST_SELECT + PARCEL_LIST_FILTER + "AND pc.id < :afterId ORDER BY pc.id DESC")
+    List<ParcelListProjection> findPageForList(
+            @Param("tripId") Long tripId,
+            @Param("status") ParcelStatus status,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
 }
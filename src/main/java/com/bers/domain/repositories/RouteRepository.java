@@ -1,6 +1,7 @@
 package com.bers.domain.repositories;
 
 import com.bers.domain.entities.Route;
+import com.bers.domain.repositories.projections.RouteEndpointProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,6 +26,10 @@ public interface RouteRepository extends JpaRepository<Route, Long> {
     @Query("SELECT LOWER(r.destination) FROM Route r WHERE LOWER(r.origin) = LOWER(:origin)")
     List<String> getDestinationsByOrigin(@Param("origin") String origin);
 
+    @Query("SELECT new com.bers.domain.repositories.projections.RouteEndpointProjection(r.id, r.origin, r.destination) " +
+            "FROM Route r")
+    List<RouteEndpointProjection> findEndpointsForIndex();
+
     @Query("SELECT r FROM Route r JOIN FETCH r.stops WHERE r.id = :id")
     Optional<Route> findByIdWithStops(Long id);
 
@@ -0,0 +1,63 @@
+package com.bers.domain.repositories;
+
+import com.bers.domain.entities.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Concesiones de los jobs programados. Cada operación es un UPDATE condicional en su propia
+ * transacción, de modo que solo un nodo puede tomar una concesión vencida.
+ */
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until, l.lockedAt = :now, l.lockedBy = :node " +
+            "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquire(@Param("name") String name,
+                @Param("node") String node,
+                @Param("now") LocalDateTime now,
+                @Param("until") LocalDateTime until);
+
+    // Falla con DataIntegrityViolationException si otro nodo creó la fila primero
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by) " +
+            "VALUES (:name, :until, :now, :node)", nativeQuery = true)
+    int insertLock(@Param("name") String name,
+                   @Param("node") String node,
+                   @Param("now") LocalDateTime now,
+                   @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until " +
+            "WHERE l.name = :name AND l.lockedBy = :node AND l.lockedUntil > :now")
+    int extend(@Param("name") String name,
+               @Param("node") String node,
+               @Param("now") LocalDateTime now,
+               @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until WHERE l.name = :name AND l.lockedBy = :node")
+    int release(@Param("name") String name,
+                @Param("node") String node,
+                @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until, l.lastSuccessAt = :finishedAt " +
+            "WHERE l.name = :name AND l.lockedBy = :node")
+    int releaseAfterSuccess(@Param("name") String name,
+                            @Param("node") String node,
+                            @Param("until") LocalDateTime until,
+                            @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -2,6 +2,10 @@ package com.bers.domain.repositories;
 
 import com.bers.domain.entities.SeatHold;
 import com.bers.domain.entities.enums.HoldStatus;
+import com.bers.domain.repositories.projections.HoldDeadlineProjection;
+import com.bers.domain.repositories.projections.SeatHoldListProjection;
+import com.bers.domain.repositories.projections.SeatSegmentProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +23,9 @@ public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
     Optional<SeatHold> findByTripIdAndSeatNumberAndStatus(
             Long tripId, String seatNumber, HoldStatus status);
 
+    List<SeatHold> findByTripIdAndSeatNumberInAndStatus(
+            Long tripId, Collection<String> seatNumbers, HoldStatus status);
+
     @Query("SELECT s FROM SeatHold s WHERE s.status = 'HOLD' AND s.trip = :tripId")
     List<SeatHold> findActiveHoldsByTripId(Long tripId);
 
@@ -35,6 +43,33 @@ public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
             "WHERE sh.status = 'HOLD' AND sh.expiresAt < :currentTime")
     int expireOldHolds(@Param("currentTime") LocalDateTime currentTime);
 
+    @Modifying
+    @Query("UPDATE SeatHold sh SET sh.status = 'EXPIRED' WHERE sh.trip.id = :tripId " +
+            "AND sh.seatNumber = :seatNumber AND sh.status = 'HOLD' AND sh.expiresAt < :currentTime")
+    int expireStaleHoldsForSeat(@Param("tripId") Long tripId,
+                                @Param("seatNumber") String seatNumber,
+                                @Param("currentTime") LocalDateTime currentTime);
+
+    @Modifying
+    @Query("UPDATE SeatHold sh SET sh.status = 'EXPIRED' WHERE sh.trip.id = :tripId " +
+            "AND sh.seatNumber IN :seatNumbers AND sh.status = 'HOLD' AND sh.expiresAt < :currentTime")
+    int expireStaleHoldsForSeats(@Param("tripId") Long tripId,
+                                 @Param("seatNumbers") Collection<String> seatNumbers,
+                                 @Param("currentTime") LocalDateTime currentTime);
+
+    @Modifying
+    @Query("UPDATE SeatHold sh SET sh.status = 'EXPIRED' WHERE sh.id IN :ids " +
+            "AND sh.status = 'HOLD' AND sh.expiresAt <= :currentTime")
+    int expireHoldsByIds(@Param("ids") Collection<Long> ids,
+                         @Param("currentTime") LocalDateTime currentTime);
+
+    @Query("SELECT sh.id FROM SeatHold sh WHERE sh.id IN :ids AND sh.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") HoldStatus status);
+
+    @Query("SELECT new com.bers.domain.repositories.projections.HoldDeadlineProjection(" +
+            "sh.id, sh.trip.id, sh.expiresAt) FROM SeatHold sh WHERE sh.status = 'HOLD'")
+    List<HoldDeadlineProjection> findActiveHoldDeadlines();
+
     boolean existsByTripIdAndSeatNumberAndStatus(
             Long tripId, String seatNumber, HoldStatus status);
 
@@ -55,4 +90,49 @@ public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
             @Param("fromStopId") Long fromStopId,
             @Param("toStopId") Long toStopId,
             @Param("currentTime") LocalDateTime currentTime);
+
+    @Query("SELECT new com.bers.domain.repositories.projections.SeatSegmentProjection(" +
+            "sh.trip.id, sh.id, sh.seatNumber, fs.order, ts.order, sh.expiresAt) " +
+            "FROM SeatHold sh LEFT JOIN sh.fromStop fs LEFT JOIN sh.toStop ts " +
+            "WHERE sh.trip.id IN :tripIds AND sh.status = 'HOLD' AND sh.expiresAt > :currentTime")
+    List<SeatSegmentProjection> findActiveSeatSegmentsByTripIds(@Param("tripIds") Collection<Long> tripIds,
+                                                                @Param("currentTime") LocalDateTime currentTime);
+
+    @Query("SELECT DISTINCT sh.seatNumber FROM SeatHold sh WHERE sh.trip.id = :tripId " +
+            "AND sh.status = 'HOLD' AND sh.expiresAt > :currentTime")
+    List<String> findHeldSeatNumbersByTripId(@Param("tripId") Long tripId,
+                                             @Param("currentTime") LocalDateTime currentTime);
+
+    String SEAT_HOLD_LIST_SELECT = """
+            SELECT new com.bers.domain.repositories.projections.SeatHoldListProjection(
+                sh.id, sh.seatNumber, sh.expiresAt, sh.status, sh.createdAt,
+                tr.id, u.id, tr.date, tr.departureAt, r.name)
+            FROM SeatHold sh
+            LEFT JOIN sh.trip tr
+            LEFT JOIN tr.route r
+            LEFT JOIN sh.user u
+            """;
+
+    String SEAT_HOLD_LIST_FILTER = """
+            WHERE (:tripId IS NULL OR tr.id = :tripId)
+              AND (:userId IS NULL OR u.id = :userId)
+              AND (:status IS NULL OR sh.status = :status)
+            """;
+
+    @Query(SEAT_HOLD_LIST_SELECT + SEAT_HOLD_LIST_FILTER + "AND sh.id < :afterId ORDER BY sh.id DESC")
+    List<SeatHoldListProjection> findPageForList(
+            @Param("tripId") Long tripId,
+            @Param("userId") Long userId,
+            @Param("status") HoldStatus status,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
+
+    @Query(SEAT_HOLD_LIST_SELECT + "WHERE tr.id = :tripId AND sh.status = :status")
+    List<SeatHoldListProjection> findForListByTripIdAndStatus(@Param("tripId") Long tripId,
+                                                              @Param("status") HoldStatus status);
+
+    @Query(SEAT_HOLD_LIST_SELECT + "WHERE u.id = :userId AND sh.status = :status")
+    List<SeatHoldListProjection> findForListByUserIdAndStatus(@Param("userId") Long userId,
+                                                              @Param("status") HoldStatus status);
 }
@@ -2,7 +2,14 @@ package com.bers.domain.repositories;
 
 import com.bers.domain.entities.Seat;
 import com.bers.domain.entities.enums.SeatType;
+import com.bers.domain.repositories.projections.SeatListProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,8 +20,10 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
 
     List<Seat> findByBusId(Long busId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Seat> findByBusIdOrderByNumberAsc(Long busId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Seat> findByBusIdAndNumber(Long busId, String number);
 
     List<Seat> findAll();
@@ -23,5 +32,23 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
 
     long countByBusId(Long busId);
 
-
+    String SEAT_LIST_SELECT = """
+            SELECT new com.bers.domain.repositories.projections.SeatListProjection(
+                s.id, s.number, s.type, b.id, b.plate, b.capacity)
+            FROM Seat s
+            LEFT JOIN s.bus b
+            """;
+
+    String SEAT_LIST_FILTER = """
+            WHERE (:busId IS NULL OR b.id = :busId)
+              AND (:type IS NULL OR s.type = :type)
+            """;
+
+    @Query(SEAT_LIST_SELECT + SEAT_LIST_FILTER + "AND s.id < :afterId ORDER BY s.id DESC")
+    List<SeatListProjection> findPageForList(
+            @Param("busId") Long busId,
+            @Param("type") SeatType type,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
 }
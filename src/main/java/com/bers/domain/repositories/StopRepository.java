@@ -1,14 +1,24 @@
 package com.bers.domain.repositories;
 
 import com.bers.domain.entities.Stop;
+import com.bers.domain.repositories.projections.StopGeoProjection;
+import com.bers.domain.repositories.projections.StopIndexProjection;
+import com.bers.domain.repositories.projections.TripLastStopProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface StopRepository extends JpaRepository<Stop, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Stop> findByRouteIdOrderByOrderAsc(Long routeId);
 
     List<Stop> findByRouteId(Long routeId);
@@ -16,4 +26,21 @@ public interface StopRepository extends JpaRepository<Stop, Long> {
     List<Stop> findByNameContainingIgnoreCase(String name);
 
     List<Stop> findByRoute_IdAndOrderGreaterThanOrderByOrderAsc(Long routeId, int fromOrder);
+
+    @Query("SELECT new com.bers.domain.repositories.projections.TripLastStopProjection(t.id, MAX(s.order)) " +
+            "FROM Trip t JOIN t.route r JOIN r.stops s WHERE t.id IN :tripIds GROUP BY t.id")
+    List<TripLastStopProjection> findLastStopOrdersByTripIds(@Param("tripIds") Collection<Long> tripIds);
+
+    @Query("SELECT new com.bers.domain.repositories.projections.StopIndexProjection(s.route.id, s.id, s.name, s.order) " +
+            "FROM Stop s")
+    List<StopIndexProjection> findAllForIndex();
+
+    @Query("SELECT new com.bers.domain.repositories.projections.StopIndexProjection(s.route.id, s.id, s.name, s.order) " +
+            "FROM Stop s WHERE s.route.id IN :routeIds")
+    List<StopIndexProjection> findIndexEntriesByRouteIds(@Param("routeIds") Collection<Long> routeIds);
+
+    @Query("SELECT new com.bers.domain.repositories.projections.StopGeoProjection(" +
+            "s.id, s.name, s.order, s.lat, s.lng, r.id, r.code, r.name) " +
+            "FROM Stop s JOIN s.route r WHERE s.lat IS NOT NULL AND s.lng IS NOT NULL")
+    List<StopGeoProjection> findAllWithCoordinates();
 }
@@ -2,11 +2,18 @@ package com.bers.domain.repositories;
 
 import com.bers.domain.entities.Ticket;
 import com.bers.domain.entities.enums.TicketStatus;
+import com.bers.domain.repositories.projections.NoShowCandidateProjection;
+import com.bers.domain.repositories.projections.SeatSegmentProjection;
+import com.bers.domain.repositories.projections.TicketListProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,6 +77,79 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
                                            @Param("seatNumber") String seatNumber);
 
 
+    @Query("SELECT DISTINCT t.seatNumber FROM Ticket t WHERE t.trip.id = :tripId " +
+            "AND t.seatNumber IN :seatNumbers AND t.status IN ('SOLD', 'PENDING_PAYMENT') " +
+            "AND t.fromStop.order < :toStopOrder AND t.toStop.order > :fromStopOrder")
+    List<String> findSeatNumbersWithOverlappingTickets(@Param("tripId") Long tripId,
+                                                      @Param("seatNumbers") Collection<String> seatNumbers,
+                                                      @Param("fromStopOrder") Integer fromStopOrder,
+                                                      @Param("toStopOrder") Integer toStopOrder);
+
     List<Ticket> findByTripIdAndFromStopIdAndToStopIdAndStatus(Long tripId, Long fromStopId, Long toStopId, TicketStatus ticketStatus);
 
+    @Query("SELECT new com.bers.domain.repositories.projections.SeatSegmentProjection(" +
+            "t.trip.id, t.id, t.seatNumber, fs.order, ts.order) " +
+            "FROM Ticket t JOIN t.fromStop fs JOIN t.toStop ts " +
+            "WHERE t.trip.id IN :tripIds AND t.status IN :statuses")
+    List<SeatSegmentProjection> findSeatSegmentsByTripIds(@Param("tripIds") Collection<Long> tripIds,
+                                                          @Param("statuses") Collection<TicketStatus> statuses);
+
+
+    @Query("SELECT DISTINCT t.seatNumber FROM Ticket t WHERE t.trip.id = :tripId AND t.status IN :statuses")
+    List<String> findOccupiedSeatNumbersByTripId(@Param("tripId") Long tripId,
+                                                 @Param("statuses") Collection<TicketStatus> statuses);
+
+    @Query("SELECT new com.bers.domain.repositories.projections.NoShowCandidateProjection(" +
+            "t.id, t.trip.id, t.seatNumber, t.fromStop.id, t.toStop.id) " +
+            "FROM Ticket t WHERE t.trip.id IN :tripIds AND t.status = 'SOLD'")
+    List<NoShowCandidateProjection> findNoShowCandidates(@Param("tripIds") Collection<Long> tripIds);
+
+    // Cargo de no-show: el mayor entre el fijo y el porcentaje del precio, guardado en negativo
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = 'NO_SHOW', t.refundAmount = " +
+            "CASE WHEN t.price * :rate > :fixedFee THEN -(t.price * :rate) ELSE -:fixedFee END " +
+            "WHERE t.id IN :ids AND t.status = 'SOLD'")
+    int markNoShow(@Param("ids") Collection<Long> ids,
+                   @Param("fixedFee") BigDecimal fixedFee,
+                   @Param("rate") BigDecimal rate);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.id IN :ids AND t.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") TicketStatus status);
+
+    String TICKET_LIST_SELECT = """
+            SELECT new com.bers.domain.repositories.projections.TicketListProjection(
+                t.id, t.seatNumber, t.price, t.paymentMethod, t.status, t.qrCode, t.createdAt,
+                t.cancelledAt, t.refundAmount, t.cancellationPolicy,
+                tr.id, tr.date, tr.departureAt, r.origin, r.destination, b.plate,
+                p.id, p.username, fs.id, fs.name, ts.id, ts.name)
+            FROM Ticket t
+            LEFT JOIN t.trip tr
+            LEFT JOIN tr.route r
+            LEFT JOIN tr.bus b
+            LEFT JOIN t.passenger p
+            LEFT JOIN t.fromStop fs
+            LEFT JOIN t.toStop ts
+            """;
+
+    String TICKET_LIST_FILTER = """
+            WHERE (:tripId IS NULL OR tr.id = :tripId)
+              AND (:passengerId IS NULL OR p.id = :passengerId)
+              AND (:status IS NULL OR t.status = :status)
+            """;
+
+    @Query(TICKET_LIST_SELECT + TICKET_LIST_FILTER + "AND t.id < :afterId ORDER BY t.id DESC")
+    List<TicketListProjection> findPageForList(
+            @Param("tripId") Long tripId,
+            @Param("passengerId") Long passengerId,
+            @Param("status") TicketStatus status,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
+
+    @Query(TICKET_LIST_SELECT + "WHERE tr.id = :tripId AND t.status = :status")
+    List<TicketListProjection> findForListByTripIdAndStatus(@Param("tripId") Long tripId,
+                                                            @Param("status") TicketStatus status);
+
+    @Query(TICKET_LIST_SELECT + "WHERE p.id = :passengerId ORDER BY t.createdAt DESC")
+    List<TicketListProjection> findForListByPassengerId(@Param("passengerId") Long passengerId);
 }
@@ -3,13 +3,19 @@ package com.bers.domain.repositories;
 import com.bers.domain.entities.Seat;
 import com.bers.domain.entities.Trip;
 import com.bers.domain.entities.enums.TripStatus;
+import com.bers.domain.repositories.projections.TripCalendarProjection;
+import com.bers.domain.repositories.projections.TripScheduleProjection;
+import com.bers.domain.repositories.projections.TripTransitionProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,6 +60,8 @@ public interface TripRepository extends JpaRepository<Trip, Long> {
 
     @Query("""
                 SELECT t FROM Trip t
+                JOIN FETCH t.route
+                LEFT JOIN FETCH t.bus
                 WHERE (LOWER(t.route.origin) = LOWER(:origin))
                   AND (LOWER(t.route.destination) = LOWER(:destination))
                   AND (t.date = :date)
@@ -66,6 +74,89 @@ public interface TripRepository extends JpaRepository<Trip, Long> {
             @Param("date") LocalDate date
     );
 
+    @Query("""
+                SELECT t FROM Trip t
+                JOIN FETCH t.route
+                LEFT JOIN FETCH t.bus
+                WHERE t.route.id IN :routeIds
+                  AND t.date = :date
+                  AND t.status IN ('SCHEDULED','BOARDING')
+                ORDER BY t.departureAt ASC
+            """)
+    List<Trip> searchTripsByRoutes(
+            @Param("routeIds") Collection<Long> routeIds,
+            @Param("date") LocalDate date
+    );
+
+    @Query("""
+                SELECT new com.bers.domain.repositories.projections.TripScheduleProjection(
+                    t.id, r.id, r.name, t.departureAt, t.arrivalEta, b.capacity)
+                FROM Trip t
+                JOIN t.route r
+                LEFT JOIN t.bus b
+                WHERE t.date = :date
+                  AND t.status IN ('SCHEDULED','BOARDING')
+            """)
+    List<TripScheduleProjection> findScheduleByDate(@Param("date") LocalDate date);
+
+    @Query("""
+                SELECT new com.bers.domain.repositories.projections.TripCalendarProjection(t.id, t.date, b.capacity)
+                FROM Trip t
+                LEFT JOIN t.bus b
+                WHERE t.route.id = :routeId
+                  AND t.date BETWEEN :startDate AND :endDate
+                  AND t.status IN ('SCHEDULED','BOARDING')
+            """)
+    List<TripCalendarProjection> findCalendarByRouteAndDateRange(
+            @Param("routeId") Long routeId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Página de viajes posteriores a la posición (departureAt, id), con filtros opcionales.
+     * La comparación por fila permite arrancar el recorrido de {@code idx_trips_departure_id} en la posición.
+     * El límite va en el {@link Pageable}; su número de página debe ser siempre 0.
+     */
+    @Query("""
+                SELECT t FROM Trip t
+                JOIN FETCH t.route
+                LEFT JOIN FETCH t.bus
+                WHERE (:routeId IS NULL OR t.route.id = :routeId)
+                  AND (:date IS NULL OR t.date = :date)
+                  AND (:status IS NULL OR t.status = :status)
+                  AND (t.departureAt, t.id) > (:afterDepartureAt, :afterId)
+                ORDER BY t.departureAt ASC, t.id ASC
+            """)
+    List<Trip> findPageAfter(
+            @Param("routeId") Long routeId,
+            @Param("date") LocalDate date,
+            @Param("status") TripStatus status,
+            @Param("afterDepartureAt") LocalDateTime afterDepartureAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query("SELECT new com.bers.domain.repositories.projections.TripTransitionProjection(" +
+            "t.id, t.route.id, t.date, t.departureAt) FROM Trip t " +
+            "WHERE t.status = 'SCHEDULED' AND t.departureAt > :after AND t.departureAt <= :until")
+    List<TripTransitionProjection> findScheduledDepartingBetween(@Param("after") LocalDateTime after,
+                                                                 @Param("until") LocalDateTime until);
+
+    @Query("SELECT new com.bers.domain.repositories.projections.TripTransitionProjection(" +
+            "t.id, t.route.id, t.date, t.departureAt) FROM Trip t " +
+            "WHERE t.status = 'BOARDING' AND t.departureAt <= :until")
+    List<TripTransitionProjection> findBoardingDepartedBy(@Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE Trip t SET t.status = :newStatus WHERE t.id IN :ids AND t.status = :currentStatus")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("currentStatus") TripStatus currentStatus,
+                         @Param("newStatus") TripStatus newStatus);
+
+    @Query("SELECT t.id FROM Trip t WHERE t.id IN :ids AND t.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") TripStatus status);
+
     @Query("SELECT s FROM Trip t JOIN t.bus b JOIN b.seats s WHERE t.id = :tripId ")
     List<Seat> findSeatsByTripId(@Param("tripId") Long tripId);
 
@@ -3,7 +3,11 @@ package com.bers.domain.repositories;
 import com.bers.domain.entities.User;
 import com.bers.domain.entities.enums.UserRole;
 import com.bers.domain.entities.enums.UserStatus;
+import com.bers.domain.repositories.projections.UserListProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,4 +29,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(UserRole role);
 
     List<User> findByRoleAndStatus(UserRole role, UserStatus status);
+
+    String USER_LIST_SELECT = """
+            SELECT new com.bers.domain.repositories.projections.UserListProjection(
+                u.id, u.username, u.email, u.phone, u.role, u.status, u.dateOfBirth, u.createAt)
+            FROM User u
+            """;
+
+    String USER_LIST_FILTER = """
+            WHERE (:role IS NULL OR u.role = :role)
+              AND (:status IS NULL OR u.status = :status)
+            """;
+
+    @Query(USER_LIST_SELECT + USER_LIST_FILTER + "AND u.id < :afterId ORDER BY u.id DESC")
+    List<UserListProjection> findPageForList(
+            @Param("role") UserRole role,
+            @Param("status") UserStatus status,
+            @Param("afterId") Long afterId,
+            Pageable limit
+    );
 }
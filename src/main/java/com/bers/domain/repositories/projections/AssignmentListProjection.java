@@ -0,0 +1,26 @@
+package com.bers.domain.repositories.projections;
+
+import com.bers.domain.entities.enums.TripStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas de {@code AssignmentResponse} leídas en una sola consulta, con viaje, ruta, conductor y despachador.
+ */
+public record AssignmentListProjection(
+        Long id,
+        Boolean checklistOk,
+        LocalDateTime assignedAt,
+        Long tripId,
+        TripStatus tripStatus,
+        LocalDate tripDate,
+        LocalDateTime tripDepartureAt,
+        String routeOrigin,
+        String routeDestination,
+        Long driverId,
+        String driverName,
+        Long dispatcherId,
+        String dispatcherName
+) {
+}
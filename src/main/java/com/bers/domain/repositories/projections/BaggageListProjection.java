@@ -0,0 +1,20 @@
+package com.bers.domain.repositories.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Columnas de {@code BaggageResponse} leídas en una sola consulta, con el tiquete, su pasajero y su viaje.
+ */
+public record BaggageListProjection(
+        Long id,
+        BigDecimal weightKg,
+        BigDecimal fee,
+        String tagCode,
+        Long ticketId,
+        String passengerName,
+        String routeOrigin,
+        String routeDestination,
+        LocalDate tripDate
+) {
+}
@@ -0,0 +1,9 @@
+package com.bers.domain.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Huella de la tabla de configuración: cambia con cualquier alta, baja o modificación.
+ */
+public record ConfigVersionProjection(Long count, Long maxId, LocalDateTime lastUpdatedAt) {
+}
@@ -0,0 +1,16 @@
+package com.bers.domain.repositories.projections;
+
+import com.bers.domain.entities.enums.DynamicPricingStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Regla de tarifa de un tramo de la ruta, para armar su matriz de tarifas.
+ */
+public record FareMatrixEntryProjection(
+        Long fromStopId,
+        Long toStopId,
+        BigDecimal basePrice,
+        DynamicPricingStatus dynamicPricing
+) {
+}
@@ -0,0 +1,13 @@
+package com.bers.domain.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vencimiento de un hold activo, suficiente para programar su expiración.
+ */
+public record HoldDeadlineProjection(
+        Long id,
+        Long tripId,
+        LocalDateTime expiresAt
+) {
+}
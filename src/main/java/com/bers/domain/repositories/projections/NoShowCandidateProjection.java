@@ -0,0 +1,13 @@
+package com.bers.domain.repositories.projections;
+
+/**
+ * Tiquete vendido y no usado de un viaje en ventana de no-show, con el tramo que libera.
+ */
+public record NoShowCandidateProjection(
+        Long ticketId,
+        Long tripId,
+        String seatNumber,
+        Long fromStopId,
+        Long toStopId
+) {
+}
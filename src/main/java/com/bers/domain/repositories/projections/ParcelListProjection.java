@@ -0,0 +1,28 @@
+package com.bers.domain.repositories.projections;
+
+import com.bers.domain.entities.enums.ParcelStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas de {@code ParcelResponse} leídas sin cargar la encomienda como entidad.
+ */
+public record ParcelListProjection(
+        Long id,
+        String code,
+        String senderName,
+        String senderPhone,
+        String receiverName,
+        String receiverPhone,
+        BigDecimal price,
+        ParcelStatus status,
+        String proofPhotoUrl,
+        String deliveryOtp,
+        LocalDateTime createdAt,
+        LocalDateTime deliveredAt,
+        Long fromStopId,
+        Long toStopId,
+        Long tripId
+) {
+}
@@ -0,0 +1,11 @@
+package com.bers.domain.repositories.projections;
+
+/**
+ * Origen y destino de una ruta, para el índice de autocompletado.
+ */
+public record RouteEndpointProjection(
+        Long routeId,
+        String origin,
+        String destination
+) {
+}
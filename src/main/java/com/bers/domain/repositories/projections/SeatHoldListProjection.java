@@ -0,0 +1,23 @@
+package com.bers.domain.repositories.projections;
+
+import com.bers.domain.entities.enums.HoldStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas de {@code SeatHoldResponse} leídas en una sola consulta, con el viaje y su ruta.
+ */
+public record SeatHoldListProjection(
+        Long id,
+        String seatNumber,
+        LocalDateTime expiresAt,
+        HoldStatus status,
+        LocalDateTime createdAt,
+        Long tripId,
+        Long userId,
+        LocalDate tripDate,
+        LocalDateTime tripDepartureAt,
+        String routeName
+) {
+}
@@ -0,0 +1,16 @@
+package com.bers.domain.repositories.projections;
+
+import com.bers.domain.entities.enums.SeatType;
+
+/**
+ * Columnas de {@code SeatResponse} leídas en una sola consulta, con el bus.
+ */
+public record SeatListProjection(
+        Long id,
+        String number,
+        SeatType type,
+        Long busId,
+        String busPlate,
+        Integer busCapacity
+) {
+}
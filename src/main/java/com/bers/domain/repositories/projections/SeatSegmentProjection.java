@@ -0,0 +1,20 @@
+package com.bers.domain.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección liviana de un ticket o hold: solo el asiento y el tramo que ocupa.
+ * Evita cargar las entidades Stop para conocer el orden de las paradas.
+ */
+public record SeatSegmentProjection(
+        Long tripId,
+        Long id,
+        String seatNumber,
+        Integer fromOrder,
+        Integer toOrder,
+        LocalDateTime expiresAt
+) {
+    public SeatSegmentProjection(Long tripId, Long id, String seatNumber, Integer fromOrder, Integer toOrder) {
+        this(tripId, id, seatNumber, fromOrder, toOrder, null);
+    }
+}
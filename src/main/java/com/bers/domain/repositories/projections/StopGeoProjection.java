@@ -0,0 +1,18 @@
+package com.bers.domain.repositories.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Parada con coordenadas y los datos de su ruta, para el índice de paradas cercanas.
+ */
+public record StopGeoProjection(
+        Long stopId,
+        String name,
+        Integer order,
+        BigDecimal lat,
+        BigDecimal lng,
+        Long routeId,
+        String routeCode,
+        String routeName
+) {
+}
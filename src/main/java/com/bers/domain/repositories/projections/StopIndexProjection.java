@@ -0,0 +1,12 @@
+package com.bers.domain.repositories.projections;
+
+/**
+ * Parada con su ruta y orden, para construir el índice de búsqueda por parada.
+ */
+public record StopIndexProjection(
+        Long routeId,
+        Long stopId,
+        String name,
+        Integer order
+) {
+}
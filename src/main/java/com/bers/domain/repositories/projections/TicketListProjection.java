@@ -0,0 +1,38 @@
+package com.bers.domain.repositories.projections;
+
+import com.bers.domain.entities.enums.CancellationPolicy;
+import com.bers.domain.entities.enums.PaymentMethod;
+import com.bers.domain.entities.enums.TicketStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas de {@code TicketResponse} leídas en una sola consulta, con viaje, ruta, bus, pasajero y paradas.
+ */
+public record TicketListProjection(
+        Long id,
+        String seatNumber,
+        BigDecimal price,
+        PaymentMethod paymentMethod,
+        TicketStatus status,
+        String qrCode,
+        LocalDateTime createdAt,
+        LocalDateTime cancelledAt,
+        BigDecimal refundAmount,
+        CancellationPolicy cancellationPolicy,
+        Long tripId,
+        LocalDate tripDate,
+        LocalDateTime tripDepartureAt,
+        String routeOrigin,
+        String routeDestination,
+        String busPlate,
+        Long passengerId,
+        String passengerName,
+        Long fromStopId,
+        String fromStopName,
+        Long toStopId,
+        String toStopName
+) {
+}
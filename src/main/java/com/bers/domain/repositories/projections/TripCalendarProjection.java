@@ -0,0 +1,13 @@
+package com.bers.domain.repositories.projections;
+
+import java.time.LocalDate;
+
+/**
+ * Viaje de una ruta con su fecha y capacidad, para el calendario de tarifas.
+ */
+public record TripCalendarProjection(
+        Long tripId,
+        LocalDate date,
+        Integer capacity
+) {
+}
@@ -0,0 +1,10 @@
+package com.bers.domain.repositories.projections;
+
+/**
+ * Orden de la última parada de la ruta de un viaje.
+ */
+public record TripLastStopProjection(
+        Long tripId,
+        Integer lastStopOrder
+) {
+}
@@ -0,0 +1,16 @@
+package com.bers.domain.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Horario de un viaje con su ruta y capacidad, para armar el horario del día.
+ */
+public record TripScheduleProjection(
+        Long tripId,
+        Long routeId,
+        String routeName,
+        LocalDateTime departureAt,
+        LocalDateTime arrivalEta,
+        Integer capacity
+) {
+}
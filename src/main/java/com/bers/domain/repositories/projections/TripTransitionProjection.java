@@ -0,0 +1,15 @@
+package com.bers.domain.repositories.projections;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Viaje candidato a un cambio de estado programado, con lo necesario para anunciarlo.
+ */
+public record TripTransitionProjection(
+        Long tripId,
+        Long routeId,
+        LocalDate date,
+        LocalDateTime departureAt
+) {
+}
@@ -0,0 +1,22 @@
+package com.bers.domain.repositories.projections;
+
+import com.bers.domain.entities.enums.UserRole;
+import com.bers.domain.entities.enums.UserStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Columnas de {@code UserResponse}; deja fuera el hash de la contraseña.
+ */
+public record UserListProjection(
+        Long id,
+        String username,
+        String email,
+        String phone,
+        UserRole role,
+        UserStatus status,
+        LocalDate dateOfBirth,
+        LocalDateTime createAt
+) {
+}
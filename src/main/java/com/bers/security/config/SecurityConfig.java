@@ -35,8 +35,13 @@ public class SecurityConfig {
             "/api/auth/**",
             "/api/v1/routes/origins",
             "/api/v1/routes/destinations",
+            "/api/v1/routes/autocomplete",
             "/api/v1/trips/filter",
+            "/api/v1/trips/filter/stops",
+            "/api/v1/trips/connections",
+            "/api/v1/trips/calendar",
             "/api/v1/seats/*/full-seats-and-holds",
+            "/api/v1/seats/*/stream",
             "/api/v1/trips/search",
             "/api/v1/trips/search/*",
             "/api/v1/trips/*/details",
@@ -52,6 +57,7 @@ public class SecurityConfig {
             "/api/v1/seats/bus/*/number/*",
             "/api/v1/seats/bus/*/count",
             "/api/v1/stops/search",
+            "/api/v1/stops/nearby",
             "/api/v1/stops/all",
             "/api/v1/stops/{id}",
             "/api/v1/stops/route/*",
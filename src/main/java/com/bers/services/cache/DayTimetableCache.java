@@ -0,0 +1,78 @@
+package com.bers.services.cache;
+
+import com.bers.services.routing.DayTimetable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Horarios del día ya armados para el planificador de conexiones, uno por fecha.
+ * Un cambio en un viaje invalida su fecha tras el commit; el TTL cubre los cambios
+ * en paradas y tarifas y los hechos en otros nodos.
+ */
+@Slf4j
+@Component
+public class DayTimetableCache {
+
+    private final Map<LocalDate, Entry> timetables = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    @Value("${bers.connections.timetable-ttl-seconds:120}")
+    private long ttlSeconds = 120;
+
+    public DayTimetable get(LocalDate date, Supplier<DayTimetable> loader) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        Entry entry = timetables.get(date);
+        if (entry != null && System.nanoTime() - entry.loadedAtNanos() <= ttlNanos) {
+            return entry.timetable();
+        }
+
+        long epoch = invalidationEpoch.get();
+        DayTimetable timetable = loader.get();
+        timetables.compute(date, (d, current) ->
+                invalidationEpoch.get() == epoch ? new Entry(timetable, System.nanoTime()) : current);
+        timetables.keySet().removeIf(cached -> cached.isBefore(LocalDate.now()));
+        log.debug("[Timetable] Built timetable for {} with {} routes", date, timetable.routeCount());
+        return timetable;
+    }
+
+    public void evictDate(LocalDate date) {
+        if (date != null) {
+            afterCommit(() -> timetables.remove(date));
+        }
+    }
+
+    public void evictAll() {
+        afterCommit(timetables::clear);
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(eviction);
+                }
+            });
+        } else {
+            invalidate(eviction);
+        }
+    }
+
+    private void invalidate(Runnable eviction) {
+        invalidationEpoch.incrementAndGet();
+        eviction.run();
+    }
+
+    private record Entry(DayTimetable timetable, long loadedAtNanos) {
+    }
+}
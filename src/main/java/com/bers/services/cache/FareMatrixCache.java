@@ -0,0 +1,103 @@
+package com.bers.services.cache;
+
+import com.bers.domain.repositories.FareRuleRepository;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.services.routing.RouteFareMatrix;
+import com.bers.services.routing.RouteFareMatrix.SegmentFare;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Matrices de tarifas por ruta, armadas con dos consultas la primera vez que se cotiza la ruta.
+ * Los cambios en reglas de tarifa, paradas o rutas invalidan la ruta tras el commit; el TTL cubre
+ * los hechos en otros nodos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FareMatrixCache {
+
+    public static final BigDecimal DEFAULT_FARE = new BigDecimal("50000");
+
+    private final FareRuleRepository fareRuleRepository;
+    private final StopRepository stopRepository;
+
+    private final Map<Long, Entry> matrices = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    @Value("${bers.fares.matrix-ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    public SegmentFare fare(Long routeId, Long fromStopId, Long toStopId) {
+        SegmentFare fare = matrix(routeId).fare(fromStopId, toStopId);
+        if (fare.source() == RouteFareMatrix.Source.DEFAULT) {
+            log.warn("[FareMatrix] No fare rule covers route {} segment {} → {}, using default fare {}",
+                    routeId, fromStopId, toStopId, DEFAULT_FARE);
+        }
+        return fare;
+    }
+
+    public BigDecimal basePrice(Long routeId, Long fromStopId, Long toStopId) {
+        return fare(routeId, fromStopId, toStopId).basePrice();
+    }
+
+    public RouteFareMatrix matrix(Long routeId) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        Entry entry = matrices.get(routeId);
+        if (entry != null && System.nanoTime() - entry.loadedAtNanos() <= ttlNanos) {
+            return entry.matrix();
+        }
+
+        long epoch = invalidationEpoch.get();
+        RouteFareMatrix matrix = RouteFareMatrix.build(routeId,
+                stopRepository.findIndexEntriesByRouteIds(List.of(routeId)),
+                fareRuleRepository.findMatrixEntriesByRouteId(routeId),
+                DEFAULT_FARE);
+        matrices.compute(routeId, (id, current) ->
+                invalidationEpoch.get() == epoch ? new Entry(matrix, System.nanoTime()) : current);
+        log.debug("[FareMatrix] Built fare matrix for route {}", routeId);
+        return matrix;
+    }
+
+    public void evictRoute(Long routeId) {
+        if (routeId != null) {
+            afterCommit(() -> matrices.remove(routeId));
+        }
+    }
+
+    public void evictAll() {
+        afterCommit(matrices::clear);
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(eviction);
+                }
+            });
+        } else {
+            invalidate(eviction);
+        }
+    }
+
+    private void invalidate(Runnable eviction) {
+        invalidationEpoch.incrementAndGet();
+        eviction.run();
+    }
+
+    private record Entry(RouteFareMatrix matrix, long loadedAtNanos) {
+    }
+}
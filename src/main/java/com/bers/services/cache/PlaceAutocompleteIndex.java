@@ -0,0 +1,377 @@
+package com.bers.services.cache;
+
+import com.bers.domain.entities.Route;
+import com.bers.domain.entities.Stop;
+import com.bers.domain.repositories.RouteRepository;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.projections.RouteEndpointProjection;
+import com.bers.domain.repositories.projections.StopIndexProjection;
+import com.bers.services.event.RemoteReferenceDataChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de autocompletado de orígenes, destinos y nombres de parada.
+ * Las claves se pliegan sin tildes ni mayúsculas y se indexa cada comienzo de palabra en un trie,
+ * así "norte" encuentra "Terminal Norte". Se carga completo en la primera consulta y después
+ * se mantiene con los cambios de rutas y paradas, aplicados tras el commit. Los cambios hechos en
+ * otros nodos lo marcan para recargar, y se recarga igual cada {@code ttlSeconds}; mientras tanto
+ * las consultas siguen respondiendo con el índice anterior.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlaceAutocompleteIndex {
+
+    private final RouteRepository routeRepository;
+    private final StopRepository stopRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrieNode root = new TrieNode();
+    private final Map<Long, RouteEndpointProjection> routes = new HashMap<>();
+    private final Map<Long, StopIndexProjection> stops = new HashMap<>();
+    private final Map<SuggestionKey, Suggestion> suggestions = new HashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile boolean loaded;
+    private volatile boolean stale;
+    private volatile long loadedAtNanos;
+
+    @Value("${bers.autocomplete.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    public enum PlaceType {
+        ORIGIN, DESTINATION, STOP
+    }
+
+    /**
+     * Sugerencias ordenadas: primero las que empiezan por el término, luego las que lo tienen
+     * al comienzo de otra palabra; a igualdad, las usadas por más rutas o paradas.
+     */
+    public List<Suggestion> suggest(String term, PlaceType type, int limit) {
+        String folded = fold(term);
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            TrieNode node = root;
+            for (int i = 0; i < folded.length() && node != null; i++) {
+                node = node.children.get(folded.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            Comparator<Suggestion> ranking = Comparator
+                    .comparing((Suggestion s) -> !s.folded().startsWith(folded))
+                    .thenComparing(Comparator.comparingInt(Suggestion::count).reversed())
+                    .thenComparingInt(s -> s.folded().length())
+                    .thenComparing(Suggestion::folded);
+            return topRanked(node, type, ranking, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombres distintos de un tipo, en minúsculas como los devolvía la consulta original.
+     */
+    public List<String> names(PlaceType type) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return suggestions.values().stream()
+                    .filter(s -> s.type() == type)
+                    .map(s -> s.name().toLowerCase(Locale.ROOT))
+                    .distinct()
+                    .sorted()
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> destinationsFrom(String origin) {
+        String folded = fold(origin);
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return routes.values().stream()
+                    .filter(route -> fold(route.origin()).equals(folded))
+                    .map(route -> route.destination().toLowerCase(Locale.ROOT))
+                    .distinct()
+                    .sorted()
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== CAMBIOS ====================
+
+    public void routeSaved(Route route) {
+        RouteEndpointProjection endpoints = new RouteEndpointProjection(
+                route.getId(), route.getOrigin(), route.getDestination());
+        afterCommit(() -> putRoute(endpoints));
+    }
+
+    public void routeDeleted(Long routeId) {
+        afterCommit(() -> {
+            removeRoute(routeId);
+            List<Long> routeStops = stops.values().stream()
+                    .filter(stop -> Objects.equals(stop.routeId(), routeId))
+                    .map(StopIndexProjection::stopId)
+                    .toList();
+            routeStops.forEach(this::removeStop);
+        });
+    }
+
+    public void stopSaved(Stop stop) {
+        StopIndexProjection entry = new StopIndexProjection(
+                stop.getRoute() != null ? stop.getRoute().getId() : null, stop.getId(), stop.getName(), stop.getOrder());
+        afterCommit(() -> putStop(entry));
+    }
+
+    public void stopDeleted(Long stopId) {
+        afterCommit(() -> removeStop(stopId));
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteReferenceDataChangedEvent event) {
+        if (event.isAbout(Route.class, Stop.class)) {
+            generation.incrementAndGet();
+            stale = true;
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable guarded = () -> {
+            generation.incrementAndGet();
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    change.run();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded && !isExpired()) {
+            return;
+        }
+        // Con un índice ya cargado recarga un solo hilo; los demás siguen con el anterior
+        if (loaded && !reloading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long startedAt = generation.get();
+            List<RouteEndpointProjection> routeRows = routeRepository.findEndpointsForIndex();
+            List<StopIndexProjection> stopRows = stopRepository.findAllForIndex();
+            lock.writeLock().lock();
+            try {
+                if (loaded && !isExpired()) {
+                    return;
+                }
+                // Un cambio confirmado se cruzó con la lectura: se relee con el lock tomado, sin cambios en curso
+                if (generation.get() != startedAt) {
+                    routeRows = routeRepository.findEndpointsForIndex();
+                    stopRows = stopRepository.findAllForIndex();
+                }
+                install(routeRows, stopRows);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    private boolean isExpired() {
+        return stale || System.nanoTime() - loadedAtNanos > TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    private void install(List<RouteEndpointProjection> routeRows, List<StopIndexProjection> stopRows) {
+        root.children.clear();
+        root.keys.clear();
+        routes.clear();
+        stops.clear();
+        suggestions.clear();
+        routeRows.forEach(this::putRoute);
+        stopRows.forEach(this::putStop);
+        stale = false;
+        loadedAtNanos = System.nanoTime();
+        loaded = true;
+        log.debug("[Autocomplete] Loaded {} routes and {} stops ({} suggestions)",
+                routes.size(), stops.size(), suggestions.size());
+    }
+
+    private void putRoute(RouteEndpointProjection route) {
+        removeRoute(route.routeId());
+        routes.put(route.routeId(), route);
+        add(PlaceType.ORIGIN, route.origin());
+        add(PlaceType.DESTINATION, route.destination());
+    }
+
+    private void removeRoute(Long routeId) {
+        RouteEndpointProjection previous = routes.remove(routeId);
+        if (previous != null) {
+            remove(PlaceType.ORIGIN, previous.origin());
+            remove(PlaceType.DESTINATION, previous.destination());
+        }
+    }
+
+    private void putStop(StopIndexProjection stop) {
+        removeStop(stop.stopId());
+        stops.put(stop.stopId(), stop);
+        add(PlaceType.STOP, stop.name());
+    }
+
+    private void removeStop(Long stopId) {
+        StopIndexProjection previous = stops.remove(stopId);
+        if (previous != null) {
+            remove(PlaceType.STOP, previous.name());
+        }
+    }
+
+    private void add(PlaceType type, String name) {
+        String folded = fold(name);
+        if (folded.isEmpty()) {
+            return;
+        }
+        SuggestionKey key = new SuggestionKey(type, folded);
+        Suggestion current = suggestions.get(key);
+        if (current != null) {
+            suggestions.put(key, new Suggestion(type, folded, current.name(), current.count() + 1));
+            return;
+        }
+        suggestions.put(key, new Suggestion(type, folded, name.trim(), 1));
+        for (int start : wordStarts(folded)) {
+            TrieNode node = root;
+            for (int i = start; i < folded.length(); i++) {
+                node = node.children.computeIfAbsent(folded.charAt(i), c -> new TrieNode());
+                node.keys.add(key);
+            }
+        }
+    }
+
+    private void remove(PlaceType type, String name) {
+        String folded = fold(name);
+        SuggestionKey key = new SuggestionKey(type, folded);
+        Suggestion current = suggestions.get(key);
+        if (current == null) {
+            return;
+        }
+        if (current.count() > 1) {
+            suggestions.put(key, new Suggestion(type, folded, current.name(), current.count() - 1));
+            return;
+        }
+        suggestions.remove(key);
+        for (int start : wordStarts(folded)) {
+            unlink(root, folded, start, key);
+        }
+    }
+
+    // Quita la clave del camino y poda los nodos que quedan vacíos
+    private static void unlink(TrieNode node, String folded, int index, SuggestionKey key) {
+        if (index == folded.length()) {
+            return;
+        }
+        char c = folded.charAt(index);
+        TrieNode child = node.children.get(c);
+        if (child == null) {
+            return;
+        }
+        child.keys.remove(key);
+        unlink(child, folded, index + 1, key);
+        if (child.keys.isEmpty() && child.children.isEmpty()) {
+            node.children.remove(c);
+        }
+    }
+
+    // Conserva solo los mejores "limit" mientras recorre, así ningún candidato se descarta antes de ordenarlo
+    private List<Suggestion> topRanked(TrieNode node, PlaceType type, Comparator<Suggestion> ranking, int limit) {
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(ranking.reversed());
+        for (SuggestionKey key : node.keys) {
+            if (type != null && key.type() != type) {
+                continue;
+            }
+            Suggestion suggestion = suggestions.get(key);
+            if (suggestion == null) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(suggestion);
+            } else if (ranking.compare(suggestion, best.peek()) < 0) {
+                best.poll();
+                best.add(suggestion);
+            }
+        }
+        List<Suggestion> result = new ArrayList<>(best);
+        result.sort(ranking);
+        return result;
+    }
+
+    private static List<Integer> wordStarts(String folded) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < folded.length(); i++) {
+            if (i == 0 || folded.charAt(i - 1) == ' ') {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * Clave plegada: sin tildes, en minúsculas y con los espacios normalizados.
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String withoutMarks = Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return TripSearchCache.normalize(withoutMarks);
+    }
+
+    private record SuggestionKey(PlaceType type, String folded) {
+    }
+
+    /**
+     * Nombre sugerido con el número de rutas (orígenes y destinos) o paradas que lo usan.
+     */
+    public record Suggestion(PlaceType type, String folded, String name, int count) {
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        // Cada nodo conoce las claves de su subárbol para no recorrerlo en cada consulta
+        private final Set<SuggestionKey> keys = new LinkedHashSet<>();
+    }
+}
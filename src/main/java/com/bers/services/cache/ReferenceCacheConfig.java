@@ -0,0 +1,95 @@
+package com.bers.services.cache;
+
+import com.bers.domain.entities.*;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché de segundo nivel de Hibernate para las entidades de referencia: {@link Route}, {@link Stop},
+ * {@link Bus}, {@link Seat} y {@link FareRule}, las colecciones {@code Route.stops} y {@code Bus.seats}
+ * y las consultas marcadas como cacheables.
+ * <p>
+ * Cada región es una caché Caffeine acotada a {@code bers.cache.l2.max-entries} entradas y con un TTL de
+ * {@code bers.cache.l2.ttl-seconds}. Una región que no esté aquí la crea Hibernate sin límite y lo avisa en el log;
+ * es lo que pasa en los tests de repositorio, que no cargan esta configuración.
+ * Los cambios se avisan a los demás nodos por {@link #INVALIDATION_EXCHANGE} (ver {@link ReferenceCacheInvalidator});
+ * el TTL acota lo que dure un aviso perdido.
+ */
+@Configuration
+public class ReferenceCacheConfig {
+
+    public static final String INVALIDATION_EXCHANGE = "cache.invalidation.exchange";
+
+    static final List<String> REGIONS = List.of(
+            Route.class.getName(),
+            Route.class.getName() + ".stops",
+            Stop.class.getName(),
+            Bus.class.getName(),
+            Bus.class.getName() + ".seats",
+            Seat.class.getName(),
+            FareRule.class.getName(),
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${bers.cache.l2.max-entries:10000}") long maxEntries,
+                                              @Value("${bers.cache.l2.ttl-seconds:600}") long ttlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : REGIONS) {
+            if (cacheManager.getCache(region) == null) {
+                cacheManager.createCache(region, new CaffeineConfiguration<>()
+                        .setMaximumSize(OptionalLong.of(maxEntries))
+                        .setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)))
+                        .setStatisticsEnabled(true));
+            }
+        }
+        // Las marcas de tiempo por tabla no deben expirar antes que las consultas que validan
+        String timestamps = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+        if (cacheManager.getCache(timestamps) == null) {
+            cacheManager.createCache(timestamps, new CaffeineConfiguration<>().setStatisticsEnabled(true));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // ==================== INVALIDACIÓN ENTRE NODOS ====================
+
+    @Bean
+    public FanoutExchange cacheInvalidationExchange() {
+        return new FanoutExchange(INVALIDATION_EXCHANGE, true, false);
+    }
+
+    /**
+     * Cola propia de este nodo; se borra cuando el nodo se desconecta.
+     */
+    @Bean
+    public Queue cacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding cacheInvalidationBinding(Queue cacheInvalidationQueue, FanoutExchange cacheInvalidationExchange) {
+        return BindingBuilder.bind(cacheInvalidationQueue).to(cacheInvalidationExchange);
+    }
+}
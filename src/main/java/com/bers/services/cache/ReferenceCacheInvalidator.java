@@ -0,0 +1,133 @@
+package com.bers.services.cache;
+
+import com.bers.domain.entities.*;
+import com.bers.services.event.DomainEventBus;
+import com.bers.services.event.ReferenceDataChangedEvent;
+import com.bers.services.event.RemoteReferenceDataChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Mantiene la caché de segundo nivel coherente entre nodos. Hibernate actualiza la caché del nodo que escribe;
+ * tras el commit este componente publica el cambio en {@link ReferenceCacheConfig#INVALIDATION_EXCHANGE} y cada
+ * nodo que lo recibe saca de su caché la entidad, la colección de su dueño y las consultas cacheadas, y publica
+ * un {@link RemoteReferenceDataChangedEvent} para los índices en memoria armados con esas entidades.
+ * <p>
+ * El envío va por {@link DomainEventBus}, fuera del hilo de la petición; si RabbitMQ no responde el aviso se
+ * pierde y la entrada vieja dura como mucho el TTL de la región.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceCacheInvalidator
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Set<Class<?>> CACHED_TYPES = Set.of(Route.class, Stop.class, Bus.class, Seat.class, FareRule.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainEventBus eventBus;
+    private final RabbitTemplate rabbitTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        eventBus.subscribe(ReferenceDataChangedEvent.class, "cache-invalidation", this::broadcast);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return CACHED_TYPES.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getPersister().getEntityName(), event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getPersister().getEntityName(), event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getPersister().getEntityName(), event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /**
+     * Aviso de otro nodo: saca de la caché local lo que cambió allá.
+     */
+    @RabbitListener(queues = "#{cacheInvalidationQueue.name}")
+    public void onInvalidation(Invalidation invalidation) {
+        if (nodeId.equals(invalidation.nodeId())) {
+            return;
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(invalidation.entityName(), invalidation.id());
+        if (invalidation.collectionRole() != null && invalidation.ownerId() != null) {
+            cache.evictCollectionData(invalidation.collectionRole(), invalidation.ownerId());
+        }
+        cache.evictQueryRegions();
+        eventPublisher.publishEvent(new RemoteReferenceDataChangedEvent(invalidation.entityName(), invalidation.id()));
+        log.debug("[L2Cache] Evicted {}#{} on remote change", invalidation.entityName(), invalidation.id());
+    }
+
+    private void changed(String entityName, Object entity, Object id) {
+        if (!(id instanceof Long entityId)) {
+            return;
+        }
+        String role = null;
+        Long ownerId = null;
+        if (entity instanceof Stop stop && stop.getRoute() != null) {
+            role = Route.class.getName() + ".stops";
+            ownerId = stop.getRoute().getId();
+        } else if (entity instanceof Seat seat && seat.getBus() != null) {
+            role = Bus.class.getName() + ".seats";
+            ownerId = seat.getBus().getId();
+        }
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(entityName, entityId, role, ownerId));
+    }
+
+    private void broadcast(ReferenceDataChangedEvent event) {
+        rabbitTemplate.convertAndSend(ReferenceCacheConfig.INVALIDATION_EXCHANGE, "", new Invalidation(
+                nodeId, event.getEntityName(), event.getId(), event.getCollectionRole(), event.getOwnerId()));
+    }
+
+    public record Invalidation(String nodeId, String entityName, Long id, String collectionRole, Long ownerId) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.bers.services.cache;
+
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.projections.StopIndexProjection;
+import com.bers.domain.entities.Route;
+import com.bers.domain.entities.Stop;
+import com.bers.services.event.RemoteReferenceDataChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice en memoria de paradas por nombre normalizado, con su ruta y orden.
+ * Responde qué rutas pasan por la parada A antes que por la B sin consultar la tabla de paradas.
+ * Se reconstruye completo en la primera consulta después de que cambie una parada o se elimine una ruta,
+ * aquí o en otro nodo, y como mucho cada {@code ttlSeconds}; una reconstrucción que se cruzó con un cambio
+ * no se instala.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RouteStopIndex {
+
+    private final StopRepository stopRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @Value("${bers.stops.index-ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    /**
+     * Tramos de ruta que van de una parada con el nombre {@code fromStop} a otra posterior llamada {@code toStop}.
+     */
+    public List<RouteSegment> findSegments(String fromStop, String toStop) {
+        Snapshot current = current();
+        List<StopEntry> starts = current.byName().getOrDefault(TripSearchCache.normalize(fromStop), List.of());
+        List<StopEntry> ends = current.byName().getOrDefault(TripSearchCache.normalize(toStop), List.of());
+        if (starts.isEmpty() || ends.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<StopEntry>> endsByRoute = new HashMap<>();
+        ends.forEach(end -> endsByRoute.computeIfAbsent(end.routeId(), id -> new ArrayList<>()).add(end));
+
+        List<RouteSegment> segments = new ArrayList<>();
+        for (StopEntry start : starts) {
+            for (StopEntry end : endsByRoute.getOrDefault(start.routeId(), List.of())) {
+                if (end.order() > start.order()) {
+                    segments.add(new RouteSegment(start.routeId(), start, end));
+                }
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Marca el índice como desactualizado al confirmar la transacción.
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteReferenceDataChangedEvent event) {
+        if (event.isAbout(Stop.class, Route.class)) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        Snapshot current = snapshot;
+        if (current != null && !current.isOlderThan(ttlNanos)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && !current.isOlderThan(ttlNanos)) {
+                return current;
+            }
+            long startedAt = generation.get();
+            current = build(stopRepository.findAllForIndex());
+            if (generation.get() == startedAt) {
+                snapshot = current;
+            }
+            log.debug("[StopIndex] Rebuilt stop index with {} stop names", current.byName().size());
+            return current;
+        }
+    }
+
+    private static Snapshot build(List<StopIndexProjection> stops) {
+        Map<String, List<StopEntry>> byName = new HashMap<>();
+        for (StopIndexProjection stop : stops) {
+            if (stop.order() == null) {
+                continue;
+            }
+            byName.computeIfAbsent(TripSearchCache.normalize(stop.name()), name -> new ArrayList<>())
+                    .add(new StopEntry(stop.routeId(), stop.stopId(), stop.name(), stop.order()));
+        }
+        byName.replaceAll((name, entries) -> List.copyOf(entries));
+        return new Snapshot(Map.copyOf(byName), System.nanoTime());
+    }
+
+    public record StopEntry(Long routeId, Long stopId, String name, int order) {
+    }
+
+    public record RouteSegment(Long routeId, StopEntry from, StopEntry to) {
+    }
+
+    private record Snapshot(Map<String, List<StopEntry>> byName, long loadedAtNanos) {
+        boolean isOlderThan(long ttlNanos) {
+            return System.nanoTime() - loadedAtNanos > ttlNanos;
+        }
+    }
+}
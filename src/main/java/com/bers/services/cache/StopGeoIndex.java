@@ -0,0 +1,332 @@
+package com.bers.services.cache;
+
+import com.bers.domain.entities.Route;
+import com.bers.domain.entities.Stop;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.projections.StopGeoProjection;
+import com.bers.services.event.RemoteReferenceDataChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial en memoria de las paradas con coordenadas.
+ * Las paradas se reparten en una grilla de celdas de {@value #CELL_DEGREES} grados; la búsqueda recorre
+ * anillos de celdas alrededor del punto y se detiene cuando ninguna celda sin visitar puede tener algo
+ * más cerca que lo ya encontrado. Paradas con el mismo nombre a pocos metros (una por ruta) se agrupan
+ * en un solo lugar con las rutas que lo sirven. Se carga en la primera consulta y se mantiene con los
+ * cambios de paradas y rutas, aplicados tras el commit. Los cambios de otros nodos y el vencimiento de
+ * {@code ttlSeconds} lo recargan sin dejar de responder con el índice anterior.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StopGeoIndex {
+
+    static final double CELL_DEGREES = 0.05;
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+    private static final double SAME_PLACE_METERS = 300;
+
+    private final StopRepository stopRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> stops = new HashMap<>();
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile boolean loaded;
+    private volatile boolean stale;
+    private volatile long loadedAtNanos;
+
+    @Value("${bers.stops.geo-index-ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    /**
+     * Hasta {@code limit} lugares más cercanos al punto, dentro de {@code maxMeters}, del más cercano al más lejano.
+     */
+    public List<NearbyPlace> nearest(double lat, double lng, int limit, double maxMeters) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            if (stops.isEmpty()) {
+                return List.of();
+            }
+            int centerLat = cellIndex(lat);
+            int centerLng = cellIndex(lng);
+            List<Candidate> found = new ArrayList<>();
+            List<NearbyPlace> places = List.of();
+
+            for (int ring = 0; ; ring++) {
+                scanRing(centerLat, centerLng, ring, lat, lng, maxMeters, found);
+                // Lo que falta por visitar está a por lo menos `ring` celdas completas del punto
+                double covered = ring * minCellMeters(lat, ring);
+                found.sort(Comparator.comparingDouble(Candidate::distance));
+                places = group(found, limit);
+                boolean complete = places.size() >= limit
+                        && places.get(places.size() - 1).distanceMeters() <= covered;
+                if (complete || covered >= maxMeters || ring > maxRing(lat, maxMeters)) {
+                    break;
+                }
+            }
+            return places;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== CAMBIOS ====================
+
+    public void stopSaved(Stop stop) {
+        Route route = stop.getRoute();
+        StopGeoProjection entry = new StopGeoProjection(stop.getId(), stop.getName(), stop.getOrder(),
+                stop.getLat(), stop.getLng(),
+                route != null ? route.getId() : null,
+                route != null ? route.getCode() : null,
+                route != null ? route.getName() : null);
+        afterCommit(() -> {
+            removeStop(entry.stopId());
+            putStop(entry);
+        });
+    }
+
+    public void stopDeleted(Long stopId) {
+        afterCommit(() -> removeStop(stopId));
+    }
+
+    public void routeSaved(Route route) {
+        Long routeId = route.getId();
+        String code = route.getCode();
+        String name = route.getName();
+        afterCommit(() -> routeStops(routeId).forEach(entry -> {
+            StopGeoProjection stop = entry.stop();
+            removeStop(stop.stopId());
+            putStop(new StopGeoProjection(stop.stopId(), stop.name(), stop.order(), stop.lat(), stop.lng(),
+                    routeId, code, name));
+        }));
+    }
+
+    public void routeDeleted(Long routeId) {
+        afterCommit(() -> routeStops(routeId).forEach(entry -> removeStop(entry.stop().stopId())));
+    }
+
+    @EventListener
+    public void onRemoteChange(RemoteReferenceDataChangedEvent event) {
+        if (event.isAbout(Stop.class, Route.class)) {
+            generation.incrementAndGet();
+            stale = true;
+        }
+    }
+
+    private List<Entry> routeStops(Long routeId) {
+        return stops.values().stream()
+                .filter(entry -> Objects.equals(entry.stop().routeId(), routeId))
+                .toList();
+    }
+
+    private void afterCommit(Runnable change) {
+        Runnable guarded = () -> {
+            generation.incrementAndGet();
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    change.run();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded && !isExpired()) {
+            return;
+        }
+        // Con un índice ya cargado recarga un solo hilo; los demás siguen con el anterior
+        if (loaded && !reloading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long startedAt = generation.get();
+            List<StopGeoProjection> rows = stopRepository.findAllWithCoordinates();
+            lock.writeLock().lock();
+            try {
+                if (loaded && !isExpired()) {
+                    return;
+                }
+                // Un cambio confirmado se cruzó con la lectura: se relee con el lock tomado
+                if (generation.get() != startedAt) {
+                    rows = stopRepository.findAllWithCoordinates();
+                }
+                stops.clear();
+                cells.clear();
+                rows.forEach(this::putStop);
+                stale = false;
+                loadedAtNanos = System.nanoTime();
+                loaded = true;
+                log.debug("[StopGeoIndex] Loaded {} stops in {} cells", stops.size(), cells.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    private boolean isExpired() {
+        return stale || System.nanoTime() - loadedAtNanos > TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    private void putStop(StopGeoProjection stop) {
+        if (stop.lat() == null || stop.lng() == null) {
+            return;
+        }
+        double lat = stop.lat().doubleValue();
+        double lng = stop.lng().doubleValue();
+        long cell = cellKey(cellIndex(lat), cellIndex(lng));
+        Entry entry = new Entry(stop, lat, lng, cell);
+        stops.put(stop.stopId(), entry);
+        cells.computeIfAbsent(cell, key -> new ArrayList<>()).add(entry);
+    }
+
+    private void removeStop(Long stopId) {
+        Entry previous = stops.remove(stopId);
+        if (previous == null) {
+            return;
+        }
+        List<Entry> cell = cells.get(previous.cell());
+        if (cell != null) {
+            cell.remove(previous);
+            if (cell.isEmpty()) {
+                cells.remove(previous.cell());
+            }
+        }
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    private void scanRing(int centerLat, int centerLng, int ring, double lat, double lng,
+                          double maxMeters, List<Candidate> found) {
+        for (int dLat = -ring; dLat <= ring; dLat++) {
+            for (int dLng = -ring; dLng <= ring; dLng++) {
+                if (Math.abs(dLat) != ring && Math.abs(dLng) != ring) {
+                    continue;
+                }
+                List<Entry> cell = cells.get(cellKey(centerLat + dLat, centerLng + dLng));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell) {
+                    double distance = haversineMeters(lat, lng, entry.lat(), entry.lng());
+                    if (distance <= maxMeters) {
+                        found.add(new Candidate(entry, distance));
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<NearbyPlace> group(List<Candidate> sorted, int limit) {
+        List<PlaceBuilder> places = new ArrayList<>();
+        for (Candidate candidate : sorted) {
+            String key = PlaceAutocompleteIndex.fold(candidate.entry().stop().name());
+            PlaceBuilder place = places.stream()
+                    .filter(existing -> existing.key.equals(key)
+                            && haversineMeters(existing.anchor.lat(), existing.anchor.lng(),
+                            candidate.entry().lat(), candidate.entry().lng()) <= SAME_PLACE_METERS)
+                    .findFirst()
+                    .orElse(null);
+            if (place == null) {
+                if (places.size() >= limit) {
+                    continue;
+                }
+                place = new PlaceBuilder(key, candidate.entry(), candidate.distance());
+                places.add(place);
+            }
+            place.stops.add(candidate.entry().stop());
+        }
+        return places.stream()
+                .map(place -> new NearbyPlace(place.anchor.stop().name(),
+                        place.anchor.stop().lat(), place.anchor.stop().lng(),
+                        place.distance, List.copyOf(place.stops)))
+                .toList();
+    }
+
+    private static double minCellMeters(double lat, int ring) {
+        // El ancho de la celda en longitud se angosta hacia los polos; se toma el del borde más alejado del ecuador
+        double edgeLat = Math.min(89.0, Math.abs(lat) + (ring + 1) * CELL_DEGREES);
+        return CELL_DEGREES * METERS_PER_DEGREE * Math.cos(Math.toRadians(edgeLat));
+    }
+
+    private static int maxRing(double lat, double maxMeters) {
+        return (int) Math.ceil(maxMeters / minCellMeters(lat, 0)) + 1;
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latIndex, int lngIndex) {
+        return ((long) latIndex << 32) | (lngIndex & 0xffffffffL);
+    }
+
+    static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private record Entry(StopGeoProjection stop, double lat, double lng, long cell) {
+    }
+
+    private record Candidate(Entry entry, double distance) {
+    }
+
+    private static final class PlaceBuilder {
+        private final String key;
+        private final Entry anchor;
+        private final double distance;
+        private final List<StopGeoProjection> stops = new ArrayList<>();
+
+        private PlaceBuilder(String key, Entry anchor, double distance) {
+            this.key = key;
+            this.anchor = anchor;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Lugar cercano: la parada más próxima con ese nombre y todas las de otras rutas en el mismo punto.
+     */
+    public record NearbyPlace(String name, BigDecimal lat, BigDecimal lng, double distanceMeters,
+                              List<StopGeoProjection> stops) {
+    }
+}
@@ -0,0 +1,198 @@
+package com.bers.services.cache;
+
+import com.bers.api.dtos.TripDtos.TripResponse;
+import com.bers.domain.entities.Route;
+import com.bers.domain.entities.Trip;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caché de la búsqueda de viajes por (origen, destino, fecha) normalizados.
+ * Se invalida solo la entrada afectada cuando un viaje de esa ruta y fecha se crea,
+ * cambia o se elimina, siempre tras el commit. Una carga que se cruzó con una invalidación
+ * no se guarda, para no reinstalar resultados viejos. El TTL acota el desfase con
+ * cambios hechos en otros nodos. Aciertos, fallos, invalidaciones y tamaño se publican
+ * como métricas {@code bers.search.cache.*}.
+ */
+@Slf4j
+@Component
+public class TripSearchCache implements MeterBinder {
+
+    private final Map<SearchKey, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Value("${bers.search.cache-ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    @Value("${bers.search.cache-max-entries:10000}")
+    private int maxEntries = 10_000;
+
+    public List<TripResponse> get(String origin, String destination, LocalDate date,
+                                  Supplier<List<TripResponse>> loader) {
+        SearchKey key = SearchKey.of(origin, destination, date);
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isOlderThan(ttlNanos)) {
+            hits.increment();
+            return entry.trips();
+        }
+
+        misses.increment();
+        long epoch = invalidationEpoch.get();
+        List<TripResponse> trips = List.copyOf(loader.get());
+
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(cached -> cached.isOlderThan(ttlNanos));
+        }
+        if (entries.size() < maxEntries) {
+            entries.compute(key, (k, current) ->
+                    invalidationEpoch.get() == epoch ? new Entry(trips, System.nanoTime()) : current);
+        }
+        return trips;
+    }
+
+    // ==================== INVALIDACIÓN ====================
+
+    /**
+     * Invalida la búsqueda de la ruta y fecha del viaje al confirmar la transacción.
+     */
+    public void evictTrip(Trip trip) {
+        Route route = trip.getRoute();
+        if (route == null || trip.getDate() == null) {
+            afterCommit(cached -> true);
+            return;
+        }
+        SearchKey key = SearchKey.of(route.getOrigin(), route.getDestination(), trip.getDate());
+        afterCommit(cached -> cached.equals(key));
+    }
+
+    /**
+     * Invalida las búsquedas que contienen el viaje; basta para un viaje eliminado.
+     */
+    public void evictTripId(Long tripId) {
+        afterCommit((key, entry) -> entry.trips().stream().anyMatch(trip -> Objects.equals(trip.id(), tripId)));
+    }
+
+    /**
+     * Como {@link #evictTripId(Long)} para un lote de viajes, con una sola pasada por la caché.
+     */
+    public void evictTripIds(Collection<Long> tripIds) {
+        Set<Long> ids = Set.copyOf(tripIds);
+        afterCommit((key, entry) -> entry.trips().stream().anyMatch(trip -> ids.contains(trip.id())));
+    }
+
+    /**
+     * Invalida las búsquedas que contienen viajes de la ruta y las que coinciden con
+     * su origen y destino actuales (por ejemplo, resultados vacíos previos a un cambio de nombre).
+     */
+    public void evictRoute(Route route) {
+        Long routeId = route.getId();
+        String origin = normalize(route.getOrigin());
+        String destination = normalize(route.getDestination());
+        afterCommit((key, entry) -> (key.origin().equals(origin) && key.destination().equals(destination))
+                || entry.trips().stream().anyMatch(trip -> Objects.equals(trip.routeId(), routeId)));
+    }
+
+    public void evictRouteId(Long routeId) {
+        afterCommit((key, entry) -> entry.trips().stream().anyMatch(trip -> Objects.equals(trip.routeId(), routeId)));
+    }
+
+    public void evictBus(Long busId) {
+        afterCommit((key, entry) -> entry.trips().stream().anyMatch(trip -> Objects.equals(trip.busId(), busId)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("bers.search.cache.requests", hits, LongAdder::sum)
+                .description("Trip search lookups by result")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("bers.search.cache.requests", misses, LongAdder::sum)
+                .description("Trip search lookups by result")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("bers.search.cache.invalidations", invalidations, LongAdder::sum)
+                .description("Trip search entries removed after a trip, route or bus change")
+                .register(registry);
+        Gauge.builder("bers.search.cache.size", entries, Map::size)
+                .description("Trip searches currently cached")
+                .register(registry);
+    }
+
+    private void afterCommit(Predicate<SearchKey> keys) {
+        afterCommit((key, entry) -> keys.test(key));
+    }
+
+    private void afterCommit(EntryMatcher matcher) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(matcher);
+                }
+            });
+        } else {
+            invalidate(matcher);
+        }
+    }
+
+    private void invalidate(EntryMatcher matcher) {
+        invalidationEpoch.incrementAndGet();
+        int before = entries.size();
+        entries.entrySet().removeIf(e -> matcher.matches(e.getKey(), e.getValue()));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            invalidations.add(removed);
+            log.debug("[SearchCache] Invalidated {} search entries", removed);
+        }
+    }
+
+    /**
+     * Normalización de la clave; la consulta debe usar el mismo valor para que la entrada sea fiel.
+     */
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public record SearchKey(String origin, String destination, LocalDate date) {
+        static SearchKey of(String origin, String destination, LocalDate date) {
+            return new SearchKey(normalize(origin), normalize(destination), date);
+        }
+    }
+
+    private record Entry(List<TripResponse> trips, long loadedAtNanos) {
+        boolean isOlderThan(long ttlNanos) {
+            return System.nanoTime() - loadedAtNanos > ttlNanos;
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryMatcher {
+        boolean matches(SearchKey key, Entry entry);
+    }
+}
@@ -0,0 +1,8 @@
+package com.bers.services.event;
+
+/**
+ * Evento de dominio que {@link DomainEventBus} entrega de forma asíncrona después del commit.
+ * Se sigue publicando con {@code ApplicationEventPublisher}; los oyentes síncronos existentes no cambian.
+ */
+public interface DomainEvent {
+}
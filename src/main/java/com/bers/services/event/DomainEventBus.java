@@ -0,0 +1,255 @@
+package com.bers.services.event;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Entrega asíncrona de los {@link DomainEvent}: recibe lo publicado con {@code ApplicationEventPublisher}
+ * y, cuando la transacción hace commit, lo encola para cada oyente suscrito. Si hay rollback el evento se descarta.
+ * <p>
+ * Cada oyente tiene su propia cola acotada que vacían hasta {@code concurrency} hilos virtuales, así un oyente
+ * lento no retrasa a los demás ni al hilo que publicó. Si la cola está llena el evento se descarta para ese
+ * oyente y se cuenta; la reserva o la venta nunca esperan por un efecto secundario.
+ * <p>
+ * Los contadores se publican como {@code bers.events} (por tipo y resultado) y la cola de cada oyente
+ * como {@code bers.events.queue}.
+ * <p>
+ * Configuración por oyente: {@code bers.events.listeners.<oyente>.capacity|concurrency}.
+ */
+@Slf4j
+@Component
+public class DomainEventBus implements MeterBinder {
+
+    static final int DEFAULT_CAPACITY = 1_000;
+    static final int DEFAULT_CONCURRENCY = 4;
+
+    private final Environment environment;
+    private final List<Lane<?>> lanes = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, Counters> counters = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    private volatile MeterRegistry meterRegistry;
+
+    public DomainEventBus(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Suscribe un oyente asíncrono a los eventos del tipo dado (y sus subtipos).
+     */
+    public <E extends DomainEvent> void subscribe(Class<E> eventType, String listener, Consumer<? super E> handler) {
+        int capacity = setting(listener, "capacity", DEFAULT_CAPACITY);
+        int concurrency = setting(listener, "concurrency", DEFAULT_CONCURRENCY);
+        if (capacity <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("Capacity and concurrency must be positive for listener " + listener);
+        }
+        Lane<E> lane = new Lane<>(eventType, listener, handler, capacity, concurrency);
+        lanes.add(lane);
+        if (meterRegistry != null) {
+            bindLane(meterRegistry, lane);
+        }
+        log.debug("[EventBus] Listener {} subscribed to {} (capacity {}, concurrency {})",
+                listener, eventType.getSimpleName(), capacity, concurrency);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        counters.forEach((type, typeCounters) -> bindCounters(registry, type, typeCounters));
+        lanes.forEach(lane -> bindLane(registry, lane));
+    }
+
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        counters(event.getClass()).published.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Contadores por tipo de evento desde el arranque.
+     */
+    public List<EventTypeStats> stats() {
+        return counters.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey().getSimpleName()))
+                .sorted(Comparator.comparing(EventTypeStats::eventType))
+                .toList();
+    }
+
+    /**
+     * Eventos en cola por oyente.
+     */
+    public Map<String, Integer> queueDepths() {
+        Map<String, Integer> depths = new TreeMap<>();
+        lanes.forEach(lane -> depths.merge(lane.name, lane.queue.size(), Integer::sum));
+        return depths;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closed = true;
+        int pending = lanes.stream().mapToInt(lane -> lane.queue.size()).sum();
+        if (pending > 0) {
+            log.warn("[EventBus] Shutting down with {} undelivered events", pending);
+        }
+    }
+
+    private void dispatch(DomainEvent event) {
+        if (closed) {
+            return;
+        }
+        long enqueuedAt = System.nanoTime();
+        for (Lane<?> lane : lanes) {
+            if (lane.eventType.isInstance(event)) {
+                lane.offer(new Envelope(event, enqueuedAt));
+            }
+        }
+    }
+
+    private Counters counters(Class<?> eventType) {
+        return counters.computeIfAbsent(eventType, type -> {
+            Counters typeCounters = new Counters();
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                bindCounters(registry, type, typeCounters);
+            }
+            return typeCounters;
+        });
+    }
+
+    private static void bindCounters(MeterRegistry registry, Class<?> type, Counters typeCounters) {
+        Map<String, LongAdder> outcomes = Map.of(
+                "published", typeCounters.published,
+                "delivered", typeCounters.delivered,
+                "dropped", typeCounters.dropped,
+                "failed", typeCounters.failed);
+        outcomes.forEach((outcome, adder) -> FunctionCounter.builder("bers.events", adder, LongAdder::sum)
+                .description("Domain events by type and outcome")
+                .tag("type", type.getSimpleName())
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    private static void bindLane(MeterRegistry registry, Lane<?> lane) {
+        Gauge.builder("bers.events.queue", lane.queue, Collection::size)
+                .description("Domain events waiting for a listener")
+                .tag("listener", lane.name)
+                .register(registry);
+    }
+
+    private int setting(String listener, String key, int defaultValue) {
+        return environment.getProperty("bers.events.listeners." + listener + "." + key, Integer.class, defaultValue);
+    }
+
+    private record Envelope(DomainEvent event, long enqueuedAt) {
+    }
+
+    private final class Lane<E extends DomainEvent> {
+        private final Class<E> eventType;
+        private final String name;
+        private final Consumer<? super E> handler;
+        private final BlockingQueue<Envelope> queue;
+        private final Semaphore workers;
+
+        private Lane(Class<E> eventType, String name, Consumer<? super E> handler, int capacity, int concurrency) {
+            this.eventType = eventType;
+            this.name = name;
+            this.handler = handler;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.workers = new Semaphore(concurrency);
+        }
+
+        void offer(Envelope envelope) {
+            if (!queue.offer(envelope)) {
+                counters(envelope.event().getClass()).dropped.increment();
+                log.warn("[EventBus] Queue of listener {} is full, dropping {}", name,
+                        envelope.event().getClass().getSimpleName());
+                return;
+            }
+            if (workers.tryAcquire()) {
+                Thread.ofVirtual().name("event-" + name).start(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Envelope next = queue.poll();
+                if (next == null) {
+                    workers.release();
+                    // Un evento pudo entrar justo después del poll vacío y antes de liberar el permiso
+                    if (queue.isEmpty() || !workers.tryAcquire()) {
+                        return;
+                    }
+                    continue;
+                }
+                deliver(next);
+            }
+        }
+
+        private void deliver(Envelope envelope) {
+            Counters typeCounters = counters(envelope.event().getClass());
+            try {
+                handler.accept(eventType.cast(envelope.event()));
+                typeCounters.delivered.increment();
+            } catch (RuntimeException e) {
+                typeCounters.failed.increment();
+                log.warn("[EventBus] Listener {} failed handling {}: {}", name,
+                        envelope.event().getClass().getSimpleName(), e.getMessage());
+            } finally {
+                long latency = System.nanoTime() - envelope.enqueuedAt();
+                typeCounters.latencyNanos.add(latency);
+                typeCounters.maxLatencyNanos.accumulate(latency);
+            }
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder published = new LongAdder();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+        EventTypeStats snapshot(String eventType) {
+            long handled = delivered.sum() + failed.sum();
+            return new EventTypeStats(eventType, published.sum(), delivered.sum(), dropped.sum(), failed.sum(),
+                    handled == 0 ? 0 : latencyNanos.sum() / handled / 1_000_000.0,
+                    maxLatencyNanos.get() / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Publicados, entregados, descartados por cola llena y fallidos de un tipo de evento; la latencia va
+     * del commit al fin del oyente. Un evento con varios oyentes cuenta una entrega por oyente.
+     */
+    public record EventTypeStats(String eventType, long published, long delivered, long dropped, long failed,
+                                 double avgLatencyMillis, double maxLatencyMillis) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.bers.services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Cambió una entidad de referencia guardada en la caché de segundo nivel (ruta, parada, bus, asiento
+ * o regla de tarifa). Si la entidad pertenece a una colección cacheada ({@code Route.stops},
+ * {@code Bus.seats}) se indica el rol y el dueño.
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataChangedEvent implements DomainEvent {
+    private final String entityName;
+    private final Long id;
+    private final String collectionRole;
+    private final Long ownerId;
+}
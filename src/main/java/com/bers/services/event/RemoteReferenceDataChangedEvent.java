@@ -0,0 +1,22 @@
+package com.bers.services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Otro nodo confirmó un cambio en una entidad de referencia. Se publica localmente al recibir el aviso
+ * por RabbitMQ para que los índices en memoria de este nodo se recarguen; a diferencia de
+ * {@link ReferenceDataChangedEvent} no se reenvía a los demás nodos.
+ */
+@Getter
+@AllArgsConstructor
+public class RemoteReferenceDataChangedEvent {
+    private final String entityName;
+    private final Long id;
+
+    public boolean isAbout(Class<?>... types) {
+        return Arrays.stream(types).anyMatch(type -> type.getName().equals(entityName));
+    }
+}
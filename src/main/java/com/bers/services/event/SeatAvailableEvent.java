@@ -5,7 +5,7 @@ import lombok.Getter;
 
 @Getter
 @AllArgsConstructor
-public class SeatAvailableEvent {
+public class SeatAvailableEvent implements DomainEvent {
     private final Long tripId;
     private final String seatNumber;
     private final Long fromStopId;
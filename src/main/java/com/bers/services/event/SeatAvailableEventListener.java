@@ -1,18 +1,28 @@
 package com.bers.services.event;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Avisa de asientos liberados para venta rápida. Corre en {@link DomainEventBus}, fuera de la
+ * transacción que liberó el asiento.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class SeatAvailableEventListener {
 
     // Aqui puedes inyectar servicios de notificación si los tienes
+    private final DomainEventBus eventBus;
+
+    @PostConstruct
+    void subscribe() {
+        eventBus.subscribe(SeatAvailableEvent.class, "seat-available", this::handleSeatAvailable);
+        eventBus.subscribe(SeatsReleasedEvent.class, "seats-released", this::handleSeatsReleased);
+    }
 
-    @EventListener
     public void handleSeatAvailable(SeatAvailableEvent event) {
         log.info("SEAT AVAILABLE FOR QUICK SALE!");
         log.info("Trip: {}, Seat: {}, Segment: {} → {}",
@@ -23,4 +33,12 @@ public class SeatAvailableEventListener {
         );
 
     }
+
+    public void handleSeatsReleased(SeatsReleasedEvent event) {
+        log.info("{} SEATS AVAILABLE FOR QUICK SALE on trip {}: {}",
+                event.getSeats().size(),
+                event.getTripId(),
+                event.getSeats().stream().map(SeatsReleasedEvent.ReleasedSeat::seatNumber).toList()
+        );
+    }
 }
@@ -0,0 +1,21 @@
+package com.bers.services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Un usuario apartó un asiento para un tramo hasta {@code expiresAt}.
+ */
+@Getter
+@AllArgsConstructor
+public class SeatHoldCreatedEvent implements DomainEvent {
+    private final Long holdId;
+    private final Long tripId;
+    private final Long userId;
+    private final String seatNumber;
+    private final Long fromStopId;
+    private final Long toStopId;
+    private final LocalDateTime expiresAt;
+}
@@ -0,0 +1,36 @@
+package com.bers.services.event;
+
+import com.bers.services.inventory.SeatSegmentState;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio confirmado en el mapa de asientos de un viaje: un tramo de asiento pasó a
+ * {@code state} por {@code reason}. {@code sequence} crece con cada cambio aplicado en este
+ * nodo y permite a los clientes ordenar los deltas. {@link Reason#RESYNC} marca lo que se
+ * descubrió al recargar la instantánea desde la BD, normalmente cambios hechos en otro nodo.
+ */
+@Getter
+@AllArgsConstructor
+public class SeatMapChangedEvent {
+
+    public enum Reason {
+        HOLD_PLACED,
+        HOLD_RELEASED,
+        HOLD_EXPIRED,
+        TICKET_ISSUED,
+        TICKET_RELEASED,
+        RESYNC
+    }
+
+    private final Long tripId;
+    private final String seatNumber;
+    private final Integer fromStopOrder;
+    private final Integer toStopOrder;
+    private final SeatSegmentState state;
+    private final Reason reason;
+    private final long sequence;
+    private final LocalDateTime occurredAt;
+}
@@ -0,0 +1,215 @@
+package com.bers.services.event;
+
+import com.bers.api.dtos.SeatDtos.SeatMapDeltaResponse;
+import com.bers.api.dtos.SeatDtos.SeatStatusResponse;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.inventory.TripSeatMapBuilder;
+import com.bers.services.scheduler.JobMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal SSE por viaje con los cambios del mapa de asientos.
+ * Al suscribirse el cliente recibe el mapa completo ({@code snapshot}) y después solo
+ * deltas ({@code delta}) con el tramo de asiento y su nuevo estado. Cada suscriptor
+ * tiene su propia cola y la vacía un hilo virtual, así un cliente lento no retrasa al resto;
+ * si su cola se desborda se cierra la conexión y el cliente se resincroniza al reconectar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatMapStreamBroadcaster {
+
+    private static final int MAX_BACKLOG = 256;
+
+    private final TripSeatMapBuilder tripSeatMapBuilder;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+    private final JobMetrics jobMetrics;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @Value("${bers.seatmap.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs = 1_800_000;
+
+    @Value("${bers.seatmap.max-subscribers:20000}")
+    private int maxSubscribers = 20_000;
+
+    public SseEmitter subscribe(Long tripId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many seat map subscribers, please retry later");
+        }
+
+        Subscriber subscriber = new Subscriber(tripId, new SseEmitter(streamTimeoutMs));
+        subscriber.emitter.onCompletion(() -> unregister(subscriber));
+        subscriber.emitter.onTimeout(() -> unregister(subscriber));
+        subscriber.emitter.onError(error -> unregister(subscriber));
+
+        try {
+            // Se registra antes de leer el mapa para no perder deltas; los que lleguen esperan al snapshot
+            subscribers.compute(tripId, (id, tripSubscribers) -> {
+                Set<Subscriber> set = tripSubscribers != null ? tripSubscribers : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+            segmentOccupancyEngine.snapshot(tripId);
+            long sequence = segmentOccupancyEngine.sequenceOf(tripId);
+            List<SeatStatusResponse> seats = tripSeatMapBuilder.build(tripId);
+
+            subscriber.start(SseEmitter.event()
+                    .name("snapshot")
+                    .id(String.valueOf(sequence))
+                    .data(seats));
+        } catch (RuntimeException e) {
+            unregister(subscriber);
+            throw e;
+        }
+
+        log.debug("[SeatMapStream] Subscriber added for trip {} ({} open)", tripId, subscriberCount.get());
+        return subscriber.emitter;
+    }
+
+    @EventListener
+    public void onSeatMapChanged(SeatMapChangedEvent event) {
+        Set<Subscriber> tripSubscribers = subscribers.get(event.getTripId());
+        if (tripSubscribers == null || tripSubscribers.isEmpty()) {
+            return;
+        }
+
+        SeatMapDeltaResponse delta = new SeatMapDeltaResponse(
+                event.getTripId(),
+                event.getSeatNumber(),
+                event.getFromStopOrder(),
+                event.getToStopOrder(),
+                event.getState().name(),
+                event.getReason().name(),
+                event.getSequence(),
+                event.getOccurredAt()
+        );
+        for (Subscriber subscriber : tripSubscribers) {
+            subscriber.enqueue(SseEmitter.event()
+                    .name("delta")
+                    .id(String.valueOf(event.getSequence()))
+                    .data(delta));
+        }
+    }
+
+    /**
+     * Mantiene viva la conexión a través de proxies y recarga de la BD la ocupación de los viajes
+     * observados. Lo que cambió en otros nodos sale como deltas {@code RESYNC} al comparar con la
+     * instantánea anterior, así los suscriptores lo ven sin reconectar.
+     */
+    @Scheduled(fixedRateString = "${bers.seatmap.heartbeat-ms:15000}")
+    public void heartbeat() {
+        jobMetrics.time("seat-map-heartbeat", () -> {
+            List<Long> watched = new ArrayList<>();
+            subscribers.forEach((tripId, tripSubscribers) -> {
+                if (!tripSubscribers.isEmpty()) {
+                    watched.add(tripId);
+                    tripSubscribers.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("keep-alive")));
+                }
+            });
+            segmentOccupancyEngine.refresh(watched);
+        });
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void unregister(Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(subscriber.tripId, (id, tripSubscribers) -> {
+            removed[0] = tripSubscribers.remove(subscriber);
+            return tripSubscribers.isEmpty() ? null : tripSubscribers;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private final class Subscriber {
+        private final Long tripId;
+        private final SseEmitter emitter;
+        private final Deque<SseEventBuilder> backlog = new ArrayDeque<>();
+        private boolean started;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(Long tripId, SseEmitter emitter) {
+            this.tripId = tripId;
+            this.emitter = emitter;
+        }
+
+        synchronized void start(SseEventBuilder snapshot) {
+            backlog.addFirst(snapshot);
+            started = true;
+            drainIfIdle();
+        }
+
+        synchronized void enqueue(SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (backlog.size() >= MAX_BACKLOG) {
+                log.debug("[SeatMapStream] Subscriber for trip {} fell behind, closing stream", tripId);
+                close();
+                return;
+            }
+            backlog.addLast(event);
+            drainIfIdle();
+        }
+
+        private void drainIfIdle() {
+            if (started && !draining && !closed) {
+                draining = true;
+                Thread.ofVirtual().name("seat-map-stream").start(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEventBuilder next;
+                synchronized (this) {
+                    next = closed ? null : backlog.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next);
+                } catch (Exception e) {
+                    synchronized (this) {
+                        draining = false;
+                        close();
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void close() {
+            closed = true;
+            backlog.clear();
+            unregister(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bers.services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Asientos de un viaje liberados en bloque (por ejemplo, todos los no-show de una pasada).
+ * Reemplaza un {@link SeatAvailableEvent} por asiento.
+ */
+@Getter
+@AllArgsConstructor
+public class SeatsReleasedEvent implements DomainEvent {
+
+    public record ReleasedSeat(String seatNumber, Long fromStopId, Long toStopId) {
+    }
+
+    private final Long tripId;
+    private final List<ReleasedSeat> seats;
+}
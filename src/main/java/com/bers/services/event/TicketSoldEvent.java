@@ -0,0 +1,21 @@
+package com.bers.services.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Se confirmó el pago de un tiquete y quedó en estado SOLD.
+ */
+@Getter
+@AllArgsConstructor
+public class TicketSoldEvent implements DomainEvent {
+    private final Long ticketId;
+    private final Long tripId;
+    private final Long passengerId;
+    private final String seatNumber;
+    private final BigDecimal price;
+    private final LocalDateTime occurredAt;
+}
@@ -0,0 +1,24 @@
+package com.bers.services.event;
+
+import com.bers.domain.entities.enums.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Un viaje pasó de {@code previousStatus} a {@code newStatus}, por una transición programada o un cambio manual.
+ * Se publica dentro de la transacción que hizo el cambio y los oyentes de {@link DomainEventBus} lo reciben tras el commit.
+ */
+@Getter
+@AllArgsConstructor
+public class TripStatusChangedEvent implements DomainEvent {
+    private final Long tripId;
+    private final Long routeId;
+    private final LocalDate date;
+    private final LocalDateTime departureAt;
+    private final TripStatus previousStatus;
+    private final TripStatus newStatus;
+    private final LocalDateTime occurredAt;
+}
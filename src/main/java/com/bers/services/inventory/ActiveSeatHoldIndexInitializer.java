@@ -0,0 +1,49 @@
+package com.bers.services.inventory;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Crea el índice único parcial que impide dos holds activos sobre el mismo asiento de un viaje.
+ * JPA no puede declarar índices parciales, por eso se crea al arrancar (solo en PostgreSQL).
+ * Los {@link SeatHoldLocks} solo ordenan las peticiones dentro de un nodo: entre réplicas el
+ * índice es el único árbitro, así que si no se puede crear la aplicación no arranca.
+ * Se ejecuta al inicializar el contexto, antes de que el servidor web acepte peticiones.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class ActiveSeatHoldIndexInitializer implements InitializingBean {
+
+    static final String INDEX_NAME = "ux_seat_holds_active_trip_seat";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(
+                jdbcTemplate.getDataSource(), metaData -> metaData.getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            log.info("[SeatHold] Skipping active hold index on {}", product);
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + INDEX_NAME +
+                    " ON seat_holds (trip_id, seat_number) WHERE status = 'HOLD'");
+        } catch (DataAccessException e) {
+            // Suele deberse a holds activos duplicados: hay que resolverlos antes de arrancar
+            throw new IllegalStateException("Could not create unique index " + INDEX_NAME +
+                    " on seat_holds; resolve duplicate active holds before starting", e);
+        }
+        log.info("[SeatHold] Active hold unique index ensured");
+    }
+}
@@ -0,0 +1,202 @@
+package com.bers.services.inventory;
+
+import com.bers.domain.entities.SeatHold;
+import com.bers.domain.entities.enums.HoldStatus;
+import com.bers.domain.repositories.SeatHoldRepository;
+import com.bers.domain.repositories.projections.HoldDeadlineProjection;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expira cada hold en su vencimiento exacto en lugar de esperar al barrido periódico.
+ * Los holds se encolan en un {@link DelayQueue}; un hilo los retira al vencer, agrupa
+ * los que vencen casi a la vez y los marca EXPIRED con un solo UPDATE por lote.
+ * Al arrancar expira los holds ya vencidos en BD y programa los que siguen activos.
+ * Si un lote falla se reencola con espera creciente; tras {@code expiryMaxAttempts} intentos
+ * se deja al barrido de respaldo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatHoldExpiryQueue {
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+    private final PlatformTransactionManager transactionManager;
+
+    private final DelayQueue<ExpiringHold> queue = new DelayQueue<>();
+    private volatile Thread worker;
+
+    @Value("${bers.holds.expiry-batch-linger-ms:250}")
+    private long batchLingerMs = 250;
+
+    @Value("${bers.holds.expiry-batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${bers.holds.expiry-retry-ms:1000}")
+    private long retryDelayMs = 1000;
+
+    @Value("${bers.holds.expiry-max-attempts:8}")
+    private int maxAttempts = 8;
+
+    /**
+     * Programa la expiración del hold cuando la transacción actual confirme.
+     */
+    public void schedule(SeatHold hold) {
+        ExpiringHold expiring = ExpiringHold.of(hold.getId(), hold.getTrip().getId(), hold.getExpiresAt());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue.offer(expiring);
+                }
+            });
+        } else {
+            queue.offer(expiring);
+        }
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recover();
+        worker = Thread.ofVirtual().name("seat-hold-expiry").start(this::runLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    // ==================== RECUPERACIÓN ====================
+
+    private void recover() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int overdue = 0;
+            int scheduled = 0;
+            // Los vencidos salen enseguida por el loop, como cualquier lote y con sus reintentos
+            for (HoldDeadlineProjection hold : seatHoldRepository.findActiveHoldDeadlines()) {
+                queue.offer(ExpiringHold.of(hold.id(), hold.tripId(), hold.expiresAt()));
+                if (hold.expiresAt().isAfter(now)) {
+                    scheduled++;
+                } else {
+                    overdue++;
+                }
+            }
+            log.info("[HoldExpiry] Recovery: {} overdue holds queued, {} holds scheduled", overdue, scheduled);
+        } catch (Exception e) {
+            log.error("[HoldExpiry] Recovery failed, the backstop sweep will catch up", e);
+        }
+    }
+
+    // ==================== LOOP ====================
+
+    private void runLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<ExpiringHold> batch = new ArrayList<>();
+                batch.add(queue.take());
+                // Breve espera para agrupar los holds que vencen casi a la vez en un solo UPDATE
+                if (batchLingerMs > 0) {
+                    Thread.sleep(batchLingerMs);
+                }
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    flush(batch);
+                } catch (RuntimeException e) {
+                    retry(batch, e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void retry(List<ExpiringHold> batch, RuntimeException cause) {
+        int retried = 0;
+        for (ExpiringHold hold : batch) {
+            if (hold.attempt() + 1 < maxAttempts) {
+                queue.offer(hold.retryAfter(retryDelayMs));
+                retried++;
+            }
+        }
+        int dropped = batch.size() - retried;
+        if (dropped > 0) {
+            log.error("[HoldExpiry] Giving up on {} holds after {} attempts, the backstop sweep will expire them",
+                    dropped, maxAttempts, cause);
+        }
+        if (retried > 0) {
+            log.warn("[HoldExpiry] Error flushing {} expired holds, retrying: {}", retried, cause.getMessage());
+        }
+    }
+
+    private void flush(List<ExpiringHold> batch) {
+        List<Long> ids = batch.stream().map(ExpiringHold::holdId).toList();
+        Set<Long> expired = new TransactionTemplate(transactionManager).execute(status -> {
+            int count = seatHoldRepository.expireHoldsByIds(ids, LocalDateTime.now());
+            // Un hold convertido en ticket o extendido entre tanto sigue vivo y no sale de la ocupación
+            return count == ids.size()
+                    ? new HashSet<>(ids)
+                    : new HashSet<>(seatHoldRepository.findIdsByIdInAndStatus(ids, HoldStatus.EXPIRED));
+        });
+
+        batch.stream()
+                .filter(hold -> expired.contains(hold.holdId()))
+                .forEach(hold -> segmentOccupancyEngine.holdExpired(hold.tripId(), hold.holdId()));
+        if (!expired.isEmpty()) {
+            log.info("[HoldExpiry] Expired {} holds", expired.size());
+        }
+    }
+
+    /**
+     * Hold pendiente; {@code dueAt} es su vencimiento o, tras un fallo, el momento del siguiente intento.
+     */
+    private record ExpiringHold(Long holdId, Long tripId, LocalDateTime dueAt, int attempt) implements Delayed {
+
+        static ExpiringHold of(Long holdId, Long tripId, LocalDateTime expiresAt) {
+            return new ExpiringHold(holdId, tripId, expiresAt, 0);
+        }
+
+        // Espera exponencial: retry, 2·retry, 4·retry... hasta 64 veces el intervalo base
+        ExpiringHold retryAfter(long retryDelayMs) {
+            long delay = retryDelayMs << Math.min(attempt, 6);
+            return new ExpiringHold(holdId, tripId, LocalDateTime.now().plus(Duration.ofMillis(delay)), attempt + 1);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), dueAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return dueAt.compareTo(((ExpiringHold) other).dueAt);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bers.services.inventory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tabla de locks por franjas para serializar la toma de holds sobre un mismo (viaje, asiento).
+ * Asientos distintos caen casi siempre en franjas distintas y no compiten entre sí.
+ * El lock se mantiene hasta que termina la transacción, para que la siguiente petición
+ * sobre el mismo asiento ya vea el hold confirmado. Entre nodos el árbitro final es
+ * el índice único parcial sobre los holds activos.
+ */
+@Component
+public class SeatHoldLocks {
+
+    private static final int STRIPES = 1024;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    @Value("${bers.holds.lock-timeout-ms:2000}")
+    private long lockTimeoutMs = 2000;
+
+    public SeatHoldLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Toma el lock del asiento y lo libera al terminar la transacción actual (commit o rollback).
+     */
+    public void lockUntilCompletion(Long tripId, String seatNumber) {
+        requireTransaction();
+        lock(stripes[stripeIndex(tripId, seatNumber)], seatNumber);
+    }
+
+    /**
+     * Toma los locks de varios asientos en orden ascendente de franja, de modo que dos grupos
+     * que comparten asientos nunca los pidan en orden inverso. Si alguno no se obtiene,
+     * los ya tomados se liberan igualmente al terminar la transacción.
+     */
+    public void lockAllUntilCompletion(Long tripId, Collection<String> seatNumbers) {
+        requireTransaction();
+        Map<Integer, String> seatByStripe = new TreeMap<>();
+        for (String seatNumber : seatNumbers) {
+            seatByStripe.putIfAbsent(stripeIndex(tripId, seatNumber), seatNumber);
+        }
+        seatByStripe.forEach((index, seatNumber) -> lock(stripes[index], seatNumber));
+    }
+
+    private void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Seat hold locks require an active transaction");
+        }
+    }
+
+    private void lock(ReentrantLock lock, String seatNumber) {
+        try {
+            if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException(
+                        "Seat " + seatNumber + " is being reserved by another request, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for seat " + seatNumber, e);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private static int stripeIndex(Long tripId, String seatNumber) {
+        int hash = Objects.hash(tripId, seatNumber);
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,10 @@
+package com.bers.services.inventory;
+
+/**
+ * Estado de un tramo de asiento tal como lo ve el mapa de asientos del viaje.
+ */
+public enum SeatSegmentState {
+    AVAILABLE,
+    HELD,
+    OCCUPIED
+}
@@ -0,0 +1,320 @@
+package com.bers.services.inventory;
+
+import com.bers.domain.entities.SeatHold;
+import com.bers.domain.entities.Stop;
+import com.bers.domain.entities.Ticket;
+import com.bers.domain.entities.enums.HoldStatus;
+import com.bers.domain.entities.enums.TicketStatus;
+import com.bers.domain.repositories.SeatHoldRepository;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.TicketRepository;
+import com.bers.domain.repositories.projections.SeatSegmentProjection;
+import com.bers.domain.repositories.projections.TripLastStopProjection;
+import com.bers.services.event.SeatMapChangedEvent;
+import com.bers.services.event.SeatMapChangedEvent.Reason;
+import com.bers.services.inventory.TripSeatOccupancy.SeatSegment;
+import com.bers.services.inventory.TripSeatOccupancy.SegmentChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Motor de ocupación por tramos de los viajes.
+ * Construye una sola vez por viaje la ocupación de asientos desde la BD y la mantiene
+ * al día con los cambios de tickets y holds, que se aplican solo tras el commit.
+ * En despliegues con varios nodos la instantánea se recarga tras {@code snapshotTtlSeconds}
+ * para acotar el desfase con los cambios hechos en otros nodos.
+ * Cada cambio aplicado sobre un viaje cargado se publica como {@link SeatMapChangedEvent}; al
+ * reemplazar una instantánea cargada se publica también lo que difiere de la anterior ({@code RESYNC}).
+ * Los cambios se numeran con una secuencia única del nodo; solo los viajes cargados o en carga
+ * guardan estado, así que lo que se desaloja no deja rastro.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SegmentOccupancyEngine {
+
+    public static final Set<TicketStatus> OCCUPYING_STATUSES =
+            EnumSet.of(TicketStatus.SOLD, TicketStatus.PENDING_PAYMENT);
+
+    private final TicketRepository ticketRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final StopRepository stopRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, TripSeatOccupancy> trips = new ConcurrentHashMap<>();
+    private final Map<Long, LoadGuard> loading = new ConcurrentHashMap<>();
+    private final AtomicLong mutationSequence = new AtomicLong();
+
+    @Value("${bers.occupancy.snapshot-ttl-seconds:60}")
+    private long snapshotTtlSeconds = 60;
+
+    @Value("${bers.occupancy.max-trips:5000}")
+    private int maxTrips = 5000;
+
+    /**
+     * Indica si ningún ticket activo del asiento se solapa con el tramo.
+     */
+    public boolean isSeatAvailableForSegment(Long tripId, String seatNumber, int fromOrder, int toOrder) {
+        return snapshot(tripId).isSoldFree(seatNumber, fromOrder, toOrder);
+    }
+
+    /**
+     * Indica si el tramo del asiento está libre de tickets activos y de holds vigentes.
+     */
+    public boolean isSeatFreeForSegment(Long tripId, String seatNumber, int fromOrder, int toOrder) {
+        return snapshot(tripId).isFree(seatNumber, fromOrder, toOrder, LocalDateTime.now());
+    }
+
+    public TripSeatOccupancy snapshot(Long tripId) {
+        TripSeatOccupancy occupancy = trips.get(tripId);
+        if (occupancy == null || occupancy.isOlderThan(TimeUnit.SECONDS.toNanos(snapshotTtlSeconds))) {
+            occupancy = load(List.of(tripId)).get(tripId);
+        }
+        return occupancy;
+    }
+
+    /**
+     * Ocupación de varios viajes; los que no están cargados o están vencidos se leen
+     * juntos con una consulta por tabla en lugar de una carga por viaje.
+     */
+    public Map<Long, TripSeatOccupancy> snapshots(Collection<Long> tripIds) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(snapshotTtlSeconds);
+        Map<Long, TripSeatOccupancy> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long tripId : tripIds) {
+            TripSeatOccupancy occupancy = trips.get(tripId);
+            if (occupancy == null || occupancy.isOlderThan(ttlNanos)) {
+                missing.add(tripId);
+            } else {
+                result.put(tripId, occupancy);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(load(missing));
+        }
+        return result;
+    }
+
+    /**
+     * Recarga desde la BD la ocupación de los viajes aunque no haya vencido, para ver ya los
+     * cambios hechos en otros nodos.
+     */
+    public void refresh(Collection<Long> tripIds) {
+        if (!tripIds.isEmpty()) {
+            load(tripIds);
+        }
+    }
+
+    /**
+     * Número de secuencia de la instantánea del viaje en este nodo: el del último cambio aplicado,
+     * o el vigente al cargarla. Crece siempre, también tras desalojar y recargar el viaje.
+     */
+    public long sequenceOf(Long tripId) {
+        TripSeatOccupancy occupancy = trips.get(tripId);
+        return occupancy != null ? occupancy.getSequence() : mutationSequence.get();
+    }
+
+    // ==================== CAMBIOS DE ESTADO ====================
+
+    public void ticketChanged(Ticket ticket) {
+        Long tripId = ticket.getTrip().getId();
+        Long ticketId = ticket.getId();
+        if (OCCUPYING_STATUSES.contains(ticket.getStatus())) {
+            String seatNumber = ticket.getSeatNumber();
+            Integer fromOrder = stopOrder(ticket.getFromStop());
+            Integer toOrder = stopOrder(ticket.getToStop());
+            afterCommit(tripId, Reason.TICKET_ISSUED,
+                    occupancy -> occupancy.addTicket(ticketId, seatNumber, fromOrder, toOrder));
+        } else {
+            afterCommit(tripId, Reason.TICKET_RELEASED, occupancy -> occupancy.removeTicket(ticketId));
+        }
+    }
+
+    /**
+     * Tiquetes del viaje que dejaron de ocupar asiento por una actualización en bloque.
+     */
+    public void ticketsReleased(Long tripId, Collection<Long> ticketIds) {
+        ticketIds.forEach(ticketId ->
+                afterCommit(tripId, Reason.TICKET_RELEASED, occupancy -> occupancy.removeTicket(ticketId)));
+    }
+
+    public void ticketRemoved(Ticket ticket) {
+        Long ticketId = ticket.getId();
+        afterCommit(ticket.getTrip().getId(), Reason.TICKET_RELEASED, occupancy -> occupancy.removeTicket(ticketId));
+    }
+
+    public void holdChanged(SeatHold hold) {
+        Long tripId = hold.getTrip().getId();
+        Long holdId = hold.getId();
+        if (hold.getStatus() == HoldStatus.HOLD) {
+            String seatNumber = hold.getSeatNumber();
+            Integer fromOrder = stopOrder(hold.getFromStop());
+            Integer toOrder = stopOrder(hold.getToStop());
+            LocalDateTime expiresAt = hold.getExpiresAt();
+            afterCommit(tripId, Reason.HOLD_PLACED,
+                    occupancy -> occupancy.addHold(holdId, seatNumber, fromOrder, toOrder, expiresAt));
+        } else {
+            afterCommit(tripId, Reason.HOLD_RELEASED, occupancy -> occupancy.removeHold(holdId));
+        }
+    }
+
+    public void holdRemoved(SeatHold hold) {
+        Long holdId = hold.getId();
+        afterCommit(hold.getTrip().getId(), Reason.HOLD_RELEASED, occupancy -> occupancy.removeHold(holdId));
+    }
+
+    public void holdExpired(Long tripId, Long holdId) {
+        afterCommit(tripId, Reason.HOLD_EXPIRED, occupancy -> occupancy.removeHold(holdId));
+    }
+
+    public void evictTrip(Long tripId) {
+        trips.remove(tripId);
+    }
+
+    // ==================== CARGA ====================
+
+    private Map<Long, TripSeatOccupancy> load(Collection<Long> tripIds) {
+        // La guarda se registra antes de tomar la secuencia para no perder cambios entre ambas cosas
+        tripIds.forEach(tripId -> loading.compute(tripId,
+                (id, guard) -> (guard != null ? guard : new LoadGuard()).join()));
+        try {
+            return load(tripIds, mutationSequence.get());
+        } finally {
+            tripIds.forEach(tripId -> loading.computeIfPresent(tripId, (id, guard) -> guard.leave() ? null : guard));
+        }
+    }
+
+    private Map<Long, TripSeatOccupancy> load(Collection<Long> tripIds, long startedAt) {
+        Map<Long, Integer> lastStopOrders = new HashMap<>();
+        for (TripLastStopProjection trip : stopRepository.findLastStopOrdersByTripIds(tripIds)) {
+            lastStopOrders.put(trip.tripId(), trip.lastStopOrder());
+        }
+        Map<Long, TripSeatOccupancy> loaded = new HashMap<>();
+        for (Long tripId : tripIds) {
+            Integer lastStopOrder = lastStopOrders.get(tripId);
+            TripSeatOccupancy occupancy = new TripSeatOccupancy(tripId, lastStopOrder != null ? lastStopOrder : 0);
+            occupancy.setSequence(startedAt);
+            loaded.put(tripId, occupancy);
+        }
+        for (SeatSegmentProjection ticket : ticketRepository.findSeatSegmentsByTripIds(tripIds, OCCUPYING_STATUSES)) {
+            loaded.get(ticket.tripId()).addTicket(ticket.id(), ticket.seatNumber(), ticket.fromOrder(), ticket.toOrder());
+        }
+        for (SeatSegmentProjection hold : seatHoldRepository.findActiveSeatSegmentsByTripIds(tripIds, LocalDateTime.now())) {
+            loaded.get(hold.tripId()).addHold(hold.id(), hold.seatNumber(), hold.fromOrder(), hold.toOrder(),
+                    hold.expiresAt());
+        }
+
+        if (trips.size() + loaded.size() > maxTrips) {
+            long ttlNanos = TimeUnit.SECONDS.toNanos(snapshotTtlSeconds);
+            trips.values().removeIf(occupancy -> occupancy.isOlderThan(ttlNanos));
+        }
+
+        // Solo se publica si ningún cambio confirmado llegó mientras se leía la BD
+        List<SeatMapChangedEvent> resynced = new ArrayList<>();
+        loaded.forEach((tripId, occupancy) -> trips.compute(tripId, (id, current) -> {
+            LoadGuard guard = loading.get(id);
+            if (guard != null && guard.lastMutation > startedAt) {
+                return current;
+            }
+            if (current != null) {
+                occupancy.setSequence(Math.max(occupancy.getSequence(), current.getSequence()));
+                resynced.addAll(resync(id, current, occupancy));
+            }
+            return occupancy;
+        }));
+        resynced.forEach(eventPublisher::publishEvent);
+
+        log.debug("[Occupancy] Snapshots loaded for {} trips", loaded.size());
+        return loaded;
+    }
+
+    private List<SeatMapChangedEvent> resync(Long tripId, TripSeatOccupancy previous, TripSeatOccupancy reloaded) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SeatMapChangedEvent> events = new ArrayList<>();
+        for (SegmentChange change : TripSeatOccupancy.changes(previous, reloaded, now)) {
+            long sequence = mutationSequence.incrementAndGet();
+            reloaded.setSequence(sequence);
+            events.add(new SeatMapChangedEvent(tripId, change.seatNumber(), change.fromOrder(), change.toOrder(),
+                    change.state(), Reason.RESYNC, sequence, now));
+        }
+        if (!events.isEmpty()) {
+            log.debug("[Occupancy] Trip {} reloaded with {} segment changes from other nodes", tripId, events.size());
+        }
+        return events;
+    }
+
+    private void afterCommit(Long tripId, Reason reason, Function<TripSeatOccupancy, SeatSegment> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(tripId, reason, change);
+                }
+            });
+        } else {
+            apply(tripId, reason, change);
+        }
+    }
+
+    private void apply(Long tripId, Reason reason, Function<TripSeatOccupancy, SeatSegment> change) {
+        SeatMapChangedEvent[] applied = new SeatMapChangedEvent[1];
+        trips.compute(tripId, (id, occupancy) -> {
+            long sequence = mutationSequence.incrementAndGet();
+            loading.computeIfPresent(id, (key, guard) -> guard.mutated(sequence));
+            if (occupancy != null) {
+                occupancy.setSequence(sequence);
+                SeatSegment segment = change.apply(occupancy);
+                if (segment != null) {
+                    LocalDateTime now = LocalDateTime.now();
+                    applied[0] = new SeatMapChangedEvent(id, segment.seatNumber(), segment.fromOrder(),
+                            segment.toOrder(), occupancy.stateOf(segment.seatNumber(), segment.fromOrder(),
+                            segment.toOrder(), now), reason, sequence, now);
+                }
+            }
+            return occupancy;
+        });
+        // Solo se publica lo que cambió un viaje cargado; quien lo necesite entero recarga la instantánea
+        if (applied[0] != null) {
+            eventPublisher.publishEvent(applied[0]);
+        }
+    }
+
+    private static Integer stopOrder(Stop stop) {
+        return stop != null ? stop.getOrder() : null;
+    }
+
+    /**
+     * Cargas en curso de un viaje y último cambio aplicado mientras tanto; solo se modifica
+     * dentro de {@code loading.compute*} y se borra al terminar la última carga.
+     */
+    private static final class LoadGuard {
+        private int loaders;
+        private long lastMutation;
+
+        LoadGuard join() {
+            loaders++;
+            return this;
+        }
+
+        boolean leave() {
+            return --loaders == 0;
+        }
+
+        LoadGuard mutated(long sequence) {
+            lastMutation = sequence;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bers.services.inventory;
+
+import com.bers.api.dtos.SeatDtos.SeatStatusResponse;
+import com.bers.domain.entities.Seat;
+import com.bers.domain.repositories.SeatHoldRepository;
+import com.bers.domain.repositories.TicketRepository;
+import com.bers.domain.repositories.TripRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Construye el mapa de asientos de un viaje con una consulta por tabla
+ * (asientos, tickets activos y holds vigentes) y los cruza en memoria.
+ */
+@Component
+@RequiredArgsConstructor
+public class TripSeatMapBuilder {
+
+    private final TripRepository tripRepository;
+    private final TicketRepository ticketRepository;
+    private final SeatHoldRepository seatHoldRepository;
+
+    public List<SeatStatusResponse> build(Long tripId) {
+        List<Seat> seats = tripRepository.findSeatsByTripId(tripId);
+        if (seats.isEmpty() && !tripRepository.existsById(tripId)) {
+            throw new IllegalArgumentException("Trip not found");
+        }
+
+        Set<String> occupiedSeatNumbers = new HashSet<>(ticketRepository.findOccupiedSeatNumbersByTripId(
+                tripId, SegmentOccupancyEngine.OCCUPYING_STATUSES));
+        Set<String> heldSeatNumbers = new HashSet<>(seatHoldRepository.findHeldSeatNumbersByTripId(
+                tripId, LocalDateTime.now()));
+
+        return classify(seats, occupiedSeatNumbers, heldSeatNumbers);
+    }
+
+    /**
+     * Clasifica cada asiento en ocupado, en hold o disponible. Ocupado tiene prioridad sobre hold.
+     */
+    public static List<SeatStatusResponse> classify(Collection<Seat> seats,
+                                                    Set<String> occupiedSeatNumbers,
+                                                    Set<String> heldSeatNumbers) {
+        return seats.stream()
+                .map(seat -> {
+                    boolean isOccupied = occupiedSeatNumbers.contains(seat.getNumber());
+                    boolean isHeld = !isOccupied && heldSeatNumbers.contains(seat.getNumber());
+                    return new SeatStatusResponse(
+                            seat.getId(),
+                            seat.getNumber(),
+                            isOccupied,
+                            isHeld,
+                            !isOccupied && !isHeld
+                    );
+                })
+                .toList();
+    }
+}
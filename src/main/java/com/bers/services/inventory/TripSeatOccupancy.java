@@ -0,0 +1,352 @@
+package com.bers.services.inventory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Ocupación en memoria de los asientos de un viaje.
+ * Cada asiento guarda un bitset por capa (tickets y holds) donde el bit {@code k}
+ * representa el tramo entre la parada de orden {@code k} y la {@code k + 1}.
+ * Verificar un solapamiento se reduce a un {@link BitSet#intersects(BitSet)}.
+ * Además lleva la cuenta de asientos con algún ticket o hold, actualizada en cada cambio,
+ * para responder la disponibilidad del viaje sin recorrer los asientos.
+ */
+public final class TripSeatOccupancy {
+
+    private final Long tripId;
+    private final int lastStopOrder;
+    private final long loadedAtNanos;
+    private final Map<String, SeatLane> lanes = new HashMap<>();
+    private final Map<Long, String> ticketSeats = new HashMap<>();
+    private final Map<Long, String> holdSeats = new HashMap<>();
+    private int busySeats;
+    private LocalDateTime nextHoldExpiry;
+    private volatile long sequence;
+
+    public TripSeatOccupancy(Long tripId, int lastStopOrder) {
+        this.tripId = tripId;
+        this.lastStopOrder = lastStopOrder;
+        this.loadedAtNanos = System.nanoTime();
+    }
+
+    public Long getTripId() {
+        return tripId;
+    }
+
+    public int getLastStopOrder() {
+        return lastStopOrder;
+    }
+
+    /**
+     * Secuencia del último cambio aplicado, o la vigente al cargar la instantánea.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    boolean isOlderThan(long ttlNanos) {
+        return System.nanoTime() - loadedAtNanos > ttlNanos;
+    }
+
+    public synchronized SeatSegment addTicket(Long ticketId, String seatNumber, Integer fromOrder, Integer toOrder) {
+        removeTicket(ticketId);
+        Segment segment = segment(fromOrder, toOrder, null);
+        SeatLane lane = lane(seatNumber);
+        boolean wasBusy = lane.isBusy();
+        lane.addTicket(ticketId, segment);
+        trackBusy(wasBusy, lane);
+        ticketSeats.put(ticketId, seatNumber);
+        return new SeatSegment(seatNumber, segment.from(), segment.to());
+    }
+
+    public synchronized SeatSegment removeTicket(Long ticketId) {
+        String seatNumber = ticketSeats.remove(ticketId);
+        if (seatNumber == null) {
+            return null;
+        }
+        SeatLane lane = lanes.get(seatNumber);
+        boolean wasBusy = lane.isBusy();
+        Segment segment = lane.removeTicket(ticketId);
+        trackBusy(wasBusy, lane);
+        return segment != null ? new SeatSegment(seatNumber, segment.from(), segment.to()) : null;
+    }
+
+    public synchronized SeatSegment addHold(Long holdId, String seatNumber, Integer fromOrder, Integer toOrder,
+                                            LocalDateTime expiresAt) {
+        removeHold(holdId);
+        Segment segment = segment(fromOrder, toOrder, expiresAt);
+        SeatLane lane = lane(seatNumber);
+        boolean wasBusy = lane.isBusy();
+        lane.addHold(holdId, segment);
+        trackBusy(wasBusy, lane);
+        if (expiresAt != null && (nextHoldExpiry == null || expiresAt.isBefore(nextHoldExpiry))) {
+            nextHoldExpiry = expiresAt;
+        }
+        holdSeats.put(holdId, seatNumber);
+        return new SeatSegment(seatNumber, segment.from(), segment.to());
+    }
+
+    public synchronized SeatSegment removeHold(Long holdId) {
+        String seatNumber = holdSeats.remove(holdId);
+        if (seatNumber == null) {
+            return null;
+        }
+        SeatLane lane = lanes.get(seatNumber);
+        boolean wasBusy = lane.isBusy();
+        Segment segment = lane.removeHold(holdId);
+        trackBusy(wasBusy, lane);
+        return segment != null ? new SeatSegment(seatNumber, segment.from(), segment.to()) : null;
+    }
+
+    /**
+     * Indica si ningún ticket activo del asiento se solapa con el tramo indicado.
+     */
+    public synchronized boolean isSoldFree(String seatNumber, int fromOrder, int toOrder) {
+        SeatLane lane = lanes.get(seatNumber);
+        return lane == null || !lane.sold.intersects(mask(fromOrder, toOrder));
+    }
+
+    /**
+     * Indica si el tramo está libre tanto de tickets activos como de holds vigentes.
+     */
+    public synchronized boolean isFree(String seatNumber, int fromOrder, int toOrder, LocalDateTime now) {
+        SeatLane lane = lanes.get(seatNumber);
+        if (lane == null) {
+            return true;
+        }
+        boolean wasBusy = lane.isBusy();
+        lane.purgeExpiredHolds(now, holdSeats);
+        trackBusy(wasBusy, lane);
+        BitSet mask = mask(fromOrder, toOrder);
+        return !lane.sold.intersects(mask) && !lane.held.intersects(mask);
+    }
+
+    /**
+     * Estado resultante del tramo del asiento: ocupado por un ticket, en hold o disponible.
+     */
+    public synchronized SeatSegmentState stateOf(String seatNumber, int fromOrder, int toOrder, LocalDateTime now) {
+        if (!isSoldFree(seatNumber, fromOrder, toOrder)) {
+            return SeatSegmentState.OCCUPIED;
+        }
+        return isFree(seatNumber, fromOrder, toOrder, now) ? SeatSegmentState.AVAILABLE : SeatSegmentState.HELD;
+    }
+
+    /**
+     * Asientos sin ningún ticket ni hold vigente en todo el viaje, según el contador mantenido.
+     */
+    public synchronized int availableSeats(int capacity, LocalDateTime now) {
+        if (nextHoldExpiry != null && !nextHoldExpiry.isAfter(now)) {
+            purgeExpiredHolds(now);
+        }
+        return Math.max(0, capacity - busySeats);
+    }
+
+    /**
+     * Asientos libres de tickets y holds vigentes en el tramo indicado; solo recorre los asientos con algo asignado.
+     */
+    public synchronized int availableSeatsForSegment(int capacity, int fromOrder, int toOrder, LocalDateTime now) {
+        if (nextHoldExpiry != null && !nextHoldExpiry.isAfter(now)) {
+            purgeExpiredHolds(now);
+        }
+        BitSet mask = mask(fromOrder, toOrder);
+        int taken = 0;
+        for (SeatLane lane : lanes.values()) {
+            if (lane.sold.intersects(mask) || lane.held.intersects(mask)) {
+                taken++;
+            }
+        }
+        return Math.max(0, capacity - taken);
+    }
+
+    /**
+     * Tramos que cambiaron de estado entre dos instantáneas del mismo viaje, agrupados en rangos
+     * contiguos de paradas con el mismo estado nuevo.
+     */
+    public static List<SegmentChange> changes(TripSeatOccupancy before, TripSeatOccupancy after, LocalDateTime now) {
+        Map<String, SeatSegmentState[]> previous = before.gapStates(now);
+        Map<String, SeatSegmentState[]> current = after.gapStates(now);
+        Set<String> seats = new TreeSet<>(previous.keySet());
+        seats.addAll(current.keySet());
+
+        List<SegmentChange> changes = new ArrayList<>();
+        for (String seatNumber : seats) {
+            SeatSegmentState[] was = previous.getOrDefault(seatNumber, new SeatSegmentState[0]);
+            SeatSegmentState[] is = current.getOrDefault(seatNumber, new SeatSegmentState[0]);
+            int gaps = Math.max(was.length, is.length);
+            int k = 0;
+            while (k < gaps) {
+                SeatSegmentState state = gapState(is, k);
+                if (gapState(was, k) == state) {
+                    k++;
+                    continue;
+                }
+                int end = k + 1;
+                while (end < gaps && gapState(is, end) == state && gapState(was, end) != state) {
+                    end++;
+                }
+                changes.add(new SegmentChange(seatNumber, k, end, state));
+                k = end;
+            }
+        }
+        return changes;
+    }
+
+    // Estado de cada tramo entre paradas consecutivas, solo para los asientos con algo asignado
+    private synchronized Map<String, SeatSegmentState[]> gapStates(LocalDateTime now) {
+        if (nextHoldExpiry != null && !nextHoldExpiry.isAfter(now)) {
+            purgeExpiredHolds(now);
+        }
+        Map<String, SeatSegmentState[]> states = new HashMap<>();
+        lanes.forEach((seatNumber, lane) -> {
+            if (!lane.isBusy()) {
+                return;
+            }
+            SeatSegmentState[] gaps = new SeatSegmentState[Math.max(lane.sold.length(), lane.held.length())];
+            for (int k = 0; k < gaps.length; k++) {
+                gaps[k] = lane.sold.get(k) ? SeatSegmentState.OCCUPIED
+                        : lane.held.get(k) ? SeatSegmentState.HELD : SeatSegmentState.AVAILABLE;
+            }
+            states.put(seatNumber, gaps);
+        });
+        return states;
+    }
+
+    private static SeatSegmentState gapState(SeatSegmentState[] gaps, int k) {
+        return k < gaps.length ? gaps[k] : SeatSegmentState.AVAILABLE;
+    }
+
+    private void purgeExpiredHolds(LocalDateTime now) {
+        nextHoldExpiry = null;
+        for (SeatLane lane : lanes.values()) {
+            boolean wasBusy = lane.isBusy();
+            lane.purgeExpiredHolds(now, holdSeats);
+            trackBusy(wasBusy, lane);
+            if (lane.nextHoldExpiry != null
+                    && (nextHoldExpiry == null || lane.nextHoldExpiry.isBefore(nextHoldExpiry))) {
+                nextHoldExpiry = lane.nextHoldExpiry;
+            }
+        }
+    }
+
+    private void trackBusy(boolean wasBusy, SeatLane lane) {
+        boolean busy = lane.isBusy();
+        if (busy != wasBusy) {
+            busySeats += busy ? 1 : -1;
+        }
+    }
+
+    private SeatLane lane(String seatNumber) {
+        return lanes.computeIfAbsent(seatNumber, n -> new SeatLane());
+    }
+
+    // Un hold sin paradas ocupa el viaje completo
+    private Segment segment(Integer fromOrder, Integer toOrder, LocalDateTime expiresAt) {
+        int from = fromOrder != null ? Math.max(0, fromOrder) : 0;
+        int to = toOrder != null ? toOrder : Math.max(lastStopOrder, from + 1);
+        return new Segment(from, to, expiresAt);
+    }
+
+    private static BitSet mask(int fromOrder, int toOrder) {
+        BitSet mask = new BitSet();
+        int from = Math.max(0, fromOrder);
+        if (toOrder > from) {
+            mask.set(from, toOrder);
+        }
+        return mask;
+    }
+
+    /**
+     * Asiento y tramo afectados por un cambio, con los órdenes de parada ya resueltos.
+     */
+    public record SeatSegment(String seatNumber, int fromOrder, int toOrder) {
+    }
+
+    /**
+     * Tramo de asiento que quedó en {@code state} al comparar dos instantáneas.
+     */
+    public record SegmentChange(String seatNumber, int fromOrder, int toOrder, SeatSegmentState state) {
+    }
+
+    private record Segment(int from, int to, LocalDateTime expiresAt) {
+        void paint(BitSet bits) {
+            if (to > from) {
+                bits.set(from, to);
+            }
+        }
+    }
+
+    private static final class SeatLane {
+        private final Map<Long, Segment> tickets = new HashMap<>();
+        private final Map<Long, Segment> holds = new HashMap<>();
+        private final BitSet sold = new BitSet();
+        private final BitSet held = new BitSet();
+        private LocalDateTime nextHoldExpiry;
+
+        boolean isBusy() {
+            return !tickets.isEmpty() || !holds.isEmpty();
+        }
+
+        void addTicket(Long ticketId, Segment segment) {
+            tickets.put(ticketId, segment);
+            segment.paint(sold);
+        }
+
+        // Los tramos de un asiento no se solapan, pero se repinta por si la BD trae datos inconsistentes
+        Segment removeTicket(Long ticketId) {
+            Segment removed = tickets.remove(ticketId);
+            if (removed != null) {
+                sold.clear();
+                tickets.values().forEach(s -> s.paint(sold));
+            }
+            return removed;
+        }
+
+        void addHold(Long holdId, Segment segment) {
+            holds.put(holdId, segment);
+            segment.paint(held);
+            if (segment.expiresAt() != null
+                    && (nextHoldExpiry == null || segment.expiresAt().isBefore(nextHoldExpiry))) {
+                nextHoldExpiry = segment.expiresAt();
+            }
+        }
+
+        Segment removeHold(Long holdId) {
+            Segment removed = holds.remove(holdId);
+            if (removed != null) {
+                repaintHolds();
+            }
+            return removed;
+        }
+
+        void purgeExpiredHolds(LocalDateTime now, Map<Long, String> holdSeats) {
+            if (nextHoldExpiry == null || nextHoldExpiry.isAfter(now)) {
+                return;
+            }
+            holds.entrySet().removeIf(entry -> {
+                LocalDateTime expiresAt = entry.getValue().expiresAt();
+                boolean expired = expiresAt != null && !expiresAt.isAfter(now);
+                if (expired) {
+                    holdSeats.remove(entry.getKey());
+                }
+                return expired;
+            });
+            repaintHolds();
+        }
+
+        private void repaintHolds() {
+            held.clear();
+            nextHoldExpiry = null;
+            for (Segment segment : holds.values()) {
+                segment.paint(held);
+                if (segment.expiresAt() != null
+                        && (nextHoldExpiry == null || segment.expiresAt().isBefore(nextHoldExpiry))) {
+                    nextHoldExpiry = segment.expiresAt();
+                }
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.bers.domain.entities.Assignment;
 import com.bers.domain.entities.Route;
 import com.bers.domain.entities.Trip;
 import com.bers.domain.entities.User;
+import com.bers.domain.repositories.projections.AssignmentListProjection;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring")
@@ -44,6 +45,11 @@ public interface AssignmentMapper {
     @Mapping(target = "dispatcherName", source = "dispatcher.username")
     AssignmentResponse toResponse(Assignment entity);
 
+    @Mapping(target = "tripInfo", source = "row", qualifiedByName = "formatRowTripInfo")
+    @Mapping(target = "tripDepartureTime", source = "tripDepartureAt")
+    @Mapping(target = "routeInfo", source = "row", qualifiedByName = "formatRowRouteInfo")
+    AssignmentResponse toResponse(AssignmentListProjection row);
+
     @Named("mapTrip")
     default Trip mapTrip(Long id) {
         if (id == null) return null;
@@ -74,4 +80,19 @@ public interface AssignmentMapper {
         if (route == null) return null;
         return route.getOrigin() + " → " + route.getDestination();
     }
-}
\ No newline at end of file
+
+    @Named("formatRowTripInfo")
+    default String formatRowTripInfo(AssignmentListProjection row) {
+        if (row == null || row.routeOrigin() == null) return null;
+        return row.routeOrigin() + " → " +
+                row.routeDestination() + " - " +
+                row.tripDate() + " " +
+                row.tripDepartureAt().toLocalTime();
+    }
+
+    @Named("formatRowRouteInfo")
+    default String formatRowRouteInfo(AssignmentListProjection row) {
+        if (row == null || row.routeOrigin() == null) return null;
+        return row.routeOrigin() + " → " + row.routeDestination();
+    }
+}
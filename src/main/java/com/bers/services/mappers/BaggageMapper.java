@@ -6,6 +6,7 @@ import com.bers.api.dtos.BaggageDtos.BaggageUpdateRequest;
 import com.bers.domain.entities.Baggage;
 import com.bers.domain.entities.Ticket;
 import com.bers.domain.entities.Trip;
+import com.bers.domain.repositories.projections.BaggageListProjection;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring")
@@ -36,6 +37,10 @@ public interface BaggageMapper {
     @Mapping(target = "excessWeight", source = "weightKg", qualifiedByName = "isExcessWeight")
     BaggageResponse toResponse(Baggage entity);
 
+    @Mapping(target = "tripInfo", source = "row", qualifiedByName = "formatRowTripInfo")
+    @Mapping(target = "excessWeight", source = "weightKg", qualifiedByName = "isExcessWeight")
+    BaggageResponse toResponse(BaggageListProjection row);
+
     @Named("mapTicket")
     default Ticket mapTicket(Long id) {
         if (id == null) return null;
@@ -51,6 +56,12 @@ public interface BaggageMapper {
                 " (" + trip.getDate() + ")";
     }
 
+    @Named("formatRowTripInfo")
+    default String formatRowTripInfo(BaggageListProjection row) {
+        if (row == null || row.routeOrigin() == null) return null;
+        return row.routeOrigin() + " → " + row.routeDestination() + " (" + row.tripDate() + ")";
+    }
+
     @Named("calculateFee")
     default java.math.BigDecimal calculateFee(java.math.BigDecimal weightKg) {
         if (weightKg == null) return java.math.BigDecimal.ZERO;
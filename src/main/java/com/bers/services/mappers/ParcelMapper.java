@@ -6,6 +6,7 @@ import com.bers.api.dtos.ParcelDtos.ParcelUpdateRequest;
 import com.bers.domain.entities.Parcel;
 import com.bers.domain.entities.Stop;
 import com.bers.domain.entities.Trip;
+import com.bers.domain.repositories.projections.ParcelListProjection;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring")
@@ -63,6 +64,8 @@ public interface ParcelMapper {
     @Mapping(target = "tripId", source = "trip.id")
     ParcelResponse toResponse(Parcel entity);
 
+    ParcelResponse toResponse(ParcelListProjection row);
+
     @Named("mapStop")
     default Stop mapStop(Long id) {
         if (id == null) return null;
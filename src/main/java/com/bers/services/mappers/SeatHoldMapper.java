@@ -5,6 +5,7 @@ import com.bers.api.dtos.SeatHoldDtos.SeatHoldResponse;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldUpdateRequest;
 import com.bers.domain.entities.SeatHold;
 import com.bers.domain.entities.Trip;
+import com.bers.domain.repositories.projections.SeatHoldListProjection;
 import org.mapstruct.*;
 
 import java.time.Duration;
@@ -50,6 +51,11 @@ public interface SeatHoldMapper {
     @Mapping(target = "minutesLeft", source = "expiresAt", qualifiedByName = "calculateMinutesLeft")
     SeatHoldResponse toResponse(SeatHold entity);
 
+    @Mapping(target = "tripDate", source = "tripDate", qualifiedByName = "formatDate")
+    @Mapping(target = "tripTime", source = "tripDepartureAt", qualifiedByName = "formatTime")
+    @Mapping(target = "minutesLeft", source = "expiresAt", qualifiedByName = "calculateMinutesLeft")
+    SeatHoldResponse toResponse(SeatHoldListProjection row);
+
 
     @Named("formatDate")
     default String formatDate(java.time.LocalDate date) {
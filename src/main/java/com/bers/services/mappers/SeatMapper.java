@@ -2,11 +2,10 @@ package com.bers.services.mappers;
 
 import com.bers.api.dtos.SeatDtos.SeatCreateRequest;
 import com.bers.api.dtos.SeatDtos.SeatResponse;
-import com.bers.api.dtos.SeatDtos.SeatStatusResponse;
 import com.bers.api.dtos.SeatDtos.SeatUpdateRequest;
 import com.bers.domain.entities.Bus;
 import com.bers.domain.entities.Seat;
-import com.bers.domain.repositories.SeatHoldRepository;
+import com.bers.domain.repositories.projections.SeatListProjection;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring")
@@ -34,19 +33,7 @@ public interface SeatMapper {
     @Mapping(target = "busCapacity", source = "bus.capacity")
     SeatResponse toResponse(Seat entity);
 
-    @Mapping(target = "seatId", source = "entity.id")
-    @Mapping(target = "seatNumber", source = "entity.number")
-    @Mapping(
-            target = "isHeld",
-            expression = "java(seatHoldRepository.existsByTripIdAndSeatNumberAndStatus(tripId, entity.getNumber(), com.bers.domain.entities.enums.HoldStatus.HOLD))"
-    )
-    @Mapping(target = "isOccupied", expression = "java(false)")
-    @Mapping(target = "available", expression = "java(false)")
-    SeatStatusResponse toStatusResponse(
-            Seat entity,
-            Long tripId,
-            @Context SeatHoldRepository seatHoldRepository
-    );
+    SeatResponse toResponse(SeatListProjection row);
 
     @Named("mapBus")
     default Bus mapBus(Long id) {
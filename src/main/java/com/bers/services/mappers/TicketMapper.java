@@ -5,6 +5,7 @@ import com.bers.domain.entities.Stop;
 import com.bers.domain.entities.Ticket;
 import com.bers.domain.entities.Trip;
 import com.bers.domain.entities.User;
+import com.bers.domain.repositories.projections.TicketListProjection;
 import org.mapstruct.*;
 
 import java.time.format.DateTimeFormatter;
@@ -73,6 +74,10 @@ public interface TicketMapper {
     @Mapping(target = "toStopName", source = "toStop.name")
     TicketResponse toResponse(Ticket entity);
 
+    @Mapping(target = "tripDate", source = "tripDate", qualifiedByName = "formatDate")
+    @Mapping(target = "tripTime", source = "tripDepartureAt", qualifiedByName = "formatTime")
+    TicketResponse toResponse(TicketListProjection row);
+
     @Mapping(target = "id", source = "id")
     @Mapping(target = "seatNumber", source = "seatNumber")
     @Mapping(target = "price", source = "price")
@@ -42,6 +42,8 @@ public interface TripMapper {
     @Mapping(target = "busId", source = "bus.id")
     @Mapping(target = "busPlate", source = "bus.plate")
     @Mapping(target = "capacity", source = "bus.capacity")
+    @Mapping(target = "availableSeats", ignore = true)
+    @Mapping(target = "withAvailableSeats", ignore = true)
     TripResponse toResponse(Trip entity);
 
     @Named("mapRoute")
@@ -4,6 +4,7 @@ import com.bers.api.dtos.UserDtos.UserCreateRequest;
 import com.bers.api.dtos.UserDtos.UserResponse;
 import com.bers.api.dtos.UserDtos.UserUpdateRequest;
 import com.bers.domain.entities.User;
+import com.bers.domain.repositories.projections.UserListProjection;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring")
@@ -41,4 +42,6 @@ public interface UserMapper {
     @Mapping(target = "dateOfBirth", source = "dateOfBirth")
     @Mapping(target = "createAt", source = "createAt")
     UserResponse toResponse(User entity);
+
+    UserResponse toResponse(UserListProjection row);
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.bers.services.routing;
+
+import com.bers.services.routing.DayTimetable.RoutePattern;
+import com.bers.services.routing.DayTimetable.TripTimes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Planificador de itinerarios por rondas al estilo RAPTOR sobre un {@link DayTimetable}.
+ * La ronda {@code k} encuentra los itinerarios que usan {@code k} viajes; cada lugar guarda
+ * un conjunto de etiquetas no dominadas en (hora de llegada, costo), de modo que una misma
+ * búsqueda da la conexión que llega antes y la más barata. Los transbordos solo ocurren en
+ * paradas con el mismo nombre y exigen el tiempo mínimo entre llegada y salida.
+ */
+public final class ConnectionPlanner {
+
+    private ConnectionPlanner() {
+    }
+
+    public static PlanResult plan(DayTimetable timetable, String origin, String destination,
+                                  LocalDateTime departAfter, int maxTransfers, int minTransferSeconds) {
+        int source = timetable.placeOf(origin);
+        int target = timetable.placeOf(destination);
+        if (source < 0 || target < 0 || source == target) {
+            return PlanResult.EMPTY;
+        }
+
+        int placeCount = timetable.placeCount();
+        int rounds = maxTransfers + 1;
+        List<Label> targetBag = new ArrayList<>();
+        List<List<Label>> bestBags = newBags(placeCount);
+        List<List<Label>> previousRound = newBags(placeCount);
+
+        Label start = Label.origin(timetable.toSeconds(departAfter));
+        previousRound.get(source).add(start);
+        bestBags.get(source).add(start);
+        boolean[] marked = new boolean[placeCount];
+        marked[source] = true;
+
+        for (int round = 1; round <= rounds; round++) {
+            int[] firstPosition = routesToScan(timetable, marked);
+            List<List<Label>> currentRound = newBags(placeCount);
+            boolean[] nextMarked = new boolean[placeCount];
+            boolean anyMarked = false;
+
+            for (int r = 0; r < firstPosition.length; r++) {
+                if (firstPosition[r] == Integer.MAX_VALUE) {
+                    continue;
+                }
+                RoutePattern route = timetable.route(r);
+                List<RouteLabel> onBoard = new ArrayList<>();
+
+                for (int i = firstPosition[r]; i < route.stopCount(); i++) {
+                    int place = route.place(i);
+
+                    // Bajarse aquí
+                    for (RouteLabel riding : onBoard) {
+                        TripTimes trip = route.trip(riding.tripIndex());
+                        Label arrival = new Label(trip.times()[i],
+                                riding.from().cost() + route.fareCents(riding.boardPosition(), i),
+                                riding.from(), r, riding.tripIndex(),
+                                riding.boardPosition(), i);
+                        if (dominated(arrival, targetBag) || dominated(arrival, bestBags.get(place))) {
+                            continue;
+                        }
+                        insert(arrival, currentRound.get(place));
+                        insert(arrival, bestBags.get(place));
+                        if (place == target) {
+                            insert(arrival, targetBag);
+                        } else {
+                            nextMarked[place] = true;
+                            anyMarked = true;
+                        }
+                    }
+
+                    // Subirse aquí con las etiquetas de la ronda anterior
+                    for (Label waiting : previousRound.get(place)) {
+                        int readyAt = waiting.arrival() + (waiting.isOrigin() ? 0 : minTransferSeconds);
+                        int tripIndex = route.earliestTrip(i, readyAt);
+                        if (tripIndex < 0) {
+                            continue;
+                        }
+                        RouteLabel boarding = new RouteLabel(waiting, tripIndex, i);
+                        if (onBoard.stream().noneMatch(existing -> existing.dominates(boarding))) {
+                            onBoard.removeIf(boarding::dominates);
+                            onBoard.add(boarding);
+                        }
+                    }
+                }
+            }
+
+            if (!anyMarked) {
+                break;
+            }
+            previousRound = currentRound;
+            marked = nextMarked;
+        }
+
+        Label earliest = null;
+        Label cheapest = null;
+        for (Label label : targetBag) {
+            if (earliest == null || label.arrival() < earliest.arrival()
+                    || (label.arrival() == earliest.arrival() && label.cost() < earliest.cost())) {
+                earliest = label;
+            }
+            if (cheapest == null || label.cost() < cheapest.cost()
+                    || (label.cost() == cheapest.cost() && label.arrival() < cheapest.arrival())) {
+                cheapest = label;
+            }
+        }
+        return new PlanResult(toItinerary(timetable, earliest), toItinerary(timetable, cheapest));
+    }
+
+    private static int[] routesToScan(DayTimetable timetable, boolean[] marked) {
+        int[] firstPosition = new int[timetable.routeCount()];
+        Arrays.fill(firstPosition, Integer.MAX_VALUE);
+        for (int place = 0; place < marked.length; place++) {
+            if (!marked[place]) {
+                continue;
+            }
+            int[] serving = timetable.servingRoutes(place);
+            for (int j = 0; j < serving.length; j += 2) {
+                firstPosition[serving[j]] = Math.min(firstPosition[serving[j]], serving[j + 1]);
+            }
+        }
+        return firstPosition;
+    }
+
+    private static List<List<Label>> newBags(int size) {
+        List<List<Label>> bags = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bags.add(new ArrayList<>(2));
+        }
+        return bags;
+    }
+
+    private static boolean dominated(Label candidate, List<Label> bag) {
+        for (Label label : bag) {
+            if (label.arrival() <= candidate.arrival() && label.cost() <= candidate.cost()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void insert(Label candidate, List<Label> bag) {
+        if (dominated(candidate, bag)) {
+            return;
+        }
+        bag.removeIf(label -> candidate.arrival() <= label.arrival() && candidate.cost() <= label.cost());
+        bag.add(candidate);
+    }
+
+    private static Itinerary toItinerary(DayTimetable timetable, Label last) {
+        if (last == null) {
+            return null;
+        }
+        List<Leg> legs = new ArrayList<>();
+        for (Label label = last; !label.isOrigin(); label = label.previous()) {
+            RoutePattern route = timetable.route(label.routeIndex());
+            TripTimes trip = route.trip(label.tripIndex());
+            legs.add(new Leg(route, trip, label.boardPosition(), label.alightPosition(),
+                    timetable.toTime(trip.times()[label.boardPosition()]),
+                    timetable.toTime(trip.times()[label.alightPosition()]),
+                    BigDecimal.valueOf(route.fareCents(label.boardPosition(), label.alightPosition()), 2)));
+        }
+        Collections.reverse(legs);
+        return new Itinerary(legs, BigDecimal.valueOf(last.cost(), 2));
+    }
+
+    private record Label(int arrival, long cost, Label previous,
+                         int routeIndex, int tripIndex, int boardPosition, int alightPosition) {
+        static Label origin(int departAfter) {
+            return new Label(departAfter, 0, null, -1, -1, -1, -1);
+        }
+
+        boolean isOrigin() {
+            return previous == null;
+        }
+    }
+
+    private record RouteLabel(Label from, int tripIndex, int boardPosition) {
+        // Mismo viaje y misma parada de subida: basta quedarse con el de menor costo acumulado
+        boolean dominates(RouteLabel other) {
+            return boardPosition == other.boardPosition
+                    && tripIndex == other.tripIndex
+                    && from.cost() <= other.from.cost();
+        }
+    }
+
+    /**
+     * Tramo de un itinerario: un viaje entre dos posiciones de su ruta.
+     */
+    public record Leg(RoutePattern route, TripTimes trip, int boardPosition, int alightPosition,
+                      LocalDateTime departureAt, LocalDateTime arrivalAt, BigDecimal fare) {
+    }
+
+    public record Itinerary(List<Leg> legs, BigDecimal totalFare) {
+        public LocalDateTime departureAt() {
+            return legs.get(0).departureAt();
+        }
+
+        public LocalDateTime arrivalAt() {
+            return legs.get(legs.size() - 1).arrivalAt();
+        }
+
+        public int transfers() {
+            return legs.size() - 1;
+        }
+    }
+
+    public record PlanResult(Itinerary earliestArrival, Itinerary cheapest) {
+        static final PlanResult EMPTY = new PlanResult(null, null);
+    }
+}
@@ -0,0 +1,252 @@
+package com.bers.services.routing;
+
+import com.bers.domain.repositories.projections.StopIndexProjection;
+import com.bers.domain.repositories.projections.TripScheduleProjection;
+import com.bers.services.cache.TripSearchCache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Horario de un día en la forma que recorre el planificador de conexiones.
+ * Las paradas se agrupan en lugares por nombre normalizado (ahí se permite el transbordo);
+ * cada ruta guarda su secuencia de lugares, sus viajes ordenados por salida con la hora en cada
+ * parada y las tarifas entre paradas, tomadas de su {@link RouteFareMatrix} para cotizar lo mismo
+ * que cobra la venta. Es inmutable y se comparte entre búsquedas.
+ * <p>
+ * Los viajes solo registran salida y llegada, así que la hora en una parada intermedia se
+ * estima repartiendo la duración del viaje según el orden de la parada.
+ */
+public final class DayTimetable {
+
+    private final LocalDate date;
+    private final LocalDateTime base;
+    private final Map<String, Integer> places;
+    private final List<RoutePattern> routes;
+    private final int[][] servingRoutes;
+
+    private DayTimetable(LocalDate date, Map<String, Integer> places, List<RoutePattern> routes) {
+        this.date = date;
+        this.base = date.atStartOfDay();
+        this.places = places;
+        this.routes = routes;
+
+        List<List<int[]>> serving = new ArrayList<>();
+        for (int p = 0; p < places.size(); p++) {
+            serving.add(new ArrayList<>());
+        }
+        for (int r = 0; r < routes.size(); r++) {
+            int[] routePlaces = routes.get(r).places;
+            for (int i = 0; i < routePlaces.length; i++) {
+                serving.get(routePlaces[i]).add(new int[]{r, i});
+            }
+        }
+        this.servingRoutes = new int[places.size()][];
+        for (int p = 0; p < places.size(); p++) {
+            List<int[]> pairs = serving.get(p);
+            int[] flat = new int[pairs.size() * 2];
+            for (int j = 0; j < pairs.size(); j++) {
+                flat[2 * j] = pairs.get(j)[0];
+                flat[2 * j + 1] = pairs.get(j)[1];
+            }
+            servingRoutes[p] = flat;
+        }
+    }
+
+    public static DayTimetable build(LocalDate date,
+                                     List<TripScheduleProjection> trips,
+                                     List<StopIndexProjection> stops,
+                                     Function<Long, RouteFareMatrix> fareMatrices) {
+        LocalDateTime base = date.atStartOfDay();
+        Map<String, Integer> places = new HashMap<>();
+
+        Map<Long, List<StopIndexProjection>> stopsByRoute = new HashMap<>();
+        stops.stream()
+                .filter(stop -> stop.order() != null)
+                .forEach(stop -> stopsByRoute.computeIfAbsent(stop.routeId(), id -> new ArrayList<>()).add(stop));
+        Map<Long, List<TripScheduleProjection>> tripsByRoute = new HashMap<>();
+        trips.forEach(trip -> tripsByRoute.computeIfAbsent(trip.routeId(), id -> new ArrayList<>()).add(trip));
+
+        List<RoutePattern> routes = new ArrayList<>();
+        tripsByRoute.forEach((routeId, routeTrips) -> {
+            List<StopIndexProjection> routeStops = stopsByRoute.getOrDefault(routeId, List.of());
+            if (routeStops.size() < 2) {
+                return;
+            }
+            routeStops.sort(Comparator.comparingInt(StopIndexProjection::order));
+            routes.add(RoutePattern.build(routeId, routeTrips.get(0).routeName(), routeStops, routeTrips,
+                    fareMatrices.apply(routeId), places, base));
+        });
+        return new DayTimetable(date, Map.copyOf(places), List.copyOf(routes));
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int placeCount() {
+        return places.size();
+    }
+
+    /**
+     * Lugar (paradas con el mismo nombre normalizado) o -1 si ninguna ruta del día pasa por ahí.
+     */
+    public int placeOf(String stopName) {
+        return places.getOrDefault(TripSearchCache.normalize(stopName), -1);
+    }
+
+    public RoutePattern route(int routeIndex) {
+        return routes.get(routeIndex);
+    }
+
+    public int routeCount() {
+        return routes.size();
+    }
+
+    /**
+     * Pares planos (ruta, posición) de las rutas que pasan por el lugar.
+     */
+    int[] servingRoutes(int place) {
+        return servingRoutes[place];
+    }
+
+    int toSeconds(LocalDateTime time) {
+        return (int) Duration.between(base, time).getSeconds();
+    }
+
+    LocalDateTime toTime(int seconds) {
+        return base.plusSeconds(seconds);
+    }
+
+    /**
+     * Ruta del día: paradas en orden, viajes ordenados por salida y tarifas en centavos entre posiciones.
+     */
+    public static final class RoutePattern {
+        private final Long routeId;
+        private final String routeName;
+        private final long[] stopIds;
+        private final String[] stopNames;
+        private final int[] stopOrders;
+        private final int[] places;
+        private final TripTimes[] trips;
+        private final long[][] fareCents;
+
+        private RoutePattern(Long routeId, String routeName, long[] stopIds, String[] stopNames, int[] stopOrders,
+                             int[] places, TripTimes[] trips, long[][] fareCents) {
+            this.routeId = routeId;
+            this.routeName = routeName;
+            this.stopIds = stopIds;
+            this.stopNames = stopNames;
+            this.stopOrders = stopOrders;
+            this.places = places;
+            this.trips = trips;
+            this.fareCents = fareCents;
+        }
+
+        private static RoutePattern build(Long routeId, String routeName, List<StopIndexProjection> stops,
+                                          List<TripScheduleProjection> routeTrips,
+                                          RouteFareMatrix fareMatrix,
+                                          Map<String, Integer> places, LocalDateTime base) {
+            int n = stops.size();
+            long[] stopIds = new long[n];
+            String[] stopNames = new String[n];
+            int[] stopOrders = new int[n];
+            int[] stopPlaces = new int[n];
+            for (int i = 0; i < n; i++) {
+                StopIndexProjection stop = stops.get(i);
+                stopIds[i] = stop.stopId();
+                stopNames[i] = stop.name();
+                stopOrders[i] = stop.order();
+                stopPlaces[i] = places.computeIfAbsent(TripSearchCache.normalize(stop.name()), k -> places.size());
+            }
+
+            int firstOrder = stopOrders[0];
+            int span = Math.max(1, stopOrders[n - 1] - firstOrder);
+            TripTimes[] trips = routeTrips.stream()
+                    .filter(trip -> trip.departureAt() != null && trip.arrivalEta() != null)
+                    .map(trip -> {
+                        int departure = (int) Duration.between(base, trip.departureAt()).getSeconds();
+                        int duration = (int) Math.max(0, Duration.between(trip.departureAt(), trip.arrivalEta()).getSeconds());
+                        int[] times = new int[n];
+                        for (int i = 0; i < n; i++) {
+                            times[i] = departure + (int) ((long) duration * (stopOrders[i] - firstOrder) / span);
+                        }
+                        return new TripTimes(trip.tripId(), trip.capacity(), times);
+                    })
+                    .sorted(Comparator.comparingInt(trip -> trip.times()[0]))
+                    .toArray(TripTimes[]::new);
+
+            long[][] fareCents = new long[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    fareCents[i][j] = toCents(fareMatrix.fareByOrder(stopOrders[i], stopOrders[j]).basePrice());
+                }
+            }
+            return new RoutePattern(routeId, routeName, stopIds, stopNames, stopOrders, stopPlaces, trips, fareCents);
+        }
+
+        public Long getRouteId() {
+            return routeId;
+        }
+
+        public String getRouteName() {
+            return routeName;
+        }
+
+        public Long stopId(int position) {
+            return stopIds[position];
+        }
+
+        public String stopName(int position) {
+            return stopNames[position];
+        }
+
+        public int stopOrder(int position) {
+            return stopOrders[position];
+        }
+
+        public TripTimes trip(int tripIndex) {
+            return trips[tripIndex];
+        }
+
+        int stopCount() {
+            return places.length;
+        }
+
+        int place(int position) {
+            return places[position];
+        }
+
+        long fareCents(int fromPosition, int toPosition) {
+            return fareCents[fromPosition][toPosition];
+        }
+
+        /**
+         * Primer viaje que pasa por la posición a partir del segundo indicado, o -1.
+         */
+        int earliestTrip(int position, int readyAt) {
+            int best = -1;
+            for (int t = 0; t < trips.length; t++) {
+                int departure = trips[t].times()[position];
+                if (departure >= readyAt && (best < 0 || departure < trips[best].times()[position])) {
+                    best = t;
+                }
+            }
+            return best;
+        }
+
+        private static long toCents(BigDecimal amount) {
+            return amount.movePointRight(2).longValue();
+        }
+    }
+
+    /**
+     * Horas de paso de un viaje por cada posición de su ruta, en segundos desde el inicio del día.
+     */
+    public record TripTimes(Long tripId, Integer capacity, int[] times) {
+    }
+}
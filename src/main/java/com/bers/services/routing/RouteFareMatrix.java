@@ -0,0 +1,170 @@
+package com.bers.services.routing;
+
+import com.bers.domain.entities.enums.DynamicPricingStatus;
+import com.bers.domain.repositories.projections.FareMatrixEntryProjection;
+import com.bers.domain.repositories.projections.StopIndexProjection;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Tarifa base de cada tramo de una ruta, indexada por la posición de las paradas en orden.
+ * Se arma una vez con las reglas de la ruta y se completa para los tramos sin regla propia:
+ * <ol>
+ *   <li>{@link Source#RULE}: la regla del tramo.</li>
+ *   <li>{@link Source#COMBINED}: la combinación más barata de reglas consecutivas que cubre el tramo,
+ *   lo que el pasajero pagaría comprando los tramos por separado.</li>
+ *   <li>{@link Source#PRORATED}: la parte proporcional, por número de paradas, del tramo con tarifa
+ *   más corto que lo contiene.</li>
+ *   <li>{@link Source#DEFAULT}: la tarifa por defecto, si ninguna regla cubre el tramo.</li>
+ * </ol>
+ * Solo los tramos con regla propia usan su precio dinámico; los derivados van sin él. Es inmutable.
+ */
+public final class RouteFareMatrix {
+
+    public enum Source {
+        RULE, COMBINED, PRORATED, DEFAULT
+    }
+
+    public record SegmentFare(BigDecimal basePrice, DynamicPricingStatus dynamicPricing, Source source) {
+    }
+
+    private final Long routeId;
+    private final Map<Long, Integer> positions;
+    private final int[] orders;
+    private final SegmentFare[][] fares;
+    private final SegmentFare defaultFare;
+
+    private RouteFareMatrix(Long routeId, Map<Long, Integer> positions, int[] orders, SegmentFare[][] fares,
+                            SegmentFare defaultFare) {
+        this.routeId = routeId;
+        this.positions = positions;
+        this.orders = orders;
+        this.fares = fares;
+        this.defaultFare = defaultFare;
+    }
+
+    public static RouteFareMatrix build(Long routeId, List<StopIndexProjection> stops,
+                                        List<FareMatrixEntryProjection> rules, BigDecimal defaultFare) {
+        List<StopIndexProjection> sorted = stops.stream()
+                .filter(stop -> stop.order() != null)
+                .sorted(Comparator.comparing(StopIndexProjection::order))
+                .toList();
+        int n = sorted.size();
+        Map<Long, Integer> positions = new HashMap<>();
+        int[] orders = new int[n];
+        for (int i = 0; i < n; i++) {
+            positions.put(sorted.get(i).stopId(), i);
+            orders[i] = sorted.get(i).order();
+        }
+
+        SegmentFare[][] fares = new SegmentFare[n][n];
+        for (FareMatrixEntryProjection rule : rules) {
+            Integer from = positions.get(rule.fromStopId());
+            Integer to = positions.get(rule.toStopId());
+            if (from != null && to != null && from < to && rule.basePrice() != null) {
+                fares[from][to] = new SegmentFare(rule.basePrice(),
+                        rule.dynamicPricing() != null ? rule.dynamicPricing() : DynamicPricingStatus.OFF, Source.RULE);
+            }
+        }
+
+        // Combinación más barata de reglas consecutivas, de los tramos cortos a los largos
+        for (int length = 2; length < n; length++) {
+            for (int i = 0; i + length < n; i++) {
+                int j = i + length;
+                if (fares[i][j] != null) {
+                    continue;
+                }
+                BigDecimal best = null;
+                for (int k = i + 1; k < j; k++) {
+                    if (fares[i][k] != null && fares[k][j] != null) {
+                        BigDecimal combined = fares[i][k].basePrice().add(fares[k][j].basePrice());
+                        if (best == null || combined.compareTo(best) < 0) {
+                            best = combined;
+                        }
+                    }
+                }
+                if (best != null) {
+                    fares[i][j] = new SegmentFare(best, DynamicPricingStatus.OFF, Source.COMBINED);
+                }
+            }
+        }
+
+        // Prorrateo sobre el tramo con tarifa más corto que contiene al que falta
+        SegmentFare[][] prorated = new SegmentFare[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (fares[i][j] == null) {
+                    prorated[i][j] = prorate(fares, i, j, n);
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (prorated[i][j] != null) {
+                    fares[i][j] = prorated[i][j];
+                }
+            }
+        }
+
+        return new RouteFareMatrix(routeId, Map.copyOf(positions), orders, fares,
+                new SegmentFare(defaultFare, DynamicPricingStatus.OFF, Source.DEFAULT));
+    }
+
+    private static SegmentFare prorate(SegmentFare[][] fares, int i, int j, int n) {
+        for (int span = j - i + 1; span < n; span++) {
+            for (int a = Math.max(0, j - span); a <= i && a + span < n; a++) {
+                SegmentFare enclosing = fares[a][a + span];
+                if (enclosing != null) {
+                    BigDecimal share = enclosing.basePrice()
+                            .multiply(BigDecimal.valueOf(j - i))
+                            .divide(BigDecimal.valueOf(span), 2, RoundingMode.HALF_UP);
+                    return new SegmentFare(share, DynamicPricingStatus.OFF, Source.PRORATED);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tarifa del tramo entre dos paradas de la ruta; la de por defecto si alguna no es de la ruta
+     * o no van en orden.
+     */
+    public SegmentFare fare(Long fromStopId, Long toStopId) {
+        Integer from = positions.get(fromStopId);
+        Integer to = positions.get(toStopId);
+        if (from == null || to == null || from >= to) {
+            return defaultFare;
+        }
+        return fareAt(from, to);
+    }
+
+    /**
+     * Tarifa del tramo entre dos órdenes de parada de la ruta.
+     */
+    public SegmentFare fareByOrder(int fromOrder, int toOrder) {
+        int from = Arrays.binarySearch(orders, fromOrder);
+        int to = Arrays.binarySearch(orders, toOrder);
+        if (from < 0 || to < 0 || from >= to) {
+            return defaultFare;
+        }
+        return fareAt(from, to);
+    }
+
+    /**
+     * Tarifa de la ruta completa, de la primera a la última parada.
+     */
+    public SegmentFare fullRouteFare() {
+        return orders.length < 2 ? defaultFare : fareAt(0, orders.length - 1);
+    }
+
+    public Long getRouteId() {
+        return routeId;
+    }
+
+    private SegmentFare fareAt(int from, int to) {
+        SegmentFare fare = fares[from][to];
+        return fare != null ? fare : defaultFare;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bers.services.scheduler;
+
+import java.time.Duration;
+
+/**
+ * Job programado que debe correr en un solo nodo a la vez.
+ *
+ * @param name          nombre de la concesión y prefijo de su configuración {@code bers.scheduling.jobs.<name>.*}
+ * @param period        cada cuánto debería correr; si la última ejecución exitosa es más vieja que el doble,
+ *                      se considera perdida y se recupera
+ * @param lockAtMostFor duración de la concesión; se renueva mientras el job sigue corriendo
+ * @param lockAtLeastFor tiempo mínimo que se retiene la concesión, aunque el job termine antes,
+ *                      para que otro nodo con el reloj corrido no lo repita
+ */
+public record ClusterJob(String name, Duration period, Duration lockAtMostFor, Duration lockAtLeastFor) {
+}
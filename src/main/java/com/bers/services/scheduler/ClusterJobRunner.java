@@ -0,0 +1,244 @@
+package com.bers.services.scheduler;
+
+import com.bers.domain.entities.SchedulerLock;
+import com.bers.domain.repositories.SchedulerLockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * Ejecuta los jobs programados en un solo nodo del clúster usando concesiones en la tabla
+ * {@code scheduler_locks}, al estilo de ShedLock. El nodo que toma la concesión la renueva mientras
+ * el job corre y al terminar la retiene al menos {@link ClusterJob#lockAtLeastFor()}.
+ * Los jobs registrados se revisan cada minuto: si su última ejecución exitosa quedó atrás
+ * (por ejemplo, porque todos los nodos estaban caídos), se corren en ese momento.
+ * <p>
+ * Cada ejecución, con su duración, filas afectadas y resultado, se registra en {@link JobMetrics}.
+ * <p>
+ * Configuración: {@code bers.scheduling.enabled} apaga todos los jobs en el nodo y
+ * {@code bers.scheduling.jobs.<job>.enabled|lock-at-most-for|lock-at-least-for|catch-up} ajusta cada uno.
+ */
+@Slf4j
+@Component
+public class ClusterJobRunner {
+
+    private static final Duration MIN_RENEWAL = Duration.ofSeconds(1);
+
+    private final SchedulerLockRepository lockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Environment environment;
+    private final JobMetrics jobMetrics;
+    private final Map<String, Registration> jobs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scheduler-lock-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${bers.scheduling.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${bers.scheduling.node-id:}")
+    private String nodeId = "";
+
+    public ClusterJobRunner(SchedulerLockRepository lockRepository,
+                            TransactionTemplate transactionTemplate,
+                            Environment environment,
+                            JobMetrics jobMetrics) {
+        this.lockRepository = lockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.environment = environment;
+        this.jobMetrics = jobMetrics;
+    }
+
+    /**
+     * Registra el trabajo del job para poder recuperarlo si se pierde una ejecución.
+     * La tarea devuelve las filas que afectó.
+     */
+    public void register(ClusterJob job, IntSupplier task) {
+        jobs.put(job.name(), new Registration(job, task));
+    }
+
+    /**
+     * Corre el job registrado si este nodo logra la concesión.
+     *
+     * @return {@code true} si el job corrió aquí
+     */
+    public boolean run(String jobName) {
+        Registration registration = jobs.get(jobName);
+        if (registration == null) {
+            throw new IllegalStateException("Scheduled job not registered: " + jobName);
+        }
+        return run(registration.job(), registration.task());
+    }
+
+    public boolean run(ClusterJob job, IntSupplier task) {
+        if (!isEnabled(job)) {
+            log.debug("[Scheduling] Job {} is disabled on this node", job.name());
+            jobMetrics.recordSkipped(job.name(), "disabled");
+            return false;
+        }
+        Duration lockAtMostFor = lockAtMostFor(job);
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (!tryAcquire(job.name(), startedAt, startedAt.plus(lockAtMostFor))) {
+            log.debug("[Scheduling] Job {} is running on another node", job.name());
+            jobMetrics.recordSkipped(job.name(), "locked");
+            return false;
+        }
+
+        AtomicBoolean leaseLost = new AtomicBoolean();
+        ScheduledFuture<?> renewal = scheduleRenewal(job.name(), lockAtMostFor, leaseLost);
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            Integer rows = transactionTemplate.execute(status -> task.getAsInt());
+            succeeded = true;
+            jobMetrics.recordRows(job.name(), rows != null ? rows : 0);
+        } catch (RuntimeException e) {
+            log.error("[Scheduling] Job {} failed", job.name(), e);
+        } finally {
+            renewal.cancel(false);
+            release(job, startedAt, succeeded);
+            jobMetrics.recordRun(job.name(), System.nanoTime() - start, succeeded);
+        }
+        if (leaseLost.get()) {
+            jobMetrics.recordLeaseLost(job.name());
+            log.warn("[Scheduling] Job {} outlived its lease; another node may have run it concurrently", job.name());
+        }
+        return true;
+    }
+
+    /**
+     * Recupera los jobs cuya última ejecución exitosa es más vieja que el doble de su período.
+     */
+    @Scheduled(fixedDelayString = "${bers.scheduling.catch-up-check-ms:60000}",
+            initialDelayString = "${bers.scheduling.catch-up-initial-delay-ms:30000}")
+    public void catchUpMissedRuns() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Registration registration : jobs.values()) {
+            ClusterJob job = registration.job();
+            if (!isEnabled(job) || !setting(job, "catch-up", Boolean.class, true)) {
+                continue;
+            }
+            Optional<SchedulerLock> lock = lockRepository.findById(job.name());
+            // Mantiene al día la métrica de último éxito aunque el job corra en otro nodo
+            lock.map(SchedulerLock::getLastSuccessAt).ifPresent(at -> jobMetrics.recordLastSuccess(job.name(), at));
+            boolean missed = lock.map(SchedulerLock::getLastSuccessAt)
+                    .map(lastSuccess -> lastSuccess.isBefore(now.minus(job.period().multipliedBy(2))))
+                    .orElse(true);
+            boolean free = lock.map(current -> !current.getLockedUntil().isAfter(now)).orElse(true);
+            if (missed && free) {
+                log.info("[Scheduling] Catching up missed run of job {}", job.name());
+                run(job, registration.task());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewals.shutdownNow();
+    }
+
+    // ==================== CONCESIONES ====================
+
+    private boolean tryAcquire(String name, LocalDateTime now, LocalDateTime until) {
+        if (lockRepository.acquire(name, node(), now, until) == 1) {
+            return true;
+        }
+        if (lockRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            return lockRepository.insertLock(name, node(), now, until) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // Otro nodo creó la fila al mismo tiempo y se quedó con la concesión
+            return false;
+        }
+    }
+
+    private ScheduledFuture<?> scheduleRenewal(String name, Duration lockAtMostFor, AtomicBoolean leaseLost) {
+        long every = Math.max(MIN_RENEWAL.toMillis(), lockAtMostFor.toMillis() / 3);
+        return renewals.scheduleAtFixedRate(() -> {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                if (lockRepository.extend(name, node(), now, now.plus(lockAtMostFor)) == 0) {
+                    leaseLost.set(true);
+                }
+            } catch (RuntimeException e) {
+                log.warn("[Scheduling] Could not renew lease of job {}: {}", name, e.getMessage());
+            }
+        }, every, every, TimeUnit.MILLISECONDS);
+    }
+
+    private void release(ClusterJob job, LocalDateTime startedAt, boolean succeeded) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime heldUntil = startedAt.plus(lockAtLeastFor(job));
+        LocalDateTime until = heldUntil.isAfter(now) ? heldUntil : now;
+        try {
+            if (succeeded) {
+                lockRepository.releaseAfterSuccess(job.name(), node(), until, now);
+            } else {
+                lockRepository.release(job.name(), node(), until);
+            }
+        } catch (RuntimeException e) {
+            // La concesión vence sola en lockAtMostFor
+            log.warn("[Scheduling] Could not release lease of job {}: {}", job.name(), e.getMessage());
+        }
+    }
+
+    // ==================== CONFIGURACIÓN ====================
+
+    private boolean isEnabled(ClusterJob job) {
+        return enabled && setting(job, "enabled", Boolean.class, true);
+    }
+
+    private Duration lockAtMostFor(ClusterJob job) {
+        return setting(job, "lock-at-most-for", Duration.class, job.lockAtMostFor());
+    }
+
+    private Duration lockAtLeastFor(ClusterJob job) {
+        return setting(job, "lock-at-least-for", Duration.class, job.lockAtLeastFor());
+    }
+
+    private <T> T setting(ClusterJob job, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty("bers.scheduling.jobs." + job.name() + "." + key, type, defaultValue);
+    }
+
+    String node() {
+        if (nodeId.isBlank()) {
+            String host;
+            try {
+                host = InetAddress.getLocalHost().getHostName();
+            } catch (UnknownHostException e) {
+                host = "unknown";
+            }
+            nodeId = host + ":" + ProcessHandle.current().pid();
+        }
+        return nodeId;
+    }
+
+    private record Registration(ClusterJob job, IntSupplier task) {
+    }
+}
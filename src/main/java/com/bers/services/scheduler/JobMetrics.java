@@ -0,0 +1,109 @@
+package com.bers.services.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de los jobs en segundo plano, publicadas en {@code /actuator/prometheus}:
+ * <ul>
+ *   <li>{@code bers.job.duration}: duración de cada ejecución, por job y resultado ({@code success}/{@code failure}).</li>
+ *   <li>{@code bers.job.rows}: filas afectadas; su tasa es el throughput del barrido.</li>
+ *   <li>{@code bers.job.skipped}: ejecuciones que no corrieron aquí, por motivo ({@code disabled}, {@code locked}).</li>
+ *   <li>{@code bers.job.lease.lost}: ejecuciones que se pasaron de su concesión.</li>
+ *   <li>{@code bers.job.last.success}: hora (epoch, segundos) del último éxito en cualquier nodo; una alerta
+ *   sobre {@code time() - bers_job_last_success_seconds} detecta barridos atrasados.</li>
+ * </ul>
+ */
+@Component
+public class JobMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicLong> lastSuccess = new ConcurrentHashMap<>();
+
+    public JobMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordRun(String job, long durationNanos, boolean succeeded) {
+        Timer.builder("bers.job.duration")
+                .description("Duration of background job runs")
+                .tag("job", job)
+                .tag("outcome", succeeded ? "success" : "failure")
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (succeeded) {
+            recordLastSuccess(job, System.currentTimeMillis());
+        }
+    }
+
+    public void recordRows(String job, long rows) {
+        if (rows > 0) {
+            counter("bers.job.rows", "Rows affected by background jobs", job).increment(rows);
+        }
+    }
+
+    public void recordSkipped(String job, String reason) {
+        Counter.builder("bers.job.skipped")
+                .description("Background job runs skipped on this node")
+                .tag("job", job)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordLeaseLost(String job) {
+        counter("bers.job.lease.lost", "Background job runs that outlived their lease", job).increment();
+    }
+
+    /**
+     * Último éxito conocido, por ejemplo el que otro nodo dejó en {@code scheduler_locks}.
+     */
+    public void recordLastSuccess(String job, LocalDateTime at) {
+        if (at != null) {
+            recordLastSuccess(job, at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    /**
+     * Mide un job que no pasa por {@link ClusterJobRunner}; las excepciones se cuentan y se relanzan.
+     */
+    public void time(String job, Runnable task) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            task.run();
+            succeeded = true;
+        } finally {
+            recordRun(job, System.nanoTime() - start, succeeded);
+        }
+    }
+
+    private void recordLastSuccess(String job, long epochMillis) {
+        lastSuccess.computeIfAbsent(job, name -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("bers.job.last.success", value, current -> current.get() / 1000.0)
+                    .description("Time of the last successful run of a background job")
+                    .baseUnit("seconds")
+                    .tag("job", name)
+                    .register(registry);
+            return value;
+        }).accumulateAndGet(epochMillis, Math::max);
+    }
+
+    private Counter counter(String name, String description, String job) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("job", job)
+                .register(registry);
+    }
+}
@@ -1,28 +1,39 @@
 package com.bers.services.scheduler;
 
 import com.bers.services.service.NoShowService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class NoShowScheduler {
 
+    static final ClusterJob JOB = new ClusterJob("no-show-check",
+            Duration.ofMinutes(2), Duration.ofMinutes(5), Duration.ofSeconds(30));
+
     private final NoShowService noShowService;
+    private final ClusterJobRunner jobRunner;
 
+    @PostConstruct
+    void registerJob() {
+        jobRunner.register(JOB, this::processNoShows);
+    }
 
-    // Ejecuta cada minuto para verificar trips proximos a salir
+    // Ejecuta cada dos minutos para verificar trips proximos a salir
 
     @Scheduled(fixedDelay = 120000)
     public void checkForNoShows() {
+        jobRunner.run(JOB.name());
+    }
+
+    int processNoShows() {
         log.debug("Starting no-show check process");
-        try {
-            noShowService.processUpcomingTripsNoShow();
-        } catch (Exception e) {
-            log.error("Error in no-show scheduler: {}", e.getMessage(), e);
-        }
+        return noShowService.processUpcomingTripsNoShow();
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.bers.services.scheduler;
+
+import com.bers.services.service.OverbookingService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Expira las solicitudes de sobreventa pendientes cuyo plazo ya pasó (5 minutos antes de la salida).
+ * Antes solo se expiraban a mano desde {@code POST /api/v1/overbooking/expire-pending}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OverbookingExpirationScheduler {
+
+    static final ClusterJob JOB = new ClusterJob("overbooking-expiry",
+            Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofSeconds(10));
+
+    private final OverbookingService overbookingService;
+    private final ClusterJobRunner jobRunner;
+
+    @PostConstruct
+    void registerJob() {
+        jobRunner.register(JOB, overbookingService::expirePendingRequests);
+    }
+
+    @Scheduled(fixedDelayString = "${bers.overbooking.expiry-sweep-ms:60000}")
+    public void expirePendingRequests() {
+        jobRunner.run(JOB.name());
+    }
+}
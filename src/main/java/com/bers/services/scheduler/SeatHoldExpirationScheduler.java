@@ -1,70 +1,88 @@
 package com.bers.services.scheduler;
 
 import com.bers.domain.repositories.SeatHoldRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
  * Scheduler que expira automáticamente los holds vencidos.
  * Usa el metodo optimizado del repository con UPDATE directo.
+ * La expiración puntual la hace {@link com.bers.services.inventory.SeatHoldExpiryQueue};
+ * este barrido queda como respaldo por si un nodo cae con holds en su cola.
+ * Ambos barridos corren en un solo nodo a través de {@link ClusterJobRunner}.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class SeatHoldExpirationScheduler {
 
+    static final String EXPIRATION_JOB = "seat-hold-expiration";
+    static final ClusterJob CLEANUP_JOB = new ClusterJob("seat-hold-cleanup",
+            Duration.ofDays(1), Duration.ofMinutes(30), Duration.ofMinutes(10));
+
     private final SeatHoldRepository seatHoldRepository;
+    private final ClusterJobRunner jobRunner;
+
+    @Value("${bers.holds.sweep-backstop-ms:900000}")
+    private long sweepBackstopMs = 900000;
+
+    @PostConstruct
+    void registerJobs() {
+        jobRunner.register(new ClusterJob(EXPIRATION_JOB, Duration.ofMillis(sweepBackstopMs),
+                Duration.ofMinutes(10), Duration.ofMinutes(1)), this::expireOldHolds);
+        jobRunner.register(CLEANUP_JOB, this::cleanupOldExpiredHolds);
+    }
 
-// Se ejecuta cada 3 minutos para actualizar
+// Respaldo: se ejecuta cada 15 minutos por defecto para actualizar
 // el estado de los holds expired directamente en bd
-    @Scheduled(fixedRate = 180000) // 180,000 ms = 3 minutos
-    @Transactional
+    @Scheduled(fixedRateString = "${bers.holds.sweep-backstop-ms:900000}") // 900,000 ms = 15 minutos
     public void expireOldHoldsAutomatically() {
-        try {
-            LocalDateTime now = LocalDateTime.now();
+        jobRunner.run(EXPIRATION_JOB);
+    }
 
-            log.info("Running scheduled hold expiration check at {}", now);
+    int expireOldHolds() {
+        LocalDateTime now = LocalDateTime.now();
 
-            // USA EL METODO OPTIMIZADO DE TU REPOSITORY
-            // Este hace: UPDATE seat_holds SET status = 'EXPIRED' WHERE...
-            int expiredCount = seatHoldRepository.expireOldHolds(now);
+        log.info("Running scheduled hold expiration check at {}", now);
 
-            if (expiredCount > 0) {
-                log.info("Expired {} holds at  {}", expiredCount, now);
-            } else {
-                log.info("No expired holds found");
-            }
+        // USA EL METODO OPTIMIZADO DE TU REPOSITORY
+        // Este hace: UPDATE seat_holds SET status = 'EXPIRED' WHERE...
+        // Los errores los registra ClusterJobRunner, que cuenta el fallo y sigue programando el job
+        int expiredCount = seatHoldRepository.expireOldHolds(now);
 
-        } catch (Exception e) {
-            log.error("Error expiring old holds in scheduler", e);
-            // No lanzar la excepción para que el scheduler siga funcionando
+        if (expiredCount > 0) {
+            log.info("Expired {} holds at  {}", expiredCount, now);
+        } else {
+            log.info("No expired holds found");
         }
+        return expiredCount;
     }
 
 // Opcional: para limpieza de holds muy antiguos xd
     @Scheduled(cron = "0 0 3 * * *") // 3 AM todos los días
-    @Transactional
     public void cleanupVeryOldExpiredHolds() {
-        try {
-            LocalDateTime cutoff = LocalDateTime.now().minusDays(7);
+        jobRunner.run(CLEANUP_JOB.name());
+    }
 
-            log.info("Starting cleanup of expired holds older than 7 days...");
+    int cleanupOldExpiredHolds() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(7);
 
-            int deleted = seatHoldRepository.deleteExpiredHoldsOlderThan(cutoff);
+        log.info("Starting cleanup of expired holds older than 7 days...");
 
-            if (deleted > 0) {
-                log.info("Cleanup completed: {} old holds deleted", deleted);
-            } else {
-                log.info("No old holds to clean up");
-            }
+        int deleted = seatHoldRepository.deleteExpiredHoldsOlderThan(cutoff);
 
-        } catch (Exception e) {
-            log.error("Error cleaning up old holds", e);
+        if (deleted > 0) {
+            log.info("Cleanup completed: {} old holds deleted", deleted);
+        } else {
+            log.info("No old holds to clean up");
         }
+        return deleted;
     }
 }
@@ -1,22 +1,36 @@
 package com.bers.services.scheduler;
 
-import com.bers.domain.entities.Trip;
 import com.bers.domain.entities.enums.TripStatus;
 import com.bers.domain.repositories.TripRepository;
+import com.bers.domain.repositories.projections.TripTransitionProjection;
+import com.bers.services.cache.DayTimetableCache;
+import com.bers.services.cache.TripSearchCache;
+import com.bers.services.event.TripStatusChangedEvent;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
  /* Transiciones:
 
   - SCHEDULED → BOARDING (30 min antes de salida)
 
   - BOARDING → DEPARTED (a la hora de salida)
+
+  Cada transición es un UPDATE por lotes restringido al estado y a la ventana de salida
+  (índice status, departure_at), en vez de recorrer todos los viajes. Cada viaje que cambia
+  se publica como TripStatusChangedEvent.
  */
 
 @Component
@@ -25,49 +39,62 @@ import java.util.List;
 
 public class TripStatusModifierScheduler {
 
+    private static final int BOARDING_WINDOW_MINUTES = 30;
+    private static final int BATCH_SIZE = 500;
+
+    static final ClusterJob JOB = new ClusterJob("trip-status-transitions",
+            Duration.ofMinutes(5), Duration.ofMinutes(4), Duration.ofSeconds(30));
 
     private final TripRepository tripRepository;
+    private final TripSearchCache tripSearchCache;
+    private final DayTimetableCache dayTimetableCache;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterJobRunner jobRunner;
+
+    @PostConstruct
+    void registerJob() {
+        jobRunner.register(JOB, this::transitionTrips);
+    }
 
-    // Actualiza estados de viajes cada 5 minutos.
+    // Actualiza estados de viajes cada 5 minutos, en un solo nodo y en una transacción.
 
     @Scheduled(cron = "0 */5 * * * *")
 
-    @Transactional
-
     public void updateTripStatuses() {
 
-        log.debug("Iniciando actualizacion de estados de viajes...");
-
+        jobRunner.run(JOB.name());
 
-        try {
-
-            int updatedToBoarding = updateToBoarding();
+    }
 
-            int updatedToDeparted = updateToDeparted();
+    int transitionTrips() {
 
+        log.debug("Iniciando actualizacion de estados de viajes...");
 
-            int totalUpdated = updatedToBoarding + updatedToDeparted;
+        LocalDateTime now = LocalDateTime.now();
 
+        int updatedToBoarding = updateToBoarding(now);
 
-            if (totalUpdated > 0) {
+        int updatedToDeparted = updateToDeparted(now);
 
-                log.info("Actualizacion completada: {} viajes actualizados (BOARDING: {}, DEPARTED: {})",
 
-                        totalUpdated, updatedToBoarding, updatedToDeparted);
+        int totalUpdated = updatedToBoarding + updatedToDeparted;
 
-            } else {
 
-                log.debug("No hay viajes que requieran actualizacion de estado");
+        if (totalUpdated > 0) {
 
-            }
+            log.info("Actualizacion completada: {} viajes actualizados (BOARDING: {}, DEPARTED: {})",
 
+                    totalUpdated, updatedToBoarding, updatedToDeparted);
 
-        } catch (Exception e) {
+        } else {
 
-            log.error("Error al actualizar estados de viajes", e);
+            log.debug("No hay viajes que requieran actualizacion de estado");
 
         }
 
+        return totalUpdated;
+
     }
 
     /*
@@ -76,95 +103,86 @@ public class TripStatusModifierScheduler {
       Se ejecuta 30 minutos antes de la hora de salida.
      */
 
-    private int updateToBoarding() {
-
-        LocalDateTime now = LocalDateTime.now();
-
-        LocalDateTime boardingTime = now.plusMinutes(30);
-
-
-        List<Trip> tripsToUpdate = tripRepository.findAll().stream()
-
-                .filter(trip -> trip.getStatus() == TripStatus.SCHEDULED)
-
-                .filter(trip -> {
-
-                    LocalDateTime departureTime = trip.getDepartureAt();
-
-                    // Cambiar a BOARDING si falta 30 minutos o menos
+    int updateToBoarding(LocalDateTime now) {
 
-                    return departureTime != null &&
+        List<TripTransitionProjection> candidates =
+                tripRepository.findScheduledDepartingBetween(now, now.plusMinutes(BOARDING_WINDOW_MINUTES));
 
-                            !departureTime.isAfter(boardingTime) &&
+        return transition(candidates, TripStatus.SCHEDULED, TripStatus.BOARDING, now);
 
-                            departureTime.isAfter(now);
-
-                })
-
-                .toList();
-
-
-        tripsToUpdate.forEach(trip -> {
+    }
 
-            trip.setStatus(TripStatus.BOARDING);
+    /*
 
-            tripRepository.save(trip);
+      Actualiza viajes de BOARDING a DEPARTED.
 
-            log.info("Viaje {} actualizado a BOARDING (salida: {})",
+      Se ejecuta cuando llega la hora de salida.
 
-                    trip.getId(), trip.getDepartureAt());
+     */
 
-        });
+    int updateToDeparted(LocalDateTime now) {
 
+        List<TripTransitionProjection> candidates = tripRepository.findBoardingDepartedBy(now);
 
-        return tripsToUpdate.size();
+        return transition(candidates, TripStatus.BOARDING, TripStatus.DEPARTED, now);
 
     }
 
-    /*
-
-      Actualiza viajes de BOARDING a DEPARTED.
-
-      Se ejecuta cuando llega la hora de salida.
-
-     */
+    private int transition(List<TripTransitionProjection> candidates, TripStatus from, TripStatus to,
+                           LocalDateTime now) {
 
-    private int updateToDeparted() {
+        int updated = 0;
 
-        LocalDateTime now = LocalDateTime.now();
+        for (int start = 0; start < candidates.size(); start += BATCH_SIZE) {
 
+            List<TripTransitionProjection> batch = candidates.subList(start, Math.min(start + BATCH_SIZE, candidates.size()));
 
-        List<Trip> tripsToUpdate = tripRepository.findAll().stream()
+            List<Long> ids = batch.stream().map(TripTransitionProjection::tripId).toList();
 
-                .filter(trip -> trip.getStatus() == TripStatus.BOARDING)
+            int count = tripRepository.transitionStatus(ids, from, to);
 
-                .filter(trip -> {
+            // Si otro proceso cambió alguno entre la lectura y el UPDATE, solo se anuncian los que sí pasaron
+            Set<Long> changed = count == ids.size()
+                    ? new HashSet<>(ids)
+                    : new HashSet<>(tripRepository.findIdsByIdInAndStatus(ids, to));
 
-                    LocalDateTime departureTime = trip.getDepartureAt();
+            List<Long> changedIds = new ArrayList<>();
+            Set<LocalDate> dates = new HashSet<>();
 
-                    // Cambiar a DEPARTED si ya paso la hora de salida
+            for (TripTransitionProjection trip : batch) {
 
-                    return departureTime != null && !departureTime.isAfter(now);
+                if (!changed.contains(trip.tripId())) {
+                    continue;
+                }
 
-                })
+                changedIds.add(trip.tripId());
+                dates.add(trip.date());
 
-                .toList();
+                eventPublisher.publishEvent(new TripStatusChangedEvent(trip.tripId(), trip.routeId(), trip.date(),
+                        trip.departureAt(), from, to, now));
 
+                log.info("Viaje {} actualizado a {} (salida: {})", trip.tripId(), to, trip.departureAt());
 
-        tripsToUpdate.forEach(trip -> {
+            }
 
-            trip.setStatus(TripStatus.DEPARTED);
+            if (!changedIds.isEmpty()) {
 
-            tripRepository.save(trip);
+                tripSearchCache.evictTripIds(changedIds);
 
-            log.info("Viaje {} actualizado a DEPARTED (salida programada: {})",
+                // El horario de conexiones incluye SCHEDULED y BOARDING; solo la salida lo altera
+                if (to == TripStatus.DEPARTED) {
+                    dates.forEach(dayTimetableCache::evictDate);
+                    // Un viaje que ya salió no vende más: sus contadores de ocupación dejan de hacer falta
+                    changedIds.forEach(segmentOccupancyEngine::evictTrip);
+                }
 
-                    trip.getId(), trip.getDepartureAt());
+            }
 
-        });
+            updated += changedIds.size();
 
+        }
 
-        return tripsToUpdate.size();
+        return updated;
 
     }
 }
@@ -3,10 +3,13 @@ package com.bers.services.service;
 import com.bers.api.dtos.AssignmentDtos.AssignmentCreateRequest;
 import com.bers.api.dtos.AssignmentDtos.AssignmentResponse;
 import com.bers.api.dtos.AssignmentDtos.AssignmentUpdateRequest;
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
+import com.bers.domain.entities.enums.TripStatus;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AssignmentService {
 
@@ -22,7 +25,11 @@ public interface AssignmentService {
 
     AssignmentResponse getAssignmentWithDetails(Long tripId);
 
-    List<AssignmentResponse> getAllAssignments();
+    CursorPageResponse<AssignmentResponse> getAllAssignments(Long driverId, Long dispatcherId, TripStatus tripStatus,
+            String cursor, Integer size);
+
+    void streamAllAssignments(Long driverId, Long dispatcherId, TripStatus tripStatus,
+            Consumer<AssignmentResponse> sink);
 
     List<AssignmentResponse> getAssignmentsByDriverId(Long driverId);
 
@@ -3,9 +3,11 @@ package com.bers.services.service;
 import com.bers.api.dtos.BaggageDtos.BaggageCreateRequest;
 import com.bers.api.dtos.BaggageDtos.BaggageResponse;
 import com.bers.api.dtos.BaggageDtos.BaggageUpdateRequest;
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BaggageService {
 
@@ -17,7 +19,9 @@ public interface BaggageService {
 
     BaggageResponse getBaggageByTagCode(String tagCode);
 
-    List<BaggageResponse> getAllBaggage();
+    CursorPageResponse<BaggageResponse> getAllBaggage(Long ticketId, Long tripId, String cursor, Integer size);
+
+    void streamAllBaggage(Long ticketId, Long tripId, Consumer<BaggageResponse> sink);
 
     List<BaggageResponse> getBaggageByTicketId(Long ticketId);
 
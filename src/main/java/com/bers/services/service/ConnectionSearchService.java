@@ -0,0 +1,11 @@
+package com.bers.services.service;
+
+import com.bers.api.dtos.ConnectionDtos.ConnectionSearchResponse;
+
+import java.time.LocalDate;
+
+public interface ConnectionSearchService {
+
+    ConnectionSearchResponse findConnections(String origin, String destination, LocalDate date,
+                                             Integer maxTransfers, Integer minTransferMinutes);
+}
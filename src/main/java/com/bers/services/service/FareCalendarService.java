@@ -0,0 +1,11 @@
+package com.bers.services.service;
+
+import com.bers.api.dtos.TripDtos.FareCalendarResponse;
+
+import java.time.LocalDate;
+
+public interface FareCalendarService {
+
+    FareCalendarResponse getFareCalendar(Long routeId, Long fromStopId, Long toStopId,
+                                         LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,13 @@
+package com.bers.services.service;
+
+import com.bers.api.dtos.GroupBookingDtos.GroupHoldRequest;
+import com.bers.api.dtos.GroupBookingDtos.GroupHoldResponse;
+import com.bers.api.dtos.GroupBookingDtos.GroupTicketRequest;
+import com.bers.api.dtos.GroupBookingDtos.GroupTicketResponse;
+
+public interface GroupBookingService {
+
+    GroupHoldResponse createGroupHold(GroupHoldRequest request, Long userId);
+
+    GroupTicketResponse createGroupTickets(GroupTicketRequest request);
+}
@@ -8,7 +8,7 @@ import java.util.List;
 public interface NoShowService {
     void processNoShowTickets(Long tripId);
 
-    void processUpcomingTripsNoShow();
+    int processUpcomingTripsNoShow();
 
     void releaseNoShowSeat(Long ticketId);
 
@@ -26,5 +26,5 @@ public interface OverbookingService {
 
     double getCurrentOccupancyRate(Long tripId);
 
-    void expirePendingRequests();
+    int expirePendingRequests();
 }
\ No newline at end of file
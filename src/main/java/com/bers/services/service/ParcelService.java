@@ -1,12 +1,14 @@
 package com.bers.services.service;
 
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.ParcelDtos.ParcelCreateRequest;
 import com.bers.api.dtos.ParcelDtos.ParcelResponse;
 import com.bers.api.dtos.ParcelDtos.ParcelUpdateRequest;
 import com.bers.domain.entities.enums.ParcelStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ParcelService {
 
@@ -18,7 +20,9 @@ public interface ParcelService {
 
     ParcelResponse getParcelByCode(String code);
 
-    List<ParcelResponse> getAllParcels();
+    CursorPageResponse<ParcelResponse> getAllParcels(Long tripId, ParcelStatus status, String cursor, Integer size);
+
+    void streamAllParcels(Long tripId, ParcelStatus status, Consumer<ParcelResponse> sink);
 
     List<ParcelResponse> getParcelsByStatus(ParcelStatus status);
 
@@ -1,5 +1,6 @@
 package com.bers.services.service;
 
+import com.bers.api.dtos.RouteDtos.PlaceSuggestionResponse;
 import com.bers.api.dtos.RouteDtos.RouteCreateRequest;
 import com.bers.api.dtos.RouteDtos.RouteResponse;
 import com.bers.api.dtos.RouteDtos.RouteUpdateRequest;
@@ -25,6 +26,8 @@ public interface RouteService {
 
     List<String> filterDestinationsByOrigin(String origin);
 
+    List<PlaceSuggestionResponse> autocompletePlaces(String term, String type, Integer limit);
+
     List<RouteResponse> searchRoutes(String origin, String destination);
 
     List<StopResponse> getStopsByRoute(Long routeId);
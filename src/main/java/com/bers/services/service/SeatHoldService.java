@@ -1,10 +1,13 @@
 package com.bers.services.service;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldCreateRequest;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldResponse;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldUpdateRequest;
+import com.bers.domain.entities.enums.HoldStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface SeatHoldService {
 
@@ -14,7 +17,10 @@ public interface SeatHoldService {
 
     SeatHoldResponse getSeatHoldById(Long id);
 
-    List<SeatHoldResponse> getAllSeatHolds();
+    CursorPageResponse<SeatHoldResponse> getAllSeatHolds(Long tripId, Long userId, HoldStatus status, String cursor,
+            Integer size);
+
+    void streamAllSeatHolds(Long tripId, Long userId, HoldStatus status, Consumer<SeatHoldResponse> sink);
 
     List<SeatHoldResponse> getSeatHoldsByTripId(Long tripId);
 
@@ -1,9 +1,11 @@
 package com.bers.services.service;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.SeatDtos.*;
 import com.bers.domain.entities.enums.SeatType;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface SeatService {
 
@@ -15,7 +17,9 @@ public interface SeatService {
 
     SeatResponse getSeatByBusAndNumber(Long busId, String number);
 
-    List<SeatResponse> getAllSeats();
+    CursorPageResponse<SeatResponse> getAllSeats(Long busId, SeatType type, String cursor, Integer size);
+
+    void streamAllSeats(Long busId, SeatType type, Consumer<SeatResponse> sink);
 
     List<SeatResponse> getSeatsByBusId(Long busId);
 
@@ -2,6 +2,8 @@ package com.bers.services.service;
 
 import com.bers.domain.entities.Ticket;
 
+import java.util.Collection;
+
 /**
  * Servicio encargado de validar la disponibilidad de asientos en tramos de un viaje.
  * Se utiliza para asegurar que los tramos de los pasajeros no se solapen
@@ -25,6 +27,12 @@ public interface SegmentValidationService {
      */
     void validateSegment(Long tripId, String seatNumber, Integer fromStopOrder, Integer toStopOrder);
 
+    /**
+     * Igual que {@link #validateSegment} para varios asientos del mismo tramo, con una sola
+     * consulta a la BD. La excepción lista todos los asientos en conflicto.
+     */
+    void validateSegmentForSeats(Long tripId, Collection<String> seatNumbers, Integer fromStopOrder, Integer toStopOrder);
+
     /**
      * Libera el asiento en un tramo del viaje cuando el pasajero ha bajado.
      * Actualiza el estado del ticket o asiento para reflejar la disponibilidad
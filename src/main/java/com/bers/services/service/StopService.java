@@ -1,5 +1,6 @@
 package com.bers.services.service;
 
+import com.bers.api.dtos.StopDtos.NearbyStopResponse;
 import com.bers.api.dtos.StopDtos.StopCreateRequest;
 import com.bers.api.dtos.StopDtos.StopResponse;
 import com.bers.api.dtos.StopDtos.StopUpdateRequest;
@@ -22,6 +23,8 @@ public interface StopService {
 
     List<StopResponse> searchStopsByName(String name);
 
+    List<NearbyStopResponse> findNearbyStops(double lat, double lng, Integer limit, Double radiusKm);
+
     void deleteStop(Long id);
 
     void validateStopOrder(Long routeId, Integer order);
@@ -1,5 +1,6 @@
 package com.bers.services.service;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.TicketDtos.TicketCreateRequest;
 import com.bers.api.dtos.TicketDtos.TicketPaymentConfirmRequest;
 import com.bers.api.dtos.TicketDtos.TicketResponse;
@@ -7,6 +8,7 @@ import com.bers.api.dtos.TicketDtos.TicketUpdateRequest;
 import com.bers.domain.entities.enums.TicketStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TicketService {
     TicketResponse createTicket(TicketCreateRequest request);
@@ -21,7 +23,10 @@ public interface TicketService {
 
     TicketResponse getTicketWithDetails(Long id);
 
-    List<TicketResponse> getAllTickets();
+    CursorPageResponse<TicketResponse> getAllTickets(Long tripId, Long passengerId, TicketStatus status, String cursor,
+            Integer size);
+
+    void streamAllTickets(Long tripId, Long passengerId, TicketStatus status, Consumer<TicketResponse> sink);
 
     List<TicketResponse> getTicketsByTripId(Long tripId);
 
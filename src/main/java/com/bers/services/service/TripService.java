@@ -1,7 +1,9 @@
 package com.bers.services.service;
 
 import com.bers.api.dtos.TripDtos.TripCreateRequest;
+import com.bers.api.dtos.TripDtos.TripPageResponse;
 import com.bers.api.dtos.TripDtos.TripResponse;
+import com.bers.api.dtos.TripDtos.TripStopSearchResponse;
 import com.bers.api.dtos.TripDtos.TripUpdateRequest;
 import com.bers.domain.entities.enums.TripStatus;
 
@@ -18,13 +20,13 @@ public interface TripService {
 
     TripResponse getTripWithDetails(Long id);
 
-    List<TripResponse> getAllTrips();
+    TripPageResponse getAllTrips(String cursor, Integer size);
 
     List<TripResponse> getTripsByRouteAndDate(Long routeId, LocalDate date);
 
     List<TripResponse> getTripsByRouteAndDateAndStatus(Long routeId, LocalDate date, TripStatus status);
 
-    List<TripResponse> searchTrips(Long routeId, LocalDate date, TripStatus status);
+    TripPageResponse searchTrips(Long routeId, LocalDate date, TripStatus status, String cursor, Integer size);
 
     List<TripResponse> getTripsByDateAndStatus(LocalDate date, TripStatus status);
 
@@ -32,7 +34,7 @@ public interface TripService {
 
     void deleteTrip(Long id);
 
-    List<TripResponse> getTripsByDate(LocalDate date);
+    TripPageResponse getTripsByDate(LocalDate date, String cursor, Integer size);
 
     List<TripResponse> getTripsByStatus(TripStatus status);
 
@@ -40,6 +42,8 @@ public interface TripService {
 
     List<TripResponse> filterTripByOriginAndDestination(String origin, String destination, LocalDate date);
 
+    List<TripStopSearchResponse> filterTripsByStops(String fromStop, String toStop, LocalDate date);
+
     TripResponse changeTripStatus(Long id, TripStatus status);
 
     void validateTripSchedule(Long busId, LocalDate date, LocalDateTime departureAt);
@@ -1,5 +1,6 @@
 package com.bers.services.service;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.UserDtos.UserCreateRequest;
 import com.bers.api.dtos.UserDtos.UserResponse;
 import com.bers.api.dtos.UserDtos.UserSelfUpdateRequest;
@@ -8,6 +9,7 @@ import com.bers.domain.entities.enums.UserRole;
 import com.bers.domain.entities.enums.UserStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserResponse create(UserCreateRequest request);
@@ -22,7 +24,9 @@ public interface UserService {
 
     UserResponse getByPhone(String phone);
 
-    List<UserResponse> getAll();
+    CursorPageResponse<UserResponse> getAll(UserRole role, UserStatus status, String cursor, Integer size);
+
+    void streamAll(UserRole role, UserStatus status, Consumer<UserResponse> sink);
 
     List<UserResponse> getByRole(UserRole role);
 
@@ -3,23 +3,31 @@ package com.bers.services.service.serviceImple;
 import com.bers.api.dtos.AssignmentDtos.AssignmentCreateRequest;
 import com.bers.api.dtos.AssignmentDtos.AssignmentResponse;
 import com.bers.api.dtos.AssignmentDtos.AssignmentUpdateRequest;
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.domain.entities.Assignment;
 import com.bers.domain.entities.Trip;
 import com.bers.domain.entities.User;
+import com.bers.domain.entities.enums.TripStatus;
 import com.bers.domain.entities.enums.UserRole;
 import com.bers.domain.repositories.AssignmentRepository;
 import com.bers.domain.repositories.TripRepository;
 import com.bers.domain.repositories.UserRepository;
+import com.bers.domain.repositories.projections.AssignmentListProjection;
 import com.bers.services.mappers.AssignmentMapper;
 import com.bers.services.service.AssignmentService;
+import com.bers.services.utils.IdCursor;
+import com.bers.services.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -101,11 +109,23 @@ public class AssignmentServiceImpl implements AssignmentService {
     }
 
     @Override
-    @Transactional
-    public List<AssignmentResponse> getAllAssignments() {
-        return assignmentRepository.findAll().stream()
-                .map(assignmentMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AssignmentResponse> getAllAssignments(Long driverId, Long dispatcherId,
+            TripStatus tripStatus, String cursor, Integer size) {
+        Long afterId = IdCursor.decode(cursor).id();
+        Pageable limit = KeysetPage.limit(size);
+        List<AssignmentListProjection> rows =
+                assignmentRepository.findPageForList(driverId, dispatcherId, tripStatus, afterId, limit);
+        return KeysetPage.of(rows, limit, AssignmentListProjection::id, assignmentMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllAssignments(Long driverId, Long dispatcherId, TripStatus tripStatus,
+            Consumer<AssignmentResponse> sink) {
+        KeysetPage.exportAll(
+                (afterId, limit) -> assignmentRepository.findPageForList(driverId, dispatcherId, tripStatus, afterId, limit),
+                AssignmentListProjection::id, row -> sink.accept(assignmentMapper.toResponse(row)));
     }
 
     @Override
@@ -114,7 +134,7 @@ public class AssignmentServiceImpl implements AssignmentService {
         if (!userRepository.existsById(driverId)) {
             throw new IllegalArgumentException("Driver not found: " + driverId);
         }
-        return assignmentRepository.findByDriverId(driverId).stream()
+        return assignmentRepository.findForListByDriverId(driverId).stream()
                 .map(assignmentMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -125,7 +145,7 @@ public class AssignmentServiceImpl implements AssignmentService {
         if (!userRepository.existsById(dispatcherId)) {
             throw new IllegalArgumentException("Dispatcher not found: " + dispatcherId);
         }
-        return assignmentRepository.findByDispatcherId(dispatcherId).stream()
+        return assignmentRepository.findForListByDispatcherId(dispatcherId).stream()
                 .map(assignmentMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -136,7 +156,7 @@ public class AssignmentServiceImpl implements AssignmentService {
         if (!userRepository.existsById(driverId)) {
             throw new IllegalArgumentException("Driver not found: " + driverId);
         }
-        return assignmentRepository.findActiveAssignmentsByDriver(driverId).stream()
+        return assignmentRepository.findActiveForListByDriver(driverId).stream()
                 .map(assignmentMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -144,7 +164,7 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Override
     @Transactional
     public List<AssignmentResponse> getAssignmentsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return assignmentRepository.findByDepartureDateRange(start, end).stream()
+        return assignmentRepository.findForListByDepartureDateRange(start, end).stream()
                 .map(assignmentMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -177,7 +197,7 @@ public class AssignmentServiceImpl implements AssignmentService {
         LocalDateTime start = date.atStartOfDay();
         LocalDateTime end = date.atTime(LocalTime.MAX);
 
-        return assignmentRepository.findByDriverIdAndAssignedAtBetween(driverId, start, end).stream()
+        return assignmentRepository.findForListByDriverIdAndAssignedAtBetween(driverId, start, end).stream()
                 .map(assignmentMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -3,18 +3,25 @@ package com.bers.services.service.serviceImple;
 import com.bers.api.dtos.BaggageDtos.BaggageCreateRequest;
 import com.bers.api.dtos.BaggageDtos.BaggageResponse;
 import com.bers.api.dtos.BaggageDtos.BaggageUpdateRequest;
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.domain.entities.Baggage;
 import com.bers.domain.entities.Ticket;
 import com.bers.domain.repositories.BaggageRepository;
 import com.bers.domain.repositories.TicketRepository;
+import com.bers.domain.repositories.projections.BaggageListProjection;
 import com.bers.services.mappers.BaggageMapper;
 import com.bers.services.service.BaggageService;
+import com.bers.services.utils.IdCursor;
+import com.bers.services.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -70,11 +77,20 @@ public class BaggageServiceImpl implements BaggageService {
     }
 
     @Override
-    @Transactional
-    public List<BaggageResponse> getAllBaggage() {
-        return baggageRepository.findAll().stream()
-                .map(baggageMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BaggageResponse> getAllBaggage(Long ticketId, Long tripId, String cursor, Integer size) {
+        Long afterId = IdCursor.decode(cursor).id();
+        Pageable limit = KeysetPage.limit(size);
+        List<BaggageListProjection> rows = baggageRepository.findPageForList(ticketId, tripId, afterId, limit);
+        return KeysetPage.of(rows, limit, BaggageListProjection::id, baggageMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllBaggage(Long ticketId, Long tripId, Consumer<BaggageResponse> sink) {
+        KeysetPage.exportAll(
+                (afterId, limit) -> baggageRepository.findPageForList(ticketId, tripId, afterId, limit),
+                BaggageListProjection::id, row -> sink.accept(baggageMapper.toResponse(row)));
     }
 
     @Override
@@ -83,7 +99,7 @@ public class BaggageServiceImpl implements BaggageService {
         if (!ticketRepository.existsById(ticketId)) {
             throw new IllegalArgumentException("Ticket not found: " + ticketId);
         }
-        return baggageRepository.findByTicketId(ticketId).stream()
+        return baggageRepository.findForListByTicketId(ticketId).stream()
                 .map(baggageMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -91,7 +107,7 @@ public class BaggageServiceImpl implements BaggageService {
     @Override
     @Transactional
     public List<BaggageResponse> getBaggageByTripId(Long tripId) {
-        return baggageRepository.findByTripId(tripId).stream()
+        return baggageRepository.findForListByTripId(tripId).stream()
                 .map(baggageMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -6,6 +6,7 @@ import com.bers.api.dtos.BusDtos.BusUpdateRequest;
 import com.bers.domain.entities.Bus;
 import com.bers.domain.entities.enums.BusStatus;
 import com.bers.domain.repositories.BusRepository;
+import com.bers.services.cache.TripSearchCache;
 import com.bers.services.mappers.BusMapper;
 import com.bers.services.service.BusService;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ public class BusServiceImpl implements BusService {
 
     private final BusRepository busRepository;
     private final BusMapper busMapper;
+    private final TripSearchCache tripSearchCache;
 
     @Override
     public BusResponse createBus(BusCreateRequest request) {
@@ -41,6 +43,7 @@ public class BusServiceImpl implements BusService {
 
         busMapper.updateEntity(request, bus);
         Bus updatedBus = busRepository.save(bus);
+        tripSearchCache.evictBus(id);
         return busMapper.toResponse(updatedBus);
     }
 
@@ -98,6 +101,7 @@ public class BusServiceImpl implements BusService {
             throw new IllegalArgumentException("Bus not found: " + id);
         }
         busRepository.deleteById(id);
+        tripSearchCache.evictBus(id);
     }
 
     @Override
@@ -112,6 +116,7 @@ public class BusServiceImpl implements BusService {
                 .orElseThrow(() -> new IllegalArgumentException("Bus not found: " + id));
         bus.setStatus(status);
         Bus updatedBus = busRepository.save(bus);
+        tripSearchCache.evictBus(id);
         return busMapper.toResponse(updatedBus);
     }
 }
@@ -5,15 +5,33 @@ import com.bers.api.dtos.ConfigDtos.ConfigResponse;
 import com.bers.api.dtos.ConfigDtos.ConfigUpdateRequest;
 import com.bers.domain.entities.Config;
 import com.bers.domain.repositories.ConfigRepository;
+import com.bers.domain.repositories.projections.ConfigVersionProjection;
 import com.bers.services.mappers.ConfigMapper;
 import com.bers.services.service.ConfigService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * Los getConfigValue* leen de una foto en memoria con los valores ya convertidos a entero y decimal,
+ * que se carga completa (la tabla es pequeña) en la primera lectura. Los cambios hechos aquí la invalidan
+ * al terminar la transacción; los de otros nodos se detectan consultando cada {@code bers.config.refresh-ms} la huella
+ * de la tabla (filas, id máximo y última modificación). Esas lecturas no abren transacción propia:
+ * solo la carga de la foto toca el repositorio.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -22,6 +40,9 @@ public class ConfigServiceImpl implements ConfigService {
     private final ConfigRepository configRepository;
     private final ConfigMapper configMapper;
 
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile ConfigSnapshot snapshot;
+
     @Override
     public ConfigResponse createConfig(ConfigCreateRequest request) {
         if (configRepository.existsByKey(request.key())) {
@@ -30,6 +51,7 @@ public class ConfigServiceImpl implements ConfigService {
 
         Config config = configMapper.toEntity(request);
         Config savedConfig = configRepository.save(config);
+        invalidateOnCompletion();
         return configMapper.toResponse(savedConfig);
     }
 
@@ -40,6 +62,7 @@ public class ConfigServiceImpl implements ConfigService {
 
         configMapper.updateEntity(request, config);
         Config updatedConfig = configRepository.save(config);
+        invalidateOnCompletion();
         return configMapper.toResponse(updatedConfig);
     }
 
@@ -73,6 +96,7 @@ public class ConfigServiceImpl implements ConfigService {
             throw new IllegalArgumentException("Config not found: " + id);
         }
         configRepository.deleteById(id);
+        invalidateOnCompletion();
     }
 
     @Override
@@ -81,41 +105,108 @@ public class ConfigServiceImpl implements ConfigService {
             throw new IllegalArgumentException("Config not found with key: " + key);
         }
         configRepository.deleteByKey(key);
+        invalidateOnCompletion();
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public String getConfigValue(String key, String defaultValue) {
-        return configRepository.findByKey(key)
-                .map(Config::getValue)
-                .orElse(defaultValue);
+        ConfigValue value = snapshot().values().get(key);
+        return value != null ? value.raw() : defaultValue;
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Integer getConfigValueAsInt(String key, Integer defaultValue) {
-        return configRepository.findByKey(key)
-                .map(config -> {
-                    try {
-                        return Integer.parseInt(config.getValue());
-                    } catch (NumberFormatException e) {
-                        return defaultValue;
-                    }
-                })
-                .orElse(defaultValue);
+        ConfigValue value = snapshot().values().get(key);
+        return value != null && value.asInt() != null ? value.asInt() : defaultValue;
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Double getConfigValueAsDouble(String key, Double defaultValue) {
-        return configRepository.findByKey(key)
-                .map(config -> {
-                    try {
-                        return Double.parseDouble(config.getValue());
-                    } catch (NumberFormatException e) {
-                        return defaultValue;
-                    }
-                })
-                .orElse(defaultValue);
+        ConfigValue value = snapshot().values().get(key);
+        return value != null && value.asDouble() != null ? value.asDouble() : defaultValue;
+    }
+
+    /**
+     * Recarga la foto si la tabla cambió desde que se cargó, por ejemplo desde otro nodo.
+     */
+    @Scheduled(fixedDelayString = "${bers.config.refresh-ms:30000}",
+            initialDelayString = "${bers.config.refresh-ms:30000}")
+    @Transactional(readOnly = true)
+    public void refreshIfChanged() {
+        ConfigSnapshot current = snapshot;
+        if (current != null && !Objects.equals(current.version(), configRepository.findVersion())) {
+            log.info("[Config] Configuration changed, reloading");
+            invalidate();
+        }
+    }
+
+    // ==================== FOTO EN MEMORIA ====================
+
+    private ConfigSnapshot snapshot() {
+        ConfigSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long epoch = invalidations.get();
+        // La huella se lee antes que las filas: si algo cambia en medio, el siguiente sondeo recarga
+        ConfigVersionProjection version = configRepository.findVersion();
+        Map<String, ConfigValue> values = new HashMap<>();
+        for (Config config : configRepository.findAll()) {
+            values.put(config.getKey(), ConfigValue.parse(config.getValue()));
+        }
+        ConfigSnapshot loaded = new ConfigSnapshot(Map.copyOf(values), version);
+        synchronized (this) {
+            // Una invalidación durante la carga deja la foto vacía para que la próxima lectura vea el cambio
+            if (invalidations.get() == epoch) {
+                snapshot = loaded;
+            }
+        }
+        log.debug("[Config] Loaded {} configuration values", values.size());
+        return loaded;
+    }
+
+    private synchronized void invalidate() {
+        invalidations.incrementAndGet();
+        snapshot = null;
+    }
+
+    private void invalidateOnCompletion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // También tras un rollback: una lectura dentro de la transacción pudo cargar el cambio sin confirmar
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private record ConfigSnapshot(Map<String, ConfigValue> values, ConfigVersionProjection version) {
+    }
+
+    // Valor crudo y sus conversiones, hechas una sola vez al cargar; null si no aplica
+    private record ConfigValue(String raw, Integer asInt, Double asDouble) {
+
+        static ConfigValue parse(String raw) {
+            Integer asInt = null;
+            Double asDouble = null;
+            try {
+                asInt = Integer.parseInt(raw);
+            } catch (NumberFormatException e) {
+                // no es entero
+            }
+            try {
+                asDouble = Double.parseDouble(raw);
+            } catch (NumberFormatException | NullPointerException e) {
+                // no es decimal
+            }
+            return new ConfigValue(raw, asInt, asDouble);
+        }
     }
 }
@@ -0,0 +1,145 @@
+package com.bers.services.service.serviceImple;
+
+import com.bers.api.dtos.ConnectionDtos.ConnectionLegResponse;
+import com.bers.api.dtos.ConnectionDtos.ConnectionSearchResponse;
+import com.bers.api.dtos.ConnectionDtos.ItineraryResponse;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.TripRepository;
+import com.bers.domain.repositories.projections.TripScheduleProjection;
+import com.bers.services.cache.DayTimetableCache;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.inventory.TripSeatOccupancy;
+import com.bers.services.routing.ConnectionPlanner;
+import com.bers.services.routing.ConnectionPlanner.Itinerary;
+import com.bers.services.routing.ConnectionPlanner.Leg;
+import com.bers.services.routing.ConnectionPlanner.PlanResult;
+import com.bers.services.routing.DayTimetable;
+import com.bers.services.service.ConnectionSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Búsqueda de itinerarios con transbordo. El horario del día se arma una vez con dos consultas
+ * (viajes y paradas de las rutas del día) y las matrices de {@link FareMatrixCache}, las mismas con
+ * que se cobra la venta, y se reutiliza desde {@link DayTimetableCache};
+ * la búsqueda corre en memoria y solo la disponibilidad de cada tramo se consulta al momento.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ConnectionSearchServiceImpl implements ConnectionSearchService {
+
+    private static final int MAX_TRANSFERS_LIMIT = 3;
+
+    private final TripRepository tripRepository;
+    private final StopRepository stopRepository;
+    private final FareMatrixCache fareMatrixCache;
+    private final DayTimetableCache dayTimetableCache;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+
+    @Value("${bers.connections.default-max-transfers:2}")
+    private int defaultMaxTransfers = 2;
+
+    @Value("${bers.connections.min-transfer-minutes:20}")
+    private int defaultMinTransferMinutes = 20;
+
+    @Override
+    public ConnectionSearchResponse findConnections(String origin, String destination, LocalDate date,
+                                                    Integer maxTransfers, Integer minTransferMinutes) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Date must be at least today");
+        }
+        int transfers = maxTransfers != null ? maxTransfers : defaultMaxTransfers;
+        if (transfers < 0 || transfers > MAX_TRANSFERS_LIMIT) {
+            throw new IllegalArgumentException("maxTransfers must be between 0 and " + MAX_TRANSFERS_LIMIT);
+        }
+        int transferMinutes = minTransferMinutes != null ? minTransferMinutes : defaultMinTransferMinutes;
+        if (transferMinutes < 0) {
+            throw new IllegalArgumentException("minTransferMinutes must not be negative");
+        }
+
+        DayTimetable timetable = dayTimetableCache.get(date, () -> loadTimetable(date));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime departAfter = date.equals(now.toLocalDate()) ? now : date.atStartOfDay();
+
+        long start = System.nanoTime();
+        PlanResult plan = ConnectionPlanner.plan(timetable, origin, destination, departAfter,
+                transfers, transferMinutes * 60);
+        log.debug("[Connections] {} → {} on {} planned in {} µs", origin, destination, date,
+                (System.nanoTime() - start) / 1_000);
+
+        Set<Long> tripIds = Stream.of(plan.earliestArrival(), plan.cheapest())
+                .filter(Objects::nonNull)
+                .flatMap(itinerary -> itinerary.legs().stream())
+                .map(leg -> leg.trip().tripId())
+                .collect(Collectors.toSet());
+        Map<Long, TripSeatOccupancy> occupancies = tripIds.isEmpty()
+                ? Map.of()
+                : segmentOccupancyEngine.snapshots(tripIds);
+
+        return new ConnectionSearchResponse(origin, destination, date,
+                toResponse(plan.earliestArrival(), occupancies, now),
+                toResponse(plan.cheapest(), occupancies, now));
+    }
+
+    private DayTimetable loadTimetable(LocalDate date) {
+        List<TripScheduleProjection> trips = tripRepository.findScheduleByDate(date);
+        Set<Long> routeIds = trips.stream().map(TripScheduleProjection::routeId).collect(Collectors.toSet());
+        if (routeIds.isEmpty()) {
+            return DayTimetable.build(date, List.of(), List.of(), fareMatrixCache::matrix);
+        }
+        return DayTimetable.build(date, trips,
+                stopRepository.findIndexEntriesByRouteIds(routeIds),
+                fareMatrixCache::matrix);
+    }
+
+    private ItineraryResponse toResponse(Itinerary itinerary, Map<Long, TripSeatOccupancy> occupancies,
+                                         LocalDateTime now) {
+        if (itinerary == null) {
+            return null;
+        }
+        List<ConnectionLegResponse> legs = itinerary.legs().stream()
+                .map(leg -> toLegResponse(leg, occupancies.get(leg.trip().tripId()), now))
+                .toList();
+        return new ItineraryResponse(itinerary.departureAt(), itinerary.arrivalAt(), itinerary.transfers(),
+                itinerary.totalFare(), legs);
+    }
+
+    private ConnectionLegResponse toLegResponse(Leg leg, TripSeatOccupancy occupancy, LocalDateTime now) {
+        int fromOrder = leg.route().stopOrder(leg.boardPosition());
+        int toOrder = leg.route().stopOrder(leg.alightPosition());
+        Integer capacity = leg.trip().capacity();
+        Integer availableSeats = capacity == null || occupancy == null
+                ? null
+                : occupancy.availableSeatsForSegment(capacity, fromOrder, toOrder, now);
+        return new ConnectionLegResponse(
+                leg.trip().tripId(),
+                leg.route().getRouteId(),
+                leg.route().getRouteName(),
+                leg.route().stopId(leg.boardPosition()),
+                leg.route().stopName(leg.boardPosition()),
+                fromOrder,
+                leg.departureAt(),
+                leg.route().stopId(leg.alightPosition()),
+                leg.route().stopName(leg.alightPosition()),
+                toOrder,
+                leg.arrivalAt(),
+                leg.fare(),
+                availableSeats
+        );
+    }
+}
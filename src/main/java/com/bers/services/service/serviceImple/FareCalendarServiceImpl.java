@@ -0,0 +1,117 @@
+package com.bers.services.service.serviceImple;
+
+import com.bers.api.dtos.TripDtos.FareCalendarDayResponse;
+import com.bers.api.dtos.TripDtos.FareCalendarResponse;
+import com.bers.domain.entities.Stop;
+import com.bers.domain.repositories.RouteRepository;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.TripRepository;
+import com.bers.domain.repositories.projections.TripCalendarProjection;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.inventory.TripSeatOccupancy;
+import com.bers.services.routing.RouteFareMatrix.SegmentFare;
+import com.bers.services.service.FareCalendarService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Calendario de tarifa mínima y cupos por día para una ruta o un tramo.
+ * Los viajes del rango salen de una sola consulta, la tarifa de la matriz de la ruta y la
+ * ocupación de los contadores en memoria, que se cargan en bloque para todos los viajes.
+ * La tarifa es el precio base del tramo, el mismo que cobra la venta del tiquete.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FareCalendarServiceImpl implements FareCalendarService {
+
+    private static final int MAX_DAYS = 62;
+
+    private final TripRepository tripRepository;
+    private final RouteRepository routeRepository;
+    private final StopRepository stopRepository;
+    private final FareMatrixCache fareMatrixCache;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+
+    @Override
+    public FareCalendarResponse getFareCalendar(Long routeId, Long fromStopId, Long toStopId,
+                                                LocalDate startDate, LocalDate endDate) {
+        if (startDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Start date must be at least today");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_DAYS + " days");
+        }
+        if (!routeRepository.existsById(routeId)) {
+            throw new IllegalArgumentException("Route not found: " + routeId);
+        }
+
+        Segment segment = resolveSegment(routeId, fromStopId, toStopId);
+        Stop fromStop = segment.from();
+        Stop toStop = segment.to();
+
+        SegmentFare segmentFare = fareMatrixCache.fare(routeId, fromStop.getId(), toStop.getId());
+
+        List<TripCalendarProjection> trips = tripRepository.findCalendarByRouteAndDateRange(routeId, startDate, endDate);
+        Map<Long, TripSeatOccupancy> occupancies = trips.isEmpty()
+                ? Map.of()
+                : segmentOccupancyEngine.snapshots(trips.stream().map(TripCalendarProjection::tripId).toList());
+        Map<LocalDate, List<TripCalendarProjection>> tripsByDate = trips.stream()
+                .collect(Collectors.groupingBy(TripCalendarProjection::date));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FareCalendarDayResponse> days = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            List<TripCalendarProjection> dayTrips = tripsByDate.getOrDefault(date, List.of());
+            int availableSeats = 0;
+
+            for (TripCalendarProjection trip : dayTrips) {
+                TripSeatOccupancy occupancy = occupancies.get(trip.tripId());
+                if (trip.capacity() == null || trip.capacity() <= 0 || occupancy == null) {
+                    continue;
+                }
+                availableSeats += occupancy.availableSeatsForSegment(trip.capacity(), fromStop.getOrder(), toStop.getOrder(), now);
+            }
+            BigDecimal minFare = availableSeats > 0 ? segmentFare.basePrice() : null;
+            days.add(new FareCalendarDayResponse(date, dayTrips.size(), minFare, availableSeats));
+        }
+
+        return new FareCalendarResponse(routeId, fromStop.getId(), toStop.getId(), startDate, endDate, days);
+    }
+
+    // Sin paradas explícitas el tramo es la ruta completa
+    private Segment resolveSegment(Long routeId, Long fromStopId, Long toStopId) {
+        List<Stop> stops = stopRepository.findByRouteIdOrderByOrderAsc(routeId);
+        if (stops.size() < 2) {
+            throw new IllegalArgumentException("Route has no stops to price: " + routeId);
+        }
+        Stop fromStop = fromStopId != null ? findRouteStop(stops, fromStopId) : stops.get(0);
+        Stop toStop = toStopId != null ? findRouteStop(stops, toStopId) : stops.get(stops.size() - 1);
+        if (fromStop.getOrder() >= toStop.getOrder()) {
+            throw new IllegalArgumentException("Invalid stop sequence");
+        }
+        return new Segment(fromStop, toStop);
+    }
+
+    private Stop findRouteStop(List<Stop> stops, Long stopId) {
+        return stops.stream()
+                .filter(stop -> stop.getId().equals(stopId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Stop does not belong to route: " + stopId));
+    }
+
+    private record Segment(Stop from, Stop to) {
+    }
+}
@@ -6,18 +6,18 @@ import com.bers.api.dtos.FareRuleDtos.FareRuleUpdateRequest;
 import com.bers.domain.entities.FareRule;
 import com.bers.domain.entities.Route;
 import com.bers.domain.entities.Stop;
-import com.bers.domain.entities.enums.DynamicPricingStatus;
 import com.bers.domain.repositories.FareRuleRepository;
 import com.bers.domain.repositories.RouteRepository;
 import com.bers.domain.repositories.StopRepository;
+import com.bers.services.cache.FareMatrixCache;
 import com.bers.services.mappers.FareRuleMapper;
 import com.bers.services.service.FareRuleService;
+import com.bers.services.utils.DynamicPricing;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,6 +30,7 @@ public class FareRuleServiceImpl implements FareRuleService {
     private final RouteRepository routeRepository;
     private final StopRepository stopRepository;
     private final FareRuleMapper fareRuleMapper;
+    private final FareMatrixCache fareMatrixCache;
 
     @Override
     public FareRuleResponse createFareRule(FareRuleCreateRequest request) {
@@ -52,6 +53,7 @@ public class FareRuleServiceImpl implements FareRuleService {
         fareRule.setToStop(toStop);
 
         FareRule savedFareRule = fareRuleRepository.save(fareRule);
+        fareMatrixCache.evictRoute(route.getId());
         return fareRuleMapper.toResponse(savedFareRule);
     }
 
@@ -62,6 +64,7 @@ public class FareRuleServiceImpl implements FareRuleService {
 
         fareRuleMapper.updateEntity(request, fareRule);
         FareRule updatedFareRule = fareRuleRepository.save(fareRule);
+        fareMatrixCache.evictRoute(fareRule.getRoute().getId());
         return fareRuleMapper.toResponse(updatedFareRule);
     }
 
@@ -115,10 +118,10 @@ public class FareRuleServiceImpl implements FareRuleService {
 
     @Override
     public void deleteFareRule(Long id) {
-        if (!fareRuleRepository.existsById(id)) {
-            throw new IllegalArgumentException("FareRule not found: " + id);
-        }
-        fareRuleRepository.deleteById(id);
+        FareRule fareRule = fareRuleRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("FareRule not found: " + id));
+        fareRuleRepository.delete(fareRule);
+        fareMatrixCache.evictRoute(fareRule.getRoute().getId());
     }
 
     @Override
@@ -127,22 +130,6 @@ public class FareRuleServiceImpl implements FareRuleService {
         FareRule fareRule = fareRuleRepository.findById(fareRuleId)
                 .orElseThrow(() -> new IllegalArgumentException("FareRule not found: " + fareRuleId));
 
-        if (fareRule.getDynamicPricing() == DynamicPricingStatus.OFF) {
-            return fareRule.getBasePrice();
-        }
-
-        BigDecimal basePrice = fareRule.getBasePrice();
-        BigDecimal multiplier = BigDecimal.ONE;
-
-        // Ajuste según tasa de ocupación
-        if (occupancyRate > 0.8) {
-            multiplier = new BigDecimal("1.3"); // +30%
-        } else if (occupancyRate > 0.6) {
-            multiplier = new BigDecimal("1.15"); // +15%
-        } else if (occupancyRate < 0.3) {
-            multiplier = new BigDecimal("0.85"); // -15%
-        }
-
-        return basePrice.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+        return DynamicPricing.apply(fareRule.getBasePrice(), fareRule.getDynamicPricing(), occupancyRate);
     }
 }
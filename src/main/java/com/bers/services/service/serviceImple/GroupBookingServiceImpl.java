@@ -0,0 +1,247 @@
+package com.bers.services.service.serviceImple;
+
+import com.bers.api.dtos.GroupBookingDtos.GroupHoldRequest;
+import com.bers.api.dtos.GroupBookingDtos.GroupHoldResponse;
+import com.bers.api.dtos.GroupBookingDtos.GroupTicketRequest;
+import com.bers.api.dtos.GroupBookingDtos.GroupTicketResponse;
+import com.bers.api.dtos.SeatHoldDtos.SeatHoldResponse;
+import com.bers.api.dtos.TicketDtos.TicketResponse;
+import com.bers.domain.entities.*;
+import com.bers.domain.entities.enums.HoldStatus;
+import com.bers.domain.entities.enums.PassengerType;
+import com.bers.domain.entities.enums.TicketStatus;
+import com.bers.domain.repositories.*;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.event.SeatHoldCreatedEvent;
+import com.bers.services.inventory.SeatHoldExpiryQueue;
+import com.bers.services.inventory.SeatHoldLocks;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.mappers.SeatHoldMapper;
+import com.bers.services.mappers.TicketMapper;
+import com.bers.services.service.CancellationService;
+import com.bers.services.service.DiscountService;
+import com.bers.services.service.GroupBookingService;
+import com.bers.services.service.SegmentValidationService;
+import com.bers.services.utils.QRCodeGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reserva de grupos: valida todos los asientos del tramo en una sola pasada, toma los holds
+ * de todos o de ninguno y crea los tickets en un único lote. El viaje, el usuario y las
+ * paradas se cargan una sola vez para todo el grupo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class GroupBookingServiceImpl implements GroupBookingService {
+
+    private static final int HOLD_DURATION_MINUTES = 10;
+
+    private final TripRepository tripRepository;
+    private final UserRepository userRepository;
+    private final StopRepository stopRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final TicketRepository ticketRepository;
+    private final FareMatrixCache fareMatrixCache;
+    private final SeatHoldMapper seatHoldMapper;
+    private final TicketMapper ticketMapper;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+    private final SegmentValidationService segmentValidationService;
+    private final SeatHoldLocks seatHoldLocks;
+    private final SeatHoldExpiryQueue seatHoldExpiryQueue;
+    private final DiscountService discountService;
+    private final CancellationService cancellationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public GroupHoldResponse createGroupHold(GroupHoldRequest request, Long userId) {
+        List<String> seatNumbers = distinctSeats(request.seatNumbers());
+
+        Trip trip = tripRepository.findById(request.tripId())
+                .orElseThrow(() -> new IllegalArgumentException("Trip not found: " + request.tripId()));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+        Stop fromStop = findStop(request.fromStopId(), "From");
+        Stop toStop = findStop(request.toStopId(), "To");
+        validateStopSequence(fromStop, toStop);
+
+        Set<String> busSeats = tripRepository.findSeatsByTripId(trip.getId()).stream()
+                .map(Seat::getNumber)
+                .collect(Collectors.toSet());
+        List<String> unknownSeats = seatNumbers.stream().filter(seat -> !busSeats.contains(seat)).toList();
+        if (!unknownSeats.isEmpty()) {
+            throw new IllegalArgumentException("Seats not found on this bus: " + unknownSeats);
+        }
+
+        // Una sola pasada en memoria sobre el tramo; si falla un asiento no se toma ninguno
+        List<String> unavailableSeats = seatNumbers.stream()
+                .filter(seat -> !segmentOccupancyEngine.isSeatFreeForSegment(
+                        trip.getId(), seat, fromStop.getOrder(), toStop.getOrder()))
+                .toList();
+        if (!unavailableSeats.isEmpty()) {
+            throw new IllegalArgumentException("Seats already held or sold for this segment: " + unavailableSeats);
+        }
+
+        // Locks en orden fijo para que dos grupos solapados no se bloqueen entre sí
+        seatHoldLocks.lockAllUntilCompletion(trip.getId(), seatNumbers);
+        LocalDateTime now = LocalDateTime.now();
+        seatHoldRepository.expireStaleHoldsForSeats(trip.getId(), seatNumbers, now);
+
+        List<String> heldSeats = seatHoldRepository
+                .findByTripIdAndSeatNumberInAndStatus(trip.getId(), seatNumbers, HoldStatus.HOLD).stream()
+                .map(SeatHold::getSeatNumber)
+                .toList();
+        if (!heldSeats.isEmpty()) {
+            throw new IllegalArgumentException("Seats already held: " + heldSeats);
+        }
+        segmentValidationService.validateSegmentForSeats(
+                trip.getId(), seatNumbers, fromStop.getOrder(), toStop.getOrder());
+
+        LocalDateTime expiresAt = now.plusMinutes(HOLD_DURATION_MINUTES);
+        List<SeatHold> holds = seatNumbers.stream()
+                .map(seat -> SeatHold.builder()
+                        .trip(trip)
+                        .user(user)
+                        .fromStop(fromStop)
+                        .toStop(toStop)
+                        .seatNumber(seat)
+                        .expiresAt(expiresAt)
+                        .status(HoldStatus.HOLD)
+                        .build())
+                .toList();
+
+        List<SeatHold> savedHolds;
+        try {
+            savedHolds = seatHoldRepository.saveAllAndFlush(holds);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("One or more seats were held concurrently, no seat was held");
+        }
+
+        savedHolds.forEach(hold -> {
+            segmentOccupancyEngine.holdChanged(hold);
+            seatHoldExpiryQueue.schedule(hold);
+            eventPublisher.publishEvent(new SeatHoldCreatedEvent(hold.getId(), trip.getId(), userId,
+                    hold.getSeatNumber(), fromStop.getId(), toStop.getId(), hold.getExpiresAt()));
+        });
+
+        log.info("[GroupBooking] User {} held {} seats on trip {} ({}→{})",
+                userId, savedHolds.size(), trip.getId(), fromStop.getOrder(), toStop.getOrder());
+
+        List<SeatHoldResponse> responses = savedHolds.stream().map(seatHoldMapper::toResponse).toList();
+        return new GroupHoldResponse(trip.getId(), responses.size(), responses);
+    }
+
+    @Override
+    public GroupTicketResponse createGroupTickets(GroupTicketRequest request) {
+        List<String> seatNumbers = distinctSeats(request.seatNumbers());
+
+        Trip trip = tripRepository.findById(request.tripId())
+                .orElseThrow(() -> new IllegalArgumentException("Trip not found: " + request.tripId()));
+        User passenger = userRepository.findById(request.passengerId())
+                .orElseThrow(() -> new IllegalArgumentException("Passenger not found: " + request.passengerId()));
+        Stop fromStop = findStop(request.fromStopId(), "From");
+        Stop toStop = findStop(request.toStopId(), "To");
+        validateStopSequence(fromStop, toStop);
+
+        seatHoldLocks.lockAllUntilCompletion(trip.getId(), seatNumbers);
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, SeatHold> holdsBySeat = seatHoldRepository
+                .findByTripIdAndSeatNumberInAndStatus(trip.getId(), seatNumbers, HoldStatus.HOLD).stream()
+                .filter(hold -> hold.getExpiresAt().isAfter(now))
+                .collect(Collectors.toMap(SeatHold::getSeatNumber, Function.identity(), (first, second) -> first));
+
+        List<String> missingHolds = seatNumbers.stream().filter(seat -> !holdsBySeat.containsKey(seat)).toList();
+        if (!missingHolds.isEmpty()) {
+            throw new IllegalArgumentException("No active hold found for seats " + missingHolds);
+        }
+        List<String> foreignHolds = holdsBySeat.values().stream()
+                .filter(hold -> !hold.getUser().getId().equals(request.passengerId()))
+                .map(SeatHold::getSeatNumber)
+                .toList();
+        if (!foreignHolds.isEmpty()) {
+            throw new IllegalArgumentException("Seat holds do not belong to this user: " + foreignHolds);
+        }
+
+        segmentValidationService.validateSegmentForSeats(
+                trip.getId(), seatNumbers, fromStop.getOrder(), toStop.getOrder());
+
+        // Mismo tramo y mismo pasajero: la tarifa y el descuento se calculan una vez para todo el grupo
+        BigDecimal basePrice = calculateFare(trip.getRoute().getId(), fromStop.getId(), toStop.getId());
+        PassengerType passengerType = discountService.determinePassengerType(passenger.getAge(), null);
+        BigDecimal discount = discountService.calculateDiscount(passengerType, basePrice);
+        BigDecimal finalPrice = basePrice.subtract(discount).max(BigDecimal.ZERO);
+
+        holdsBySeat.values().forEach(hold -> {
+            hold.setStatus(HoldStatus.CONVERTED);
+            segmentOccupancyEngine.holdChanged(hold);
+        });
+
+        List<Ticket> tickets = new ArrayList<>(seatNumbers.size());
+        for (String seat : seatNumbers) {
+            Ticket ticket = Ticket.builder()
+                    .trip(trip)
+                    .passenger(passenger)
+                    .fromStop(fromStop)
+                    .toStop(toStop)
+                    .seatNumber(seat)
+                    .price(finalPrice)
+                    .paymentMethod(request.paymentMethod())
+                    .status(TicketStatus.PENDING_PAYMENT)
+                    .passengerType(passengerType)
+                    .discountAmount(discount)
+                    .createdAt(now)
+                    .qrCode(QRCodeGenerator.generateForTicket(trip.getId(), seat))
+                    .build();
+            ticket.setCancellationPolicy(cancellationService.determineCancellationPolicy(ticket));
+            tickets.add(ticket);
+        }
+
+        List<Ticket> savedTickets = ticketRepository.saveAll(tickets);
+        savedTickets.forEach(segmentOccupancyEngine::ticketChanged);
+
+        BigDecimal totalPrice = finalPrice.multiply(BigDecimal.valueOf(savedTickets.size()));
+        log.info("[GroupBooking] Passenger {} booked {} seats on trip {} [Pending payment], total {}",
+                passenger.getId(), savedTickets.size(), trip.getId(), totalPrice);
+
+        List<TicketResponse> responses = savedTickets.stream().map(ticketMapper::toResponse).toList();
+        return new GroupTicketResponse(trip.getId(), responses.size(), totalPrice, responses);
+    }
+
+    private List<String> distinctSeats(List<String> seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isEmpty()) {
+            throw new IllegalArgumentException("At least one seat is required");
+        }
+        List<String> distinct = seatNumbers.stream().distinct().toList();
+        if (distinct.size() != seatNumbers.size()) {
+            throw new IllegalArgumentException("Duplicate seats in group request");
+        }
+        return distinct;
+    }
+
+    private Stop findStop(Long stopId, String label) {
+        return stopRepository.findById(stopId)
+                .orElseThrow(() -> new IllegalArgumentException(label + " stop not found: " + stopId));
+    }
+
+    private void validateStopSequence(Stop fromStop, Stop toStop) {
+        if (fromStop.getOrder() >= toStop.getOrder()) {
+            throw new IllegalArgumentException("Invalid stop sequence");
+        }
+    }
+
+    private BigDecimal calculateFare(Long routeId, Long fromStopId, Long toStopId) {
+        return fareMatrixCache.basePrice(routeId, fromStopId, toStopId);
+    }
+}
@@ -6,7 +6,10 @@ import com.bers.domain.entities.enums.TicketStatus;
 import com.bers.domain.entities.enums.TripStatus;
 import com.bers.domain.repositories.TicketRepository;
 import com.bers.domain.repositories.TripRepository;
-import com.bers.services.event.SeatAvailableEvent;
+import com.bers.domain.repositories.projections.NoShowCandidateProjection;
+import com.bers.services.event.SeatsReleasedEvent;
+import com.bers.services.event.SeatsReleasedEvent.ReleasedSeat;
+import com.bers.services.inventory.SegmentOccupancyEngine;
 import com.bers.services.service.ConfigService;
 import com.bers.services.service.NoShowService;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +33,9 @@ public class NoShowServiceImpl implements NoShowService {
     private final TripRepository tripRepository;
     private final ConfigService configService;
     private final ApplicationEventPublisher eventPublisher;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+
+    private static final int BATCH_SIZE = 500;
 
     @Override
     public void processNoShowTickets(Long tripId) {
@@ -53,49 +59,13 @@ public class NoShowServiceImpl implements NoShowService {
             return;
         }
 
-        // Buscar tickets vendidos que no han sido usados
-        List<Ticket> soldTickets = ticketRepository.findByTripIdAndStatus(tripId, TicketStatus.SOLD);
-
-        for (Ticket ticket : soldTickets) {
-            processNoShowTicket(ticket);
-        }
-
-        log.info("Processed {} no-show tickets for trip {}", soldTickets.size(), tripId);
-    }
-
-    private void processNoShowTicket(Ticket ticket) {
-        // Solo procesar tickets en estado SOLD
-        if (ticket.getStatus() != TicketStatus.SOLD) {
-            log.debug("Ticket {} is not SOLD, skipping NO_SHOW processing", ticket.getId());
-            return;
-        }
-
-        // Calcular el fee de NO_SHOW según precio del ticket y configuración
-        BigDecimal noShowFee = calculateNoShowFee(ticket);
-
-        // Marcar ticket como NO_SHOW
-        ticket.setStatus(TicketStatus.NO_SHOW);
-
-        // Registrar el fee cobrado (negativo porque es un cargo)
-        ticket.setRefundAmount(noShowFee.negate());
+        int marked = markNoShows(List.of(tripId));
 
-        // Guardar cambios
-        ticketRepository.save(ticket);
-
-        // Publicar evento para notificar que el asiento está disponible
-        eventPublisher.publishEvent(new SeatAvailableEvent(
-                ticket.getTrip().getId(),
-                ticket.getSeatNumber(),
-                ticket.getFromStop().getId(),
-                ticket.getToStop().getId()
-        ));
-
-        log.info("Ticket {} marked as NO_SHOW. Seat {} released for quick sale. Fee: {}",
-                ticket.getId(), ticket.getSeatNumber(), noShowFee);
+        log.info("Processed {} no-show tickets for trip {}", marked, tripId);
     }
 
     @Override
-    public void processUpcomingTripsNoShow() {
+    public int processUpcomingTripsNoShow() {
         Integer noShowWindow = configService.getConfigValueAsInt("no.show.window.minutes", 5);
         LocalDateTime checkTime = LocalDateTime.now().plusMinutes(noShowWindow);
 
@@ -105,13 +75,56 @@ public class NoShowServiceImpl implements NoShowService {
 
         log.info("Found {} trips to check for no-show", upcomingTrips.size());
 
-        for (Trip trip : upcomingTrips) {
-            try {
-                processNoShowTickets(trip.getId());
-            } catch (Exception e) {
-                log.error("Error processing no-show for trip {}: {}", trip.getId(), e.getMessage());
-            }
+        if (upcomingTrips.isEmpty()) {
+            return 0;
         }
+        int marked = markNoShows(upcomingTrips.stream().map(Trip::getId).toList());
+
+        log.info("Processed {} no-show tickets across {} trips", marked, upcomingTrips.size());
+        return marked;
+    }
+
+    /*
+      Marca como NO_SHOW los tiquetes vendidos de los viajes con un UPDATE por lote.
+      Los parámetros del cargo se leen una vez por pasada y el cargo se calcula en la misma sentencia;
+      se publica un solo SeatsReleasedEvent por viaje.
+     */
+    private int markNoShows(List<Long> tripIds) {
+        List<NoShowCandidateProjection> candidates = ticketRepository.findNoShowCandidates(tripIds);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        NoShowFee fee = loadNoShowFee();
+
+        Map<Long, List<NoShowCandidateProjection>> releasedByTrip = new LinkedHashMap<>();
+        for (int start = 0; start < candidates.size(); start += BATCH_SIZE) {
+            List<NoShowCandidateProjection> batch = candidates.subList(start, Math.min(start + BATCH_SIZE, candidates.size()));
+            List<Long> ids = batch.stream().map(NoShowCandidateProjection::ticketId).toList();
+
+            int count = ticketRepository.markNoShow(ids, fee.fixed(), fee.rate());
+
+            // Un tiquete usado o cancelado entre la lectura y el UPDATE no se libera
+            Set<Long> marked = count == ids.size()
+                    ? new HashSet<>(ids)
+                    : new HashSet<>(ticketRepository.findIdsByIdInAndStatus(ids, TicketStatus.NO_SHOW));
+            batch.stream()
+                    .filter(candidate -> marked.contains(candidate.ticketId()))
+                    .forEach(candidate -> releasedByTrip
+                            .computeIfAbsent(candidate.tripId(), id -> new ArrayList<>())
+                            .add(candidate));
+        }
+
+        releasedByTrip.forEach((tripId, released) -> {
+            segmentOccupancyEngine.ticketsReleased(tripId,
+                    released.stream().map(NoShowCandidateProjection::ticketId).toList());
+            eventPublisher.publishEvent(new SeatsReleasedEvent(tripId, released.stream()
+                    .map(candidate -> new ReleasedSeat(candidate.seatNumber(), candidate.fromStopId(),
+                            candidate.toStopId()))
+                    .toList()));
+            log.info("Trip {}: {} tickets marked as NO_SHOW, seats released for quick sale", tripId, released.size());
+        });
+
+        return releasedByTrip.values().stream().mapToInt(List::size).sum();
     }
 
 
@@ -130,7 +143,14 @@ public class NoShowServiceImpl implements NoShowService {
 
     @Override
     public BigDecimal calculateNoShowFee(Ticket ticket) {
+        BigDecimal finalFee = loadNoShowFee().apply(ticket.getPrice());
+
+        log.debug("NoShowFee calculated for ticket {} -> {}", ticket.getId(), finalFee);
 
+        return finalFee;
+    }
+
+    private NoShowFee loadNoShowFee() {
         // 1. Fee fijo
         BigDecimal fixedFee = new BigDecimal(
                 configService.getConfigValue("no.show.fee.fixed", "5000")
@@ -138,16 +158,15 @@ public class NoShowServiceImpl implements NoShowService {
 
         // 2. Porcentaje
         double percentage = configService.getConfigValueAsDouble("no.show.fee.percentage", 10.0);
-        BigDecimal percentFee = ticket.getPrice()
-                .multiply(BigDecimal.valueOf(percentage / 100.0));
-
-        // 3. Fee final = el mayor entre fijo y porcentual
-        BigDecimal finalFee = fixedFee.max(percentFee);
 
-        log.debug("NoShowFee calculated -> fixed: {}, percent: {}, final: {}",
-                fixedFee, percentFee, finalFee);
+        return new NoShowFee(fixedFee, BigDecimal.valueOf(percentage).movePointLeft(2));
+    }
 
-        return finalFee;
+    // Fee final = el mayor entre el fijo y el porcentaje del precio
+    private record NoShowFee(BigDecimal fixed, BigDecimal rate) {
+        BigDecimal apply(BigDecimal price) {
+            return fixed.max(price.multiply(rate));
+        }
     }
 
     @Override
@@ -242,7 +242,7 @@ public class OverbookingServiceImpl implements OverbookingService {
 
     @Override
     @Transactional
-    public void expirePendingRequests() {
+    public int expirePendingRequests() {
         LocalDateTime now = LocalDateTime.now();
         List<OverbookingRequest> expiredRequests = overbookingRepository.findExpiredPendingRequests(now);
 
@@ -252,6 +252,7 @@ public class OverbookingServiceImpl implements OverbookingService {
         }
 
         overbookingRepository.saveAll(expiredRequests);
+        return expiredRequests.size();
     }
 
     private OverbookingResponse mapToResponse(OverbookingRequest entity) {
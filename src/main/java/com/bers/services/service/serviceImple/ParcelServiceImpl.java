@@ -1,6 +1,7 @@
 package com.bers.services.service.serviceImple;
 
 import com.bers.api.dtos.IncidentDtos.IncidentCreateRequest;
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.ParcelDtos.ParcelCreateRequest;
 import com.bers.api.dtos.ParcelDtos.ParcelResponse;
 import com.bers.api.dtos.ParcelDtos.ParcelUpdateRequest;
@@ -13,15 +14,21 @@ import com.bers.domain.entities.enums.ParcelStatus;
 import com.bers.domain.repositories.ParcelRepository;
 import com.bers.domain.repositories.StopRepository;
 import com.bers.domain.repositories.TripRepository;
+import com.bers.domain.repositories.projections.ParcelListProjection;
 import com.bers.services.mappers.ParcelMapper;
 import com.bers.services.service.IncidentService;
 import com.bers.services.service.ParcelService;
+import com.bers.services.utils.IdCursor;
+import com.bers.services.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -88,11 +95,21 @@ public class ParcelServiceImpl implements ParcelService {
     }
 
     @Override
-    @Transactional
-    public List<ParcelResponse> getAllParcels() {
-        return parcelRepository.findAll().stream()
-                .map(parcelMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ParcelResponse> getAllParcels(Long tripId, ParcelStatus status, String cursor,
+            Integer size) {
+        Long afterId = IdCursor.decode(cursor).id();
+        Pageable limit = KeysetPage.limit(size);
+        List<ParcelListProjection> rows = parcelRepository.findPageForList(tripId, status, afterId, limit);
+        return KeysetPage.of(rows, limit, ParcelListProjection::id, parcelMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllParcels(Long tripId, ParcelStatus status, Consumer<ParcelResponse> sink) {
+        KeysetPage.exportAll(
+                (afterId, limit) -> parcelRepository.findPageForList(tripId, status, afterId, limit),
+                ParcelListProjection::id, row -> sink.accept(parcelMapper.toResponse(row)));
     }
 
     @Override
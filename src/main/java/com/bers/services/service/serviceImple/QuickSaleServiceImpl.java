@@ -3,14 +3,15 @@ package com.bers.services.service.serviceImple;
 import com.bers.api.dtos.QuickSaleDtos.AvailableQuickSaleSeatsResponse;
 import com.bers.api.dtos.QuickSaleDtos.QuickSaleRequest;
 import com.bers.api.dtos.QuickSaleDtos.QuickSaleResponse;
+import com.bers.api.dtos.SeatDtos.SeatStatusResponse;
 import com.bers.api.dtos.TicketDtos.TicketCreateRequest;
-import com.bers.domain.entities.FareRule;
 import com.bers.domain.entities.Trip;
 import com.bers.domain.entities.enums.TripStatus;
-import com.bers.domain.repositories.FareRuleRepository;
 import com.bers.domain.repositories.TicketRepository;
 import com.bers.domain.repositories.TripRepository;
 import com.bers.domain.repositories.UserRepository;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.inventory.TripSeatMapBuilder;
 import com.bers.services.service.ConfigService;
 import com.bers.services.service.NoShowService;
 import com.bers.services.service.QuickSaleService;
@@ -24,7 +25,9 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -38,7 +41,8 @@ public class QuickSaleServiceImpl implements QuickSaleService {
     private final TicketService ticketService;
     private final NoShowService noShowService;
     private final ConfigService configService;
-    private final FareRuleRepository fareRuleRepository;
+    private final FareMatrixCache fareMatrixCache;
+    private final TripSeatMapBuilder tripSeatMapBuilder;
 
     @Override
     public QuickSaleResponse createQuickSale(QuickSaleRequest request) {
@@ -124,24 +128,16 @@ public class QuickSaleServiceImpl implements QuickSaleService {
 
         long minutesUntilDeparture = Duration.between(LocalDateTime.now(), trip.getDepartureAt()).toMinutes();
 
-        // Obtener asientos disponibles de NO_SHOW
-        List<String> availableSeats = noShowService.getAvailableSeatsFromNoShow(tripId);
-
-        // También incluir asientos nunca vendidos
-        if (trip.getBus() != null) {
-            int capacity = trip.getBus().getCapacity();
-            for (int i = 1; i <= capacity; i++) {
-                String seatNumber = String.valueOf(i);
-                if (ticketService.isSeatAvailable(tripId, seatNumber)) {
-                    if (!availableSeats.contains(seatNumber)) {
-                        availableSeats.add(seatNumber);
-                    }
-                }
-            }
-        }
+        // Asientos reales del bus menos los ocupados y los que tienen hold vigente.
+        // Los asientos liberados por NO_SHOW ya no cuentan como ocupados, así que quedan incluidos.
+        List<String> availableSeats = tripSeatMapBuilder.build(tripId).stream()
+                .filter(SeatStatusResponse::available)
+                .map(SeatStatusResponse::seatNumber)
+                .collect(Collectors.toCollection(ArrayList::new));
 
         // Calcular precio de venta rápida
-        BigDecimal basePrice = new BigDecimal("50000"); // Precio default
+        // Tarifa de la ruta completa; la de por defecto solo si ninguna regla la cubre
+        BigDecimal basePrice = fareMatrixCache.matrix(trip.getRoute().getId()).fullRouteFare().basePrice();
         Double discountPercentage = configService.getConfigValueAsDouble(
                 "quick.sale.discount.percentage", 20.0);
         BigDecimal quickSalePrice = basePrice.multiply(
@@ -161,8 +157,6 @@ public class QuickSaleServiceImpl implements QuickSaleService {
     }
 
     private BigDecimal calculateOriginalPrice(Long routeId, Long fromStopId, Long toStopId) {
-        return fareRuleRepository.findFareForSegment(routeId, fromStopId, toStopId)
-                .map(FareRule::getBasePrice)
-                .orElse(new BigDecimal("50000"));
+        return fareMatrixCache.basePrice(routeId, fromStopId, toStopId);
     }
 }
@@ -1,5 +1,6 @@
 package com.bers.services.service.serviceImple;
 
+import com.bers.api.dtos.RouteDtos.PlaceSuggestionResponse;
 import com.bers.api.dtos.RouteDtos.RouteCreateRequest;
 import com.bers.api.dtos.RouteDtos.RouteResponse;
 import com.bers.api.dtos.RouteDtos.RouteUpdateRequest;
@@ -7,6 +8,12 @@ import com.bers.api.dtos.StopDtos.StopResponse;
 import com.bers.domain.entities.Route;
 import com.bers.domain.repositories.RouteRepository;
 import com.bers.domain.repositories.StopRepository;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.cache.PlaceAutocompleteIndex;
+import com.bers.services.cache.PlaceAutocompleteIndex.PlaceType;
+import com.bers.services.cache.RouteStopIndex;
+import com.bers.services.cache.StopGeoIndex;
+import com.bers.services.cache.TripSearchCache;
 import com.bers.services.mappers.RouteMapper;
 import com.bers.services.mappers.StopMapper;
 import com.bers.services.service.RouteService;
@@ -25,6 +32,11 @@ public class RouteServiceImpl implements RouteService {
     private final StopRepository stopRepository;
     private final RouteMapper routeMapper;
     private final StopMapper stopMapper;
+    private final TripSearchCache tripSearchCache;
+    private final RouteStopIndex routeStopIndex;
+    private final PlaceAutocompleteIndex placeAutocompleteIndex;
+    private final StopGeoIndex stopGeoIndex;
+    private final FareMatrixCache fareMatrixCache;
 
     @Override
     public RouteResponse createRoute(RouteCreateRequest request) {
@@ -34,6 +46,7 @@ public class RouteServiceImpl implements RouteService {
 
         Route route = routeMapper.toEntity(request);
         Route savedRoute = routeRepository.save(route);
+        placeAutocompleteIndex.routeSaved(savedRoute);
         return routeMapper.toResponse(savedRoute);
     }
 
@@ -44,6 +57,9 @@ public class RouteServiceImpl implements RouteService {
 
         routeMapper.updateEntity(request, route);
         Route updatedRoute = routeRepository.save(route);
+        tripSearchCache.evictRoute(updatedRoute);
+        placeAutocompleteIndex.routeSaved(updatedRoute);
+        stopGeoIndex.routeSaved(updatedRoute);
         return routeMapper.toResponse(updatedRoute);
     }
 
@@ -81,12 +97,28 @@ public class RouteServiceImpl implements RouteService {
 
     @Override
     public List<String> getAllOrigins() {
-        return routeRepository.getAllOrigins();
+        return placeAutocompleteIndex.names(PlaceType.ORIGIN);
     }
 
     @Override
     public List<String> filterDestinationsByOrigin(String origin) {
-        return routeRepository.getDestinationsByOrigin(origin);
+        return placeAutocompleteIndex.destinationsFrom(origin);
+    }
+
+    @Override
+    public List<PlaceSuggestionResponse> autocompletePlaces(String term, String type, Integer limit) {
+        PlaceType placeType = null;
+        if (type != null && !type.isBlank()) {
+            try {
+                placeType = PlaceType.valueOf(type.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid place type: " + type);
+            }
+        }
+        int size = limit != null ? Math.min(Math.max(limit, 1), 50) : 10;
+        return placeAutocompleteIndex.suggest(term, placeType, size).stream()
+                .map(s -> new PlaceSuggestionResponse(s.name(), s.type().name(), s.count()))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -123,6 +155,11 @@ public class RouteServiceImpl implements RouteService {
             throw new IllegalArgumentException("Route not found: " + id);
         }
         routeRepository.deleteById(id);
+        tripSearchCache.evictRouteId(id);
+        routeStopIndex.refresh();
+        placeAutocompleteIndex.routeDeleted(id);
+        stopGeoIndex.routeDeleted(id);
+        fareMatrixCache.evictRoute(id);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.bers.services.service.serviceImple;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldCreateRequest;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldResponse;
 import com.bers.api.dtos.SeatHoldDtos.SeatHoldUpdateRequest;
@@ -12,15 +13,28 @@ import com.bers.domain.repositories.SeatHoldRepository;
 import com.bers.domain.repositories.StopRepository;
 import com.bers.domain.repositories.TripRepository;
 import com.bers.domain.repositories.UserRepository;
+import com.bers.domain.repositories.projections.SeatHoldListProjection;
+import com.bers.services.event.SeatHoldCreatedEvent;
+import com.bers.services.inventory.SeatHoldExpiryQueue;
+import com.bers.services.inventory.SeatHoldLocks;
+import com.bers.services.inventory.SegmentOccupancyEngine;
 import com.bers.services.mappers.SeatHoldMapper;
 import com.bers.services.service.SeatHoldService;
+import com.bers.services.service.SegmentValidationService;
+import com.bers.services.utils.IdCursor;
+import com.bers.services.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,6 +48,11 @@ public class SeatHoldServiceImpl implements SeatHoldService {
     private final UserRepository userRepository;
     private final StopRepository stopRepository;
     private final SeatHoldMapper seatHoldMapper;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+    private final SegmentValidationService segmentValidationService;
+    private final SeatHoldLocks seatHoldLocks;
+    private final SeatHoldExpiryQueue seatHoldExpiryQueue;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public SeatHoldResponse createSeatHold(SeatHoldCreateRequest request, Long userId) {
@@ -49,10 +68,24 @@ public class SeatHoldServiceImpl implements SeatHoldService {
         Stop toStop = stopRepository.findById(request.toStopId())
                 .orElseThrow(() -> new IllegalArgumentException("To stop not found: " + request.toStopId()));
 
+        // Descarte rápido en memoria, sin tocar la BD ni competir por el lock
+        if (!segmentOccupancyEngine.isSeatFreeForSegment(
+                trip.getId(), request.seatNumber(), fromStop.getOrder(), toStop.getOrder())) {
+            throw new IllegalArgumentException(
+                    "Seat " + request.seatNumber() + " is already held or sold for this segment");
+        }
+
+        // Solo compiten las peticiones sobre el mismo (viaje, asiento); el lock dura hasta el commit
+        seatHoldLocks.lockUntilCompletion(trip.getId(), request.seatNumber());
+        seatHoldRepository.expireStaleHoldsForSeat(trip.getId(), request.seatNumber(), LocalDateTime.now());
+
         if (isSeatHeld(request.tripId(), request.seatNumber())) {
             log.debug("Its not possible to create a hold for the seat {} in the trip {}", request.seatNumber(), trip.getId());
             throw new IllegalArgumentException("Seat " + request.seatNumber() + " is already held");
         }
+        // La instantánea puede no ver aún una venta hecha en otro nodo
+        segmentValidationService.validateSegment(
+                trip.getId(), request.seatNumber(), fromStop.getOrder(), toStop.getOrder());
 
         SeatHold seatHold = seatHoldMapper.toEntity(request);
         seatHold.setTrip(trip);
@@ -62,7 +95,17 @@ public class SeatHoldServiceImpl implements SeatHoldService {
         seatHold.setExpiresAt(LocalDateTime.now().plusMinutes(HOLD_DURATION_MINUTES));
         seatHold.setStatus(HoldStatus.HOLD);
 
-        SeatHold savedHold = seatHoldRepository.save(seatHold);
+        SeatHold savedHold;
+        try {
+            // El índice único parcial arbitra contra holds creados desde otros nodos
+            savedHold = seatHoldRepository.saveAndFlush(seatHold);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Seat " + request.seatNumber() + " is already held");
+        }
+        segmentOccupancyEngine.holdChanged(savedHold);
+        seatHoldExpiryQueue.schedule(savedHold);
+        eventPublisher.publishEvent(new SeatHoldCreatedEvent(savedHold.getId(), trip.getId(), userId,
+                savedHold.getSeatNumber(), fromStop.getId(), toStop.getId(), savedHold.getExpiresAt()));
         return seatHoldMapper.toResponse(savedHold);
     }
 
@@ -71,8 +114,15 @@ public class SeatHoldServiceImpl implements SeatHoldService {
         SeatHold seatHold = seatHoldRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("SeatHold not found: " + id));
 
+        // Reactivar un hold lo dejaría fuera de la cola de expiración y del control de solapamiento
+        if (request.status() == HoldStatus.HOLD && seatHold.getStatus() != HoldStatus.HOLD) {
+            throw new IllegalArgumentException(
+                    "Cannot reactivate a hold in status " + seatHold.getStatus() + ", create a new hold instead");
+        }
+
         seatHoldMapper.updateEntity(request, seatHold);
         SeatHold updatedHold = seatHoldRepository.save(seatHold);
+        segmentOccupancyEngine.holdChanged(updatedHold);
         return seatHoldMapper.toResponse(updatedHold);
     }
 
@@ -85,11 +135,21 @@ public class SeatHoldServiceImpl implements SeatHoldService {
     }
 
     @Override
-    @Transactional
-    public List<SeatHoldResponse> getAllSeatHolds() {
-        return seatHoldRepository.findAll().stream()
-                .map(seatHoldMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<SeatHoldResponse> getAllSeatHolds(Long tripId, Long userId, HoldStatus status,
+            String cursor, Integer size) {
+        Long afterId = IdCursor.decode(cursor).id();
+        Pageable limit = KeysetPage.limit(size);
+        List<SeatHoldListProjection> rows = seatHoldRepository.findPageForList(tripId, userId, status, afterId, limit);
+        return KeysetPage.of(rows, limit, SeatHoldListProjection::id, seatHoldMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllSeatHolds(Long tripId, Long userId, HoldStatus status, Consumer<SeatHoldResponse> sink) {
+        KeysetPage.exportAll(
+                (afterId, limit) -> seatHoldRepository.findPageForList(tripId, userId, status, afterId, limit),
+                SeatHoldListProjection::id, row -> sink.accept(seatHoldMapper.toResponse(row)));
     }
 
     @Override
@@ -98,7 +158,7 @@ public class SeatHoldServiceImpl implements SeatHoldService {
         if (!tripRepository.existsById(tripId)) {
             throw new IllegalArgumentException("Trip not found: " + tripId);
         }
-        return seatHoldRepository.findByTripIdAndStatus(tripId, HoldStatus.HOLD).stream()
+        return seatHoldRepository.findForListByTripIdAndStatus(tripId, HoldStatus.HOLD).stream()
                 .map(seatHoldMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -109,7 +169,7 @@ public class SeatHoldServiceImpl implements SeatHoldService {
         if (!userRepository.existsById(userId)) {
             throw new IllegalArgumentException("User not found: " + userId);
         }
-        return seatHoldRepository.findByUserIdAndStatus(userId, HoldStatus.HOLD).stream()
+        return seatHoldRepository.findForListByUserIdAndStatus(userId, HoldStatus.HOLD).stream()
                 .map(seatHoldMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -120,17 +180,17 @@ public class SeatHoldServiceImpl implements SeatHoldService {
         if (!tripRepository.existsById(tripId)) {
             throw new IllegalArgumentException("Trip not found: " + tripId);
         }
-        return seatHoldRepository.findByTripIdAndStatus(tripId, HoldStatus.HOLD).stream()
+        return seatHoldRepository.findForListByTripIdAndStatus(tripId, HoldStatus.HOLD).stream()
                 .map(seatHoldMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public void deleteSeatHold(Long id) {
-        if (!seatHoldRepository.existsById(id)) {
-            throw new IllegalArgumentException("SeatHold not found: " + id);
-        }
-        seatHoldRepository.deleteById(id);
+        SeatHold seatHold = seatHoldRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("SeatHold not found: " + id));
+        seatHoldRepository.delete(seatHold);
+        segmentOccupancyEngine.holdRemoved(seatHold);
     }
 
     @Override
@@ -162,6 +222,7 @@ public class SeatHoldServiceImpl implements SeatHoldService {
 
         seatHold.setStatus(HoldStatus.EXPIRED);
         seatHoldRepository.save(seatHold);
+        segmentOccupancyEngine.holdChanged(seatHold);
     }
 
     @Override
@@ -176,5 +237,6 @@ public class SeatHoldServiceImpl implements SeatHoldService {
         seatHold.setStatus(HoldStatus.CONVERTED);
         seatHold.setExpiresAt(LocalDateTime.now());
         seatHoldRepository.save(seatHold);
+        segmentOccupancyEngine.holdChanged(seatHold);
     }
 }
@@ -1,20 +1,28 @@
 package com.bers.services.service.serviceImple;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.SeatDtos.*;
 import com.bers.domain.entities.*;
 import com.bers.domain.entities.enums.SeatType;
 import com.bers.domain.entities.enums.TicketStatus;
 import com.bers.domain.repositories.*;
+import com.bers.domain.repositories.projections.SeatListProjection;
+import com.bers.services.inventory.TripSeatMapBuilder;
 import com.bers.services.mappers.SeatMapper;
 import com.bers.services.service.SeatService;
 import com.bers.services.service.SegmentValidationService;
+import com.bers.services.utils.IdCursor;
+import com.bers.services.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +38,7 @@ public class SeatServiceImpl implements SeatService {
     private final SegmentValidationService segmentValidationService;
     private final StopRepository stopRepository;
     private final TicketRepository ticketRepository;
+    private final TripSeatMapBuilder tripSeatMapBuilder;
 
     @Override
     public SeatResponse createSeat(SeatCreateRequest request) {
@@ -78,11 +87,20 @@ public class SeatServiceImpl implements SeatService {
     }
 
     @Override
-    @Transactional
-    public List<SeatResponse> getAllSeats() {
-        return seatRepository.findAll().stream()
-                .map(seatMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<SeatResponse> getAllSeats(Long busId, SeatType type, String cursor, Integer size) {
+        Long afterId = IdCursor.decode(cursor).id();
+        Pageable limit = KeysetPage.limit(size);
+        List<SeatListProjection> rows = seatRepository.findPageForList(busId, type, afterId, limit);
+        return KeysetPage.of(rows, limit, SeatListProjection::id, seatMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllSeats(Long busId, SeatType type, Consumer<SeatResponse> sink) {
+        KeysetPage.exportAll(
+                (afterId, limit) -> seatRepository.findPageForList(busId, type, afterId, limit),
+                SeatListProjection::id, row -> sink.accept(seatMapper.toResponse(row)));
     }
 
     @Override
@@ -108,13 +126,9 @@ public class SeatServiceImpl implements SeatService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<SeatStatusResponse> getAllTripSeatsClassified(Long tripId) {
-        Trip trip = tripRepository.findById(tripId)
-                .orElseThrow(() -> new IllegalArgumentException("Trip not found"));
-
-        return tripRepository.findSeatsByTripId(tripId).stream()
-                .map(seat -> seatMapper.toStatusResponse(seat, tripId, seatHoldRepository))
-                .collect(Collectors.toList());
+        return tripSeatMapBuilder.build(tripId);
     }
 
     @Override
@@ -176,20 +190,8 @@ public class SeatServiceImpl implements SeatService {
                 .collect(Collectors.toSet());
 
         // Clasificar todos los asientos con los tres estados
-        List<SeatStatusResponse> seatStatuses = allSeats.stream()
-                .map(seat -> {
-                    boolean isOccupied = occupiedSeatNumbers.contains(seat.getNumber());
-                    boolean isHeld = !isOccupied && heldSeatNumbers.contains(seat.getNumber());
-                    boolean available = !isOccupied && !isHeld;
-                    return new SeatStatusResponse(
-                            seat.getId(),
-                            seat.getNumber(),
-                            isOccupied,
-                            isHeld,
-                            available
-                    );
-                })
-                .collect(Collectors.toList());
+        List<SeatStatusResponse> seatStatuses =
+                TripSeatMapBuilder.classify(allSeats, occupiedSeatNumbers, heldSeatNumbers);
 
         // Obtener información del segmento
         Stop fromStop = stopRepository.findById(fromStopId)
@@ -3,13 +3,18 @@ package com.bers.services.service.serviceImple;
 import com.bers.domain.entities.Ticket;
 import com.bers.domain.entities.enums.TicketStatus;
 import com.bers.domain.repositories.TicketRepository;
+import com.bers.services.inventory.SegmentOccupancyEngine;
 import com.bers.services.service.SegmentValidationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio de validación de segmentos.
@@ -21,17 +26,21 @@ import java.util.List;
 public class SegmentValidationServiceImpl implements SegmentValidationService {
 
     private final TicketRepository ticketRepository;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
 
+    /**
+     * La ocupación en memoria descarta rápido los asientos ocupados; como puede ir por detrás
+     * de las ventas hechas en otros nodos, un asiento que parece libre se confirma contra los
+     * tickets SOLD/PENDING_PAYMENT de la BD.
+     */
     @Override
     public boolean isSeatAvailableForSegment(Long tripId, String seatNumber, Integer fromStopOrder, Integer toStopOrder) {
-        List<Ticket> existingTickets = ticketRepository.findByTripIdAndSeatNumber(tripId, seatNumber);
-
-        for (Ticket existingTicket : existingTickets) {
-            if (isSegmentOverlap(existingTicket, fromStopOrder, toStopOrder)) {
-                log.debug("[SegmentValidation] Overlap found for seat {} between stops {}→{}",
-                        seatNumber, fromStopOrder, toStopOrder);
-                return false;
-            }
+        if (!segmentOccupancyEngine.isSeatAvailableForSegment(tripId, seatNumber, fromStopOrder, toStopOrder)
+                || !ticketRepository.findSeatNumbersWithOverlappingTickets(
+                        tripId, List.of(seatNumber), fromStopOrder, toStopOrder).isEmpty()) {
+            log.debug("[SegmentValidation] Overlap found for seat {} between stops {}→{}",
+                    seatNumber, fromStopOrder, toStopOrder);
+            return false;
         }
         return true;
     }
@@ -53,6 +62,24 @@ public class SegmentValidationServiceImpl implements SegmentValidationService {
         }
     }
 
+    @Override
+    public void validateSegmentForSeats(Long tripId, Collection<String> seatNumbers,
+                                        Integer fromStopOrder, Integer toStopOrder) {
+        Set<String> unavailableSeats = seatNumbers.stream()
+                .filter(seat -> !segmentOccupancyEngine.isSeatAvailableForSegment(
+                        tripId, seat, fromStopOrder, toStopOrder))
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (unavailableSeats.isEmpty()) {
+            unavailableSeats.addAll(ticketRepository.findSeatNumbersWithOverlappingTickets(
+                    tripId, seatNumbers, fromStopOrder, toStopOrder));
+        }
+        if (!unavailableSeats.isEmpty()) {
+            throw new IllegalArgumentException(
+                    String.format("Los asientos %s no están disponibles para el tramo %d→%d. Hay solapamiento con otro ticket.",
+                            unavailableSeats, fromStopOrder, toStopOrder));
+        }
+    }
+
     /**
      * Liberación parcial del asiento:
      * - Busca los tickets activos que llegan a o antes de la parada actual.
@@ -72,6 +99,7 @@ public class SegmentValidationServiceImpl implements SegmentValidationService {
                 if (passengerExitOrder.equals(stopOrder)) {
                     ticket.setStatus(TicketStatus.USED);
                     ticketRepository.save(ticket);
+                    segmentOccupancyEngine.ticketChanged(ticket);
 
                     log.info("[SegmentValidation] Seat {} released at stop {} (ticket {})",
                             seatNumber, stopOrder, ticket.getId());
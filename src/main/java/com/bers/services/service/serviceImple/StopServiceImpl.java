@@ -1,5 +1,7 @@
 package com.bers.services.service.serviceImple;
 
+import com.bers.api.dtos.StopDtos.NearbyStopResponse;
+import com.bers.api.dtos.StopDtos.NearbyStopRouteResponse;
 import com.bers.api.dtos.StopDtos.StopCreateRequest;
 import com.bers.api.dtos.StopDtos.StopResponse;
 import com.bers.api.dtos.StopDtos.StopUpdateRequest;
@@ -7,6 +9,10 @@ import com.bers.domain.entities.Route;
 import com.bers.domain.entities.Stop;
 import com.bers.domain.repositories.RouteRepository;
 import com.bers.domain.repositories.StopRepository;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.cache.PlaceAutocompleteIndex;
+import com.bers.services.cache.RouteStopIndex;
+import com.bers.services.cache.StopGeoIndex;
 import com.bers.services.mappers.StopMapper;
 import com.bers.services.service.StopService;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +29,15 @@ public class StopServiceImpl implements StopService {
     private final StopRepository stopRepository;
     private final RouteRepository routeRepository;
     private final StopMapper stopMapper;
+    private final RouteStopIndex routeStopIndex;
+    private final PlaceAutocompleteIndex placeAutocompleteIndex;
+    private final StopGeoIndex stopGeoIndex;
+    private final FareMatrixCache fareMatrixCache;
+
+    private static final int DEFAULT_NEARBY_LIMIT = 5;
+    private static final int MAX_NEARBY_LIMIT = 20;
+    private static final double DEFAULT_NEARBY_RADIUS_KM = 25;
+    private static final double MAX_NEARBY_RADIUS_KM = 100;
 
     @Override
     public StopResponse createStop(StopCreateRequest request) {
@@ -35,6 +50,10 @@ public class StopServiceImpl implements StopService {
         stop.setRoute(route);
 
         Stop savedStop = stopRepository.save(stop);
+        routeStopIndex.refresh();
+        placeAutocompleteIndex.stopSaved(savedStop);
+        stopGeoIndex.stopSaved(savedStop);
+        fareMatrixCache.evictRoute(route.getId());
         return stopMapper.toResponse(savedStop);
     }
 
@@ -49,6 +68,10 @@ public class StopServiceImpl implements StopService {
 
         stopMapper.updateEntity(request, stop);
         Stop updatedStop = stopRepository.save(stop);
+        routeStopIndex.refresh();
+        placeAutocompleteIndex.stopSaved(updatedStop);
+        stopGeoIndex.stopSaved(updatedStop);
+        fareMatrixCache.evictRoute(updatedStop.getRoute().getId());
         return stopMapper.toResponse(updatedStop);
     }
 
@@ -104,12 +127,44 @@ public class StopServiceImpl implements StopService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyStopResponse> findNearbyStops(double lat, double lng, Integer limit, Double radiusKm) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        int size = limit != null ? limit : DEFAULT_NEARBY_LIMIT;
+        if (size < 1 || size > MAX_NEARBY_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_NEARBY_LIMIT);
+        }
+        double radius = radiusKm != null ? radiusKm : DEFAULT_NEARBY_RADIUS_KM;
+        if (radius <= 0 || radius > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0 and at most " + MAX_NEARBY_RADIUS_KM);
+        }
+
+        return stopGeoIndex.nearest(lat, lng, size, radius * 1000).stream()
+                .map(place -> new NearbyStopResponse(
+                        place.name(),
+                        place.lat(),
+                        place.lng(),
+                        (int) Math.round(place.distanceMeters()),
+                        place.stops().stream()
+                                .map(stop -> new NearbyStopRouteResponse(stop.routeId(), stop.routeCode(),
+                                        stop.routeName(), stop.stopId(), stop.order()))
+                                .toList()))
+                .toList();
+    }
+
     @Override
     public void deleteStop(Long id) {
         if (!stopRepository.existsById(id)) {
             throw new IllegalArgumentException("Stop not found: " + id);
         }
         stopRepository.deleteById(id);
+        routeStopIndex.refresh();
+        placeAutocompleteIndex.stopDeleted(id);
+        stopGeoIndex.stopDeleted(id);
+        fareMatrixCache.evictAll();
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.bers.services.service.serviceImple;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.TicketDtos.TicketCreateRequest;
 import com.bers.api.dtos.TicketDtos.TicketPaymentConfirmRequest;
 import com.bers.api.dtos.TicketDtos.TicketResponse;
@@ -10,20 +11,32 @@ import com.bers.domain.entities.enums.HoldStatus;
 import com.bers.domain.entities.enums.PassengerType;
 import com.bers.domain.entities.enums.TicketStatus;
 import com.bers.domain.repositories.*;
+import com.bers.domain.repositories.projections.TicketListProjection;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.event.SeatAvailableEvent;
+import com.bers.services.event.TicketSoldEvent;
+import com.bers.services.inventory.SeatHoldLocks;
+import com.bers.services.inventory.SegmentOccupancyEngine;
 import com.bers.services.mappers.TicketMapper;
 import com.bers.services.service.CancellationService;
 import com.bers.services.service.DiscountService;
 import com.bers.services.service.SegmentValidationService;
 import com.bers.services.service.TicketService;
+import com.bers.services.utils.IdCursor;
+import com.bers.services.utils.KeysetPage;
 import com.bers.services.utils.QRCodeGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,12 +49,15 @@ public class TicketServiceImpl implements TicketService {
     private final TripRepository tripRepository;
     private final UserRepository userRepository;
     private final StopRepository stopRepository;
-    private final FareRuleRepository fareRuleRepository;
+    private final FareMatrixCache fareMatrixCache;
     private final SeatHoldRepository seatHoldRepository;
     private final TicketMapper ticketMapper;
     private final SegmentValidationService segmentValidationService;
     private final DiscountService discountService;
     private final CancellationService cancellationService;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+    private final SeatHoldLocks seatHoldLocks;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public TicketResponse createTicket(TicketCreateRequest request) {
@@ -63,7 +79,8 @@ public class TicketServiceImpl implements TicketService {
             throw new IllegalArgumentException("Invalid stop sequence");
         }
 
-        //  Validar segmento
+        //  Validar segmento con el asiento bloqueado hasta el commit
+        seatHoldLocks.lockUntilCompletion(trip.getId(), request.seatNumber());
         segmentValidationService.validateSegment(
                 trip.getId(), request.seatNumber(), fromStop.getOrder(), toStop.getOrder()
         );
@@ -81,6 +98,7 @@ public class TicketServiceImpl implements TicketService {
         //  Convertir hold a ticket
         seatHold.setStatus(HoldStatus.CONVERTED);
         seatHoldRepository.save(seatHold);
+        segmentOccupancyEngine.holdChanged(seatHold);
 
         //  Calcular precio
         BigDecimal basePrice = calculateFare(trip.getRoute().getId(), request.fromStopId(), request.toStopId());
@@ -107,6 +125,7 @@ public class TicketServiceImpl implements TicketService {
         ticket.setCancellationPolicy(cancellationPolicy);
 
         Ticket savedTicket = ticketRepository.save(ticket);
+        segmentOccupancyEngine.ticketChanged(savedTicket);
 
         //  Log detallado
         log.info("""
@@ -143,6 +162,9 @@ public class TicketServiceImpl implements TicketService {
 
         // Guardar ticket confirmado
         Ticket confirmedTicket = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(new TicketSoldEvent(confirmedTicket.getId(), confirmedTicket.getTrip().getId(),
+                confirmedTicket.getPassenger().getId(), confirmedTicket.getSeatNumber(), confirmedTicket.getPrice(),
+                LocalDateTime.now()));
 
         log.info("""
                          Pago confirmado para ticket:
@@ -166,6 +188,7 @@ public class TicketServiceImpl implements TicketService {
 
         ticketMapper.updateEntity(request, ticket);
         Ticket updatedTicket = ticketRepository.save(ticket);
+        segmentOccupancyEngine.ticketChanged(updatedTicket);
         return ticketMapper.toResponse(updatedTicket);
     }
 
@@ -194,11 +217,21 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    @Transactional
-    public List<TicketResponse> getAllTickets() {
-        return ticketRepository.findAll().stream()
-                .map(ticketMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TicketResponse> getAllTickets(Long tripId, Long passengerId, TicketStatus status,
+            String cursor, Integer size) {
+        Long afterId = IdCursor.decode(cursor).id();
+        Pageable limit = KeysetPage.limit(size);
+        List<TicketListProjection> rows = ticketRepository.findPageForList(tripId, passengerId, status, afterId, limit);
+        return KeysetPage.of(rows, limit, TicketListProjection::id, ticketMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAllTickets(Long tripId, Long passengerId, TicketStatus status, Consumer<TicketResponse> sink) {
+        KeysetPage.exportAll(
+                (afterId, limit) -> ticketRepository.findPageForList(tripId, passengerId, status, afterId, limit),
+                TicketListProjection::id, row -> sink.accept(ticketMapper.toResponse(row)));
     }
 
     @Override
@@ -207,7 +240,7 @@ public class TicketServiceImpl implements TicketService {
         if (!tripRepository.existsById(tripId)) {
             throw new IllegalArgumentException("Trip not found: " + tripId);
         }
-        return ticketRepository.findByTripIdAndStatus(tripId, TicketStatus.SOLD).stream()
+        return ticketRepository.findForListByTripIdAndStatus(tripId, TicketStatus.SOLD).stream()
                 .map(ticketMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -218,7 +251,7 @@ public class TicketServiceImpl implements TicketService {
         if (!userRepository.existsById(passengerId)) {
             throw new IllegalArgumentException("Passenger not found: " + passengerId);
         }
-        return ticketRepository.findByPassengerIdWithDetails(passengerId).stream()
+        return ticketRepository.findForListByPassengerId(passengerId).stream()
                 .map(ticketMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -229,17 +262,17 @@ public class TicketServiceImpl implements TicketService {
         if (!tripRepository.existsById(tripId)) {
             throw new IllegalArgumentException("Trip not found: " + tripId);
         }
-        return ticketRepository.findByTripIdAndStatus(tripId, status).stream()
+        return ticketRepository.findForListByTripIdAndStatus(tripId, status).stream()
                 .map(ticketMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public void deleteTicket(Long id) {
-        if (!ticketRepository.existsById(id)) {
-            throw new IllegalArgumentException("Ticket not found: " + id);
-        }
-        ticketRepository.deleteById(id);
+        Ticket ticket = ticketRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Ticket not found: " + id));
+        ticketRepository.delete(ticket);
+        segmentOccupancyEngine.ticketRemoved(ticket);
     }
 
     @Override
@@ -256,6 +289,7 @@ public class TicketServiceImpl implements TicketService {
             ticket.setCancellationPolicy(CancellationPolicy.FULL_REFUND);
 
             Ticket updatedTicket = ticketRepository.save(ticket);
+            segmentOccupancyEngine.ticketChanged(updatedTicket);
 
             log.info("""
                              Ticket pendiente cancelado exitosamente:
@@ -285,6 +319,9 @@ public class TicketServiceImpl implements TicketService {
         ticket.setCancellationPolicy(policy);
 
         Ticket updatedTicket = ticketRepository.save(ticket);
+        segmentOccupancyEngine.ticketChanged(updatedTicket);
+        eventPublisher.publishEvent(new SeatAvailableEvent(ticket.getTrip().getId(), ticket.getSeatNumber(),
+                ticket.getFromStop().getId(), ticket.getToStop().getId()));
 
         if (refundAmount.compareTo(BigDecimal.ZERO) > 0) {
             processRefund(ticket.getPassenger().getId(), refundAmount, ticket.getId());
@@ -313,6 +350,7 @@ public class TicketServiceImpl implements TicketService {
 
         ticket.setStatus(TicketStatus.NO_SHOW);
         Ticket updatedTicket = ticketRepository.save(ticket);
+        segmentOccupancyEngine.ticketChanged(updatedTicket);
         return ticketMapper.toResponse(updatedTicket);
     }
 
@@ -327,6 +365,7 @@ public class TicketServiceImpl implements TicketService {
 
         ticket.setStatus(TicketStatus.USED);
         Ticket updatedTicket = ticketRepository.save(ticket);
+        segmentOccupancyEngine.ticketChanged(updatedTicket);
         return ticketMapper.toResponse(updatedTicket);
     }
 
@@ -350,9 +389,7 @@ public class TicketServiceImpl implements TicketService {
     }
 
     private BigDecimal calculateFare(Long routeId, Long fromStopId, Long toStopId) {
-        return fareRuleRepository.findFareForSegment(routeId, fromStopId, toStopId)
-                .map(FareRule::getBasePrice)
-                .orElse(new BigDecimal("50000")); // Precio por defecto
+        return fareMatrixCache.basePrice(routeId, fromStopId, toStopId);
     }
 
     private void processRefund(Long passengerId, BigDecimal amount, Long ticketId) {
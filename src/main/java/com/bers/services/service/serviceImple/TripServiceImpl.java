@@ -1,7 +1,9 @@
 package com.bers.services.service.serviceImple;
 
 import com.bers.api.dtos.TripDtos.TripCreateRequest;
+import com.bers.api.dtos.TripDtos.TripPageResponse;
 import com.bers.api.dtos.TripDtos.TripResponse;
+import com.bers.api.dtos.TripDtos.TripStopSearchResponse;
 import com.bers.api.dtos.TripDtos.TripUpdateRequest;
 import com.bers.domain.entities.Bus;
 import com.bers.domain.entities.Route;
@@ -10,15 +12,27 @@ import com.bers.domain.entities.enums.TripStatus;
 import com.bers.domain.repositories.BusRepository;
 import com.bers.domain.repositories.RouteRepository;
 import com.bers.domain.repositories.TripRepository;
+import com.bers.services.cache.DayTimetableCache;
+import com.bers.services.cache.RouteStopIndex;
+import com.bers.services.cache.RouteStopIndex.RouteSegment;
+import com.bers.services.cache.TripSearchCache;
+import com.bers.services.event.TripStatusChangedEvent;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.inventory.TripSeatOccupancy;
 import com.bers.services.mappers.TripMapper;
 import com.bers.services.service.TripService;
+import com.bers.services.utils.TripCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -31,6 +45,14 @@ public class TripServiceImpl implements TripService {
     private final RouteRepository routeRepository;
     private final BusRepository busRepository;
     private final TripMapper tripMapper;
+    private final SegmentOccupancyEngine segmentOccupancyEngine;
+    private final TripSearchCache tripSearchCache;
+    private final RouteStopIndex routeStopIndex;
+    private final DayTimetableCache dayTimetableCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Override
     public TripResponse createTrip(TripCreateRequest request) {
@@ -53,6 +75,8 @@ public class TripServiceImpl implements TripService {
         trip.setBus(bus.get());
 
         Trip savedTrip = tripRepository.save(trip);
+        tripSearchCache.evictTrip(savedTrip);
+        dayTimetableCache.evictDate(savedTrip.getDate());
         return tripMapper.toResponse(savedTrip);
     }
 
@@ -73,6 +97,8 @@ public class TripServiceImpl implements TripService {
 
         tripMapper.updateEntity(request, trip);
         Trip updatedTrip = tripRepository.save(trip);
+        tripSearchCache.evictTrip(updatedTrip);
+        dayTimetableCache.evictDate(updatedTrip.getDate());
         return tripMapper.toResponse(updatedTrip);
     }
 
@@ -93,11 +119,9 @@ public class TripServiceImpl implements TripService {
     }
 
     @Override
-    @Transactional
-    public List<TripResponse> getAllTrips() {
-        return tripRepository.findAll().stream()
-                .map(tripMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TripPageResponse getAllTrips(String cursor, Integer size) {
+        return findPage(null, null, null, cursor, size);
     }
 
     @Override
@@ -132,18 +156,34 @@ public class TripServiceImpl implements TripService {
 
 
     @Override
-    @Transactional
-    public List<TripResponse> searchTrips(Long routeId, LocalDate date, TripStatus status) {
-        if (routeId != null && date != null && status != null) {
-            return getTripsByRouteAndDateAndStatus(routeId, date, status);
-        } else if (routeId != null && date != null) {
-            return getTripsByRouteAndDate(routeId, date);
-        } else if (date != null && status != null) {
-            return getTripsByDateAndStatus(date, status);
-        } else if (date != null) {  // ← NUEVA CONDICIÓN AGREGADA
-            return getTripsByDate(date);
+    @Transactional(readOnly = true)
+    public TripPageResponse searchTrips(Long routeId, LocalDate date, TripStatus status, String cursor, Integer size) {
+        if (routeId != null && !routeRepository.existsById(routeId)) {
+            throw new IllegalArgumentException("Route not found: " + routeId);
+        }
+        return findPage(routeId, date, status, cursor, size);
+    }
+
+    // Paginación por cursor: cada página busca desde la última posición vista, sin OFFSET,
+    // así el costo no crece con la profundidad. Se pide un viaje de más para saber si hay otra página.
+    private TripPageResponse findPage(Long routeId, LocalDate date, TripStatus status, String cursor, Integer size) {
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        TripCursor after = TripCursor.decode(cursor);
+
+        List<Trip> trips = tripRepository.findPageAfter(routeId, date, status,
+                after.departureAt(), after.id(), PageRequest.of(0, pageSize + 1));
+        boolean hasMore = trips.size() > pageSize;
+        List<Trip> page = hasMore ? trips.subList(0, pageSize) : trips;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Trip last = page.get(page.size() - 1);
+            nextCursor = new TripCursor(last.getDepartureAt(), last.getId()).encode();
         }
-        return getAllTrips();
+        return new TripPageResponse(page.stream().map(tripMapper::toResponse).toList(), nextCursor);
     }
 
 
@@ -164,14 +204,14 @@ public class TripServiceImpl implements TripService {
             throw new IllegalArgumentException("Trip not found: " + id);
         }
         tripRepository.deleteById(id);
+        tripSearchCache.evictTripId(id);
+        dayTimetableCache.evictAll();
     }
 
     @Override
-    @Transactional
-    public List<TripResponse> getTripsByDate(LocalDate date) {
-        return tripRepository.findByDate(date).stream()
-                .map(tripMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TripPageResponse getTripsByDate(LocalDate date, String cursor, Integer size) {
+        return findPage(null, date, null, cursor, size);
     }
 
     @Override
@@ -188,13 +228,68 @@ public class TripServiceImpl implements TripService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Incluye los asientos libres de cada viaje, tomados de los contadores en memoria
+     * para evitar que el cliente pida el mapa de asientos de cada resultado.
+     * La lista de viajes sale de la caché de búsqueda; la disponibilidad se calcula siempre al momento.
+     */
     @Override
+    @Transactional(readOnly = true)
     public List<TripResponse> filterTripByOriginAndDestination(String origin, String destination, LocalDate date) {
         if (date.isBefore(LocalDate.now())) {
             throw new IllegalArgumentException("Date must be at least today");
         }
-        return tripRepository.searchTrips(origin, destination, date).stream()
-                .map(tripMapper::toResponse).collect(Collectors.toList());
+        String normalizedOrigin = TripSearchCache.normalize(origin);
+        String normalizedDestination = TripSearchCache.normalize(destination);
+        List<TripResponse> trips = tripSearchCache.get(normalizedOrigin, normalizedDestination, date,
+                () -> tripRepository.searchTrips(normalizedOrigin, normalizedDestination, date).stream()
+                        .map(tripMapper::toResponse)
+                        .toList());
+        Map<Long, TripSeatOccupancy> occupancies = segmentOccupancyEngine.snapshots(
+                trips.stream().map(TripResponse::id).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        return trips.stream()
+                .map(trip -> trip.withAvailableSeats(availableSeats(trip.capacity(), occupancies.get(trip.id()), now)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Viajes que pasan por la parada {@code fromStop} antes que por {@code toStop}, incluidas paradas intermedias.
+     * Las rutas se resuelven con el índice de paradas en memoria y la disponibilidad es la del tramo pedido.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TripStopSearchResponse> filterTripsByStops(String fromStop, String toStop, LocalDate date) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Date must be at least today");
+        }
+        Map<Long, List<RouteSegment>> segmentsByRoute = routeStopIndex.findSegments(fromStop, toStop).stream()
+                .collect(Collectors.groupingBy(RouteSegment::routeId));
+        if (segmentsByRoute.isEmpty()) {
+            return List.of();
+        }
+
+        List<Trip> trips = tripRepository.searchTripsByRoutes(segmentsByRoute.keySet(), date);
+        Map<Long, TripSeatOccupancy> occupancies = segmentOccupancyEngine.snapshots(
+                trips.stream().map(Trip::getId).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TripStopSearchResponse> results = new ArrayList<>();
+        for (Trip trip : trips) {
+            TripResponse response = tripMapper.toResponse(trip);
+            TripSeatOccupancy occupancy = occupancies.get(trip.getId());
+            for (RouteSegment segment : segmentsByRoute.get(trip.getRoute().getId())) {
+                Integer available = response.capacity() == null || occupancy == null ? null
+                        : occupancy.availableSeatsForSegment(response.capacity(),
+                        segment.from().order(), segment.to().order(), now);
+                results.add(new TripStopSearchResponse(response,
+                        segment.from().stopId(), segment.from().name(), segment.from().order(),
+                        segment.to().stopId(), segment.to().name(), segment.to().order(),
+                        available));
+            }
+        }
+        return results;
     }
 
     @Override
@@ -202,10 +297,15 @@ public class TripServiceImpl implements TripService {
         Trip trip = tripRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Trip not found: " + id));
 
-        validateTripStatusTransition(trip.getStatus(), status);
+        TripStatus previousStatus = trip.getStatus();
+        validateTripStatusTransition(previousStatus, status);
 
         trip.setStatus(status);
         Trip updatedTrip = tripRepository.save(trip);
+        tripSearchCache.evictTrip(updatedTrip);
+        dayTimetableCache.evictDate(updatedTrip.getDate());
+        eventPublisher.publishEvent(new TripStatusChangedEvent(updatedTrip.getId(), updatedTrip.getRoute().getId(),
+                updatedTrip.getDate(), updatedTrip.getDepartureAt(), previousStatus, status, LocalDateTime.now()));
         return tripMapper.toResponse(updatedTrip);
     }
 
@@ -247,5 +347,10 @@ public class TripServiceImpl implements TripService {
         }
     }
 
-
+    private Integer availableSeats(Integer capacity, TripSeatOccupancy occupancy, LocalDateTime now) {
+        if (capacity == null || occupancy == null) {
+            return null;
+        }
+        return occupancy.availableSeats(capacity, now);
+    }
 }
@@ -1,5 +1,6 @@
 package com.bers.services.service.serviceImple;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.UserDtos.UserCreateRequest;
 import com.bers.api.dtos.UserDtos.UserResponse;
 import com.bers.api.dtos.UserDtos.UserSelfUpdateRequest;
@@ -8,14 +9,20 @@ import com.bers.domain.entities.User;
 import com.bers.domain.entities.enums.UserRole;
 import com.bers.domain.entities.enums.UserStatus;
 import com.bers.domain.repositories.UserRepository;
+import com.bers.domain.repositories.projections.UserListProjection;
 import com.bers.services.mappers.UserMapper;
 import com.bers.services.service.UserService;
+import com.bers.services.utils.IdCursor;
+import com.bers.services.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -108,11 +115,20 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Transactional
-    public List<UserResponse> getAll() {
-        return userRepository.findAll().stream()
-                .map(userMapper::toResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserResponse> getAll(UserRole role, UserStatus status, String cursor, Integer size) {
+        Long afterId = IdCursor.decode(cursor).id();
+        Pageable limit = KeysetPage.limit(size);
+        List<UserListProjection> rows = userRepository.findPageForList(role, status, afterId, limit);
+        return KeysetPage.of(rows, limit, UserListProjection::id, userMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamAll(UserRole role, UserStatus status, Consumer<UserResponse> sink) {
+        KeysetPage.exportAll(
+                (afterId, limit) -> userRepository.findPageForList(role, status, afterId, limit),
+                UserListProjection::id, row -> sink.accept(userMapper.toResponse(row)));
     }
 
     @Override
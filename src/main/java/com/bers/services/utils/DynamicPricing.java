@@ -0,0 +1,33 @@
+package com.bers.services.utils;
+
+import com.bers.domain.entities.enums.DynamicPricingStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Ajuste de la tarifa base según la ocupación del viaje cuando la regla tiene precio dinámico.
+
+public final class DynamicPricing {
+
+    private DynamicPricing() {
+    }
+
+    public static BigDecimal apply(BigDecimal basePrice, DynamicPricingStatus status, double occupancyRate) {
+        if (status == DynamicPricingStatus.OFF) {
+            return basePrice;
+        }
+
+        BigDecimal multiplier = BigDecimal.ONE;
+
+        // Ajuste según tasa de ocupación
+        if (occupancyRate > 0.8) {
+            multiplier = new BigDecimal("1.3"); // +30%
+        } else if (occupancyRate > 0.6) {
+            multiplier = new BigDecimal("1.15"); // +15%
+        } else if (occupancyRate < 0.3) {
+            multiplier = new BigDecimal("0.85"); // -15%
+        }
+
+        return basePrice.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,27 @@
+package com.bers.services.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Posición de una página de un listado ordenado por id descendente; el cliente la recibe como texto opaco.
+
+public record IdCursor(Long id) {
+
+    // Antes del registro más reciente: la primera página usa la misma consulta que las siguientes
+    public static final IdCursor START = new IdCursor(Long.MAX_VALUE);
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static IdCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            return new IdCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.bers.services.utils;
+
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Paginación por cursor de los listados completos: cada página busca desde el último id visto, sin OFFSET,
+// así el costo no crece con la profundidad. Se pide una fila de más para saber si hay otra página.
+// Las exportaciones recorren el listado con la misma consulta en bloques de EXPORT_PAGE_SIZE.
+
+public final class KeysetPage {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+    public static final int EXPORT_PAGE_SIZE = 500;
+
+    private KeysetPage() {
+    }
+
+    public static Pageable limit(Integer size) {
+        int pageSize = size != null ? size : DEFAULT_SIZE;
+        if (pageSize < 1 || pageSize > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    public static <T, R> CursorPageResponse<R> of(List<T> rows, Pageable limit, Function<T, Long> idOf,
+                                                  Function<T, R> mapper) {
+        int pageSize = limit.getPageSize() - 1;
+        boolean hasMore = rows.size() > pageSize;
+        List<T> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? new IdCursor(idOf.apply(page.get(page.size() - 1))).encode() : null;
+        return new CursorPageResponse<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * Entrega todas las filas del listado al {@code sink}, bloque por bloque. Cada bloque es una consulta
+     * corta: llamado fuera de una transacción, la conexión vuelve al pool mientras el cliente lee.
+     */
+    public static <T> void exportAll(BiFunction<Long, Pageable, List<T>> pageQuery, Function<T, Long> idOf,
+                                     Consumer<T> sink) {
+        Pageable limit = PageRequest.of(0, EXPORT_PAGE_SIZE);
+        Long afterId = IdCursor.START.id();
+        List<T> rows;
+        do {
+            rows = pageQuery.apply(afterId, limit);
+            rows.forEach(sink);
+            if (!rows.isEmpty()) {
+                afterId = idOf.apply(rows.get(rows.size() - 1));
+            }
+        } while (rows.size() == EXPORT_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,33 @@
+package com.bers.services.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posición de una página de viajes ordenados por (departureAt, id); el cliente la recibe como texto opaco.
+
+public record TripCursor(LocalDateTime departureAt, Long id) {
+
+    // Antes de cualquier viaje: la primera página usa la misma consulta que las siguientes
+    public static final TripCursor START = new TripCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    public String encode() {
+        String raw = departureAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TripCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TripCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.bers.api.controllers;
 
 import com.bers.api.dtos.AssignmentDtos.*;
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.security.config.JwtService;
 import com.bers.services.service.AssignmentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -77,14 +78,14 @@ class AssignmentControllerTest {
     @Test
     @WithMockUser(roles = "DISPATCHER")
     void getAllAssignments_ShouldReturnAssignmentList() throws Exception {
-        List<AssignmentResponse> assignments = Arrays.asList(assignmentResponse);
-        when(assignmentService.getAllAssignments()).thenReturn(assignments);
+        when(assignmentService.getAllAssignments(isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(new CursorPageResponse<>(List.of(assignmentResponse), null));
 
         mockMvc.perform(get("/api/v1/assignments"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1));
+                .andExpect(jsonPath("$.items[0].id").value(1));
 
-        verify(assignmentService).getAllAssignments();
+        verify(assignmentService).getAllAssignments(isNull(), isNull(), isNull(), isNull(), isNull());
     }
 
     @Test
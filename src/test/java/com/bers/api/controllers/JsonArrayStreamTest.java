@@ -0,0 +1,71 @@
+package com.bers.api.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JsonArrayStream Tests")
+class JsonArrayStreamTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Debe escribir cada elemento como parte de un solo arreglo JSON")
+    void shouldWriteJsonArray() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = JsonArrayStream.<Map<String, Object>>of(objectMapper,
+                sink -> {
+                    sink.accept(Map.of("id", 2));
+                    sink.accept(Map.of("id", 1));
+                });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        response.getBody().writeTo(out);
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("[{\"id\":2},{\"id\":1}]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Debe escribir un arreglo vacío si no hay filas")
+    void shouldWriteEmptyArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonArrayStream.of(objectMapper, sink -> {
+        }).getBody().writeTo(out);
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Debe cortar la exportación cuando el cliente ya no recibe")
+    void shouldStopWhenClientDisconnects() {
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        int[] produced = {0};
+        StreamingResponseBody body = JsonArrayStream.<String>of(objectMapper, sink -> {
+            for (int i = 0; i < 100_000; i++) {
+                produced[0]++;
+                sink.accept("x".repeat(100));
+            }
+        }).getBody();
+
+        assertThrows(UncheckedIOException.class, () -> body.writeTo(closed));
+        assertTrue(produced[0] < 100_000);
+    }
+}
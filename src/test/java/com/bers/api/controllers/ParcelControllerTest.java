@@ -1,5 +1,6 @@
 package com.bers.api.controllers;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.ParcelDtos.*;
 import com.bers.domain.entities.enums.ParcelStatus;
 import com.bers.security.config.JwtService;
@@ -20,6 +21,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -95,14 +97,14 @@ class ParcelControllerTest {
     @Test
     @WithMockUser(roles = "CLERK")
     void getAllParcels_ShouldReturnParcelList() throws Exception {
-        List<ParcelResponse> parcels = Arrays.asList(parcelResponse);
-        when(parcelService.getAllParcels()).thenReturn(parcels);
+        when(parcelService.getAllParcels(isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(new CursorPageResponse<>(List.of(parcelResponse), null));
 
         mockMvc.perform(get("/api/v1/parcels"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1));
+                .andExpect(jsonPath("$.items[0].id").value(1));
 
-        verify(parcelService).getAllParcels();
+        verify(parcelService).getAllParcels(isNull(), isNull(), isNull(), isNull());
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.bers.api.controllers;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.TicketDtos.*;
 import com.bers.domain.entities.enums.CancellationPolicy;
 import com.bers.domain.entities.enums.PaymentMethod;
@@ -130,14 +131,14 @@ class TicketControllerTest {
     @Test
     @WithMockUser(roles = "CLERK")
     void getAllTickets_ShouldReturnTicketList() throws Exception {
-        List<TicketResponse> tickets = Arrays.asList(ticketResponse);
-        when(ticketService.getAllTickets()).thenReturn(tickets);
+        when(ticketService.getAllTickets(isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(new CursorPageResponse<>(List.of(ticketResponse), null));
 
         mockMvc.perform(get("/api/v1/tickets"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1));
+                .andExpect(jsonPath("$.items[0].id").value(1));
 
-        verify(ticketService).getAllTickets();
+        verify(ticketService).getAllTickets(isNull(), isNull(), isNull(), isNull(), isNull());
     }
 
     @Test
@@ -81,7 +81,8 @@ class TripControllerTest {
                 "Medellín",
                 1L,
                 "ABC-123",
-                40
+                40,
+                null
         );
     }
 
@@ -177,51 +178,53 @@ class TripControllerTest {
     void shouldGetAllTrips() throws Exception {
         TripResponse trip2 = new TripResponse(2L, LocalDate.now(), LocalDateTime.now(),
                 LocalDateTime.now().plusHours(4), TripStatus.SCHEDULED.name(),
-                2L, "Ruta Norte", "Cali", "Pasto", 2L, "XYZ-789", 45);
+                2L, "Ruta Norte", "Cali", "Pasto", 2L, "XYZ-789", 45, null);
 
-        when(tripService.getAllTrips()).thenReturn(List.of(tripResponse, trip2));
+        when(tripService.getAllTrips(isNull(), isNull()))
+                .thenReturn(new TripPageResponse(List.of(tripResponse, trip2), "next"));
 
         mvc.perform(get("/api/v1/trips")
                         .with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[1].id").value(2));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
 
-        verify(tripService).getAllTrips();
+        verify(tripService).getAllTrips(isNull(), isNull());
     }
 
     @Test
     @DisplayName("Debe buscar trips con filtros")
     @WithMockUser
     void shouldSearchTripsWithFilters() throws Exception {
-        when(tripService.searchTrips(eq(1L), any(LocalDate.class),any(TripStatus.class)))
-                .thenReturn(List.of(tripResponse));
+        when(tripService.searchTrips(eq(1L), any(LocalDate.class), any(), isNull(), isNull()))
+                .thenReturn(new TripPageResponse(List.of(tripResponse), null));
 
         mvc.perform(get("/api/v1/trips/search")
                         .with(csrf())
                         .param("routeId", "1")
                         .param("date", LocalDate.now().plusDays(7).toString()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].status").value(TripStatus.SCHEDULED.name()));
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].status").value(TripStatus.SCHEDULED.name()));
 
-        verify(tripService).searchTrips(eq(1L), any(LocalDate.class),any(TripStatus.class));
+        verify(tripService).searchTrips(eq(1L), any(LocalDate.class), any(), isNull(), isNull());
     }
 
     @Test
     @DisplayName("Debe buscar trips sin filtros opcionales")
     @WithMockUser
     void shouldSearchTripsWithoutOptionalFilters() throws Exception {
-        when(tripService.searchTrips(isNull(), isNull(),isNull()))
-                .thenReturn(List.of(tripResponse));
+        when(tripService.searchTrips(isNull(), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(new TripPageResponse(List.of(tripResponse), null));
 
         mvc.perform(get("/api/v1/trips/search")
                         .with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
+                .andExpect(jsonPath("$.items.length()").value(1));
 
-        verify(tripService).searchTrips(isNull(), isNull(),isNull());
+        verify(tripService).searchTrips(isNull(), isNull(), isNull(), isNull(), isNull());
     }
 
     @Test
@@ -264,7 +267,7 @@ class TripControllerTest {
     void shouldChangeTripStatus() throws Exception {
         TripResponse scheduledTrip = new TripResponse(1L, LocalDate.now(), LocalDateTime.now(),
                 LocalDateTime.now().plusHours(4), TripStatus.SCHEDULED.name(),
-                1L, "Ruta Centro", "Bogotá", "Medellín", 1L, "ABC-123", 40);
+                1L, "Ruta Centro", "Bogotá", "Medellín", 1L, "ABC-123", 40, null);
 
         when(tripService.changeTripStatus(1L, TripStatus.SCHEDULED)).thenReturn(scheduledTrip);
 
@@ -1,5 +1,6 @@
 package com.bers.api.controllers;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.UserDtos.*;
 import com.bers.domain.entities.enums.UserRole;
 import com.bers.domain.entities.enums.UserStatus;
@@ -189,13 +190,14 @@ class UserControllerTest {
         UserResponse user2 = new UserResponse(2L, "Maria", "maria@example.com",
                 "3001111111", UserRole.DRIVER.name(), UserStatus.ACTIVE.name(), LocalDate.of(1998, 10, 10), LocalDateTime.now());
 
-        when(userService.getAll()).thenReturn(List.of(userResponse, user2));
+        when(userService.getAll(isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(new CursorPageResponse<>(List.of(userResponse, user2), null));
 
         mvc.perform(get("/api/v1/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.items.length()").value(2));
 
-        verify(userService).getAll();
+        verify(userService).getAll(isNull(), isNull(), isNull(), isNull());
     }
 
     @Test
@@ -10,6 +10,7 @@ import com.bers.domain.repositories.*;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -266,4 +267,29 @@ class TripRepositoryTest  extends AbstractRepositoryTest {
 
         assertThat(trips).hasSize(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Paginar trips por (salida, id) sin repetir ni saltar los que salen a la misma hora")
+    void shouldPageTripsAfterPosition() {
+        var route = createAndSaveRoute();
+        var bus = createAndSaveBus();
+        var today = LocalDate.now();
+        var first = tripRepository.save(createTrip(route, bus, today,
+                today.atTime(6, 0), today.atTime(9, 0), TripStatus.SCHEDULED));
+        var tiedA = tripRepository.save(createTrip(route, bus, today,
+                today.atTime(8, 0), today.atTime(11, 0), TripStatus.SCHEDULED));
+        var tiedB = tripRepository.save(createTrip(route, bus, today,
+                today.atTime(8, 0), today.atTime(11, 0), TripStatus.SCHEDULED));
+        var last = tripRepository.save(createTrip(route, bus, today,
+                today.atTime(10, 0), today.atTime(13, 0), TripStatus.SCHEDULED));
+
+        List<Trip> firstPage = tripRepository.findPageAfter(route.getId(), null, null,
+                first.getDepartureAt(), first.getId(), PageRequest.of(0, 2));
+        Trip cursor = firstPage.get(firstPage.size() - 1);
+        List<Trip> secondPage = tripRepository.findPageAfter(route.getId(), null, null,
+                cursor.getDepartureAt(), cursor.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).extracting(Trip::getId).containsExactly(tiedA.getId(), tiedB.getId());
+        assertThat(secondPage).extracting(Trip::getId).containsExactly(last.getId());
+    }
+}
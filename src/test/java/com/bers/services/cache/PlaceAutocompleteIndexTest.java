@@ -0,0 +1,159 @@
+package com.bers.services.cache;
+
+import com.bers.domain.entities.Bus;
+import com.bers.domain.entities.Route;
+import com.bers.domain.entities.Stop;
+import com.bers.domain.repositories.RouteRepository;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.projections.RouteEndpointProjection;
+import com.bers.domain.repositories.projections.StopIndexProjection;
+import com.bers.services.cache.PlaceAutocompleteIndex.PlaceType;
+import com.bers.services.cache.PlaceAutocompleteIndex.Suggestion;
+import com.bers.services.event.RemoteReferenceDataChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlaceAutocompleteIndex Tests")
+class PlaceAutocompleteIndexTest {
+
+    @Mock
+    private RouteRepository routeRepository;
+    @Mock
+    private StopRepository stopRepository;
+    @InjectMocks
+    private PlaceAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(routeRepository.findEndpointsForIndex()).thenReturn(List.of(
+                new RouteEndpointProjection(1L, "Bogotá", "Tunja"),
+                new RouteEndpointProjection(2L, "Bogotá", "Medellín"),
+                new RouteEndpointProjection(3L, "Boyacá", "Tunja")));
+        when(stopRepository.findAllForIndex()).thenReturn(List.of(
+                new StopIndexProjection(1L, 10L, "Terminal Norte", 0),
+                new StopIndexProjection(1L, 11L, "Tunja", 1)));
+    }
+
+    @Test
+    @DisplayName("Debe sugerir sin importar tildes ni mayúsculas, primero los más usados")
+    void shouldSuggestFoldedAndRanked() {
+        List<Suggestion> result = index.suggest("BO", PlaceType.ORIGIN, 10);
+
+        assertEquals(List.of("Bogotá", "Boyacá"), result.stream().map(Suggestion::name).toList());
+        assertEquals(2, result.get(0).count());
+        assertEquals("Medellín", index.suggest("medellin", null, 10).get(0).name());
+    }
+
+    @Test
+    @DisplayName("Debe encontrar coincidencias al comienzo de otra palabra")
+    void shouldMatchWordStarts() {
+        List<Suggestion> result = index.suggest("nor", PlaceType.STOP, 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Terminal Norte", result.get(0).name());
+        verify(routeRepository, times(1)).findEndpointsForIndex();
+    }
+
+    @Test
+    @DisplayName("Debe aplicar altas y bajas sin recargar el índice")
+    void shouldApplyChangesIncrementally() {
+        index.suggest("b", null, 10);
+
+        index.routeSaved(Route.builder().id(4L).origin("Cali").destination("Pasto").build());
+        index.routeDeleted(3L);
+        index.stopDeleted(10L);
+
+        assertEquals("Cali", index.suggest("cal", PlaceType.ORIGIN, 10).get(0).name());
+        assertTrue(index.suggest("boya", null, 10).isEmpty());
+        assertTrue(index.suggest("terminal", null, 10).isEmpty());
+        assertEquals(List.of("medellín", "tunja"), index.destinationsFrom("bogota"));
+        verify(routeRepository, times(1)).findEndpointsForIndex();
+    }
+
+    @Test
+    @DisplayName("Debe sugerir el nuevo nombre de una ruta renombrada y olvidar el anterior")
+    void shouldReplaceRenamedRouteEndpoints() {
+        index.suggest("b", null, 10);
+
+        index.routeSaved(Route.builder().id(3L).origin("Duitama").destination("Tunja").build());
+
+        assertTrue(index.suggest("boya", null, 10).isEmpty());
+        assertEquals("Duitama", index.suggest("dui", PlaceType.ORIGIN, 10).get(0).name());
+        assertEquals(2, index.suggest("tun", PlaceType.DESTINATION, 10).get(0).count());
+    }
+
+    @Test
+    @DisplayName("Debe recargar el índice cuando otro nodo cambia una ruta")
+    void shouldReloadAfterRemoteChange() {
+        index.suggest("b", null, 10);
+        when(routeRepository.findEndpointsForIndex()).thenReturn(List.of(
+                new RouteEndpointProjection(4L, "Cali", "Pasto")));
+
+        index.onRemoteChange(new RemoteReferenceDataChangedEvent(Bus.class.getName(), 3L));
+        assertFalse(index.suggest("bog", null, 10).isEmpty());
+        index.onRemoteChange(new RemoteReferenceDataChangedEvent(Route.class.getName(), 4L));
+
+        assertTrue(index.suggest("bog", null, 10).isEmpty());
+        assertEquals("Cali", index.suggest("cal", PlaceType.ORIGIN, 10).get(0).name());
+        verify(routeRepository, times(2)).findEndpointsForIndex();
+    }
+
+    @Test
+    @DisplayName("Debe recargar el índice al vencer el TTL")
+    void shouldReloadAfterTtl() {
+        ReflectionTestUtils.setField(index, "ttlSeconds", 0L);
+
+        index.suggest("b", null, 10);
+        index.suggest("b", null, 10);
+
+        verify(routeRepository, times(2)).findEndpointsForIndex();
+    }
+
+    @Test
+    @DisplayName("Debe releer si un cambio confirmado se cruza con la recarga")
+    void shouldRereadWhenChangeOverlapsReload() {
+        when(stopRepository.findAllForIndex())
+                .thenAnswer(invocation -> {
+                    index.stopSaved(Stop.builder().id(12L).name("Paipa").order(2)
+                            .route(Route.builder().id(1L).build()).build());
+                    return List.of(new StopIndexProjection(1L, 10L, "Terminal Norte", 0));
+                })
+                .thenReturn(List.of(
+                        new StopIndexProjection(1L, 10L, "Terminal Norte", 0),
+                        new StopIndexProjection(1L, 12L, "Paipa", 2)));
+
+        assertEquals("Paipa", index.suggest("pai", PlaceType.STOP, 10).get(0).name());
+        verify(stopRepository, times(2)).findAllForIndex();
+    }
+
+    @Test
+    @DisplayName("Debe ordenar todos los candidatos antes de recortar, aunque el prefijo sea corto")
+    void shouldRankBeforeLimitingShortPrefixes() {
+        List<RouteEndpointProjection> many = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            many.add(new RouteEndpointProjection(id, "Barrio " + id, "Tunja"));
+        }
+        many.add(new RouteEndpointProjection(1001L, "Bucaramanga", "Tunja"));
+        many.add(new RouteEndpointProjection(1002L, "Bucaramanga", "Cali"));
+        when(routeRepository.findEndpointsForIndex()).thenReturn(many);
+
+        List<Suggestion> result = index.suggest("b", PlaceType.ORIGIN, 3);
+
+        assertEquals(3, result.size());
+        assertEquals("Bucaramanga", result.get(0).name());
+        assertEquals(2, result.get(0).count());
+    }
+}
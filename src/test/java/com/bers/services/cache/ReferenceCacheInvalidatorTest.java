@@ -0,0 +1,96 @@
+package com.bers.services.cache;
+
+import com.bers.domain.entities.Route;
+import com.bers.domain.entities.Stop;
+import com.bers.services.cache.ReferenceCacheInvalidator.Invalidation;
+import com.bers.services.event.DomainEventBus;
+import com.bers.services.event.ReferenceDataChangedEvent;
+import com.bers.services.event.RemoteReferenceDataChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReferenceCacheInvalidator Tests")
+class ReferenceCacheInvalidatorTest {
+
+    private static final String STOPS_ROLE = Route.class.getName() + ".stops";
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private DomainEventBus eventBus;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @InjectMocks
+    private ReferenceCacheInvalidator invalidator;
+
+    @Test
+    @DisplayName("Debe publicar el cambio de una parada con la colección de su ruta")
+    void shouldPublishChangeWithOwnerCollection() {
+        Stop stop = Stop.builder().id(5L).route(Route.builder().id(1L).build()).build();
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getEntityName()).thenReturn(Stop.class.getName());
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        when(event.getPersister()).thenReturn(persister);
+        when(event.getEntity()).thenReturn(stop);
+        when(event.getId()).thenReturn(5L);
+
+        invalidator.onPostUpdate(event);
+
+        ArgumentCaptor<ReferenceDataChangedEvent> captor = ArgumentCaptor.forClass(ReferenceDataChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(Stop.class.getName(), captor.getValue().getEntityName());
+        assertEquals(5L, captor.getValue().getId());
+        assertEquals(STOPS_ROLE, captor.getValue().getCollectionRole());
+        assertEquals(1L, captor.getValue().getOwnerId());
+    }
+
+    @Test
+    @DisplayName("Debe sacar de la caché local lo que cambió en otro nodo")
+    void shouldEvictOnRemoteChange() {
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Cache cache = mock(Cache.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        invalidator.onInvalidation(new Invalidation("otro-nodo", Stop.class.getName(), 5L, STOPS_ROLE, 1L));
+
+        verify(cache).evictEntityData(Stop.class.getName(), 5L);
+        verify(cache).evictCollectionData(STOPS_ROLE, 1L);
+        verify(cache).evictQueryRegions();
+        ArgumentCaptor<RemoteReferenceDataChangedEvent> captor =
+                ArgumentCaptor.forClass(RemoteReferenceDataChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertTrue(captor.getValue().isAbout(Stop.class));
+        assertEquals(5L, captor.getValue().getId());
+    }
+
+    @Test
+    @DisplayName("Debe ignorar los avisos enviados por este mismo nodo")
+    void shouldIgnoreOwnInvalidation() {
+        String nodeId = (String) ReflectionTestUtils.getField(invalidator, "nodeId");
+
+        invalidator.onInvalidation(new Invalidation(nodeId, Stop.class.getName(), 5L, STOPS_ROLE, 1L));
+
+        verifyNoInteractions(entityManagerFactory, eventPublisher);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bers.services.cache;
+
+import com.bers.domain.entities.Bus;
+import com.bers.domain.entities.Stop;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.projections.StopIndexProjection;
+import com.bers.services.cache.RouteStopIndex.RouteSegment;
+import com.bers.services.event.RemoteReferenceDataChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RouteStopIndex Tests")
+class RouteStopIndexTest {
+
+    @Mock
+    private StopRepository stopRepository;
+    @InjectMocks
+    private RouteStopIndex routeStopIndex;
+
+    @Test
+    @DisplayName("Debe encontrar rutas que pasan por ambas paradas en el orden pedido")
+    void shouldFindRoutesThroughIntermediateStops() {
+        when(stopRepository.findAllForIndex()).thenReturn(List.of(
+                new StopIndexProjection(1L, 10L, "Bogotá", 0),
+                new StopIndexProjection(1L, 11L, "Chocontá", 1),
+                new StopIndexProjection(1L, 12L, "Tunja", 2),
+                new StopIndexProjection(2L, 20L, "Tunja", 0),
+                new StopIndexProjection(2L, 21L, "Chocontá", 1)));
+
+        List<RouteSegment> segments = routeStopIndex.findSegments(" chocontá", "TUNJA");
+
+        assertEquals(1, segments.size());
+        assertEquals(1L, segments.get(0).routeId());
+        assertEquals(11L, segments.get(0).from().stopId());
+        assertEquals(12L, segments.get(0).to().stopId());
+        routeStopIndex.findSegments("Bogotá", "Tunja");
+        verify(stopRepository, times(1)).findAllForIndex();
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el índice después de un cambio en las paradas")
+    void shouldRebuildAfterRefresh() {
+        when(stopRepository.findAllForIndex())
+                .thenReturn(List.of(new StopIndexProjection(1L, 10L, "Bogotá", 0)))
+                .thenReturn(List.of(
+                        new StopIndexProjection(1L, 10L, "Bogotá", 0),
+                        new StopIndexProjection(1L, 11L, "Tunja", 1)));
+
+        assertTrue(routeStopIndex.findSegments("Bogotá", "Tunja").isEmpty());
+        routeStopIndex.refresh();
+
+        assertEquals(1, routeStopIndex.findSegments("Bogotá", "Tunja").size());
+        verify(stopRepository, times(2)).findAllForIndex();
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el índice cuando otro nodo cambia una parada")
+    void shouldRebuildAfterRemoteChange() {
+        when(stopRepository.findAllForIndex()).thenReturn(List.of(new StopIndexProjection(1L, 10L, "Bogotá", 0)));
+        routeStopIndex.findSegments("Bogotá", "Tunja");
+
+        routeStopIndex.onRemoteChange(new RemoteReferenceDataChangedEvent(Bus.class.getName(), 3L));
+        routeStopIndex.findSegments("Bogotá", "Tunja");
+        routeStopIndex.onRemoteChange(new RemoteReferenceDataChangedEvent(Stop.class.getName(), 11L));
+        routeStopIndex.findSegments("Bogotá", "Tunja");
+
+        verify(stopRepository, times(2)).findAllForIndex();
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el índice al vencer el TTL")
+    void shouldRebuildAfterTtl() {
+        ReflectionTestUtils.setField(routeStopIndex, "ttlSeconds", 0L);
+        when(stopRepository.findAllForIndex()).thenReturn(List.of(new StopIndexProjection(1L, 10L, "Bogotá", 0)));
+
+        routeStopIndex.findSegments("Bogotá", "Tunja");
+        routeStopIndex.findSegments("Bogotá", "Tunja");
+
+        verify(stopRepository, times(2)).findAllForIndex();
+    }
+}
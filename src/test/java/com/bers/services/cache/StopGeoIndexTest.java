@@ -0,0 +1,109 @@
+package com.bers.services.cache;
+
+import com.bers.domain.entities.Bus;
+import com.bers.domain.entities.Route;
+import com.bers.domain.entities.Stop;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.projections.StopGeoProjection;
+import com.bers.services.cache.StopGeoIndex.NearbyPlace;
+import com.bers.services.event.RemoteReferenceDataChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StopGeoIndex Tests")
+class StopGeoIndexTest {
+
+    @Mock
+    private StopRepository stopRepository;
+    @InjectMocks
+    private StopGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(stopRepository.findAllWithCoordinates()).thenReturn(List.of(
+                stop(10L, "Terminal Salitre", "4.6580", "-74.1150", 1L, "BOG-TUN"),
+                stop(20L, "Terminal Salitre", "4.6581", "-74.1151", 2L, "BOG-MED"),
+                stop(11L, "Portal Norte", "4.7550", "-74.0460", 1L, "BOG-TUN"),
+                stop(12L, "Tunja", "5.5350", "-73.3670", 1L, "BOG-TUN")));
+    }
+
+    @Test
+    @DisplayName("Debe devolver los lugares más cercanos agrupando las rutas que los sirven")
+    void shouldReturnNearestPlacesWithRoutes() {
+        List<NearbyPlace> result = index.nearest(4.6600, -74.1100, 2, 50_000);
+
+        assertEquals(List.of("Terminal Salitre", "Portal Norte"), result.stream().map(NearbyPlace::name).toList());
+        assertEquals(List.of(1L, 2L), result.get(0).stops().stream().map(StopGeoProjection::routeId).toList());
+        assertTrue(result.get(0).distanceMeters() < result.get(1).distanceMeters());
+        assertEquals(1, index.nearest(4.6600, -74.1100, 5, 2_000).size());
+        verify(stopRepository, times(1)).findAllWithCoordinates();
+    }
+
+    @Test
+    @DisplayName("Debe encontrar paradas a varias celdas de distancia")
+    void shouldSearchAcrossRings() {
+        List<NearbyPlace> result = index.nearest(5.5000, -73.4000, 1, 100_000);
+
+        assertEquals("Tunja", result.get(0).name());
+        assertEquals(StopGeoIndex.haversineMeters(5.5000, -73.4000, 5.5350, -73.3670),
+                result.get(0).distanceMeters(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Debe reflejar las paradas creadas y eliminadas")
+    void shouldApplyStopChanges() {
+        index.nearest(4.0, -74.0, 1, 1_000);
+
+        Route route = Route.builder().id(3L).code("TUN-DUI").name("Tunja - Duitama").build();
+        index.stopSaved(Stop.builder().id(30L).name("Plaza de Bolívar").order(0)
+                .lat(new BigDecimal("5.5330")).lng(new BigDecimal("-73.3620")).route(route).build());
+        index.stopDeleted(12L);
+
+        List<NearbyPlace> result = index.nearest(5.5350, -73.3670, 5, 10_000);
+        assertEquals(List.of("Plaza de Bolívar"), result.stream().map(NearbyPlace::name).toList());
+        assertEquals("TUN-DUI", result.get(0).stops().get(0).routeCode());
+    }
+
+    @Test
+    @DisplayName("Debe recargar el índice cuando otro nodo cambia una parada")
+    void shouldReloadAfterRemoteChange() {
+        index.nearest(5.5350, -73.3670, 1, 10_000);
+        when(stopRepository.findAllWithCoordinates()).thenReturn(List.of(
+                stop(30L, "Plaza de Bolívar", "5.5330", "-73.3620", 3L, "TUN-DUI")));
+
+        index.onRemoteChange(new RemoteReferenceDataChangedEvent(Bus.class.getName(), 3L));
+        assertEquals("Tunja", index.nearest(5.5350, -73.3670, 1, 10_000).get(0).name());
+        index.onRemoteChange(new RemoteReferenceDataChangedEvent(Stop.class.getName(), 30L));
+
+        assertEquals("Plaza de Bolívar", index.nearest(5.5350, -73.3670, 1, 10_000).get(0).name());
+        verify(stopRepository, times(2)).findAllWithCoordinates();
+    }
+
+    @Test
+    @DisplayName("Debe recargar el índice al vencer el TTL")
+    void shouldReloadAfterTtl() {
+        ReflectionTestUtils.setField(index, "ttlSeconds", 0L);
+
+        index.nearest(4.6600, -74.1100, 1, 1_000);
+        index.nearest(4.6600, -74.1100, 1, 1_000);
+
+        verify(stopRepository, times(2)).findAllWithCoordinates();
+    }
+
+    private StopGeoProjection stop(Long id, String name, String lat, String lng, Long routeId, String routeCode) {
+        return new StopGeoProjection(id, name, 0, new BigDecimal(lat), new BigDecimal(lng), routeId, routeCode, routeCode);
+    }
+}
@@ -0,0 +1,95 @@
+package com.bers.services.cache;
+
+import com.bers.api.dtos.TripDtos.TripResponse;
+import com.bers.domain.entities.Route;
+import com.bers.domain.entities.Trip;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TripSearchCache Tests")
+class TripSearchCacheTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+
+    private final TripSearchCache cache = new TripSearchCache();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        cache.bindTo(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Debe servir desde caché la misma búsqueda normalizada")
+    void shouldHitOnNormalizedKey() {
+        cache.get("Bogotá", "Tunja", DATE, this::load);
+        List<TripResponse> result = cache.get("  bogotá ", "TUNJA", DATE, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(1, result.size());
+        assertEquals(1, requests("hit"));
+        assertEquals(1, requests("miss"));
+    }
+
+    @Test
+    @DisplayName("Debe invalidar solo la búsqueda de la ruta y fecha del viaje")
+    void shouldEvictOnlyAffectedSearch() {
+        cache.get("Bogotá", "Tunja", DATE, this::load);
+        cache.get("Bogotá", "Tunja", DATE.plusDays(1), this::load);
+
+        cache.evictTrip(trip(DATE));
+        cache.get("Bogotá", "Tunja", DATE, this::load);
+        cache.get("Bogotá", "Tunja", DATE.plusDays(1), this::load);
+
+        assertEquals(3, loads.get());
+        assertEquals(1, meterRegistry.get("bers.search.cache.invalidations").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Debe invalidar las búsquedas que contienen un viaje eliminado")
+    void shouldEvictSearchContainingTripId() {
+        cache.get("Bogotá", "Tunja", DATE, this::load);
+
+        cache.evictTripId(1L);
+        cache.get("Bogotá", "Tunja", DATE, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("No debe guardar una carga que se cruzó con una invalidación")
+    void shouldNotStoreLoadRacingWithInvalidation() {
+        cache.get("Bogotá", "Tunja", DATE, () -> {
+            cache.evictTrip(trip(DATE));
+            return load();
+        });
+        cache.get("Bogotá", "Tunja", DATE, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, meterRegistry.get("bers.search.cache.size").gauge().value());
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("bers.search.cache.requests").tag("result", result).functionCounter().count();
+    }
+
+    private List<TripResponse> load() {
+        loads.incrementAndGet();
+        return List.of(new TripResponse(1L, DATE, null, null, "SCHEDULED", 1L, "Bogotá - Tunja",
+                "Bogotá", "Tunja", 1L, "ABC123", 40, null));
+    }
+
+    private Trip trip(LocalDate date) {
+        Route route = Route.builder().id(1L).origin("Bogotá").destination("Tunja").build();
+        return Trip.builder().id(1L).date(date).route(route).build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.bers.services.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DomainEventBus Tests")
+class DomainEventBusTest {
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private final DomainEventBus bus = new DomainEventBus(environment);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe entregar el evento solo después del commit y fuera del hilo que lo publicó")
+    void shouldDeliverAfterCommitOnAnotherThread() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        bus.subscribe(SeatAvailableEvent.class, "test", event -> {
+            threads.add(Thread.currentThread());
+            delivered.countDown();
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        bus.onDomainEvent(new SeatAvailableEvent(1L, "1A", 10L, 11L));
+        assertFalse(delivered.await(100, TimeUnit.MILLISECONDS));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), threads.get(0));
+        assertTrue(threads.get(0).isVirtual());
+    }
+
+    @Test
+    @DisplayName("No debe entregar a oyentes de otro tipo de evento")
+    void shouldRouteByEventType() throws InterruptedException {
+        CountDownLatch released = new CountDownLatch(1);
+        List<Object> available = new CopyOnWriteArrayList<>();
+        bus.subscribe(SeatAvailableEvent.class, "available", available::add);
+        bus.subscribe(SeatsReleasedEvent.class, "released", event -> released.countDown());
+
+        bus.onDomainEvent(new SeatsReleasedEvent(1L, List.of()));
+
+        assertTrue(released.await(2, TimeUnit.SECONDS));
+        assertTrue(available.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe descartar y contar los eventos cuando la cola del oyente está llena")
+    void shouldDropWhenQueueIsFull() throws InterruptedException {
+        environment.setProperty("bers.events.listeners.slow.capacity", "1");
+        environment.setProperty("bers.events.listeners.slow.concurrency", "1");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        bus.subscribe(SeatAvailableEvent.class, "slow", event -> {
+            started.countDown();
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        });
+
+        bus.onDomainEvent(new SeatAvailableEvent(1L, "1A", 10L, 11L));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        bus.onDomainEvent(new SeatAvailableEvent(1L, "1B", 10L, 11L));
+        bus.onDomainEvent(new SeatAvailableEvent(1L, "1C", 10L, 11L));
+        release.countDown();
+        assertTrue(finished.await(2, TimeUnit.SECONDS));
+
+        DomainEventBus.EventTypeStats stats = bus.stats().get(0);
+        assertEquals("SeatAvailableEvent", stats.eventType());
+        assertEquals(3, stats.published());
+        assertEquals(1, stats.dropped());
+    }
+}
@@ -0,0 +1,60 @@
+package com.bers.services.inventory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveSeatHoldIndexInitializer Tests")
+class ActiveSeatHoldIndexInitializerTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @InjectMocks
+    private ActiveSeatHoldIndexInitializer initializer;
+
+    @Test
+    @DisplayName("Debe impedir el arranque si no puede crear el índice en PostgreSQL")
+    void shouldFailStartupWhenIndexCannotBeCreated() throws Exception {
+        stubDatabase("PostgreSQL");
+        doThrow(new DataIntegrityViolationException("could not create unique index"))
+                .when(jdbcTemplate).execute(anyString());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, initializer::afterPropertiesSet);
+
+        assertTrue(exception.getMessage().contains(ActiveSeatHoldIndexInitializer.INDEX_NAME));
+    }
+
+    @Test
+    @DisplayName("No debe crear el índice en otras bases de datos")
+    void shouldSkipOtherDatabases() throws Exception {
+        stubDatabase("H2");
+
+        initializer.afterPropertiesSet();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private void stubDatabase(String product) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(product);
+    }
+}
@@ -0,0 +1,150 @@
+package com.bers.services.inventory;
+
+import com.bers.domain.entities.SeatHold;
+import com.bers.domain.entities.Trip;
+import com.bers.domain.entities.enums.HoldStatus;
+import com.bers.domain.repositories.SeatHoldRepository;
+import com.bers.domain.repositories.projections.HoldDeadlineProjection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatHoldExpiryQueue Tests")
+class SeatHoldExpiryQueueTest {
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+    @Mock
+    private SegmentOccupancyEngine segmentOccupancyEngine;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @InjectMocks
+    private SeatHoldExpiryQueue expiryQueue;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(expiryQueue, "batchLingerMs", 50L);
+        ReflectionTestUtils.setField(expiryQueue, "retryDelayMs", 20L);
+        ReflectionTestUtils.setField(expiryQueue, "maxAttempts", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        expiryQueue.stop();
+    }
+
+    @Test
+    @DisplayName("Debe encolar el hold sin expirarlo antes de su vencimiento")
+    void shouldScheduleHoldUntilItExpires() {
+        when(seatHoldRepository.findActiveHoldDeadlines()).thenReturn(List.of());
+        expiryQueue.start();
+
+        expiryQueue.schedule(hold(1L, LocalDateTime.now().plusMinutes(10)));
+
+        assertEquals(1, expiryQueue.pendingCount());
+        verify(seatHoldRepository, after(200).never()).expireHoldsByIds(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Debe expirar en un solo UPDATE los holds que vencen casi a la vez")
+    void shouldBatchHoldsExpiringTogether() {
+        when(seatHoldRepository.findActiveHoldDeadlines()).thenReturn(List.of());
+        when(seatHoldRepository.expireHoldsByIds(anyList(), any())).thenReturn(2);
+        LocalDateTime now = LocalDateTime.now();
+        expiryQueue.schedule(hold(1L, now));
+        expiryQueue.schedule(hold(2L, now.plusNanos(10_000_000)));
+
+        expiryQueue.start();
+
+        verify(seatHoldRepository, timeout(2000)).expireHoldsByIds(eq(List.of(1L, 2L)), any());
+        verify(segmentOccupancyEngine, timeout(2000)).holdExpired(10L, 1L);
+        verify(segmentOccupancyEngine, timeout(2000)).holdExpired(10L, 2L);
+        assertEquals(0, expiryQueue.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Al arrancar debe expirar los vencidos y programar los vigentes")
+    void shouldRecoverHoldsOnStart() {
+        LocalDateTime now = LocalDateTime.now();
+        when(seatHoldRepository.findActiveHoldDeadlines()).thenReturn(List.of(
+                new HoldDeadlineProjection(1L, 10L, now.minusMinutes(1)),
+                new HoldDeadlineProjection(2L, 10L, now.plusMinutes(10))));
+        when(seatHoldRepository.expireHoldsByIds(anyList(), any())).thenReturn(1);
+
+        expiryQueue.start();
+
+        verify(seatHoldRepository, timeout(2000)).expireHoldsByIds(eq(List.of(1L)), any());
+        assertEquals(1, expiryQueue.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Solo debe sacar de la ocupación los holds que el UPDATE expiró")
+    void shouldOnlyReleaseHoldsActuallyExpired() {
+        when(seatHoldRepository.findActiveHoldDeadlines()).thenReturn(List.of());
+        when(seatHoldRepository.expireHoldsByIds(anyList(), any())).thenReturn(1);
+        when(seatHoldRepository.findIdsByIdInAndStatus(List.of(1L, 2L), HoldStatus.EXPIRED)).thenReturn(List.of(2L));
+        LocalDateTime now = LocalDateTime.now();
+        expiryQueue.schedule(hold(1L, now));
+        expiryQueue.schedule(hold(2L, now));
+
+        expiryQueue.start();
+
+        verify(segmentOccupancyEngine, timeout(2000)).holdExpired(10L, 2L);
+        verify(segmentOccupancyEngine, after(200).never()).holdExpired(10L, 1L);
+    }
+
+    @Test
+    @DisplayName("Debe reintentar el lote si falla el UPDATE")
+    void shouldRetryBatchAfterTransientFailure() {
+        when(seatHoldRepository.findActiveHoldDeadlines()).thenReturn(List.of());
+        when(seatHoldRepository.expireHoldsByIds(anyList(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"))
+                .thenReturn(1);
+        expiryQueue.schedule(hold(1L, LocalDateTime.now()));
+
+        expiryQueue.start();
+
+        verify(seatHoldRepository, timeout(2000).times(2)).expireHoldsByIds(eq(List.of(1L)), any());
+        verify(segmentOccupancyEngine, timeout(2000)).holdExpired(10L, 1L);
+    }
+
+    @Test
+    @DisplayName("Debe dejar el lote al barrido de respaldo tras agotar los intentos")
+    void shouldGiveUpAfterMaxAttempts() {
+        when(seatHoldRepository.findActiveHoldDeadlines()).thenReturn(List.of());
+        when(seatHoldRepository.expireHoldsByIds(anyList(), any()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        expiryQueue.schedule(hold(1L, LocalDateTime.now()));
+
+        expiryQueue.start();
+
+        verify(seatHoldRepository, timeout(2000).times(3)).expireHoldsByIds(anyList(), any());
+        verify(seatHoldRepository, after(300).times(3)).expireHoldsByIds(anyList(), any());
+        verify(segmentOccupancyEngine, never()).holdExpired(any(), any());
+        assertEquals(0, expiryQueue.pendingCount());
+    }
+
+    private static SeatHold hold(Long id, LocalDateTime expiresAt) {
+        return SeatHold.builder()
+                .id(id)
+                .trip(Trip.builder().id(10L).build())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.bers.services.inventory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SeatHoldLocks Tests")
+class SeatHoldLocksTest {
+
+    private SeatHoldLocks seatHoldLocks;
+
+    @BeforeEach
+    void setUp() {
+        seatHoldLocks = new SeatHoldLocks();
+        ReflectionTestUtils.setField(seatHoldLocks, "lockTimeoutMs", 50L);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe bloquear el mismo asiento hasta que termine la transacción")
+    void shouldSerializeSameSeatUntilCompletion() {
+        seatHoldLocks.lockUntilCompletion(1L, "1A");
+
+        CompletionException contended = assertThrows(CompletionException.class,
+                () -> lockInOtherTransaction(1L, "1A").join());
+        assertInstanceOf(IllegalStateException.class, contended.getCause());
+        assertDoesNotThrow(() -> lockInOtherTransaction(1L, "2A").join());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertDoesNotThrow(() -> lockInOtherTransaction(1L, "1A").join());
+    }
+
+    @Test
+    @DisplayName("Debe bloquear todos los asientos del grupo hasta que termine la transacción")
+    void shouldLockWholeGroupUntilCompletion() {
+        seatHoldLocks.lockAllUntilCompletion(1L, List.of("3A", "1A", "2A"));
+
+        for (String seat : List.of("1A", "2A", "3A")) {
+            CompletionException contended = assertThrows(CompletionException.class,
+                    () -> lockInOtherTransaction(1L, seat).join());
+            assertInstanceOf(IllegalStateException.class, contended.getCause());
+        }
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertDoesNotThrow(() -> lockInOtherTransaction(1L, "2A").join());
+    }
+
+    @Test
+    @DisplayName("Debe exigir una transacción activa")
+    void shouldRequireActiveTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThrows(IllegalStateException.class, () -> seatHoldLocks.lockUntilCompletion(1L, "1A"));
+    }
+
+    private CompletableFuture<Void> lockInOtherTransaction(Long tripId, String seatNumber) {
+        return CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                seatHoldLocks.lockUntilCompletion(tripId, seatNumber);
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.bers.services.inventory;
+
+import com.bers.domain.repositories.SeatHoldRepository;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.TicketRepository;
+import com.bers.domain.repositories.projections.SeatSegmentProjection;
+import com.bers.domain.repositories.projections.TripLastStopProjection;
+import com.bers.services.event.SeatMapChangedEvent;
+import com.bers.services.event.SeatMapChangedEvent.Reason;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SegmentOccupancyEngine Tests")
+class SegmentOccupancyEngineTest {
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+    @Mock
+    private StopRepository stopRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private SegmentOccupancyEngine engine;
+
+    @Test
+    @DisplayName("La secuencia sigue creciendo tras desalojar y recargar el viaje")
+    void shouldKeepSequenceMonotonicAcrossEviction() {
+        stubEmptyTrip();
+        engine.snapshot(1L);
+        engine.holdExpired(1L, 10L);
+        engine.holdExpired(1L, 11L);
+        long beforeEviction = engine.sequenceOf(1L);
+
+        engine.evictTrip(1L);
+        engine.snapshot(1L);
+
+        assertEquals(2, beforeEviction);
+        assertTrue(engine.sequenceOf(1L) >= beforeEviction);
+    }
+
+    @Test
+    @DisplayName("No publica la instantánea si un cambio llegó mientras se leía la BD")
+    void shouldDiscardSnapshotChangedDuringLoad() {
+        when(stopRepository.findLastStopOrdersByTripIds(anyCollection()))
+                .thenReturn(List.of(new TripLastStopProjection(1L, 3)));
+        when(ticketRepository.findSeatSegmentsByTripIds(anyCollection(), any()))
+                .thenAnswer(invocation -> {
+                    engine.holdExpired(1L, 10L);
+                    return List.of(new SeatSegmentProjection(1L, 5L, "A1", 0, 3));
+                })
+                .thenReturn(List.of());
+        when(seatHoldRepository.findActiveSeatSegmentsByTripIds(anyCollection(), any())).thenReturn(List.of());
+
+        engine.snapshot(1L);
+        engine.snapshot(1L);
+        engine.snapshot(1L);
+
+        // La primera carga se descarta; la segunda queda publicada y la tercera la reutiliza
+        verify(ticketRepository, times(2)).findSeatSegmentsByTripIds(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Los cambios sobre viajes no cargados no dejan estado")
+    void shouldNotTrackUnloadedTrips() {
+        stubEmptyTrip();
+        for (long tripId = 100; tripId < 200; tripId++) {
+            engine.holdExpired(tripId, 1L);
+        }
+
+        engine.snapshot(1L);
+
+        assertEquals(100, engine.sequenceOf(1L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Al recargar debe publicar como RESYNC lo que cambió en otro nodo")
+    void shouldPublishResyncDeltasOnRefresh() {
+        stubEmptyTrip();
+        engine.snapshot(1L);
+        when(ticketRepository.findSeatSegmentsByTripIds(anyCollection(), any()))
+                .thenReturn(List.of(new SeatSegmentProjection(1L, 5L, "A1", 0, 2)));
+
+        engine.refresh(List.of(1L));
+
+        ArgumentCaptor<SeatMapChangedEvent> event = ArgumentCaptor.forClass(SeatMapChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Reason.RESYNC, event.getValue().getReason());
+        assertEquals("A1", event.getValue().getSeatNumber());
+        assertEquals(SeatSegmentState.OCCUPIED, event.getValue().getState());
+        assertEquals(event.getValue().getSequence(), engine.sequenceOf(1L));
+    }
+
+    private void stubEmptyTrip() {
+        when(stopRepository.findLastStopOrdersByTripIds(anyCollection()))
+                .thenReturn(List.of(new TripLastStopProjection(1L, 3)));
+        when(ticketRepository.findSeatSegmentsByTripIds(anyCollection(), any())).thenReturn(List.of());
+        when(seatHoldRepository.findActiveSeatSegmentsByTripIds(anyCollection(), any())).thenReturn(List.of());
+    }
+}
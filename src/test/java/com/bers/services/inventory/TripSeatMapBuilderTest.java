@@ -0,0 +1,60 @@
+package com.bers.services.inventory;
+
+import com.bers.api.dtos.SeatDtos.SeatStatusResponse;
+import com.bers.domain.entities.Seat;
+import com.bers.domain.repositories.SeatHoldRepository;
+import com.bers.domain.repositories.TicketRepository;
+import com.bers.domain.repositories.TripRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TripSeatMapBuilder Tests")
+class TripSeatMapBuilderTest {
+    @Mock
+    private TripRepository tripRepository;
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+    @InjectMocks
+    private TripSeatMapBuilder tripSeatMapBuilder;
+
+    @Test
+    @DisplayName("Debe clasificar asientos ocupados, en hold y disponibles")
+    void shouldClassifySeats() {
+        when(tripRepository.findSeatsByTripId(1L)).thenReturn(List.of(
+                Seat.builder().id(1L).number("1").build(),
+                Seat.builder().id(2L).number("2").build(),
+                Seat.builder().id(3L).number("3").build()));
+        when(ticketRepository.findOccupiedSeatNumbersByTripId(eq(1L), any())).thenReturn(List.of("1"));
+        when(seatHoldRepository.findHeldSeatNumbersByTripId(eq(1L), any())).thenReturn(List.of("1", "2"));
+
+        List<SeatStatusResponse> seats = tripSeatMapBuilder.build(1L);
+
+        assertTrue(seats.get(0).isOccupied());
+        assertFalse(seats.get(0).isHeld());
+        assertTrue(seats.get(1).isHeld());
+        assertTrue(seats.get(2).available());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción si el viaje no existe")
+    void shouldThrowWhenTripNotFound() {
+        when(tripRepository.findSeatsByTripId(99L)).thenReturn(List.of());
+        when(tripRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> tripSeatMapBuilder.build(99L));
+    }
+}
@@ -0,0 +1,137 @@
+package com.bers.services.inventory;
+
+import com.bers.services.inventory.TripSeatOccupancy.SegmentChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TripSeatOccupancy Tests")
+class TripSeatOccupancyTest {
+
+    private TripSeatOccupancy occupancy;
+
+    @BeforeEach
+    void setUp() {
+        occupancy = new TripSeatOccupancy(1L, 4);
+    }
+
+    @Test
+    @DisplayName("Debe detectar solapamiento de tramos con tickets")
+    void shouldDetectOverlappingTicket() {
+        occupancy.addTicket(10L, "1A", 1, 3);
+
+        assertFalse(occupancy.isSoldFree("1A", 0, 2));
+        assertFalse(occupancy.isSoldFree("1A", 2, 4));
+        assertTrue(occupancy.isSoldFree("1A", 0, 1));
+        assertTrue(occupancy.isSoldFree("1A", 3, 4));
+        assertTrue(occupancy.isSoldFree("2A", 0, 4));
+    }
+
+    @Test
+    @DisplayName("Debe liberar el tramo al quitar el ticket")
+    void shouldReleaseSegmentWhenTicketRemoved() {
+        occupancy.addTicket(10L, "1A", 0, 2);
+        occupancy.addTicket(11L, "1A", 2, 4);
+
+        occupancy.removeTicket(10L);
+
+        assertTrue(occupancy.isSoldFree("1A", 0, 2));
+        assertFalse(occupancy.isSoldFree("1A", 2, 3));
+    }
+
+    @Test
+    @DisplayName("Debe ignorar holds vencidos")
+    void shouldIgnoreExpiredHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        occupancy.addHold(20L, "1A", 0, 2, now.plusMinutes(5));
+        occupancy.addHold(21L, "2A", 0, 2, now.minusMinutes(1));
+
+        assertFalse(occupancy.isFree("1A", 1, 3, now));
+        assertTrue(occupancy.isSoldFree("1A", 1, 3));
+        assertTrue(occupancy.isFree("2A", 0, 2, now));
+    }
+
+    @Test
+    @DisplayName("Un hold sin paradas debe ocupar el viaje completo")
+    void shouldTreatHoldWithoutStopsAsWholeTrip() {
+        occupancy.addHold(30L, "3A", null, null, LocalDateTime.now().plusMinutes(5));
+
+        assertFalse(occupancy.isFree("3A", 3, 4, LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Debe informar el tramo afectado y su nuevo estado")
+    void shouldReportChangedSegmentAndState() {
+        TripSeatOccupancy.SeatSegment held = occupancy.addHold(20L, "1A", null, null,
+                LocalDateTime.now().plusMinutes(5));
+
+        assertEquals(new TripSeatOccupancy.SeatSegment("1A", 0, 4), held);
+        assertEquals(SeatSegmentState.HELD, occupancy.stateOf("1A", 0, 4, LocalDateTime.now()));
+
+        occupancy.removeHold(20L);
+        occupancy.addTicket(10L, "1A", 1, 3);
+        assertEquals(SeatSegmentState.OCCUPIED, occupancy.stateOf("1A", 1, 3, LocalDateTime.now()));
+
+        assertEquals(new TripSeatOccupancy.SeatSegment("1A", 1, 3), occupancy.removeTicket(10L));
+        assertEquals(SeatSegmentState.AVAILABLE, occupancy.stateOf("1A", 1, 3, LocalDateTime.now()));
+        assertNull(occupancy.removeTicket(10L));
+    }
+
+    @Test
+    @DisplayName("Debe mantener el conteo de asientos libres con tickets, holds y vencimientos")
+    void shouldMaintainAvailableSeatCount() {
+        LocalDateTime now = LocalDateTime.now();
+        occupancy.addTicket(10L, "1A", 0, 2);
+        occupancy.addTicket(11L, "1A", 2, 4);
+        occupancy.addHold(20L, "2A", 1, 2, now.plusMinutes(5));
+        occupancy.addHold(21L, "3A", 0, 4, now.plusSeconds(1));
+
+        assertEquals(37, occupancy.availableSeats(40, now));
+
+        occupancy.removeTicket(10L);
+        assertEquals(37, occupancy.availableSeats(40, now));
+
+        occupancy.removeTicket(11L);
+        occupancy.removeHold(20L);
+        assertEquals(39, occupancy.availableSeats(40, now));
+        assertEquals(40, occupancy.availableSeats(40, now.plusSeconds(2)));
+    }
+
+    @Test
+    @DisplayName("Debe contar los asientos libres solo en el tramo pedido")
+    void shouldCountAvailableSeatsForSegment() {
+        LocalDateTime now = LocalDateTime.now();
+        occupancy.addTicket(10L, "1A", 0, 2);
+        occupancy.addHold(20L, "2A", 2, 4, now.plusMinutes(5));
+        occupancy.addHold(21L, "3A", 1, 3, now.plusSeconds(1));
+
+        assertEquals(38, occupancy.availableSeatsForSegment(40, 0, 2, now));
+        assertEquals(39, occupancy.availableSeatsForSegment(40, 3, 4, now));
+        assertEquals(39, occupancy.availableSeatsForSegment(40, 0, 2, now.plusSeconds(2)));
+    }
+
+    @Test
+    @DisplayName("Debe listar los tramos que cambiaron entre dos instantáneas")
+    void shouldDiffSnapshots() {
+        LocalDateTime now = LocalDateTime.now();
+        occupancy.addTicket(10L, "1A", 0, 2);
+        occupancy.addHold(20L, "2A", 1, 3, now.plusMinutes(5));
+
+        TripSeatOccupancy reloaded = new TripSeatOccupancy(1L, 4);
+        reloaded.addTicket(10L, "1A", 0, 4);
+        reloaded.addTicket(30L, "3A", 2, 3);
+
+        List<SegmentChange> changes = TripSeatOccupancy.changes(occupancy, reloaded, now);
+
+        assertEquals(List.of(
+                new SegmentChange("1A", 2, 4, SeatSegmentState.OCCUPIED),
+                new SegmentChange("2A", 1, 3, SeatSegmentState.AVAILABLE),
+                new SegmentChange("3A", 2, 3, SeatSegmentState.OCCUPIED)), changes);
+        assertTrue(TripSeatOccupancy.changes(reloaded, reloaded, now).isEmpty());
+    }
+}
@@ -0,0 +1,135 @@
+package com.bers.services.routing;
+
+import com.bers.domain.entities.enums.DynamicPricingStatus;
+import com.bers.domain.repositories.projections.FareMatrixEntryProjection;
+import com.bers.domain.repositories.projections.StopIndexProjection;
+import com.bers.domain.repositories.projections.TripScheduleProjection;
+import com.bers.services.routing.ConnectionPlanner.Itinerary;
+import com.bers.services.routing.ConnectionPlanner.PlanResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConnectionPlanner Tests")
+class ConnectionPlannerTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+    private static final int MIN_TRANSFER = 20 * 60;
+    private static final BigDecimal DEFAULT_FARE = new BigDecimal("50000");
+    private static final List<StopIndexProjection> STOPS = List.of(
+            new StopIndexProjection(1L, 10L, "Bogotá", 0),
+            new StopIndexProjection(1L, 11L, "Terminal Norte", 1),
+            new StopIndexProjection(2L, 20L, "terminal norte", 0),
+            new StopIndexProjection(2L, 21L, "Tunja", 1),
+            new StopIndexProjection(3L, 30L, "Bogotá", 0),
+            new StopIndexProjection(3L, 31L, "Tunja", 1));
+    private static final List<TripScheduleProjection> TRIPS = List.of(
+            trip(1L, 1L, "08:00", "10:00"),
+            trip(2L, 2L, "10:10", "12:00"),
+            trip(3L, 2L, "10:30", "12:30"),
+            trip(4L, 3L, "08:00", "13:00"));
+
+    private DayTimetable timetable;
+
+    @BeforeEach
+    void setUp() {
+        // Ruta 1: Bogotá → Terminal Norte, ruta 2: Terminal Norte → Tunja, ruta 3: Bogotá → Tunja directo
+        timetable = timetable(Map.of(
+                1L, List.of(rule(10L, 11L, "30000")),
+                2L, List.of(rule(20L, 21L, "30000")),
+                3L, List.of(rule(30L, 31L, "50000"))));
+    }
+
+    @Test
+    @DisplayName("Debe dar la conexión más temprana respetando el tiempo mínimo de transbordo")
+    void shouldFindEarliestArrivalWithMinimumTransfer() {
+        PlanResult result = ConnectionPlanner.plan(timetable, "Bogotá", "Tunja",
+                DATE.atStartOfDay(), 2, MIN_TRANSFER);
+
+        Itinerary earliest = result.earliestArrival();
+        assertNotNull(earliest);
+        assertEquals(1, earliest.transfers());
+        assertEquals(at("12:30"), earliest.arrivalAt());
+        assertEquals(3L, earliest.legs().get(1).trip().tripId());
+        assertEquals(0, new BigDecimal("60000").compareTo(earliest.totalFare()));
+    }
+
+    @Test
+    @DisplayName("Debe dar la conexión más barata aunque llegue más tarde")
+    void shouldFindCheapestConnection() {
+        PlanResult result = ConnectionPlanner.plan(timetable, "Bogotá", "Tunja",
+                DATE.atStartOfDay(), 2, MIN_TRANSFER);
+
+        Itinerary cheapest = result.cheapest();
+        assertNotNull(cheapest);
+        assertEquals(0, cheapest.transfers());
+        assertEquals(4L, cheapest.legs().get(0).trip().tripId());
+        assertEquals(0, new BigDecimal("50000").compareTo(cheapest.totalFare()));
+    }
+
+    @Test
+    @DisplayName("Debe limitar los transbordos y no salir antes de la hora pedida")
+    void shouldRespectTransferLimitAndDepartureTime() {
+        PlanResult direct = ConnectionPlanner.plan(timetable, "Bogotá", "Tunja",
+                DATE.atStartOfDay(), 0, MIN_TRANSFER);
+        assertEquals(4L, direct.earliestArrival().legs().get(0).trip().tripId());
+
+        PlanResult late = ConnectionPlanner.plan(timetable, "Bogotá", "Tunja",
+                at("09:00"), 2, MIN_TRANSFER);
+        assertNull(late.earliestArrival());
+        assertNull(late.cheapest());
+    }
+
+    @Test
+    @DisplayName("Debe cotizar con la matriz de la ruta, incluidas las tarifas combinadas, como la venta")
+    void shouldPriceLegsFromFareMatrix() {
+        // La ruta 3 pasa por Tuta y solo tiene reglas por tramos: Bogotá → Tunja se cobra combinando ambas
+        List<StopIndexProjection> stops = List.of(
+                STOPS.get(0), STOPS.get(1), STOPS.get(2), STOPS.get(3),
+                new StopIndexProjection(3L, 30L, "Bogotá", 0),
+                new StopIndexProjection(3L, 32L, "Tuta", 1),
+                new StopIndexProjection(3L, 31L, "Tunja", 2));
+        DayTimetable combined = timetable(stops, Map.of(
+                1L, List.of(rule(10L, 11L, "30000")),
+                2L, List.of(rule(20L, 21L, "30000")),
+                3L, List.of(rule(30L, 32L, "20000"), rule(32L, 31L, "15000"))));
+
+        Itinerary cheapest = ConnectionPlanner.plan(combined, "Bogotá", "Tunja",
+                DATE.atStartOfDay(), 2, MIN_TRANSFER).cheapest();
+
+        assertEquals(4L, cheapest.legs().get(0).trip().tripId());
+        assertEquals(0, new BigDecimal("35000").compareTo(cheapest.totalFare()));
+    }
+
+    private static DayTimetable timetable(Map<Long, List<FareMatrixEntryProjection>> rulesByRoute) {
+        return timetable(STOPS, rulesByRoute);
+    }
+
+    private static DayTimetable timetable(List<StopIndexProjection> stops,
+                                          Map<Long, List<FareMatrixEntryProjection>> rulesByRoute) {
+        return DayTimetable.build(DATE, TRIPS, stops, routeId -> RouteFareMatrix.build(routeId,
+                stops.stream().filter(stop -> stop.routeId().equals(routeId)).toList(),
+                rulesByRoute.getOrDefault(routeId, List.of()), DEFAULT_FARE));
+    }
+
+    private static FareMatrixEntryProjection rule(Long fromStopId, Long toStopId, String price) {
+        return new FareMatrixEntryProjection(fromStopId, toStopId, new BigDecimal(price), DynamicPricingStatus.OFF);
+    }
+
+    private static TripScheduleProjection trip(Long tripId, Long routeId, String departure, String arrival) {
+        return new TripScheduleProjection(tripId, routeId, "Ruta " + routeId, at(departure), at(arrival), 40);
+    }
+
+    private static LocalDateTime at(String time) {
+        return DATE.atTime(LocalTime.parse(time));
+    }
+}
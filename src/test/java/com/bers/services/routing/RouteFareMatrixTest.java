@@ -0,0 +1,92 @@
+package com.bers.services.routing;
+
+import com.bers.domain.entities.enums.DynamicPricingStatus;
+import com.bers.domain.repositories.projections.FareMatrixEntryProjection;
+import com.bers.domain.repositories.projections.StopIndexProjection;
+import com.bers.services.routing.RouteFareMatrix.SegmentFare;
+import com.bers.services.routing.RouteFareMatrix.Source;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RouteFareMatrix Tests")
+class RouteFareMatrixTest {
+
+    private static final BigDecimal DEFAULT_FARE = new BigDecimal("50000");
+
+    // Paradas 10, 11, 12, 13, 14 con órdenes 1..5
+    private static final List<StopIndexProjection> STOPS = List.of(
+            new StopIndexProjection(1L, 12L, "C", 3),
+            new StopIndexProjection(1L, 10L, "A", 1),
+            new StopIndexProjection(1L, 11L, "B", 2),
+            new StopIndexProjection(1L, 14L, "E", 5),
+            new StopIndexProjection(1L, 13L, "D", 4));
+
+    @Test
+    @DisplayName("Debe usar la regla del tramo cuando existe, con su precio dinámico")
+    void shouldUseExplicitRule() {
+        RouteFareMatrix matrix = RouteFareMatrix.build(1L, STOPS, List.of(
+                rule(10L, 12L, "30000", DynamicPricingStatus.ON)), DEFAULT_FARE);
+
+        SegmentFare fare = matrix.fare(10L, 12L);
+
+        assertEquals(new BigDecimal("30000"), fare.basePrice());
+        assertEquals(DynamicPricingStatus.ON, fare.dynamicPricing());
+        assertEquals(Source.RULE, fare.source());
+        assertEquals(fare, matrix.fareByOrder(1, 3));
+    }
+
+    @Test
+    @DisplayName("Debe combinar reglas consecutivas y prorratear dentro de un tramo con tarifa")
+    void shouldDeriveMissingSegments() {
+        RouteFareMatrix matrix = RouteFareMatrix.build(1L, STOPS, List.of(
+                rule(10L, 12L, "30000", DynamicPricingStatus.ON),
+                rule(12L, 14L, "25000", DynamicPricingStatus.OFF),
+                rule(10L, 14L, "60000", DynamicPricingStatus.OFF)), DEFAULT_FARE);
+
+        // A → E tiene regla propia aunque la combinación A→C→E saldría más barata
+        assertEquals(new BigDecimal("60000"), matrix.fullRouteFare().basePrice());
+        assertEquals(Source.RULE, matrix.fullRouteFare().source());
+
+        // B → C: mitad de A → C
+        SegmentFare prorated = matrix.fare(11L, 12L);
+        assertEquals(Source.PRORATED, prorated.source());
+        assertEquals(new BigDecimal("15000.00"), prorated.basePrice());
+        assertEquals(DynamicPricingStatus.OFF, prorated.dynamicPricing());
+    }
+
+    @Test
+    @DisplayName("Debe sumar los tramos con regla cuando no hay una regla que cubra el recorrido")
+    void shouldCombineConsecutiveRules() {
+        RouteFareMatrix matrix = RouteFareMatrix.build(1L, STOPS, List.of(
+                rule(10L, 11L, "10000", DynamicPricingStatus.OFF),
+                rule(11L, 13L, "20000", DynamicPricingStatus.OFF),
+                rule(10L, 12L, "18000", DynamicPricingStatus.OFF),
+                rule(12L, 13L, "9000", DynamicPricingStatus.OFF)), DEFAULT_FARE);
+
+        SegmentFare fare = matrix.fare(10L, 13L);
+
+        assertEquals(Source.COMBINED, fare.source());
+        assertEquals(new BigDecimal("27000"), fare.basePrice());
+    }
+
+    @Test
+    @DisplayName("Debe usar la tarifa por defecto si ninguna regla cubre el tramo o las paradas no son de la ruta")
+    void shouldFallBackToDefault() {
+        RouteFareMatrix matrix = RouteFareMatrix.build(1L, STOPS, List.of(
+                rule(10L, 11L, "10000", DynamicPricingStatus.OFF)), DEFAULT_FARE);
+
+        assertEquals(Source.DEFAULT, matrix.fare(13L, 14L).source());
+        assertEquals(DEFAULT_FARE, matrix.fare(13L, 14L).basePrice());
+        assertEquals(Source.DEFAULT, matrix.fare(12L, 10L).source());
+        assertEquals(Source.DEFAULT, matrix.fare(10L, 99L).source());
+    }
+
+    private static FareMatrixEntryProjection rule(Long from, Long to, String price, DynamicPricingStatus pricing) {
+        return new FareMatrixEntryProjection(from, to, new BigDecimal(price), pricing);
+    }
+}
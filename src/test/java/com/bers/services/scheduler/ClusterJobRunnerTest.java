@@ -0,0 +1,139 @@
+package com.bers.services.scheduler;
+
+import com.bers.domain.entities.SchedulerLock;
+import com.bers.domain.repositories.SchedulerLockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClusterJobRunner Tests")
+class ClusterJobRunnerTest {
+
+    private static final ClusterJob JOB = new ClusterJob("test-job",
+            Duration.ofMinutes(5), Duration.ofMinutes(4), Duration.ofSeconds(30));
+
+    @Mock
+    private SchedulerLockRepository lockRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MockEnvironment environment;
+    private SimpleMeterRegistry meterRegistry;
+    private ClusterJobRunner runner;
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+        meterRegistry = new SimpleMeterRegistry();
+        runner = new ClusterJobRunner(lockRepository, new TransactionTemplate(transactionManager), environment,
+                new JobMetrics(meterRegistry));
+        runner.register(JOB, runs::incrementAndGet);
+    }
+
+    @Test
+    @DisplayName("Debe correr el job y registrar el éxito cuando toma la concesión")
+    void shouldRunJobWhenLeaseAcquired() {
+        when(lockRepository.acquire(eq("test-job"), anyString(), any(), any())).thenReturn(1);
+
+        assertTrue(runner.run("test-job"));
+
+        assertEquals(1, runs.get());
+        verify(lockRepository).releaseAfterSuccess(eq("test-job"), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("No debe correr el job si otro nodo tiene la concesión")
+    void shouldSkipJobWhenLeaseHeldElsewhere() {
+        when(lockRepository.acquire(eq("test-job"), anyString(), any(), any())).thenReturn(0);
+        when(lockRepository.existsById("test-job")).thenReturn(true);
+
+        assertFalse(runner.run("test-job"));
+
+        assertEquals(0, runs.get());
+        verify(lockRepository, never()).insertLock(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe crear la concesión la primera vez y ceder si otro nodo la creó antes")
+    void shouldCreateLeaseRowOnFirstRun() {
+        when(lockRepository.acquire(eq("test-job"), anyString(), any(), any())).thenReturn(0);
+        when(lockRepository.existsById("test-job")).thenReturn(false);
+        when(lockRepository.insertLock(eq("test-job"), anyString(), any(), any()))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertTrue(runner.run("test-job"));
+        assertFalse(runner.run("test-job"));
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("Debe respetar el interruptor por job")
+    void shouldHonourPerJobFlag() {
+        environment.setProperty("bers.scheduling.jobs.test-job.enabled", "false");
+
+        assertFalse(runner.run("test-job"));
+
+        verifyNoInteractions(lockRepository);
+    }
+
+    @Test
+    @DisplayName("Debe recuperar una ejecución perdida y no repetir una reciente")
+    void shouldCatchUpMissedRuns() {
+        LocalDateTime now = LocalDateTime.now();
+        SchedulerLock stale = SchedulerLock.builder().name("test-job").lockedAt(now.minusHours(1))
+                .lockedUntil(now.minusHours(1)).lockedBy("other").lastSuccessAt(now.minusHours(1)).build();
+        when(lockRepository.findById("test-job")).thenReturn(Optional.of(stale));
+        when(lockRepository.acquire(eq("test-job"), anyString(), any(), any())).thenReturn(1);
+
+        runner.catchUpMissedRuns();
+        assertEquals(1, runs.get());
+
+        stale.setLastSuccessAt(now.minusMinutes(1));
+        runner.catchUpMissedRuns();
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("Debe registrar duración, filas afectadas y fallos de cada ejecución")
+    void shouldRecordRunMetrics() {
+        when(lockRepository.acquire(anyString(), anyString(), any(), any())).thenReturn(1);
+        ClusterJob failing = new ClusterJob("failing-job",
+                Duration.ofMinutes(5), Duration.ofMinutes(4), Duration.ZERO);
+
+        runner.run(JOB, () -> 42);
+        runner.run(failing, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertEquals(42, meterRegistry.get("bers.job.rows").tag("job", "test-job").counter().count());
+        assertEquals(1, meterRegistry.get("bers.job.duration")
+                .tags("job", "test-job", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("bers.job.duration")
+                .tags("job", "failing-job", "outcome", "failure").timer().count());
+        assertTrue(meterRegistry.get("bers.job.last.success").tag("job", "test-job").gauge().value() > 0);
+        verify(lockRepository).release(eq("failing-job"), anyString(), any());
+    }
+}
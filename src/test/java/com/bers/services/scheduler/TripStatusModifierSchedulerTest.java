@@ -0,0 +1,88 @@
+package com.bers.services.scheduler;
+
+import com.bers.domain.entities.enums.TripStatus;
+import com.bers.domain.repositories.TripRepository;
+import com.bers.domain.repositories.projections.TripTransitionProjection;
+import com.bers.services.cache.DayTimetableCache;
+import com.bers.services.cache.TripSearchCache;
+import com.bers.services.event.TripStatusChangedEvent;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TripStatusModifierScheduler Tests")
+class TripStatusModifierSchedulerTest {
+
+    @Mock
+    private TripRepository tripRepository;
+    @Mock
+    private TripSearchCache tripSearchCache;
+    @Mock
+    private DayTimetableCache dayTimetableCache;
+    @Mock
+    private SegmentOccupancyEngine segmentOccupancyEngine;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ClusterJobRunner jobRunner;
+    @InjectMocks
+    private TripStatusModifierScheduler scheduler;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 12, 25, 8, 0);
+
+    @Test
+    @DisplayName("Debe pasar a BOARDING con un UPDATE por lotes y publicar un evento por viaje")
+    void shouldMoveTripsToBoardingInBulk() {
+        List<TripTransitionProjection> candidates = List.of(
+                new TripTransitionProjection(1L, 10L, now.toLocalDate(), now.plusMinutes(10)),
+                new TripTransitionProjection(2L, 10L, now.toLocalDate(), now.plusMinutes(25)));
+        when(tripRepository.findScheduledDepartingBetween(now, now.plusMinutes(30))).thenReturn(candidates);
+        when(tripRepository.transitionStatus(List.of(1L, 2L), TripStatus.SCHEDULED, TripStatus.BOARDING))
+                .thenReturn(2);
+
+        int updated = scheduler.updateToBoarding(now);
+
+        assertEquals(2, updated);
+        ArgumentCaptor<TripStatusChangedEvent> events = ArgumentCaptor.forClass(TripStatusChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(1L, 2L), events.getAllValues().stream().map(TripStatusChangedEvent::getTripId).toList());
+        assertEquals(TripStatus.BOARDING, events.getValue().getNewStatus());
+        verify(tripSearchCache).evictTripIds(List.of(1L, 2L));
+        verify(tripRepository, never()).findAll();
+        verifyNoInteractions(dayTimetableCache);
+    }
+
+    @Test
+    @DisplayName("Debe anunciar solo los viajes que el UPDATE realmente cambió")
+    void shouldOnlyAnnounceTripsActuallyDeparted() {
+        List<TripTransitionProjection> candidates = List.of(
+                new TripTransitionProjection(1L, 10L, now.toLocalDate(), now.minusMinutes(5)),
+                new TripTransitionProjection(2L, 10L, now.toLocalDate(), now.minusMinutes(1)));
+        when(tripRepository.findBoardingDepartedBy(now)).thenReturn(candidates);
+        when(tripRepository.transitionStatus(List.of(1L, 2L), TripStatus.BOARDING, TripStatus.DEPARTED))
+                .thenReturn(1);
+        when(tripRepository.findIdsByIdInAndStatus(List.of(1L, 2L), TripStatus.DEPARTED)).thenReturn(List.of(2L));
+
+        int updated = scheduler.updateToDeparted(now);
+
+        assertEquals(1, updated);
+        ArgumentCaptor<TripStatusChangedEvent> event = ArgumentCaptor.forClass(TripStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2L, event.getValue().getTripId());
+        verify(dayTimetableCache).evictDate(now.toLocalDate());
+        verify(segmentOccupancyEngine).evictTrip(2L);
+    }
+}
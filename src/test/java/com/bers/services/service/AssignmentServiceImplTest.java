@@ -11,6 +11,7 @@ import com.bers.domain.entities.enums.UserRole;
 import com.bers.domain.repositories.AssignmentRepository;
 import com.bers.domain.repositories.TripRepository;
 import com.bers.domain.repositories.UserRepository;
+import com.bers.domain.repositories.projections.AssignmentListProjection;
 import com.bers.services.mappers.AssignmentMapper;
 import com.bers.services.service.serviceImple.AssignmentServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -26,6 +27,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -172,4 +174,24 @@ class AssignmentServiceImplTest {
 
         Assertions.assertTrue(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe listar las asignaciones del conductor desde la proyección")
+    void shouldListDriverAssignmentsFromProjection() {
+        LocalDateTime departure = LocalDateTime.of(2025, 3, 10, 8, 30);
+        AssignmentListProjection row = new AssignmentListProjection(1L, true, departure.minusHours(2),
+                1L, TripStatus.SCHEDULED, departure.toLocalDate(), departure, "Bogotá", "Tunja",
+                2L, "driver", 3L, "dispatcher");
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(assignmentRepository.findForListByDriverId(2L)).thenReturn(List.of(row));
+
+        List<AssignmentResponse> result = assignmentService.getAssignmentsByDriverId(2L);
+
+        assertEquals(1, result.size());
+        AssignmentResponse response = result.get(0);
+        assertEquals("Bogotá → Tunja - 2025-03-10 08:30", response.tripInfo());
+        assertEquals("Bogotá → Tunja", response.routeInfo());
+        assertEquals("SCHEDULED", response.tripStatus());
+        assertEquals("dispatcher", response.dispatcherName());
+    }
+}
@@ -5,6 +5,7 @@ import com.bers.domain.entities.Bus;
 import com.bers.domain.entities.Seat;
 import com.bers.domain.entities.enums.BusStatus;
 import com.bers.domain.repositories.BusRepository;
+import com.bers.services.cache.TripSearchCache;
 import com.bers.services.mappers.BusMapper;
 import com.bers.services.service.serviceImple.BusServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -31,6 +32,8 @@ class BusServiceImplTest {
     private BusRepository busRepository;
     @Spy
     private BusMapper busMapper = Mappers.getMapper(BusMapper.class);
+    @Mock
+    private TripSearchCache tripSearchCache;
     @InjectMocks
     private BusServiceImpl busService;
     private Bus bus;
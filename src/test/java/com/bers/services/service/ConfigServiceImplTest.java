@@ -2,8 +2,10 @@ package com.bers.services.service;
 
 import com.bers.api.dtos.ConfigDtos.ConfigCreateRequest;
 import com.bers.api.dtos.ConfigDtos.ConfigResponse;
+import com.bers.api.dtos.ConfigDtos.ConfigUpdateRequest;
 import com.bers.domain.entities.Config;
 import com.bers.domain.repositories.ConfigRepository;
+import com.bers.domain.repositories.projections.ConfigVersionProjection;
 import com.bers.services.mappers.ConfigMapper;
 import com.bers.services.service.serviceImple.ConfigServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -18,6 +20,7 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -82,7 +85,7 @@ class ConfigServiceImplTest {
     @Test
     @DisplayName("Debe obtener config value con valor por default")
     void shouldGetConfigValueWithDefault() {
-        when(configRepository.findByKey("missing.key")).thenReturn(Optional.empty());
+        when(configRepository.findAll()).thenReturn(List.of());
 
         String result = configService.getConfigValue("missing.key", "default");
 
@@ -92,8 +95,7 @@ class ConfigServiceImplTest {
     @Test
     @DisplayName("Debe obtener config value como int")
     void shouldGetConfigValueAsInt() {
-        when(configRepository.findByKey("seat.hold.minutes"))
-                .thenReturn(Optional.of(config));
+        when(configRepository.findAll()).thenReturn(List.of(config));
 
         Integer result = configService.getConfigValueAsInt("seat.hold.minutes", 0);
 
@@ -104,8 +106,7 @@ class ConfigServiceImplTest {
     @DisplayName("Debe retornar default value con invalid format")
     void shouldReturnDefaultWithInvalidFormat() {
         config.setValue("invalid");
-        when(configRepository.findByKey("seat.hold.minutes"))
-                .thenReturn(Optional.of(config));
+        when(configRepository.findAll()).thenReturn(List.of(config));
 
         Integer result = configService.getConfigValueAsInt("seat.hold.minutes", 5);
 
@@ -115,8 +116,9 @@ class ConfigServiceImplTest {
     @Test
     @DisplayName("Debe obtener value como double")
     void shouldGetValueAsDouble() {
+        config.setKey("test.double");
         config.setValue("5.5");
-        when(configRepository.findByKey("test.double")).thenReturn(Optional.of(config));
+        when(configRepository.findAll()).thenReturn(List.of(config));
 
         Double result = configService.getConfigValueAsDouble("test.double", 0.0);
 
@@ -132,4 +134,43 @@ class ConfigServiceImplTest {
 
         verify(configRepository).deleteByKey("test.key");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe leer los valores de memoria y recargar tras un cambio")
+    void shouldServeValuesFromSnapshotUntilChanged() {
+        when(configRepository.findAll()).thenReturn(List.of(config));
+        when(configRepository.findById(1L)).thenReturn(Optional.of(config));
+        when(configRepository.save(any())).thenReturn(config);
+
+        assertEquals(10, configService.getConfigValueAsInt("seat.hold.minutes", 0));
+        assertEquals(10.0, configService.getConfigValueAsDouble("seat.hold.minutes", 0.0));
+        assertEquals("10", configService.getConfigValue("seat.hold.minutes", "0"));
+        verify(configRepository, times(1)).findAll();
+
+        configService.updateConfig(1L, new ConfigUpdateRequest("15", null, null));
+        config.setValue("15");
+
+        assertEquals(15, configService.getConfigValueAsInt("seat.hold.minutes", 0));
+        verify(configRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Debe recargar cuando otro nodo cambia la configuración")
+    void shouldReloadWhenVersionChanges() {
+        LocalDateTime loadedAt = LocalDateTime.now();
+        when(configRepository.findVersion())
+                .thenReturn(new ConfigVersionProjection(1L, 1L, loadedAt))
+                .thenReturn(new ConfigVersionProjection(1L, 1L, loadedAt))
+                .thenReturn(new ConfigVersionProjection(1L, 1L, loadedAt.plusSeconds(5)));
+        when(configRepository.findAll()).thenReturn(List.of(config));
+
+        configService.getConfigValue("seat.hold.minutes", "0");
+        configService.refreshIfChanged();
+        configService.getConfigValue("seat.hold.minutes", "0");
+        verify(configRepository, times(1)).findAll();
+
+        configService.refreshIfChanged();
+        configService.getConfigValue("seat.hold.minutes", "0");
+        verify(configRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,107 @@
+package com.bers.services.service;
+
+import com.bers.api.dtos.TripDtos.FareCalendarResponse;
+import com.bers.domain.entities.Stop;
+import com.bers.domain.entities.enums.DynamicPricingStatus;
+import com.bers.domain.repositories.RouteRepository;
+import com.bers.domain.repositories.StopRepository;
+import com.bers.domain.repositories.TripRepository;
+import com.bers.domain.repositories.projections.TripCalendarProjection;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.inventory.TripSeatOccupancy;
+import com.bers.services.routing.RouteFareMatrix;
+import com.bers.services.routing.RouteFareMatrix.SegmentFare;
+import com.bers.services.service.serviceImple.FareCalendarServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FareCalendarService Tests")
+class FareCalendarServiceImplTest {
+
+    @Mock
+    private TripRepository tripRepository;
+    @Mock
+    private RouteRepository routeRepository;
+    @Mock
+    private StopRepository stopRepository;
+    @Mock
+    private FareMatrixCache fareMatrixCache;
+    @Mock
+    private SegmentOccupancyEngine segmentOccupancyEngine;
+    @InjectMocks
+    private FareCalendarServiceImpl fareCalendarService;
+
+    private LocalDate start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDate.now().plusDays(1);
+    }
+
+    @Test
+    @DisplayName("Debe devolver la tarifa de venta y los cupos de cada día del rango")
+    void shouldBuildCalendarFromSingleQuery() {
+        when(routeRepository.existsById(1L)).thenReturn(true);
+        when(stopRepository.findByRouteIdOrderByOrderAsc(1L)).thenReturn(List.of(stop(10L, 0), stop(11L, 1), stop(12L, 2)));
+        when(fareMatrixCache.fare(1L, 10L, 12L)).thenReturn(
+                new SegmentFare(new BigDecimal("40000"), DynamicPricingStatus.ON, RouteFareMatrix.Source.RULE));
+        when(tripRepository.findCalendarByRouteAndDateRange(1L, start, start.plusDays(2))).thenReturn(List.of(
+                new TripCalendarProjection(100L, start, 10),
+                new TripCalendarProjection(101L, start, 10),
+                new TripCalendarProjection(102L, start.plusDays(2), 10)));
+
+        TripSeatOccupancy emptyTrip = new TripSeatOccupancy(100L, 2);
+        TripSeatOccupancy busyTrip = new TripSeatOccupancy(101L, 2);
+        for (int i = 0; i < 5; i++) {
+            busyTrip.addTicket((long) i, "S" + i, 0, 2);
+        }
+        TripSeatOccupancy fullTrip = new TripSeatOccupancy(102L, 2);
+        for (int i = 0; i < 10; i++) {
+            fullTrip.addTicket((long) i, "S" + i, 0, 2);
+        }
+        when(segmentOccupancyEngine.snapshots(anyList()))
+                .thenReturn(Map.of(100L, emptyTrip, 101L, busyTrip, 102L, fullTrip));
+
+        FareCalendarResponse result = fareCalendarService.getFareCalendar(1L, null, null, start, start.plusDays(2));
+
+        assertEquals(3, result.days().size());
+        assertEquals(2, result.days().get(0).trips());
+        assertEquals(15, result.days().get(0).availableSeats());
+        assertEquals(0, new BigDecimal("40000").compareTo(result.days().get(0).minFare()));
+        assertEquals(0, result.days().get(1).trips());
+        assertNull(result.days().get(1).minFare());
+        assertEquals(0, result.days().get(2).availableSeats());
+        assertNull(result.days().get(2).minFare());
+        verify(tripRepository, times(1)).findCalendarByRouteAndDateRange(1L, start, start.plusDays(2));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar rangos de más de 62 días")
+    void shouldRejectLongRanges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> fareCalendarService.getFareCalendar(1L, null, null, start, start.plusDays(62)));
+
+        verifyNoInteractions(tripRepository);
+    }
+
+    private Stop stop(Long id, int order) {
+        return Stop.builder().id(id).order(order).build();
+    }
+}
@@ -9,6 +9,7 @@ import com.bers.domain.entities.enums.DynamicPricingStatus;
 import com.bers.domain.repositories.FareRuleRepository;
 import com.bers.domain.repositories.RouteRepository;
 import com.bers.domain.repositories.StopRepository;
+import com.bers.services.cache.FareMatrixCache;
 import com.bers.services.mappers.FareRuleMapper;
 import com.bers.services.service.serviceImple.FareRuleServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -40,6 +41,8 @@ class FareRuleServiceImplTest {
     private StopRepository stopRepository;
     @Spy
     private FareRuleMapper fareRuleMapper = Mappers.getMapper(FareRuleMapper.class);
+    @Mock
+    private FareMatrixCache fareMatrixCache;
     @InjectMocks
     private FareRuleServiceImpl fareRuleService;
     private FareRule fareRule;
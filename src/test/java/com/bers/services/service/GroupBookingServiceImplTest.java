@@ -0,0 +1,230 @@
+package com.bers.services.service;
+
+import com.bers.api.dtos.GroupBookingDtos.*;
+import com.bers.domain.entities.*;
+import com.bers.domain.entities.enums.*;
+import com.bers.domain.repositories.*;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.event.SeatHoldCreatedEvent;
+import com.bers.services.inventory.SeatHoldExpiryQueue;
+import com.bers.services.inventory.SeatHoldLocks;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.mappers.SeatHoldMapper;
+import com.bers.services.mappers.TicketMapper;
+import com.bers.services.service.serviceImple.GroupBookingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GroupBookingService Tests")
+class GroupBookingServiceImplTest {
+
+    @Mock
+    private TripRepository tripRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private StopRepository stopRepository;
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private FareMatrixCache fareMatrixCache;
+    @Mock
+    private SeatHoldMapper seatHoldMapper;
+    @Mock
+    private TicketMapper ticketMapper;
+    @Mock
+    private SegmentOccupancyEngine segmentOccupancyEngine;
+    @Mock
+    private SegmentValidationService segmentValidationService;
+    @Mock
+    private SeatHoldLocks seatHoldLocks;
+    @Mock
+    private SeatHoldExpiryQueue seatHoldExpiryQueue;
+    @Mock
+    private DiscountService discountService;
+    @Mock
+    private CancellationService cancellationService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @InjectMocks
+    private GroupBookingServiceImpl groupBookingService;
+
+    private Trip trip;
+    private User user;
+    private Stop fromStop;
+    private Stop toStop;
+
+    @BeforeEach
+    void setUp() {
+        Route route = Route.builder().id(1L).name("Test").build();
+        trip = Trip.builder()
+                .id(1L)
+                .date(LocalDate.now())
+                .departureAt(LocalDateTime.now().plusDays(2))
+                .route(route)
+                .build();
+        user = User.builder().id(1L).username("John Doe").dateOfBirth(LocalDate.now().minusYears(30)).build();
+        fromStop = Stop.builder().id(10L).order(1).route(route).build();
+        toStop = Stop.builder().id(20L).order(3).route(route).build();
+    }
+
+    @Test
+    @DisplayName("Debe tomar todos los holds del grupo en un solo lote")
+    void shouldHoldAllSeatsInOneBatch() {
+        stubTripUserAndStops();
+        when(tripRepository.findSeatsByTripId(1L)).thenReturn(List.of(seat("1A"), seat("1B"), seat("2A")));
+        when(segmentOccupancyEngine.isSeatFreeForSegment(eq(1L), anyString(), eq(1), eq(3))).thenReturn(true);
+        when(seatHoldRepository.findByTripIdAndSeatNumberInAndStatus(1L, List.of("1A", "1B"), HoldStatus.HOLD))
+                .thenReturn(List.of());
+        when(seatHoldRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        GroupHoldResponse result = groupBookingService.createGroupHold(
+                new GroupHoldRequest(1L, 10L, 20L, List.of("1A", "1B")), 1L);
+
+        assertEquals(2, result.seatCount());
+        verify(seatHoldLocks).lockAllUntilCompletion(1L, List.of("1A", "1B"));
+        verify(segmentValidationService).validateSegmentForSeats(1L, List.of("1A", "1B"), 1, 3);
+        verify(seatHoldRepository).saveAllAndFlush(anyList());
+        verify(seatHoldExpiryQueue, times(2)).schedule(any(SeatHold.class));
+        verify(segmentOccupancyEngine, times(2)).holdChanged(any(SeatHold.class));
+        ArgumentCaptor<SeatHoldCreatedEvent> events = ArgumentCaptor.forClass(SeatHoldCreatedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of("1A", "1B"), events.getAllValues().stream().map(SeatHoldCreatedEvent::getSeatNumber).toList());
+        assertEquals(10L, events.getValue().getFromStopId());
+    }
+
+    @Test
+    @DisplayName("No debe tomar ningún hold si un asiento del grupo no está libre")
+    void shouldHoldNothingWhenOneSeatIsTaken() {
+        stubTripUserAndStops();
+        when(tripRepository.findSeatsByTripId(1L)).thenReturn(List.of(seat("1A"), seat("1B")));
+        when(segmentOccupancyEngine.isSeatFreeForSegment(1L, "1A", 1, 3)).thenReturn(true);
+        when(segmentOccupancyEngine.isSeatFreeForSegment(1L, "1B", 1, 3)).thenReturn(false);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> groupBookingService.createGroupHold(
+                        new GroupHoldRequest(1L, 10L, 20L, List.of("1A", "1B")), 1L));
+
+        assertTrue(exception.getMessage().contains("1B"));
+        verifyNoInteractions(seatHoldLocks);
+        verify(seatHoldRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    @DisplayName("No debe tomar ningún hold si la BD muestra un asiento vendido en otro nodo")
+    void shouldHoldNothingWhenSeatSoldElsewhere() {
+        stubTripUserAndStops();
+        when(tripRepository.findSeatsByTripId(1L)).thenReturn(List.of(seat("1A"), seat("1B")));
+        when(segmentOccupancyEngine.isSeatFreeForSegment(eq(1L), anyString(), eq(1), eq(3))).thenReturn(true);
+        when(seatHoldRepository.findByTripIdAndSeatNumberInAndStatus(1L, List.of("1A", "1B"), HoldStatus.HOLD))
+                .thenReturn(List.of());
+        doThrow(new IllegalArgumentException("Los asientos [1B] no están disponibles"))
+                .when(segmentValidationService).validateSegmentForSeats(1L, List.of("1A", "1B"), 1, 3);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> groupBookingService.createGroupHold(
+                        new GroupHoldRequest(1L, 10L, 20L, List.of("1A", "1B")), 1L));
+
+        verify(seatHoldRepository, never()).saveAllAndFlush(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar asientos repetidos en el grupo")
+    void shouldRejectDuplicateSeats() {
+        assertThrows(IllegalArgumentException.class,
+                () -> groupBookingService.createGroupHold(
+                        new GroupHoldRequest(1L, 10L, 20L, List.of("1A", "1A")), 1L));
+
+        verifyNoInteractions(tripRepository, seatHoldRepository);
+    }
+
+    @Test
+    @DisplayName("Debe crear los tickets del grupo calculando la tarifa una sola vez")
+    void shouldCreateGroupTicketsWithSingleFareLookup() {
+        stubTripUserAndStops();
+        when(seatHoldRepository.findByTripIdAndSeatNumberInAndStatus(1L, List.of("1A", "1B"), HoldStatus.HOLD))
+                .thenReturn(List.of(hold("1A"), hold("1B")));
+        when(fareMatrixCache.basePrice(1L, 10L, 20L)).thenReturn(new BigDecimal("40000"));
+        when(discountService.determinePassengerType(30, null)).thenReturn(PassengerType.ADULT);
+        when(discountService.calculateDiscount(PassengerType.ADULT, new BigDecimal("40000"))).thenReturn(BigDecimal.ZERO);
+        when(cancellationService.determineCancellationPolicy(any())).thenReturn(CancellationPolicy.FULL_REFUND);
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Sin método de pago: se elige al confirmar el pago de cada ticket
+        GroupTicketResponse result = groupBookingService.createGroupTickets(
+                new GroupTicketRequest(1L, 1L, 10L, 20L, List.of("1A", "1B"), null));
+
+        assertEquals(2, result.seatCount());
+        assertEquals(new BigDecimal("80000"), result.totalPrice());
+        verify(fareMatrixCache, times(1)).basePrice(1L, 10L, 20L);
+        verify(seatHoldLocks).lockAllUntilCompletion(1L, List.of("1A", "1B"));
+        verify(segmentValidationService).validateSegmentForSeats(1L, List.of("1A", "1B"), 1, 3);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Ticket>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ticketRepository).saveAll(captor.capture());
+        assertTrue(captor.getValue().stream().allMatch(t -> t.getStatus() == TicketStatus.PENDING_PAYMENT));
+        verify(segmentOccupancyEngine, times(2)).ticketChanged(any(Ticket.class));
+        // Quedan pendientes de pago: TicketSoldEvent sale al confirmar cada uno
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("No debe crear tickets si falta el hold de algún asiento")
+    void shouldRejectGroupTicketsWhenHoldMissing() {
+        stubTripUserAndStops();
+        when(seatHoldRepository.findByTripIdAndSeatNumberInAndStatus(1L, List.of("1A", "1B"), HoldStatus.HOLD))
+                .thenReturn(List.of(hold("1A")));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> groupBookingService.createGroupTickets(
+                        new GroupTicketRequest(1L, 1L, 10L, 20L, List.of("1A", "1B"), PaymentMethod.CASH)));
+
+        assertTrue(exception.getMessage().contains("1B"));
+        verify(ticketRepository, never()).saveAll(anyList());
+    }
+
+    private void stubTripUserAndStops() {
+        when(tripRepository.findById(1L)).thenReturn(Optional.of(trip));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(stopRepository.findById(10L)).thenReturn(Optional.of(fromStop));
+        when(stopRepository.findById(20L)).thenReturn(Optional.of(toStop));
+    }
+
+    private Seat seat(String number) {
+        return Seat.builder().number(number).build();
+    }
+
+    private SeatHold hold(String seatNumber) {
+        return SeatHold.builder()
+                .trip(trip)
+                .user(user)
+                .seatNumber(seatNumber)
+                .fromStop(fromStop)
+                .toStop(toStop)
+                .expiresAt(LocalDateTime.now().plusMinutes(5))
+                .status(HoldStatus.HOLD)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.bers.services.service;
+
+import com.bers.domain.entities.Trip;
+import com.bers.domain.entities.enums.TicketStatus;
+import com.bers.domain.entities.enums.TripStatus;
+import com.bers.domain.repositories.TicketRepository;
+import com.bers.domain.repositories.TripRepository;
+import com.bers.domain.repositories.projections.NoShowCandidateProjection;
+import com.bers.services.event.SeatsReleasedEvent;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.service.serviceImple.NoShowServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NoShowService Tests")
+class NoShowServiceImplTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private TripRepository tripRepository;
+    @Mock
+    private ConfigService configService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SegmentOccupancyEngine segmentOccupancyEngine;
+    @InjectMocks
+    private NoShowServiceImpl noShowService;
+
+    @Test
+    @DisplayName("Debe marcar los no-show de todos los viajes en bloque y publicar un evento por viaje")
+    void shouldMarkNoShowsInBulkAndCoalesceEvents() {
+        Trip first = Trip.builder().id(1L).status(TripStatus.BOARDING).departureAt(LocalDateTime.now()).build();
+        Trip second = Trip.builder().id(2L).status(TripStatus.BOARDING).departureAt(LocalDateTime.now()).build();
+        when(configService.getConfigValueAsInt("no.show.window.minutes", 5)).thenReturn(5);
+        when(configService.getConfigValue("no.show.fee.fixed", "5000")).thenReturn("5000");
+        when(configService.getConfigValueAsDouble("no.show.fee.percentage", 10.0)).thenReturn(10.0);
+        when(tripRepository.findByStatusAndDepartureAtBefore(eq(TripStatus.BOARDING), any()))
+                .thenReturn(List.of(first, second));
+        when(ticketRepository.findNoShowCandidates(List.of(1L, 2L))).thenReturn(List.of(
+                new NoShowCandidateProjection(10L, 1L, "1A", 100L, 101L),
+                new NoShowCandidateProjection(11L, 1L, "1B", 100L, 101L),
+                new NoShowCandidateProjection(20L, 2L, "3C", 200L, 201L)));
+        when(ticketRepository.markNoShow(List.of(10L, 11L, 20L), new BigDecimal("5000"), new BigDecimal("0.100")))
+                .thenReturn(3);
+
+        noShowService.processUpcomingTripsNoShow();
+
+        ArgumentCaptor<SeatsReleasedEvent> events = ArgumentCaptor.forClass(SeatsReleasedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(1L, 2L), events.getAllValues().stream().map(SeatsReleasedEvent::getTripId).toList());
+        assertEquals(2, events.getAllValues().get(0).getSeats().size());
+        verify(segmentOccupancyEngine).ticketsReleased(1L, List.of(10L, 11L));
+        verify(segmentOccupancyEngine).ticketsReleased(2L, List.of(20L));
+        verify(configService, times(1)).getConfigValue(anyString(), anyString());
+        verify(ticketRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("No debe liberar tiquetes que cambiaron de estado antes del UPDATE")
+    void shouldSkipTicketsChangedConcurrently() {
+        Trip trip = Trip.builder().id(1L).status(TripStatus.BOARDING)
+                .departureAt(LocalDateTime.now().plusMinutes(2)).build();
+        when(tripRepository.findById(1L)).thenReturn(Optional.of(trip));
+        when(configService.getConfigValueAsInt("no.show.window.minutes", 5)).thenReturn(5);
+        when(configService.getConfigValue("no.show.fee.fixed", "5000")).thenReturn("5000");
+        when(configService.getConfigValueAsDouble("no.show.fee.percentage", 10.0)).thenReturn(10.0);
+        when(ticketRepository.findNoShowCandidates(List.of(1L))).thenReturn(List.of(
+                new NoShowCandidateProjection(10L, 1L, "1A", 100L, 101L),
+                new NoShowCandidateProjection(11L, 1L, "1B", 100L, 101L)));
+        when(ticketRepository.markNoShow(eq(List.of(10L, 11L)), any(), any())).thenReturn(1);
+        when(ticketRepository.findIdsByIdInAndStatus(List.of(10L, 11L), TicketStatus.NO_SHOW)).thenReturn(List.of(11L));
+
+        noShowService.processNoShowTickets(1L);
+
+        verify(segmentOccupancyEngine).ticketsReleased(1L, List.of(11L));
+        ArgumentCaptor<SeatsReleasedEvent> event = ArgumentCaptor.forClass(SeatsReleasedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("1B", event.getValue().getSeats().get(0).seatNumber());
+    }
+}
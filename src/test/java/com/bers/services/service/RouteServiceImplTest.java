@@ -6,6 +6,11 @@ import com.bers.domain.entities.Route;
 import com.bers.domain.entities.Stop;
 import com.bers.domain.repositories.RouteRepository;
 import com.bers.domain.repositories.StopRepository;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.cache.PlaceAutocompleteIndex;
+import com.bers.services.cache.RouteStopIndex;
+import com.bers.services.cache.StopGeoIndex;
+import com.bers.services.cache.TripSearchCache;
 import com.bers.services.mappers.RouteMapper;
 import com.bers.services.mappers.StopMapper;
 import com.bers.services.service.serviceImple.RouteServiceImpl;
@@ -39,6 +44,16 @@ class RouteServiceImplTest {
     private RouteMapper routeMapper = Mappers.getMapper(RouteMapper.class);
     @Spy
     private StopMapper stopMapper = Mappers.getMapper(StopMapper.class);
+    @Mock
+    private TripSearchCache tripSearchCache;
+    @Mock
+    private RouteStopIndex routeStopIndex;
+    @Mock
+    private PlaceAutocompleteIndex placeAutocompleteIndex;
+    @Mock
+    private StopGeoIndex stopGeoIndex;
+    @Mock
+    private FareMatrixCache fareMatrixCache;
     @InjectMocks
     private RouteServiceImpl routeService;
     private Route route;
@@ -124,6 +139,7 @@ class RouteServiceImplTest {
         verify(routeRepository).findById(1L);
         verify(routeMapper).updateEntity(updateRequest, route);
         verify(routeRepository).save(route);
+        verify(placeAutocompleteIndex).routeSaved(route);
     }
 
     @Test
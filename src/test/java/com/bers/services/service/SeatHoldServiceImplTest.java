@@ -4,6 +4,8 @@ import com.bers.api.dtos.SeatHoldDtos.*;
 import com.bers.domain.entities.*;
 import com.bers.domain.entities.enums.*;
 import com.bers.domain.repositories.*;
+import com.bers.services.inventory.SeatHoldExpiryQueue;
+import com.bers.services.inventory.SegmentOccupancyEngine;
 import com.bers.services.mappers.SeatHoldMapper;
 import com.bers.services.service.serviceImple.SeatHoldServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -16,6 +18,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -38,6 +41,12 @@ class SeatHoldServiceImplTest {
     private UserRepository userRepository;
     @Spy
     private SeatHoldMapper seatHoldMapper = Mappers.getMapper(SeatHoldMapper.class);
+    @Mock
+    private SegmentOccupancyEngine segmentOccupancyEngine;
+    @Mock
+    private SeatHoldExpiryQueue seatHoldExpiryQueue;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private SeatHoldServiceImpl seatHoldService;
     private SeatHold seatHold;
@@ -159,6 +168,22 @@ class SeatHoldServiceImplTest {
         verify(seatHoldRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Debe rechazar volver a HOLD un seatHold expirado")
+    void shouldRejectReactivatingExpiredHold() {
+        seatHold.setStatus(HoldStatus.EXPIRED);
+        when(seatHoldRepository.findById(1L)).thenReturn(Optional.of(seatHold));
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> seatHoldService.updateSeatHold(1L, new SeatHoldUpdateRequest(HoldStatus.HOLD))
+        );
+
+        Assertions.assertTrue(exception.getMessage().contains("Cannot reactivate"));
+        verify(seatHoldRepository, never()).save(any());
+        verifyNoInteractions(seatHoldExpiryQueue);
+    }
+
     @Test
     @DisplayName("Debe verificar si el seatHold está held")
     void shouldVerifyIfSeatIsHeld() {
@@ -1,5 +1,6 @@
 package com.bers.services.service;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.SeatDtos.*;
 import com.bers.domain.entities.Bus;
 import com.bers.domain.entities.Seat;
@@ -7,8 +8,11 @@ import com.bers.domain.entities.enums.BusStatus;
 import com.bers.domain.entities.enums.SeatType;
 import com.bers.domain.repositories.BusRepository;
 import com.bers.domain.repositories.SeatRepository;
+import com.bers.domain.repositories.projections.SeatListProjection;
 import com.bers.services.mappers.SeatMapper;
 import com.bers.services.service.serviceImple.SeatServiceImpl;
+import com.bers.services.utils.IdCursor;
+import com.bers.services.utils.KeysetPage;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +23,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -168,13 +173,38 @@ class SeatServiceImplTest {
     @Test
     @DisplayName("Debe obtener todos los seats")
     void shouldGetAllSeats() {
-        Seat seat2 = Seat.builder().id(2L).number("A2").type(SeatType.STANDARD).bus(bus).build();
-        when(seatRepository.findAll()).thenReturn(List.of(seat, seat2));
-
-        List<SeatResponse> responses = seatService.getAllSeats();
+        List<SeatListProjection> rows = List.of(
+                new SeatListProjection(3L, "A3", SeatType.STANDARD, 1L, "ABC123", 40),
+                new SeatListProjection(2L, "A2", SeatType.STANDARD, 1L, "ABC123", 40),
+                new SeatListProjection(1L, "A1", SeatType.PREFERENTIAL, 1L, "ABC123", 40));
+        when(seatRepository.findPageForList(isNull(), isNull(), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(rows);
+
+        CursorPageResponse<SeatResponse> page = seatService.getAllSeats(null, null, null, 2);
+
+        Assertions.assertEquals(2, page.items().size());
+        Assertions.assertEquals("A3", page.items().get(0).number());
+        Assertions.assertEquals(2L, IdCursor.decode(page.nextCursor()).id());
+    }
 
-        Assertions.assertEquals(2, responses.size());
-        verify(seatRepository).findAll();
+    @Test
+    @DisplayName("Debe exportar todos los seats recorriendo el listado por bloques")
+    void shouldStreamAllSeatsInBlocks() {
+        List<SeatListProjection> firstBlock = new ArrayList<>();
+        for (long id = KeysetPage.EXPORT_PAGE_SIZE + 1; id > 1; id--) {
+            firstBlock.add(new SeatListProjection(id, "S" + id, SeatType.STANDARD, 1L, "ABC123", 40));
+        }
+        when(seatRepository.findPageForList(eq(1L), isNull(), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(firstBlock);
+        when(seatRepository.findPageForList(eq(1L), isNull(), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(new SeatListProjection(1L, "S1", SeatType.STANDARD, 1L, "ABC123", 40)));
+        List<SeatResponse> exported = new ArrayList<>();
+
+        seatService.streamAllSeats(1L, null, exported::add);
+
+        Assertions.assertEquals(KeysetPage.EXPORT_PAGE_SIZE + 1, exported.size());
+        Assertions.assertEquals("S1", exported.get(exported.size() - 1).number());
+        verify(seatRepository, times(2)).findPageForList(eq(1L), isNull(), any(), any(Pageable.class));
     }
 
     @Test
@@ -0,0 +1,72 @@
+package com.bers.services.service;
+
+import com.bers.domain.repositories.TicketRepository;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.service.serviceImple.SegmentValidationServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SegmentValidationServiceImpl Tests")
+class SegmentValidationServiceImplTest {
+    @Mock
+    private TicketRepository ticketRepository;
+    @Mock
+    private SegmentOccupancyEngine segmentOccupancyEngine;
+    @InjectMocks
+    private SegmentValidationServiceImpl segmentValidationService;
+
+    @Test
+    @DisplayName("Debe rechazar sin ir a la BD si la ocupación en memoria ya ve el asiento ocupado")
+    void shouldRejectFromSnapshotWithoutQuery() {
+        when(segmentOccupancyEngine.isSeatAvailableForSegment(1L, "1A", 0, 2)).thenReturn(false);
+
+        assertFalse(segmentValidationService.isSeatAvailableForSegment(1L, "1A", 0, 2));
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar el asiento vendido en otro nodo aunque la instantánea lo vea libre")
+    void shouldRejectSeatSoldElsewhere() {
+        when(segmentOccupancyEngine.isSeatAvailableForSegment(1L, "1A", 0, 2)).thenReturn(true);
+        when(ticketRepository.findSeatNumbersWithOverlappingTickets(1L, List.of("1A"), 0, 2))
+                .thenReturn(List.of("1A"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> segmentValidationService.validateSegment(1L, "1A", 0, 2));
+    }
+
+    @Test
+    @DisplayName("Debe listar los asientos del grupo que la BD muestra vendidos")
+    void shouldListSeatsSoldElsewhere() {
+        when(segmentOccupancyEngine.isSeatAvailableForSegment(eq(1L), anyString(), eq(0), eq(2))).thenReturn(true);
+        when(ticketRepository.findSeatNumbersWithOverlappingTickets(1L, List.of("1A", "1B"), 0, 2))
+                .thenReturn(List.of("1B"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> segmentValidationService.validateSegmentForSeats(1L, List.of("1A", "1B"), 0, 2));
+
+        assertTrue(exception.getMessage().contains("[1B]"));
+    }
+
+    @Test
+    @DisplayName("Debe aceptar los asientos libres en memoria y en la BD")
+    void shouldAcceptFreeSeats() {
+        when(segmentOccupancyEngine.isSeatAvailableForSegment(eq(1L), anyString(), eq(0), eq(2))).thenReturn(true);
+        when(ticketRepository.findSeatNumbersWithOverlappingTickets(1L, List.of("1A", "1B"), 0, 2))
+                .thenReturn(List.of());
+
+        assertDoesNotThrow(() -> segmentValidationService.validateSegmentForSeats(1L, List.of("1A", "1B"), 0, 2));
+    }
+}
@@ -5,6 +5,10 @@ import com.bers.domain.entities.Route;
 import com.bers.domain.entities.Stop;
 import com.bers.domain.repositories.RouteRepository;
 import com.bers.domain.repositories.StopRepository;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.cache.PlaceAutocompleteIndex;
+import com.bers.services.cache.RouteStopIndex;
+import com.bers.services.cache.StopGeoIndex;
 import com.bers.services.mappers.StopMapper;
 import com.bers.services.service.serviceImple.StopServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -36,6 +40,14 @@ class StopServiceImplTest {
     private RouteRepository routeRepository;
     @Spy
     private StopMapper stopMapper = Mappers.getMapper(StopMapper.class);
+    @Mock
+    private RouteStopIndex routeStopIndex;
+    @Mock
+    private PlaceAutocompleteIndex placeAutocompleteIndex;
+    @Mock
+    private StopGeoIndex stopGeoIndex;
+    @Mock
+    private FareMatrixCache fareMatrixCache;
     @InjectMocks
     private StopServiceImpl stopService;
     private Stop stop;
@@ -4,6 +4,9 @@ import com.bers.api.dtos.TicketDtos.*;
 import com.bers.domain.entities.*;
 import com.bers.domain.entities.enums.*;
 import com.bers.domain.repositories.*;
+import com.bers.domain.repositories.projections.TicketListProjection;
+import com.bers.services.cache.FareMatrixCache;
+import com.bers.services.inventory.SegmentOccupancyEngine;
 import com.bers.services.mappers.TicketMapper;
 import com.bers.services.service.serviceImple.TicketServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -16,10 +19,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,11 +42,15 @@ class TicketServiceImplTest {
     @Mock
     private StopRepository stopRepository;
     @Mock
-    private FareRuleRepository fareRuleRepository;
+    private FareMatrixCache fareMatrixCache;
     @Mock
     private SeatHoldRepository seatHoldRepository;
     @Spy
     private TicketMapper ticketMapper = Mappers.getMapper(TicketMapper.class);
+    @Mock
+    private SegmentOccupancyEngine segmentOccupancyEngine;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private TicketServiceImpl ticketService;
 
@@ -94,9 +103,7 @@ class TicketServiceImplTest {
         when(ticketRepository.findSoldTicketBySeat(any(), any())).thenReturn(Optional.empty());
         when(seatHoldRepository.existsByTripIdAndSeatNumberAndStatus(any(), any(), any()))
                 .thenReturn(false);
-        when(fareRuleRepository.findFareForSegment(any(), any(), any()))
-                .thenReturn(Optional.of(FareRule.builder()
-                        .basePrice(new BigDecimal("50000")).build()));
+        when(fareMatrixCache.basePrice(any(), any(), any())).thenReturn(new BigDecimal("50000"));
         when(ticketRepository.save(any())).thenReturn(ticket);
 
         TicketResponse result = ticketService.createTicket(createRequest);
@@ -192,4 +199,28 @@ class TicketServiceImplTest {
 
         assertFalse(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe listar los tiquetes del viaje desde la proyección, sin cargar entidades")
+    void shouldListTripTicketsFromProjection() {
+        LocalDateTime departure = LocalDateTime.of(2025, 3, 10, 8, 30);
+        TicketListProjection row = new TicketListProjection(1L, "1A", new BigDecimal("50000"),
+                PaymentMethod.CASH, TicketStatus.SOLD, "QR-1", departure.minusDays(1), null, null, null,
+                1L, departure.toLocalDate(), departure, "Bogotá", "Tunja", "ABC123",
+                1L, "John Doe", 1L, "Bogotá", 2L, "Tunja");
+        when(tripRepository.existsById(1L)).thenReturn(true);
+        when(ticketRepository.findForListByTripIdAndStatus(1L, TicketStatus.SOLD)).thenReturn(List.of(row));
+
+        List<TicketResponse> result = ticketService.getTicketsByTripId(1L);
+
+        assertEquals(1, result.size());
+        TicketResponse response = result.get(0);
+        assertEquals("2025-03-10", response.tripDate());
+        assertEquals("08:30", response.tripTime());
+        assertEquals("CASH", response.paymentMethod());
+        assertEquals("ABC123", response.busPlate());
+        assertEquals("John Doe", response.passengerName());
+        assertEquals("Tunja", response.toStopName());
+        verify(ticketRepository, never()).findByTripIdAndStatus(any(), any());
+    }
+}
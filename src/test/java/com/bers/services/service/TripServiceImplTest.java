@@ -8,28 +8,40 @@ import com.bers.domain.entities.enums.TripStatus;
 import com.bers.domain.repositories.BusRepository;
 import com.bers.domain.repositories.RouteRepository;
 import com.bers.domain.repositories.TripRepository;
+import com.bers.services.cache.DayTimetableCache;
+import com.bers.services.cache.RouteStopIndex;
+import com.bers.services.cache.TripSearchCache;
+import com.bers.services.event.TripStatusChangedEvent;
+import com.bers.services.inventory.SegmentOccupancyEngine;
+import com.bers.services.inventory.TripSeatOccupancy;
 import com.bers.services.mappers.TripMapper;
 import com.bers.services.service.serviceImple.TripServiceImpl;
+import com.bers.services.utils.TripCursor;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +55,16 @@ class TripServiceImplTest {
     private BusRepository busRepository;
     @Spy
     private TripMapper tripMapper = Mappers.getMapper(TripMapper.class);
+    @Mock
+    private SegmentOccupancyEngine segmentOccupancyEngine;
+    @Spy
+    private TripSearchCache tripSearchCache = new TripSearchCache();
+    @Mock
+    private RouteStopIndex routeStopIndex;
+    @Mock
+    private DayTimetableCache dayTimetableCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private TripServiceImpl tripService;
     private Trip trip;
@@ -250,6 +272,11 @@ class TripServiceImplTest {
         verify(tripRepository).findById(1L);
         verify(tripRepository).save(trip);
         Assertions.assertEquals(TripStatus.BOARDING, trip.getStatus());
+        ArgumentCaptor<TripStatusChangedEvent> event = ArgumentCaptor.forClass(TripStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        Assertions.assertEquals(TripStatus.SCHEDULED, event.getValue().getPreviousStatus());
+        Assertions.assertEquals(TripStatus.BOARDING, event.getValue().getNewStatus());
+        Assertions.assertEquals(1L, event.getValue().getRouteId());
     }
 
     @Test
@@ -265,6 +292,7 @@ class TripServiceImplTest {
 
         Assertions.assertTrue(exception.getMessage().contains("Cannot change status from"));
         verify(tripRepository, never()).save(any(Trip.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -330,4 +358,60 @@ class TripServiceImplTest {
 
         Assertions.assertTrue(exception.getMessage().contains("already scheduled"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe incluir los asientos disponibles en la búsqueda por origen y destino")
+    void shouldIncludeAvailableSeatsInSearchResults() {
+        LocalDate date = LocalDate.now().plusDays(1);
+        TripSeatOccupancy occupancy = new TripSeatOccupancy(1L, 3);
+        occupancy.addTicket(10L, "1A", 0, 3);
+        occupancy.addHold(20L, "2A", 1, 2, LocalDateTime.now().plusMinutes(5));
+        when(tripRepository.searchTrips("bogotá", "tunja", date)).thenReturn(List.of(trip));
+        when(segmentOccupancyEngine.snapshots(List.of(1L))).thenReturn(Map.of(1L, occupancy));
+
+        List<TripResponse> result = tripService.filterTripByOriginAndDestination("Bogotá", "Tunja", date);
+
+        assertEquals(1, result.size());
+        assertEquals(38, result.get(0).availableSeats());
+        verify(segmentOccupancyEngine).snapshots(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Debe paginar por cursor y devolver el cursor de la siguiente página")
+    void shouldPageTripsByCursor() {
+        Trip next = Trip.builder()
+                .id(2L)
+                .date(trip.getDate())
+                .departureAt(trip.getDepartureAt())
+                .arrivalEta(trip.getArrivalEta())
+                .status(TripStatus.SCHEDULED)
+                .route(route)
+                .bus(bus)
+                .build();
+        when(tripRepository.findPageAfter(isNull(), eq(trip.getDate()), isNull(),
+                eq(TripCursor.START.departureAt()), eq(0L), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(trip, next));
+
+        TripPageResponse first = tripService.getTripsByDate(trip.getDate(), null, 1);
+
+        assertEquals(List.of(1L), first.items().stream().map(TripResponse::id).toList());
+        assertEquals(new TripCursor(trip.getDepartureAt(), 1L), TripCursor.decode(first.nextCursor()));
+
+        when(tripRepository.findPageAfter(isNull(), eq(trip.getDate()), isNull(),
+                eq(trip.getDepartureAt()), eq(1L), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(next));
+
+        TripPageResponse second = tripService.getTripsByDate(trip.getDate(), first.nextCursor(), 1);
+
+        assertEquals(List.of(2L), second.items().stream().map(TripResponse::id).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cursores inválidos y tamaños fuera de rango")
+    void shouldRejectInvalidCursorAndSize() {
+        assertThrows(IllegalArgumentException.class, () -> tripService.getAllTrips("no-es-un-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> tripService.getAllTrips(null, 500));
+        verifyNoInteractions(tripRepository);
+    }
+}
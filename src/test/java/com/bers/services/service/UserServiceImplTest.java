@@ -1,10 +1,12 @@
 package com.bers.services.service;
 
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
 import com.bers.api.dtos.UserDtos.*;
 import com.bers.domain.entities.User;
 import com.bers.domain.entities.enums.UserRole;
 import com.bers.domain.entities.enums.UserStatus;
 import com.bers.domain.repositories.UserRepository;
+import com.bers.domain.repositories.projections.UserListProjection;
 import com.bers.services.mappers.UserMapper;
 import com.bers.services.service.serviceImple.UserServiceImpl;
 import org.junit.jupiter.api.Assertions;
@@ -17,6 +19,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
@@ -210,15 +213,18 @@ class UserServiceImplTest {
     @Test
     @DisplayName("Debería obtener todos los usuarios")
     void shouldGetAllUsers() {
-        List<User> users = Arrays.asList(user, user);
-        when(userRepository.findAll()).thenReturn(users);
+        UserListProjection row = new UserListProjection(1L, "Juan", "juan@example.com", "3001234567",
+                UserRole.PASSENGER, UserStatus.ACTIVE, LocalDate.of(2000, 1, 1), LocalDateTime.now());
+        when(userRepository.findPageForList(eq(UserRole.PASSENGER), isNull(), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(row));
 
-        List<UserResponse> result = userService.getAll();
+        CursorPageResponse<UserResponse> result = userService.getAll(UserRole.PASSENGER, null, null, null);
 
         assertNotNull(result);
-        Assertions.assertEquals(2, result.size());
-        verify(userRepository).findAll();
-        verify(userMapper, times(2)).toResponse(any(User.class));
+        Assertions.assertEquals(1, result.items().size());
+        Assertions.assertEquals("PASSENGER", result.items().get(0).role());
+        assertNull(result.nextCursor());
+        verify(userRepository, never()).findAll();
     }
 
     @Test
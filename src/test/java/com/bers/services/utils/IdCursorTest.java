@@ -0,0 +1,41 @@
+package com.bers.services.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdCursor Tests")
+class IdCursorTest {
+
+    @Test
+    @DisplayName("Debe recuperar el id de un cursor codificado")
+    void shouldRoundTrip() {
+        String cursor = new IdCursor(12345L).encode();
+
+        assertEquals(12345L, IdCursor.decode(cursor).id());
+        assertFalse(cursor.contains("12345"));
+    }
+
+    @Test
+    @DisplayName("Sin cursor debe empezar antes del registro más reciente")
+    void shouldStartFromTopWhenEmpty() {
+        assertEquals(IdCursor.START, IdCursor.decode(null));
+        assertEquals(IdCursor.START, IdCursor.decode(""));
+        assertEquals(IdCursor.START, IdCursor.decode("   "));
+        assertEquals(Long.MAX_VALUE, IdCursor.START.id());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cursores que no son Base64 o no contienen un id")
+    void shouldRejectInvalidCursor() {
+        String notANumber = Base64.getUrlEncoder().encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+
+        IllegalArgumentException badBase64 = assertThrows(IllegalArgumentException.class, () -> IdCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> IdCursor.decode(notANumber));
+        assertEquals("Invalid cursor", badBase64.getMessage());
+    }
+}
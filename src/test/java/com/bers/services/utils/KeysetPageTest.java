@@ -0,0 +1,86 @@
+package com.bers.services.utils;
+
+import com.bers.api.dtos.PageDtos.CursorPageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("KeysetPage Tests")
+class KeysetPageTest {
+
+    @Test
+    @DisplayName("Debe pedir una fila de más que el tamaño, con 50 por defecto")
+    void shouldRequestOneExtraRow() {
+        assertEquals(KeysetPage.DEFAULT_SIZE + 1, KeysetPage.limit(null).getPageSize());
+        assertEquals(KeysetPage.MAX_SIZE + 1, KeysetPage.limit(KeysetPage.MAX_SIZE).getPageSize());
+        assertEquals(0, KeysetPage.limit(1).getPageNumber());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar tamaños fuera de 1 a 200")
+    void shouldRejectSizeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetPage.limit(0));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPage.limit(KeysetPage.MAX_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Debe recortar la fila extra y apuntar el cursor al último id de la página")
+    void shouldReturnCursorWhenMoreRows() {
+        Pageable limit = KeysetPage.limit(2);
+
+        CursorPageResponse<String> page = KeysetPage.of(List.of(9L, 7L, 4L), limit, id -> id, id -> "#" + id);
+
+        assertEquals(List.of("#9", "#7"), page.items());
+        assertEquals(7L, IdCursor.decode(page.nextCursor()).id());
+    }
+
+    @Test
+    @DisplayName("No debe dar cursor en la última página ni en una vacía")
+    void shouldNotReturnCursorOnLastPage() {
+        Pageable limit = KeysetPage.limit(2);
+
+        assertNull(KeysetPage.of(List.of(9L, 7L), limit, id -> id, id -> id).nextCursor());
+        CursorPageResponse<Long> empty = KeysetPage.of(List.<Long>of(), limit, id -> id, id -> id);
+        assertTrue(empty.items().isEmpty());
+        assertNull(empty.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Debe exportar todas las filas por bloques, cada uno después del último id del anterior")
+    void shouldExportAllRowsInBlocks() {
+        int size = KeysetPage.EXPORT_PAGE_SIZE;
+        List<Long> ids = LongStream.iterate(2L * size, id -> id - 1).limit(2L * size).boxed().toList();
+        List<Long> afterIds = new ArrayList<>();
+        List<Long> exported = new ArrayList<>();
+
+        KeysetPage.exportAll((afterId, limit) -> {
+            afterIds.add(afterId);
+            return ids.stream().filter(id -> id < afterId).limit(limit.getPageSize()).toList();
+        }, id -> id, exported::add);
+
+        assertEquals(ids, exported);
+        assertEquals(List.of(Long.MAX_VALUE, (long) size + 1, 1L), afterIds);
+    }
+
+    @Test
+    @DisplayName("Debe terminar tras un bloque incompleto o vacío")
+    void shouldStopAfterShortBlock() {
+        List<Long> afterIds = new ArrayList<>();
+        List<Long> exported = new ArrayList<>();
+
+        KeysetPage.exportAll((afterId, limit) -> {
+            afterIds.add(afterId);
+            return List.of(3L, 2L);
+        }, id -> id, exported::add);
+        KeysetPage.exportAll((afterId, limit) -> List.<Long>of(), id -> id, exported::add);
+
+        assertEquals(List.of(3L, 2L), exported);
+        assertEquals(1, afterIds.size());
+    }
+}